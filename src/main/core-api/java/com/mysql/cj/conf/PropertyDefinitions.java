@@ -302,6 +302,15 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useCompression, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useCompression"), "3.0.17", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
+                new StringPropertyDefinition(PropertyKey.compressionAlgorithms, "zlib", RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.compressionAlgorithms"), "8.0.24", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.zstdCompressionLevel, 3, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.zstdCompressionLevel"), "8.0.24", CATEGORY_NETWORK, Integer.MIN_VALUE, 1, 22),
+
+                new StringPropertyDefinition(PropertyKey.zstdCompressionCodec, "com.mysql.cj.protocol.a.ZstdCompressionCodec", RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.zstdCompressionCodec"), "8.0.24", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.maxAllowedPacket, 65535, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.maxAllowedPacket"), "5.1.8", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
@@ -392,6 +401,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.cacheDefaultTimeZone, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.cacheDefaultTimeZone"), "8.0.20", CATEGORY_STATEMENTS, Integer.MIN_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.bulkLoadIdleTimeout, 60000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.bulkLoadIdleTimeout"), "8.0.24", CATEGORY_STATEMENTS, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
                 //
                 // CATEGORY_PREPARED_STATEMENTS
                 //
@@ -552,6 +564,15 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.failOverReadOnly, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.failoverReadOnly"), "3.0.12", CATEGORY_HA, 2),
 
+                new BooleanPropertyDefinition(PropertyKey.failOverStandby, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.failOverStandby"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.failOverStandbyMaxPerHost, 10, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.failOverStandbyMaxPerHost"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 1, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.failOverStandbyPingInterval, 30000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.failOverStandbyPingInterval"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 1, Integer.MAX_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.initialTimeout, 2, RUNTIME_NOT_MODIFIABLE, Messages.getString("ConnectionProperties.initialTimeout"),
                         "1.1", CATEGORY_HA, 5, 1, Integer.MAX_VALUE),
 
@@ -598,12 +619,35 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.queriesBeforeRetrySource, 50, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.queriesBeforeRetrySource"), "3.0.2", CATEGORY_HA, 7, 0, Integer.MAX_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.raceHostConnections, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.raceHostConnections"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.raceHostConnectionsDelay, 250, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.raceHostConnectionsDelay"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.reconnectAtTxEnd, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.reconnectAtTxEnd"), "3.0.10", CATEGORY_HA, 4),
 
                 new StringPropertyDefinition(PropertyKey.replicationConnectionGroup, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.replicationConnectionGroup"), "8.0.7", CATEGORY_HA, Integer.MIN_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.replicationMaxReplicaLag, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.replicationMaxReplicaLag"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.replicationReadYourWrites, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.replicationReadYourWrites"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.replicationReadYourWritesTimeout, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.replicationReadYourWritesTimeout"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.replicationReplicaLagCheckInterval, 1000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.replicationReplicaLagCheckInterval"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE, 100,
+                        Integer.MAX_VALUE),
+
+                new StringPropertyDefinition(PropertyKey.replicationReplicaLagQuery, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.replicationReplicaLagQuery"), "8.0.24", CATEGORY_HA, Integer.MIN_VALUE),
+
                 new StringPropertyDefinition(PropertyKey.resourceId, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.resourceId"), "5.0.1", CATEGORY_HA, Integer.MIN_VALUE),
 
@@ -643,6 +687,21 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.cacheResultSetMetadata, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.cacheRSMetadata"), "3.1.1", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.cacheDatabaseMetadata, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.cacheDatabaseMetadata"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.databaseMetadataCacheSize, 10000, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.databaseMetadataCacheSize"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 1,
+                        Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.databaseMetadataCacheTtl, 60, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.databaseMetadataCacheTtl"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE / 1000),
+
+                new IntegerPropertyDefinition(PropertyKey.databaseMetadataCacheProbeInterval, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.databaseMetadataCacheProbeInterval"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE / 1000),
+
                 new StringPropertyDefinition(PropertyKey.serverConfigCacheFactory, PerVmServerConfigCacheFactory.class.getName(), RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.serverConfigCacheFactory"), "5.1.1", CATEGORY_PERFORMANCE, 12),
 
@@ -652,6 +711,17 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.callableStmtCacheSize, 100, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.callableStmtCacheSize"), "3.1.2", CATEGORY_PERFORMANCE, 5, 0, Integer.MAX_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.cacheProcedureMetadata, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.cacheProcedureMetadata"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.procedureMetadataCacheSize, 1000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.procedureMetadataCacheSize"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 1,
+                        Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.procedureMetadataCacheTtl, 300, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.procedureMetadataCacheTtl"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE / 1000),
+
                 new IntegerPropertyDefinition(PropertyKey.defaultFetchSize, 0, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.defaultFetchSize"),
                         "3.1.9", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -677,6 +747,14 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.prepStmtCacheSqlLimit, 256, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.prepStmtCacheSqlLimit"), "3.0.10", CATEGORY_PERFORMANCE, 11, 1, Integer.MAX_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.updatableResultSetStatementCacheSize, 25, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.updatableResultSetStatementCacheSize"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.updatableResultSetBatchSize, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.updatableResultSetBatchSize"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new StringPropertyDefinition(PropertyKey.parseInfoCacheFactory, PerConnectionLRUFactory.class.getName(), RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.parseInfoCacheFactory"), "5.1.1", CATEGORY_PERFORMANCE, 12),
 
@@ -692,9 +770,25 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useLocalTransactionState, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useLocalTransactionState"), "5.1.7", CATEGORY_PERFORMANCE, 6),
 
+                new BooleanPropertyDefinition(PropertyKey.trackSessionState, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.trackSessionState"), "8.0.24", CATEGORY_PERFORMANCE, 7),
+
+                new BooleanPropertyDefinition(PropertyKey.useOptionalResultSetMetadata, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.useOptionalResultSetMetadata"), "8.0.24", CATEGORY_PERFORMANCE, 8),
+
+                new BooleanPropertyDefinition(PropertyKey.deduplicateStringValues, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.deduplicateStringValues"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.deduplicateStringValuesCacheSize, 256, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.deduplicateStringValuesCacheSize"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 1,
+                        65536),
+
                 new BooleanPropertyDefinition(PropertyKey.useReadAheadInput, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useReadAheadInput"), "3.1.5", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.useDirectBufferInput, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.useDirectBufferInput"), "8.0.24", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.dontCheckOnDuplicateKeyUpdateInSQL"), "5.1.32", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -848,7 +942,10 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.xdevapiCompressionAlgorithms, "zstd_stream,lz4_message,deflate_stream", RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.xdevapiCompressionAlgorithms"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
                 new StringPropertyDefinition(PropertyKey.xdevapiCompressionExtensions, DEFAULT_VALUE_NULL_STRING, RUNTIME_NOT_MODIFIABLE,
-                        Messages.getString("ConnectionProperties.xdevapiCompressionExtensions"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE)
+                        Messages.getString("ConnectionProperties.xdevapiCompressionExtensions"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
+                new IntegerPropertyDefinition(PropertyKey.xdevapiPreparedStatementCacheSize, 0, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.xdevapiPreparedStatementCacheSize"), "8.0.24", CATEGORY_XDEVAPI, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE)
                 //
         };
 
@@ -78,9 +78,12 @@ public enum PropertyKey {
     autoSlowLog("autoSlowLog", true), //
     blobsAreStrings("blobsAreStrings", true), //
     blobSendChunkSize("blobSendChunkSize", true), //
+    bulkLoadIdleTimeout("bulkLoadIdleTimeout", true), //
     cacheCallableStmts("cacheCallableStmts", true), //
+    cacheDatabaseMetadata("cacheDatabaseMetadata", true), //
     cacheDefaultTimeZone("cacheDefaultTimeZone", "cacheDefaultTimezone", true), //
     cachePrepStmts("cachePrepStmts", true), //
+    cacheProcedureMetadata("cacheProcedureMetadata", true), //
     cacheResultSetMetadata("cacheResultSetMetadata", true), //
     cacheServerConfiguration("cacheServerConfiguration", true), //
     callableStmtCacheSize("callableStmtCacheSize", true), //
@@ -93,6 +96,7 @@ public enum PropertyKey {
     clobberStreamingResults("clobberStreamingResults", true), //
     clobCharacterEncoding("clobCharacterEncoding", true), //
     compensateOnDuplicateKeyUpdateCounts("compensateOnDuplicateKeyUpdateCounts", true), //
+    compressionAlgorithms("compressionAlgorithms", true), //
     connectionAttributes("connectionAttributes", true), //
     connectionCollation("connectionCollation", true), //
     connectionLifecycleInterceptors("connectionLifecycleInterceptors", true), //
@@ -100,7 +104,12 @@ public enum PropertyKey {
     connectTimeout("connectTimeout", true), //
     continueBatchOnError("continueBatchOnError", true), //
     createDatabaseIfNotExist("createDatabaseIfNotExist", true), //
+    databaseMetadataCacheProbeInterval("databaseMetadataCacheProbeInterval", true), //
+    databaseMetadataCacheSize("databaseMetadataCacheSize", true), //
+    databaseMetadataCacheTtl("databaseMetadataCacheTtl", true), //
     databaseTerm("databaseTerm", true), //
+    deduplicateStringValues("deduplicateStringValues", true), //
+    deduplicateStringValuesCacheSize("deduplicateStringValuesCacheSize", true), //
     defaultAuthenticationPlugin("defaultAuthenticationPlugin", true), //
     defaultFetchSize("defaultFetchSize", true), //
     detectCustomCollations("detectCustomCollations", true), //
@@ -122,6 +131,9 @@ public enum PropertyKey {
     exceptionInterceptors("exceptionInterceptors", true), //
     explainSlowQueries("explainSlowQueries", true), //
     failOverReadOnly("failOverReadOnly", true), //
+    failOverStandby("failOverStandby", true), //
+    failOverStandbyMaxPerHost("failOverStandbyMaxPerHost", true), //
+    failOverStandbyPingInterval("failOverStandbyPingInterval", true), //
     fallbackToSystemKeyStore("fallbackToSystemKeyStore", true), //
     fallbackToSystemTrustStore("fallbackToSystemTrustStore", true), //
     functionsNeverReturnBlobs("functionsNeverReturnBlobs", true), //
@@ -177,6 +189,8 @@ public enum PropertyKey {
     prepStmtCacheSize("prepStmtCacheSize", true), //
     prepStmtCacheSqlLimit("prepStmtCacheSqlLimit", true), //
     preserveInstants("preserveInstants", true), //
+    procedureMetadataCacheSize("procedureMetadataCacheSize", true), //
+    procedureMetadataCacheTtl("procedureMetadataCacheTtl", true), //
     processEscapeCodesForPrepStmts("processEscapeCodesForPrepStmts", true), //
     profilerEventHandler("profilerEventHandler", true), //
     profileSQL("profileSQL", true), //
@@ -185,10 +199,17 @@ public enum PropertyKey {
     queriesBeforeRetrySource("queriesBeforeRetrySource", "queriesBeforeRetryMaster", true), //
     queryInterceptors("queryInterceptors", true), //
     queryTimeoutKillsConnection("queryTimeoutKillsConnection", true), //
+    raceHostConnections("raceHostConnections", true), //
+    raceHostConnectionsDelay("raceHostConnectionsDelay", true), //
     readFromSourceWhenNoReplicas("readFromSourceWhenNoReplicas", "readFromMasterWhenNoSlaves", true), //
     readOnlyPropagatesToServer("readOnlyPropagatesToServer", true), //
     reconnectAtTxEnd("reconnectAtTxEnd", true), //
     replicationConnectionGroup("replicationConnectionGroup", true), //
+    replicationMaxReplicaLag("replicationMaxReplicaLag", true), //
+    replicationReadYourWrites("replicationReadYourWrites", true), //
+    replicationReadYourWritesTimeout("replicationReadYourWritesTimeout", true), //
+    replicationReplicaLagCheckInterval("replicationReplicaLagCheckInterval", true), //
+    replicationReplicaLagQuery("replicationReplicaLagQuery", true), //
     reportMetricsIntervalMillis("reportMetricsIntervalMillis", true), //
     requireSSL("requireSSL", true), //
     resourceId("resourceId", true), //
@@ -220,17 +241,21 @@ public enum PropertyKey {
     tcpTrafficClass("tcpTrafficClass", true), //
     tinyInt1isBit("tinyInt1isBit", true), //
     traceProtocol("traceProtocol", true), //
+    trackSessionState("trackSessionState", true), //
     transformedBitIsBoolean("transformedBitIsBoolean", true), //
     treatUtilDateAsTimestamp("treatUtilDateAsTimestamp", true), //
     trustCertificateKeyStorePassword("trustCertificateKeyStorePassword", true), //
     trustCertificateKeyStoreType("trustCertificateKeyStoreType", true), //
     trustCertificateKeyStoreUrl("trustCertificateKeyStoreUrl", true), //
     ultraDevHack("ultraDevHack", true), //
+    updatableResultSetBatchSize("updatableResultSetBatchSize", true), //
+    updatableResultSetStatementCacheSize("updatableResultSetStatementCacheSize", true), //
     useAffectedRows("useAffectedRows", true), //
     useColumnNamesInFindColumn("useColumnNamesInFindColumn", true), //
     useCompression("useCompression", true), //
     useConfigs("useConfigs", true), //
     useCursorFetch("useCursorFetch", true), //
+    useDirectBufferInput("useDirectBufferInput", true), //
     useHostsInPrivileges("useHostsInPrivileges", true), //
     useInformationSchema("useInformationSchema", true), //
     useLocalSessionState("useLocalSessionState", true), //
@@ -238,6 +263,7 @@ public enum PropertyKey {
     useNanosForElapsedTime("useNanosForElapsedTime", true), //
     useOldAliasMetadataBehavior("useOldAliasMetadataBehavior", true), //
     useOnlyServerErrorMessages("useOnlyServerErrorMessages", true), //
+    useOptionalResultSetMetadata("useOptionalResultSetMetadata", true), //
     useReadAheadInput("useReadAheadInput", true), //
     useServerPrepStmts("useServerPrepStmts", true), //
     useSSL("useSSL", true), //
@@ -256,6 +282,7 @@ public enum PropertyKey {
     xdevapiDnsSrv("xdevapi.dns-srv", "xdevapiDnsSrv", true), //
     xdevapiFallbackToSystemKeyStore("xdevapi.fallback-to-system-keystore", "xdevapiFallbackToSystemKeyStore", true), //
     xdevapiFallbackToSystemTrustStore("xdevapi.fallback-to-system-truststore", "xdevapiFallbackToSystemTrustStore", true), //
+    xdevapiPreparedStatementCacheSize("xdevapi.prepared-statement-cache-size", "xdevapiPreparedStatementCacheSize", true), //
     xdevapiSslKeyStorePassword("xdevapi.ssl-keystore-password", "xdevapiSslKeystorePassword", true), //
     xdevapiSslKeyStoreType("xdevapi.ssl-keystore-type", "xdevapiSslKeystoreType", true), //
     xdevapiSslKeyStoreUrl("xdevapi.ssl-keystore", "xdevapiSslKeystore", true), //
@@ -268,7 +295,9 @@ public enum PropertyKey {
     xdevapiUseAsyncProtocol("xdevapi.useAsyncProtocol", "xdevapiUseAsyncProtocol", true), //
 
     yearIsDateType("yearIsDateType", true), //
-    zeroDateTimeBehavior("zeroDateTimeBehavior", true) //
+    zeroDateTimeBehavior("zeroDateTimeBehavior", true), //
+    zstdCompressionCodec("zstdCompressionCodec", true), //
+    zstdCompressionLevel("zstdCompressionLevel", true) //
     ;
 
     private String keyName;
@@ -69,6 +69,18 @@ public interface MessageSender<M extends Message> {
         throw ExceptionFactory.createException(CJOperationNotSupportedException.class, "Not supported");
     }
 
+    /**
+     * Synchronously send the message to server, optionally leaving it buffered so that it goes out together with the next messages.
+     * 
+     * @param message
+     *            {@link Message} instance
+     * @param flush
+     *            whether to flush the message and any other buffered ones to the server
+     */
+    default void send(M message, boolean flush) {
+        send(message);
+    }
+
     /**
      * Asynchronously write a message with a notification being delivered to <code>callback</code> upon completion of write of entire message.
      *
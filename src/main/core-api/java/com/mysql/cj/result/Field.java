@@ -34,6 +34,8 @@ import com.mysql.cj.MysqlType;
 import com.mysql.cj.ServerVersion;
 import com.mysql.cj.protocol.ProtocolEntity;
 import com.mysql.cj.util.LazyString;
+import com.mysql.cj.util.StringDecoder;
+import com.mysql.cj.util.StringValueDictionary;
 
 /**
  * Field is a class used to describe fields in a ResultSet
@@ -44,6 +46,10 @@ public class Field implements ProtocolEntity {
 
     private String encoding = "US-ASCII";
 
+    private StringDecoder stringDecoder = StringDecoder.forEncoding(this.encoding);
+
+    private StringValueDictionary stringValueDictionary = null;
+
     private int colDecimals;
 
     private short colFlag;
@@ -82,12 +88,36 @@ public class Field implements ProtocolEntity {
         if (mysqlType == MysqlType.JSON) {
             this.encoding = "UTF-8";
         }
+        this.stringDecoder = StringDecoder.forEncoding(this.encoding);
 
         this.mysqlType = mysqlType;
 
         adjustFlagsByMysqlType();
     }
 
+    /**
+     * Creates a copy of the given field. The copy has its own string value dictionary.
+     * 
+     * @param other
+     *            field to copy
+     */
+    public Field(Field other) {
+        this.databaseName = other.databaseName;
+        this.tableName = other.tableName;
+        this.originalTableName = other.originalTableName;
+        this.columnName = other.columnName;
+        this.originalColumnName = other.originalColumnName;
+        this.fullName = other.fullName;
+        this.length = other.length;
+        this.colFlag = other.colFlag;
+        this.colDecimals = other.colDecimals;
+        this.mysqlTypeId = other.mysqlTypeId;
+        this.collationIndex = other.collationIndex;
+        this.encoding = other.encoding;
+        this.stringDecoder = other.stringDecoder;
+        this.mysqlType = other.mysqlType;
+    }
+
     private void adjustFlagsByMysqlType() {
 
         switch (this.mysqlType) {
@@ -166,6 +196,7 @@ public class Field implements ProtocolEntity {
 
                 // ucs2, utf16, and utf32 cannot be used as a client character set, but if it was received from server under some circumstances we can parse them as utf16
                 this.encoding = "UnicodeBig".equals(encoding) ? "UTF-16" : encoding;
+                this.stringDecoder = StringDecoder.forEncoding(this.encoding);
 
                 break;
             default:
@@ -182,9 +213,34 @@ public class Field implements ProtocolEntity {
         return this.encoding;
     }
 
+    /**
+     * Returns the decoder for string values of this field, resolved from the Java encoding when the encoding is set.
+     *
+     * @return {@link StringDecoder}
+     */
+    public StringDecoder getStringDecoder() {
+        return this.stringDecoder;
+    }
+
+    /**
+     * Returns the dictionary used to deduplicate string values of this field, creating it on first use.
+     *
+     * @param size
+     *            number of values remembered by a newly created dictionary
+     * @return {@link StringValueDictionary}
+     */
+    public StringValueDictionary getStringValueDictionary(int size) {
+        if (this.stringValueDictionary == null) {
+            this.stringValueDictionary = new StringValueDictionary(size);
+        }
+        return this.stringValueDictionary;
+    }
+
     // TODO Remove this after DBMD isn't using ByteArrayRow results.
     public void setEncoding(String javaEncodingName, ServerVersion version) {
         this.encoding = javaEncodingName;
+        this.stringDecoder = StringDecoder.forEncoding(javaEncodingName);
+        this.stringValueDictionary = null;
         this.collationIndex = CharsetMapping.getCollationIndexForJavaEncoding(javaEncodingName, version);
     }
 
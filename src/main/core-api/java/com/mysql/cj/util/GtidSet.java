@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * A set of GTIDs, kept as merged intervals of transaction numbers per source server UUID (and tag), as in the server's GTID set text format
+ * "3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5:11,...".
+ * 
+ * The number of intervals can be bounded. Once it's exceeded, the intervals of each source are collapsed into a single one covering all of them, which
+ * makes the set a superset of the GTIDs added. A superset is still good to check whether a server has applied the GTIDs, it's just stricter.
+ */
+public class GtidSet {
+    private final int maxIntervals;
+    private final Map<String, TreeMap<Long, Long>> intervals = new TreeMap<>();
+    private int intervalCount = 0;
+
+    /**
+     * Constructs an empty, unbounded, GTID set.
+     */
+    public GtidSet() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an empty GTID set.
+     * 
+     * @param maxIntervals
+     *            the number of intervals after which the intervals of each source are collapsed into one
+     */
+    public GtidSet(int maxIntervals) {
+        this.maxIntervals = maxIntervals;
+    }
+
+    /**
+     * Adds the GTIDs of the given GTID set text. Elements that can't be parsed are ignored.
+     * 
+     * @param gtidSet
+     *            GTID set text, e.g. "3e11fa47-71ca-11e1-9e33-c80aa9429562:23,3e11fa47-71ca-11e1-9e33-c80aa9429562:25-27"
+     * @return true if this set changed
+     */
+    public boolean add(String gtidSet) {
+        boolean changed = false;
+        for (String gtids : gtidSet.split(",")) {
+            String[] parts = gtids.split(":");
+            String uuid = parts[0].trim().toLowerCase(Locale.ROOT);
+            String source = uuid;
+            for (int i = 1; i < parts.length && !uuid.isEmpty(); i++) {
+                String interval = parts[i].trim();
+                int dash = interval.indexOf('-');
+                try {
+                    long start = Long.parseLong(dash == -1 ? interval : interval.substring(0, dash));
+                    long end = dash == -1 ? start : Long.parseLong(interval.substring(dash + 1));
+                    changed |= addInterval(source, start, end);
+                } catch (NumberFormatException e) {
+                    // a tag, the intervals that follow belong to it
+                    source = uuid + ":" + interval.toLowerCase(Locale.ROOT);
+                }
+            }
+        }
+        if (this.intervalCount > this.maxIntervals) {
+            collapse();
+        }
+        return changed;
+    }
+
+    /**
+     * Adds all the GTIDs of the given GTID set.
+     * 
+     * @param other
+     *            GTID set
+     * @return true if this set changed
+     */
+    public boolean addAll(GtidSet other) {
+        boolean changed = false;
+        for (Entry<String, TreeMap<Long, Long>> source : other.intervals.entrySet()) {
+            for (Entry<Long, Long> interval : source.getValue().entrySet()) {
+                changed |= addInterval(source.getKey(), interval.getKey(), interval.getValue());
+            }
+        }
+        if (this.intervalCount > this.maxIntervals) {
+            collapse();
+        }
+        return changed;
+    }
+
+    private boolean addInterval(String source, long start, long end) {
+        if (start < 1 || start > end) {
+            return false;
+        }
+        TreeMap<Long, Long> sourceIntervals = this.intervals.computeIfAbsent(source, s -> new TreeMap<>());
+        Entry<Long, Long> previous = sourceIntervals.floorEntry(start);
+        if (previous != null && previous.getValue() >= end) {
+            return false; // already in the set
+        }
+        if (previous != null && previous.getValue() >= start - 1) {
+            start = previous.getKey();
+            sourceIntervals.remove(start);
+            this.intervalCount--;
+        }
+        for (Entry<Long, Long> next = sourceIntervals.ceilingEntry(start); next != null && next.getKey() - 1 <= end; next = sourceIntervals
+                .ceilingEntry(start)) {
+            end = Math.max(end, next.getValue());
+            sourceIntervals.remove(next.getKey());
+            this.intervalCount--;
+        }
+        sourceIntervals.put(start, end);
+        this.intervalCount++;
+        return true;
+    }
+
+    private void collapse() {
+        this.intervalCount = 0;
+        for (TreeMap<Long, Long> sourceIntervals : this.intervals.values()) {
+            long start = sourceIntervals.firstKey();
+            long end = sourceIntervals.lastEntry().getValue();
+            sourceIntervals.clear();
+            sourceIntervals.put(start, end);
+            this.intervalCount++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.intervalCount == 0;
+    }
+
+    public void clear() {
+        this.intervals.clear();
+        this.intervalCount = 0;
+    }
+
+    /**
+     * Returns the GTID set text for this set, with the intervals of each source merged and sorted.
+     * 
+     * @return GTID set text, empty if the set is empty
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<String, TreeMap<Long, Long>> source : this.intervals.entrySet()) {
+            if (source.getValue().isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(source.getKey());
+            for (Entry<Long, Long> interval : source.getValue().entrySet()) {
+                sb.append(':').append(interval.getKey());
+                if (interval.getValue() > interval.getKey()) {
+                    sb.append('-').append(interval.getValue());
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
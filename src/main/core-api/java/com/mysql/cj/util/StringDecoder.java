@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes bytes into strings for one Java encoding. The {@link Charset} and the decoding strategy are resolved once, when the decoder is created, so that
+ * decoding column values does not look up the charset by name on every call:
+ * <ul>
+ * <li>ISO-8859-1 maps each byte to one char and is copied straight into the string;</li>
+ * <li>UTF-8 and other ASCII-compatible charsets check the bytes first and copy pure-ASCII values the same way, only non-ASCII values go through the
+ * charset;</li>
+ * <li>all other charsets decode the whole value; only encodings that can't be resolved are still decoded by name, which reports them as before.</li>
+ * </ul>
+ * Instances are immutable and shared, see {@link #forEncoding(String)}.
+ */
+public class StringDecoder {
+
+    private enum Strategy {
+        LATIN1, UTF8, ASCII_COMPATIBLE, GENERIC;
+    }
+
+    private static final StringDecoder PLATFORM_DEFAULT = new StringDecoder(null, null, Strategy.GENERIC);
+
+    private static final ConcurrentHashMap<String, StringDecoder> DECODERS = new ConcurrentHashMap<>();
+
+    private final String encoding;
+    private final Charset charset;
+    private final Strategy strategy;
+
+    private StringDecoder(String encoding, Charset charset, Strategy strategy) {
+        this.encoding = encoding;
+        this.charset = charset;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the shared decoder for the given Java encoding.
+     * 
+     * @param encoding
+     *            Java encoding name; null stands for the platform default encoding
+     * @return {@link StringDecoder}
+     */
+    public static StringDecoder forEncoding(String encoding) {
+        if (encoding == null) {
+            return PLATFORM_DEFAULT;
+        }
+        StringDecoder decoder = DECODERS.get(encoding);
+        if (decoder == null) {
+            decoder = DECODERS.computeIfAbsent(encoding, StringDecoder::resolve);
+        }
+        return decoder;
+    }
+
+    private static StringDecoder resolve(String encoding) {
+        Charset cs = null;
+        try {
+            if (!"null".equalsIgnoreCase(encoding)) {
+                cs = Charset.forName(encoding);
+            }
+        } catch (IllegalArgumentException e) {
+            // unknown or unsupported encoding, StringUtils.toString() reports it when a value is decoded
+        }
+
+        if (cs == null) {
+            return new StringDecoder(encoding, null, Strategy.GENERIC);
+        } else if (cs.equals(StandardCharsets.ISO_8859_1)) {
+            return new StringDecoder(encoding, cs, Strategy.LATIN1);
+        } else if (cs.equals(StandardCharsets.UTF_8)) {
+            return new StringDecoder(encoding, cs, Strategy.UTF8);
+        }
+        return new StringDecoder(encoding, cs, isAsciiCompatible(cs) ? Strategy.ASCII_COMPATIBLE : Strategy.GENERIC);
+    }
+
+    /**
+     * Checks whether every byte in the range 0x00-0x7F decodes to the same US-ASCII char in the given charset. Stateful ISO-2022 encodings use ESC sequences
+     * made of ASCII bytes and are never treated as compatible.
+     * 
+     * @param cs
+     *            charset
+     * @return true if ASCII bytes can be copied as chars
+     */
+    private static boolean isAsciiCompatible(Charset cs) {
+        if (cs.name().toUpperCase(Locale.ROOT).contains("2022")) {
+            return false;
+        }
+        try {
+            byte[] ascii = new byte[0x80];
+            for (int i = 0; i < ascii.length; i++) {
+                ascii[i] = (byte) i;
+            }
+            String decoded = new String(ascii, cs);
+            if (decoded.length() != ascii.length) {
+                return false;
+            }
+            for (int i = 0; i < ascii.length; i++) {
+                if (decoded.charAt(i) != i) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the Java encoding name this decoder was created for.
+     * 
+     * @return encoding name or null for the platform default encoding
+     */
+    public String getEncoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Decodes a part of a byte array.
+     * 
+     * @param value
+     *            bytes
+     * @param offset
+     *            offset of the first byte
+     * @param length
+     *            number of bytes
+     * @return string
+     */
+    public String decode(byte[] value, int offset, int length) {
+        switch (this.strategy) {
+            case LATIN1:
+                return copyOf(value, offset, length);
+
+            case UTF8:
+                if (isAscii(value, offset, length)) {
+                    return copyOf(value, offset, length);
+                }
+                return new String(value, offset, length, this.charset);
+
+            case ASCII_COMPATIBLE:
+                if (isAscii(value, offset, length)) {
+                    return copyOf(value, offset, length);
+                }
+                return new String(value, offset, length, this.charset);
+
+            default:
+                if (this.charset != null) {
+                    return new String(value, offset, length, this.charset);
+                }
+                return StringUtils.toString(value, offset, length, this.encoding);
+        }
+    }
+
+    private static boolean isAscii(byte[] value, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (value[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds a string with one char per byte, each char taking the unsigned byte value. This is exact for ISO-8859-1 and for US-ASCII bytes in any
+     * ASCII-compatible charset, and needs neither a decoder nor an intermediate char array; JVMs with compact strings copy the bytes as they are.
+     * 
+     * @param value
+     *            bytes
+     * @param offset
+     *            offset of the first byte
+     * @param length
+     *            number of bytes
+     * @return string
+     */
+    @SuppressWarnings("deprecation")
+    private static String copyOf(byte[] value, int offset, int length) {
+        return new String(value, 0, offset, length);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+/**
+ * A small direct-mapped dictionary of recently decoded string values, used to return one shared String instance for repeated values of a low-cardinality
+ * column. Each slot remembers one value and is overwritten by the next value hashing to it, so the dictionary never grows beyond its initial size.
+ * <p>
+ * The dictionary disables itself once it has seen enough values to tell that most of them are distinct, after which it only decodes.
+ * <p>
+ * It is not synchronized. Slots are replaced as a whole, with immutable entries, so concurrent use can only cause extra misses.
+ */
+public class StringValueDictionary {
+
+    /** Values longer than this are decoded without a lookup, low-cardinality values are expected to be short. */
+    public static final int MAX_VALUE_LENGTH = 64;
+
+    private static final int MIN_HIT_RATIO_PERCENT = 25;
+
+    private static class Entry {
+        final byte[] bytes;
+        final String value;
+
+        Entry(byte[] bytes, String value) {
+            this.bytes = bytes;
+            this.value = value;
+        }
+    }
+
+    private Entry[] entries;
+    private final int mask;
+    private final int sampleSize;
+    private int lookups = 0;
+    private int hits = 0;
+    private boolean enabled = true;
+
+    /**
+     * Creates a dictionary.
+     * 
+     * @param size
+     *            number of remembered values, rounded up to a power of two
+     */
+    public StringValueDictionary(int size) {
+        int capacity = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.sampleSize = capacity * 8;
+    }
+
+    /**
+     * Is this dictionary still deduplicating values?
+     * 
+     * @return false if the values were found to be mostly distinct
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the string for the given bytes, reusing a previously returned instance if the same bytes were seen recently.
+     * 
+     * @param bytes
+     *            bytes
+     * @param offset
+     *            offset of the first byte
+     * @param length
+     *            number of bytes
+     * @param decoder
+     *            decoder used for values that are not in the dictionary
+     * @return string
+     */
+    public String get(byte[] bytes, int offset, int length, StringDecoder decoder) {
+        Entry[] slots = this.entries;
+        if (!this.enabled || length > MAX_VALUE_LENGTH || slots == null) {
+            return decoder.decode(bytes, offset, length);
+        }
+
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int slot = (hash ^ hash >>> 16) & this.mask;
+
+        Entry e = slots[slot];
+        if (e != null && equals(e.bytes, bytes, offset, length)) {
+            this.hits++;
+            countLookup();
+            return e.value;
+        }
+
+        String value = decoder.decode(bytes, offset, length);
+        byte[] copy = new byte[length];
+        System.arraycopy(bytes, offset, copy, 0, length);
+        slots[slot] = new Entry(copy, value);
+        countLookup();
+        return value;
+    }
+
+    private void countLookup() {
+        if (++this.lookups == this.sampleSize) {
+            if (this.hits * 100L < (long) this.lookups * MIN_HIT_RATIO_PERCENT) {
+                // high cardinality column, stop paying for lookups and release the remembered values
+                this.enabled = false;
+                this.entries = null;
+            } else {
+                this.lookups = 0;
+                this.hits = 0;
+            }
+        }
+    }
+
+    private static boolean equals(byte[] a, byte[] b, int offset, int length) {
+        if (a.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -31,10 +31,12 @@ package com.mysql.cj;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -46,6 +48,7 @@ import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ResultBuilder;
 import com.mysql.cj.protocol.x.StatementExecuteOkBuilder;
+import com.mysql.cj.protocol.x.XMessage;
 import com.mysql.cj.protocol.x.XProtocol;
 import com.mysql.cj.protocol.x.XProtocolError;
 import com.mysql.cj.protocol.x.XProtocolRowInputStream;
@@ -153,6 +156,43 @@ public class MysqlxSession extends CoreSession {
         return ((XProtocol) this.protocol).failedPreparingStatement(preparedStatementId, e);
     }
 
+    /**
+     * Return the size of the session-wide prepared statements cache.
+     * 
+     * @return
+     *         the maximum number of statements kept prepared in the cache, 0 if the cache is disabled
+     */
+    public int getPreparedStatementCacheSize() {
+        return ((XProtocol) this.protocol).getPreparedStatementCacheSize();
+    }
+
+    /**
+     * Return the id of the cached prepared statement for the given statement prepare message, caching it if needed. A statement that is not cached yet gets
+     * prepared along with its next execution once it has been seen twice.
+     * 
+     * @param prepareMessage
+     *            the {@link XMessage} that prepares the statement, built with the prepared statement id 0
+     * @return
+     *         the id of the prepared statement, or 0 if the statement is not to be prepared now
+     */
+    public int getCachedPreparedStatementId(XMessage prepareMessage) {
+        return ((XProtocol) this.protocol).getCachedPreparedStatementId(prepareMessage);
+    }
+
+    /**
+     * Propagate to the underlying protocol instance that executing a cached prepared statement failed.
+     * 
+     * @param preparedStatementId
+     *            the id of the cached prepared statement
+     * @param e
+     *            {@link XProtocolError}
+     * @return
+     *         {@code true} if the statement failed to be prepared and should be executed without preparing it
+     */
+    public boolean failedExecutingCachedPreparedStatement(int preparedStatementId, XProtocolError e) {
+        return ((XProtocol) this.protocol).failedExecutingCachedPreparedStatement(preparedStatementId, e);
+    }
+
     public <M extends Message, R, RES> RES query(M message, Predicate<Row> rowFilter, Function<Row, R> rowMapper, Collector<R, ?, RES> collector) {
         this.protocol.send(message, 0);
         ColumnDefinition metadata = this.protocol.readMetadata();
@@ -170,6 +210,11 @@ public class MysqlxSession extends CoreSession {
         return ((XProtocol) this.protocol).query(message, resultBuilder);
     }
 
+    public <M extends Message, R extends QueryResult> List<R> queryPipelined(Iterator<M> messages, Supplier<ResultBuilder<R>> resultBuilderSupplier,
+            int maxPendingResults) {
+        return ((XProtocol) this.protocol).queryPipelined(messages, resultBuilderSupplier, maxPendingResults);
+    }
+
     public <M extends Message, R extends QueryResult> CompletableFuture<R> queryAsync(M message, ResultBuilder<R> resultBuilder) {
         return ((XProtocol) this.protocol).queryAsync(message, resultBuilder);
     }
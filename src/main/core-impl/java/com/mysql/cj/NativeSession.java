@@ -40,6 +40,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -123,6 +124,9 @@ public class NativeSession extends CoreSession implements Serializable {
     /** Why was this session implicitly closed, if known? (for diagnostics) */
     private Throwable forceClosedReason;
 
+    /** The thread running a bulk load, which holds the connection mutex while it waits for the rows added by another thread. */
+    private volatile Thread bulkLoadThread = null;
+
     private CopyOnWriteArrayList<WeakReference<SessionEventListener>> listeners = new CopyOnWriteArrayList<>();
 
     private transient Timer cancelTimer;
@@ -821,6 +825,52 @@ public class NativeSession extends CoreSession implements Serializable {
         }
     }
 
+    /**
+     * Asks the server to also report changes of the transaction isolation level and access mode, if session state tracking was negotiated, so that their
+     * current values are known without querying them.
+     */
+    public void configureSessionStateTracking() {
+        NativeServerSession serverSession = (NativeServerSession) getServerSession();
+        if (!serverSession.isSessionStateTracked()) {
+            return;
+        }
+
+        boolean newNames = versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0));
+        String isolationVariable = newNames ? "transaction_isolation" : "tx_isolation";
+        String readOnlyVariable = newNames ? "transaction_read_only" : "tx_read_only";
+
+        // keep whatever is already tracked, e.g. by the server defaults or by init_connect
+        sendCommand(this.commandBuilder.buildComQuery(null,
+                "SET SESSION session_track_system_variables = CONCAT_WS(',', NULLIF(@@session.session_track_system_variables, ''), '" + isolationVariable
+                        + "', '" + readOnlyVariable + "', 'autocommit')"),
+                false, 0);
+
+        serverSession.setTrackedSessionVariables(Arrays.asList(isolationVariable, readOnlyVariable, "autocommit"));
+    }
+
+    /**
+     * Get the current value of a session variable. If the server reports the changes of this variable it is queried only the first time.
+     * 
+     * @param name
+     *            variable name, without "@@session."
+     * @return the variable value
+     */
+    public String querySessionVariable(String name) {
+        NativeServerSession serverSession = (NativeServerSession) getServerSession();
+        if (!serverSession.isSessionVariableTracked(name)) {
+            return queryServerVariable("@@session." + name);
+        }
+
+        String value = serverSession.getSessionStateVariable(name);
+        if (value == null) {
+            value = queryServerVariable("@@session." + name);
+            if (value != null) {
+                serverSession.setSessionStateVariable(name, value);
+            }
+        }
+        return value;
+    }
+
     /**
      * Builds the map needed for 4.1.0 and newer servers that maps field-level
      * charset/collation info to a java character encoding name.
@@ -1163,6 +1213,25 @@ public class NativeSession extends CoreSession implements Serializable {
         return this.isClosed;
     }
 
+    /**
+     * Returns the thread running a bulk load on this session, if any. No other thread can use the session until the bulk load ends.
+     * 
+     * @return the thread running a bulk load or null
+     */
+    public Thread getBulkLoadThread() {
+        return this.bulkLoadThread;
+    }
+
+    /**
+     * Sets the thread running a bulk load on this session.
+     * 
+     * @param bulkLoadThread
+     *            the thread starting a bulk load, or null when it ends
+     */
+    public void setBulkLoadThread(Thread bulkLoadThread) {
+        this.bulkLoadThread = bulkLoadThread;
+    }
+
     public void checkClosed() {
         if (this.isClosed) {
             if (this.forceClosedReason != null && this.forceClosedReason.getClass().equals(OperationCancelledException.class)) {
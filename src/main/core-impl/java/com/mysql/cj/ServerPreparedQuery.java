@@ -71,6 +71,12 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
     /** Field-level metadata for result sets. From statement prepare. */
     private ColumnDefinition resultFields;
 
+    /**
+     * Field-level metadata for result sets. From the last statement execute that returned it, reused while the server is asked to omit result set
+     * metadata (see "useOptionalResultSetMetadata").
+     */
+    private ColumnDefinition executeResultFields;
+
     /** The "profileSQL" connection property value */
     protected boolean profileSQL = false;
 
@@ -203,11 +209,50 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
         }
         String queryAsString = this.profileSQL || this.logSlowQueries || this.gatherPerfMetrics ? asSql(true) : "";
 
-        NativePacketPayload packet = prepareExecutePacket();
-        NativePacketPayload resPacket = sendExecutePacket(packet, queryAsString);
-        T rs = readExecuteResult(resPacket, maxRowsToRetrieve, createStreamingResultSet, metadata, resultSetFactory, queryAsString);
+        // The result set metadata is known if this statement was already executed with the same parameter types. As long as the server can't open a
+        // cursor, it can be asked not to send it again; the protocol decides whether the session is switched to omit it.
+        boolean omitMetadata = this.session.getProtocol().prepareResultsetMetadataMode(
+                this.executeResultFields != null && !this.useCursorFetch && !this.queryBindings.getSendTypesToServer().get());
 
-        return rs;
+        try {
+            NativePacketPayload packet = prepareExecutePacket();
+            NativePacketPayload resPacket = sendExecutePacket(packet, queryAsString);
+            T rs = readExecuteResult(resPacket, maxRowsToRetrieve, createStreamingResultSet, omitMetadata ? this.executeResultFields : metadata,
+                    resultSetFactory, queryAsString);
+
+            if (this.session.getProtocol().getServerSession().isMetadataChanged()) {
+                // the server re-prepared the statement and its result columns changed, the cached metadata is stale
+                this.executeResultFields = null;
+            } else if (!omitMetadata) {
+                cacheExecuteResultFields(rs);
+            }
+
+            return rs;
+        } catch (CJException e) {
+            // the statement may have been re-prepared after a schema change or the cached metadata didn't match the result, don't rely on it anymore
+            this.executeResultFields = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Keeps the metadata of the given execution result if it can be used in place of the one omitted by the server in further executions. Only
+     * statements that report a result set at prepare time qualify; they can't return multiple result sets.
+     * 
+     * @param rs
+     *            the result of an execution that got full result set metadata
+     */
+    private void cacheExecuteResultFields(Resultset rs) {
+        this.executeResultFields = null;
+
+        if (rs == null || this.resultFields == null || this.useCursorFetch || !this.session.getProtocol().getServerSession().isResultsetMetadataOptional()) {
+            return;
+        }
+
+        ColumnDefinition cdef = rs.getColumnDefinition();
+        if (cdef != null && cdef.getFields() != null && cdef.getFields().length == this.resultFields.getFields().length && rs.getNextResultset() == null) {
+            this.executeResultFields = cdef;
+        }
     }
 
     public NativePacketPayload prepareExecutePacket() {
@@ -484,6 +529,7 @@ public class ServerPreparedQuery extends AbstractPreparedQuery<ServerPreparedQue
         this.queryBindings = null;
         this.parameterFields = null;
         this.resultFields = null;
+        this.executeResultFields = null;
         super.closeQuery();
     }
 
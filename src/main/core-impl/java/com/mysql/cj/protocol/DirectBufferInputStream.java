@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A buffered input stream reading from the channel of a socket straight into a reusable direct buffer.
+ * 
+ * Socket input streams read into a native buffer and copy into the caller's array, so buffering on top of them costs one more copy of all incoming data.
+ * Reading from the channel into a direct buffer leaves a single copy, into the destination array. Reads are only done when the buffer is empty and return
+ * whatever one read from the channel brought, without querying the socket for available bytes beforehand.
+ * 
+ * Channel reads can't time out, so while the socket has a read timeout set (see {@link Socket#setSoTimeout(int)}) reads go through the socket input stream
+ * instead, which honors it, into a heap buffer that is then read from in place of the direct buffer. These reads cost the same copies as the other inputs.
+ * Waiting on a {@link java.nio.channels.Selector} would avoid that, but needs the channel in non-blocking mode, which breaks the socket streams used for
+ * writing and by TLS. So this stream pays off for connections that only set a read timeout temporarily, like while logging in or for timed commands, and
+ * connections with a permanent 'socketTimeout' don't use it.
+ */
+public class DirectBufferInputStream extends InputStream {
+
+    private Socket socket;
+
+    private SocketChannel channel;
+
+    /** The buffer currently read from, either the direct buffer or the heap buffer. Buffered data lies between position and limit. */
+    private ByteBuffer buf;
+
+    private ByteBuffer directBuf;
+
+    /** Wraps the array read into through the socket input stream while a read timeout is set. */
+    private ByteBuffer heapBuf = null;
+
+    private InputStream timedInput = null;
+
+    /**
+     * Constructs a stream reading from the channel of the given socket.
+     * 
+     * @param socket
+     *            a connected socket created from a {@link SocketChannel}
+     * @param bufferSize
+     *            size of the direct buffer
+     */
+    public DirectBufferInputStream(Socket socket, int bufferSize) {
+        this.socket = socket;
+        this.channel = socket.getChannel();
+        if (this.channel == null) {
+            throw new IllegalArgumentException("Socket has no channel");
+        }
+        this.directBuf = ByteBuffer.allocateDirect(bufferSize);
+        this.directBuf.flip();
+        this.buf = this.directBuf;
+    }
+
+    private int fill() throws IOException {
+        checkClosed();
+
+        if (this.socket.getSoTimeout() == 0) {
+            this.buf = this.directBuf;
+            this.buf.clear();
+            try {
+                return this.channel.read(this.buf);
+            } finally {
+                this.buf.flip();
+            }
+        }
+
+        if (this.timedInput == null) {
+            this.timedInput = this.socket.getInputStream();
+            this.heapBuf = ByteBuffer.wrap(new byte[Math.min(this.directBuf.capacity(), 16384)]);
+        }
+        this.buf = this.heapBuf;
+        this.buf.clear();
+        int n = 0;
+        try {
+            n = this.timedInput.read(this.buf.array(), 0, this.buf.capacity());
+            return n;
+        } finally {
+            this.buf.limit(Math.max(n, 0));
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+
+        if (!this.buf.hasRemaining() && fill() <= 0) {
+            return -1;
+        }
+        return this.buf.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkClosed();
+
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+
+        if (!this.buf.hasRemaining() && fill() <= 0) {
+            return -1;
+        }
+
+        int n = Math.min(len, this.buf.remaining());
+        this.buf.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkClosed();
+
+        if (n <= 0) {
+            return 0;
+        }
+
+        if (!this.buf.hasRemaining() && fill() <= 0) {
+            return 0;
+        }
+
+        int skipped = (int) Math.min(n, this.buf.remaining());
+        this.buf.position(this.buf.position() + skipped);
+        return skipped;
+    }
+
+    /**
+     * Returns the number of buffered bytes. If there are none, takes whatever the channel has without blocking, so that data waiting to be read from the
+     * socket is reported too.
+     */
+    @Override
+    public int available() throws IOException {
+        checkClosed();
+
+        if (!this.buf.hasRemaining()) {
+            this.buf = this.directBuf;
+            synchronized (this.channel.blockingLock()) {
+                this.channel.configureBlocking(false);
+                try {
+                    this.buf.clear();
+                    this.channel.read(this.buf);
+                } finally {
+                    this.buf.flip();
+                    this.channel.configureBlocking(true);
+                }
+            }
+        }
+        return this.buf.remaining();
+    }
+
+    private void checkClosed() throws IOException {
+        if (this.buf == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } finally {
+                this.channel = null;
+                this.socket = null;
+                this.timedInput = null;
+                this.buf = null;
+                this.directBuf = null;
+                this.heapBuf = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
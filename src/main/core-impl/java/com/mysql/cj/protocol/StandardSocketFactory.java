@@ -35,6 +35,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.SocketChannel;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.conf.PropertyKey;
@@ -74,6 +75,14 @@ public class StandardSocketFactory implements SocketFactory {
      * @return socket
      */
     protected Socket createSocket(PropertySet props) {
+        if (props.getBooleanProperty(PropertyKey.useDirectBufferInput).getValue()) {
+            // a socket backed by a channel, so that it can be read from into direct buffers
+            try {
+                return SocketChannel.open().socket();
+            } catch (IOException e) {
+                // fall back to a plain socket and the input stream it provides
+            }
+        }
         return new Socket();
     }
 
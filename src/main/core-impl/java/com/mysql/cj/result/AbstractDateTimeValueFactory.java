@@ -38,7 +38,6 @@ import com.mysql.cj.protocol.InternalDate;
 import com.mysql.cj.protocol.InternalTime;
 import com.mysql.cj.protocol.InternalTimestamp;
 import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
-import com.mysql.cj.util.StringUtils;
 
 public abstract class AbstractDateTimeValueFactory<T> extends DefaultValueFactory<T> {
 
@@ -125,7 +124,7 @@ public abstract class AbstractDateTimeValueFactory<T> extends DefaultValueFactor
         }
 
         // TODO: Too expensive to convert from other charset to ASCII here? UTF-8 (e.g.) doesn't need any conversion before being sent to the decoder
-        String s = StringUtils.toString(bytes, offset, length, f.getEncoding());
+        String s = f.getStringDecoder().decode(bytes, offset, length);
         byte[] newBytes = s.getBytes();
 
         if (MysqlTextValueDecoder.isDate(s)) {
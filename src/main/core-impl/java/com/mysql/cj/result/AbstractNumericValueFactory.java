@@ -34,7 +34,6 @@ import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.DataConversionException;
 import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
-import com.mysql.cj.util.StringUtils;
 
 public abstract class AbstractNumericValueFactory<T> extends DefaultValueFactory<T> {
 
@@ -49,7 +48,7 @@ public abstract class AbstractNumericValueFactory<T> extends DefaultValueFactory
         }
 
         // TODO: Too expensive to convert from other charset to ASCII here? UTF-8 (e.g.) doesn't need any conversion before being sent to the decoder
-        String s = StringUtils.toString(bytes, offset, length, f.getEncoding());
+        String s = f.getStringDecoder().decode(bytes, offset, length);
         byte[] newBytes = s.getBytes();
 
         if (s.contains("e") || s.contains("E") || s.matches("-?\\d*\\.\\d*")) {
@@ -39,7 +39,6 @@ import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.DataConversionException;
 import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
 import com.mysql.cj.util.DataTypeUtil;
-import com.mysql.cj.util.StringUtils;
 
 /**
  * A value factory for creating {@link java.lang.Boolean} values.
@@ -95,7 +94,7 @@ public class BooleanValueFactory extends DefaultValueFactory<Boolean> {
         }
 
         // TODO: Too expensive to convert from other charset to ASCII here? UTF-8 (e.g.) doesn't need any conversion before being sent to the decoder
-        String s = StringUtils.toString(bytes, offset, length, f.getEncoding());
+        String s = f.getStringDecoder().decode(bytes, offset, length);
         byte[] newBytes = s.getBytes();
 
         if (s.equalsIgnoreCase("Y") || s.equalsIgnoreCase("true")) {
@@ -38,7 +38,6 @@ import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.NumberOutOfRange;
 import com.mysql.cj.util.DataTypeUtil;
-import com.mysql.cj.util.StringUtils;
 
 /**
  * A value factory for creating byte values.
@@ -107,7 +106,7 @@ public class ByteValueFactory extends DefaultValueFactory<Byte> {
             return (byte) 0;
         }
         // TODO: Too expensive to convert from other charset to ASCII here? UTF-8 (e.g.) doesn't need any conversion before being sent to the decoder
-        String s = StringUtils.toString(bytes, offset, length, f.getEncoding());
+        String s = f.getStringDecoder().decode(bytes, offset, length);
         byte[] newBytes = s.getBytes();
 
         if (this.jdbcCompliantTruncationForReads && newBytes.length != 1) {
@@ -39,7 +39,7 @@ import com.mysql.cj.protocol.InternalDate;
 import com.mysql.cj.protocol.InternalTime;
 import com.mysql.cj.protocol.InternalTimestamp;
 import com.mysql.cj.util.DataTypeUtil;
-import com.mysql.cj.util.StringUtils;
+import com.mysql.cj.util.StringDecoder;
 import com.mysql.cj.util.TimeUtil;
 
 /**
@@ -48,6 +48,9 @@ import com.mysql.cj.util.TimeUtil;
 public class StringValueFactory implements ValueFactory<String> {
     protected PropertySet pset = null;
 
+    /** Size of the string value dictionaries, 0 if "deduplicateStringValues" is disabled or -1 if not looked up yet. */
+    private int deduplicateStringValuesCacheSize = -1;
+
     public StringValueFactory(PropertySet pset) {
         this.pset = pset;
     }
@@ -55,6 +58,7 @@ public class StringValueFactory implements ValueFactory<String> {
     @Override
     public void setPropertySet(PropertySet pset) {
         this.pset = pset;
+        this.deduplicateStringValuesCacheSize = -1;
     }
 
     /**
@@ -141,9 +145,18 @@ public class StringValueFactory implements ValueFactory<String> {
      * @return string
      */
     public String createFromBytes(byte[] bytes, int offset, int length, Field f) {
-        return StringUtils.toString(bytes, offset, length,
-                f.getCollationIndex() == CharsetMapping.MYSQL_COLLATION_INDEX_binary ? this.pset.getStringProperty(PropertyKey.characterEncoding).getValue()
-                        : f.getEncoding());
+        if (f.getCollationIndex() == CharsetMapping.MYSQL_COLLATION_INDEX_binary) {
+            return StringDecoder.forEncoding(this.pset.getStringProperty(PropertyKey.characterEncoding).getValue()).decode(bytes, offset, length);
+        }
+        if (this.deduplicateStringValuesCacheSize < 0) {
+            this.deduplicateStringValuesCacheSize = this.pset.getBooleanProperty(PropertyKey.deduplicateStringValues).getValue()
+                    ? this.pset.getIntegerProperty(PropertyKey.deduplicateStringValuesCacheSize).getValue()
+                    : 0;
+        }
+        if (this.deduplicateStringValuesCacheSize > 0) {
+            return f.getStringValueDictionary(this.deduplicateStringValuesCacheSize).get(bytes, offset, length, f.getStringDecoder());
+        }
+        return f.getStringDecoder().decode(bytes, offset, length);
     }
 
     @Override
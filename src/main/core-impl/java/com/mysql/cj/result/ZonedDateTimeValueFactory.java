@@ -43,7 +43,6 @@ import com.mysql.cj.protocol.InternalDate;
 import com.mysql.cj.protocol.InternalTime;
 import com.mysql.cj.protocol.InternalTimestamp;
 import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
-import com.mysql.cj.util.StringUtils;
 
 /**
  * Value factory to create {@link ZonedDateTime} instances.
@@ -111,7 +110,7 @@ public class ZonedDateTimeValueFactory extends AbstractDateTimeValueFactory<Zone
         }
 
         // TODO: Too expensive to convert from other charset to ASCII here? UTF-8 (e.g.) doesn't need any conversion before being sent to the decoder
-        String s = StringUtils.toString(bytes, offset, length, f.getEncoding());
+        String s = f.getStringDecoder().decode(bytes, offset, length);
         byte[] newBytes = s.getBytes();
 
         if (MysqlTextValueDecoder.isDate(s)) {
@@ -66,8 +66,12 @@ public class BinaryResultsetReader implements ProtocolEntityReader<Resultset, Na
         if (columnCount > 0) {
             // Build a result set with rows.
 
+            // The server may omit the column definitions if it was asked to (resultset_metadata=NONE)
+            boolean metadataOmitted = this.protocol.getServerSession().isResultsetMetadataOptional()
+                    && resultPacket.readInteger(IntegerDataType.INT1) == NativeConstants.RESULTSET_METADATA_NONE;
+
             // Read in the column information
-            ColumnDefinition cdef = this.protocol.read(ColumnDefinition.class, new MergingColumnDefinitionFactory(columnCount, metadata));
+            ColumnDefinition cdef = this.protocol.read(ColumnDefinition.class, new MergingColumnDefinitionFactory(columnCount, metadata, metadataOmitted));
 
             boolean isCursorPosible = this.protocol.getPropertySet().getBooleanProperty(PropertyKey.useCursorFetch).getValue()
                     && resultSetFactory.getResultSetType() == Type.FORWARD_ONLY && resultSetFactory.getFetchSize() > 0;
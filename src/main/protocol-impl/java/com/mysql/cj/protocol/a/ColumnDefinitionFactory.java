@@ -38,12 +38,18 @@ public class ColumnDefinitionFactory implements ProtocolEntityFactory<ColumnDefi
 
     protected long columnCount;
     protected ColumnDefinition columnDefinitionFromCache;
+    protected boolean metadataOmitted = false;
 
     public ColumnDefinitionFactory(long columnCount, ColumnDefinition columnDefinitionFromCache) {
         this.columnCount = columnCount;
         this.columnDefinitionFromCache = columnDefinitionFromCache;
     }
 
+    public ColumnDefinitionFactory(long columnCount, ColumnDefinition columnDefinitionFromCache, boolean metadataOmitted) {
+        this(columnCount, columnDefinitionFromCache);
+        this.metadataOmitted = metadataOmitted;
+    }
+
     public long getColumnCount() {
         return this.columnCount;
     }
@@ -52,6 +58,16 @@ public class ColumnDefinitionFactory implements ProtocolEntityFactory<ColumnDefi
         return this.columnDefinitionFromCache;
     }
 
+    /**
+     * Did the server omit the column definitions of this result set (resultset_metadata=NONE)? If so, the cached column definition is the only source
+     * of metadata.
+     * 
+     * @return true if no column definition packets follow the result set header
+     */
+    public boolean isMetadataOmitted() {
+        return this.metadataOmitted;
+    }
+
     @Override
     public ColumnDefinition createFromMessage(NativePacketPayload packetPayload) {
         // TODO Auto-generated method stub
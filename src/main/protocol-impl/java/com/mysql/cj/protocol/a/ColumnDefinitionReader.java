@@ -29,7 +29,9 @@
 
 package com.mysql.cj.protocol.a;
 
+import com.mysql.cj.Messages;
 import com.mysql.cj.MysqlType;
+import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.ProtocolEntityReader;
@@ -53,6 +55,16 @@ public class ColumnDefinitionReader implements ProtocolEntityReader<ColumnDefini
         long columnCount = cdf.getColumnCount();
         ColumnDefinition cdef = cdf.getColumnDefinitionFromCache();
 
+        if (cdf.isMetadataOmitted()) {
+            if (cdef == null || cdef.getFields() == null || cdef.getFields().length != columnCount) {
+                // the rows can't be decoded without matching metadata, discard them to keep the connection usable
+                skipRows();
+                throw ExceptionFactory.createException(Messages.getString("ColumnDefinitionReader.0", new Object[] { columnCount }),
+                        this.protocol.getExceptionInterceptor());
+            }
+            return cdef;
+        }
+
         if (cdef != null && !cdf.mergeColumnDefinitions()) {
             for (int i = 0; i < columnCount; i++) {
                 this.protocol.skipPacket();
@@ -80,6 +92,19 @@ public class ColumnDefinitionReader implements ProtocolEntityReader<ColumnDefini
         return cdf.createFromFields(fields);
     }
 
+    /**
+     * Reads and discards the rows of the current result set, up to and including the terminating packet.
+     */
+    private void skipRows() {
+        NativePacketPayload packet = this.protocol.readMessage(this.protocol.getReusablePacket());
+        while (!packet.isResultSetOKPacket() && !packet.isEOFPacket() && !packet.isErrorPacket()) {
+            packet = this.protocol.readMessage(this.protocol.getReusablePacket());
+        }
+        if (!packet.isErrorPacket()) {
+            this.protocol.readServerStatusForResultSets(packet, true);
+        }
+    }
+
     /**
      * Unpacks the Field information from the given packet.
      * 
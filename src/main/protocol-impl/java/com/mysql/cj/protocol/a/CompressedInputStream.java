@@ -32,8 +32,6 @@ package com.mysql.cj.protocol.a;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.log.Log;
@@ -49,8 +47,8 @@ public class CompressedInputStream extends InputStream {
     /** The stream we are reading from the server */
     private InputStream in;
 
-    /** The ZIP inflater used to un-compress packets */
-    private Inflater inflater;
+    /** The codec used to un-compress packets */
+    private CompressionCodec codec;
 
     /** Connection property reference */
     private RuntimeProperty<Boolean> traceProtocol;
@@ -78,10 +76,27 @@ public class CompressedInputStream extends InputStream {
      *            logger
      */
     public CompressedInputStream(InputStream streamFromServer, RuntimeProperty<Boolean> traceProtocol, Log log) {
+        this(streamFromServer, new ZlibCompressionCodec(), traceProtocol, log);
+    }
+
+    /**
+     * Creates a new CompressedInputStream that reads the given stream from the
+     * server and un-compresses packets with the given codec.
+     * 
+     * @param streamFromServer
+     *            original server InputStream
+     * @param codec
+     *            the {@link CompressionCodec} of the negotiated compression algorithm
+     * @param traceProtocol
+     *            "traceProtocol" property
+     * @param log
+     *            logger
+     */
+    public CompressedInputStream(InputStream streamFromServer, CompressionCodec codec, RuntimeProperty<Boolean> traceProtocol, Log log) {
         this.traceProtocol = traceProtocol;
         this.log = log;
         this.in = streamFromServer;
-        this.inflater = new Inflater();
+        this.codec = codec;
     }
 
     @Override
@@ -97,8 +112,8 @@ public class CompressedInputStream extends InputStream {
     public void close() throws IOException {
         this.in.close();
         this.buffer = null;
-        this.inflater.end();
-        this.inflater = null;
+        this.codec.close();
+        this.codec = null;
         this.traceProtocol = null;
         this.log = null;
     }
@@ -138,15 +153,7 @@ public class CompressedInputStream extends InputStream {
 
             readFully(compressedBuffer, 0, compressedPacketLength);
 
-            this.inflater.reset();
-
-            this.inflater.setInput(compressedBuffer);
-
-            try {
-                this.inflater.inflate(uncompressedData);
-            } catch (DataFormatException dfe) {
-                throw new IOException("Error while uncompressing packet from server.");
-            }
+            this.codec.decompress(compressedBuffer, 0, compressedPacketLength, uncompressedData, 0, uncompressedLength);
 
         } else {
             if (doTrace) {
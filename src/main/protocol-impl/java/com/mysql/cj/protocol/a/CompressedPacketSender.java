@@ -31,7 +31,6 @@ package com.mysql.cj.protocol.a;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.util.zip.Deflater;
 
 import com.mysql.cj.protocol.MessageSender;
 
@@ -42,9 +41,16 @@ import com.mysql.cj.protocol.MessageSender;
  */
 public class CompressedPacketSender implements MessageSender<NativePacketPayload> {
     private BufferedOutputStream outputStream;
-    private Deflater deflater = new Deflater();
-    /** Buffer to compress data to. Used only across one send() invocation. */
-    private byte compressedPacket[];
+    private CompressionCodec codec;
+    /**
+     * Buffer to collect the data to compress, followed by the room to compress it to. Reused by further send() invocations unless it's larger than
+     * {@link #MAX_RETAINED_BUFFER_LEN}.
+     */
+    private byte packetBuffer[];
+    /** Length of the data to compress. */
+    private int uncompressedPayloadLen = 0;
+    /** Offset of the compressed data in the packet buffer, also the maximum length of both the data to compress and the compressed data. */
+    private int compressedOffset = 0;
     /** Sequence id of compressed packet. Used only across one send() invocation. */
     private byte compressedSequenceId = 0;
     /** Length of current compressed packet. */
@@ -52,26 +58,33 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
 
     public static final int COMP_HEADER_LENGTH = 7;
     public static final int MIN_COMPRESS_LEN = 50;
+    private static final int MAX_RETAINED_BUFFER_LEN = 2 * 65536;
 
     public CompressedPacketSender(BufferedOutputStream outputStream) {
+        this(outputStream, new ZlibCompressionCodec());
+    }
+
+    public CompressedPacketSender(BufferedOutputStream outputStream, CompressionCodec codec) {
         this.outputStream = outputStream;
+        this.codec = codec;
     }
 
     /**
      * Shut down this packet sender and deallocate any resources.
      */
     public void stop() {
-        this.deflater.end();
-        this.deflater = null;
+        this.codec.close();
+        this.codec = null;
+        this.packetBuffer = null;
     }
 
     private void resetPacket() {
         this.compressedPayloadLen = 0;
-        this.deflater.reset();
+        this.uncompressedPayloadLen = 0;
     }
 
     /**
-     * Add and compress the header for the raw packet into the compressed packet.
+     * Add the header for the raw packet to the data to compress.
      * 
      * @param packetSequence
      *            sequence id
@@ -79,16 +92,13 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            uncompressed packet length
      */
     private void addUncompressedHeader(byte packetSequence, int uncompressedPacketLen) {
-        byte uncompressedHeader[] = new byte[NativeConstants.HEADER_LENGTH];
-        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, uncompressedHeader, 0);
-        uncompressedHeader[3] = packetSequence;
-        this.deflater.setInput(uncompressedHeader);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, this.packetBuffer, this.uncompressedPayloadLen);
+        this.packetBuffer[this.uncompressedPayloadLen + 3] = packetSequence;
+        this.uncompressedPayloadLen += NativeConstants.HEADER_LENGTH;
     }
 
     /**
-     * Add and compress the payload into the compressed packet.
+     * Add the payload to the data to compress.
      * 
      * @param payload
      *            payload bytes
@@ -98,18 +108,17 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            length
      */
     private void addPayload(byte[] payload, int payloadOffset, int payloadLen) {
-        this.deflater.setInput(payload, payloadOffset, payloadLen);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        System.arraycopy(payload, payloadOffset, this.packetBuffer, this.uncompressedPayloadLen, payloadLen);
+        this.uncompressedPayloadLen += payloadLen;
     }
 
     /**
-     * Complete compression of the current payload contents to the compressed packet.
+     * Compress the current payload contents to the compressed packet.
      */
     private void completeCompression() {
-        this.deflater.finish();
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        int len = this.codec.compress(this.packetBuffer, 0, this.uncompressedPayloadLen, this.packetBuffer, this.compressedOffset, this.compressedOffset);
+        // data that doesn't fit is incompressible, it is sent as is
+        this.compressedPayloadLen = len < 0 ? Integer.MAX_VALUE : len;
     }
 
     /**
@@ -157,7 +166,7 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
         writeCompressedHeader(this.compressedPayloadLen, this.compressedSequenceId++, uncompressedPayloadLen);
 
         // compressed payload
-        this.outputStream.write(this.compressedPacket, 0, this.compressedPayloadLen);
+        this.outputStream.write(this.packetBuffer, this.compressedOffset, this.compressedPayloadLen);
     }
 
     /**
@@ -189,10 +198,9 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
             return;
         }
 
-        if (packetLen + NativeConstants.HEADER_LENGTH > NativeConstants.MAX_PACKET_SIZE) {
-            this.compressedPacket = new byte[NativeConstants.MAX_PACKET_SIZE];
-        } else {
-            this.compressedPacket = new byte[NativeConstants.HEADER_LENGTH + packetLen];
+        this.compressedOffset = Math.min(NativeConstants.HEADER_LENGTH + packetLen, NativeConstants.MAX_PACKET_SIZE);
+        if (this.packetBuffer == null || this.packetBuffer.length < 2 * this.compressedOffset) {
+            this.packetBuffer = new byte[2 * this.compressedOffset];
         }
 
         PacketSplitter packetSplitter = new PacketSplitter(packetLen);
@@ -201,7 +209,7 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
         int unsentOffset = 0;
         // loop over constructing and sending compressed packets
         while (true) {
-            this.compressedPayloadLen = 0;
+            resetPacket();
 
             if (packetSplitter.nextPacket()) {
                 // rest of previous packet
@@ -254,8 +262,10 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
 
         this.outputStream.flush();
 
-        // release reference to (possibly large) compressed packet buffer
-        this.compressedPacket = null;
+        // release reference to (possibly large) packet buffer
+        if (this.packetBuffer.length > MAX_RETAINED_BUFFER_LEN) {
+            this.packetBuffer = null;
+        }
     }
 
     @Override
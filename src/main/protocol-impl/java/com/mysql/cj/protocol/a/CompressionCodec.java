@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.IOException;
+
+/**
+ * Compression algorithm used by the compressed protocol. The payload of each compressed packet is compressed and decompressed independently, so
+ * implementations don't need to keep any state between packets.
+ * 
+ * Implementations must have a public no-args constructor.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Prepares this codec for use.
+     * 
+     * @param level
+     *            the requested compression level, or -1 for the algorithm default
+     */
+    void init(int level);
+
+    /**
+     * Compresses data into the given buffer.
+     * 
+     * @param input
+     *            data to compress
+     * @param inputOffset
+     *            offset of the data in the input buffer
+     * @param inputLength
+     *            length of the data
+     * @param output
+     *            buffer to compress the data into
+     * @param outputOffset
+     *            offset in the output buffer
+     * @param outputLength
+     *            available space in the output buffer
+     * @return the length of the compressed data, or -1 if it doesn't fit into the available space and the data should be sent uncompressed
+     */
+    int compress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength);
+
+    /**
+     * Decompresses data into the given buffer.
+     * 
+     * @param input
+     *            compressed data
+     * @param inputOffset
+     *            offset of the compressed data in the input buffer
+     * @param inputLength
+     *            length of the compressed data
+     * @param output
+     *            buffer to decompress the data into
+     * @param outputOffset
+     *            offset in the output buffer
+     * @param outputLength
+     *            expected length of the decompressed data
+     * @return the length of the decompressed data
+     * @throws IOException
+     *             if the data can't be decompressed
+     */
+    int decompress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) throws IOException;
+
+    /**
+     * Releases the resources held by this codec. The codec can't be used afterwards.
+     */
+    void close();
+}
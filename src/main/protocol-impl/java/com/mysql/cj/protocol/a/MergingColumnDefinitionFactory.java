@@ -45,6 +45,10 @@ public class MergingColumnDefinitionFactory extends ColumnDefinitionFactory impl
         super(columnCount, columnDefinitionFromCache);
     }
 
+    public MergingColumnDefinitionFactory(long columnCount, ColumnDefinition columnDefinitionFromCache, boolean metadataOmitted) {
+        super(columnCount, columnDefinitionFromCache, metadataOmitted);
+    }
+
     @Override
     public boolean mergeColumnDefinitions() {
         return true;
@@ -137,7 +137,7 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
                 | (capabilityFlags & NativeServerSession.CLIENT_LONG_FLAG)      //
                 | (capabilityFlags & NativeServerSession.CLIENT_DEPRECATE_EOF)  //
                 | (capabilityFlags & NativeServerSession.CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA)
-                | (this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue() ? (capabilityFlags & NativeServerSession.CLIENT_COMPRESS) : 0)
+                | ((NativeProtocol) this.protocol).negotiateCompression(capabilityFlags)
                 | (this.useConnectWithDb ? (capabilityFlags & NativeServerSession.CLIENT_CONNECT_WITH_DB) : 0)
                 | (this.propertySet.getBooleanProperty(PropertyKey.useAffectedRows).getValue() ? 0 : (capabilityFlags & NativeServerSession.CLIENT_FOUND_ROWS))
                 | (this.propertySet.getBooleanProperty(PropertyKey.allowLoadLocalInfile).getValue()
@@ -157,8 +157,15 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
                         ? (capabilityFlags & NativeServerSession.CLIENT_SSL)
                         : 0);
 
-        // TODO MYSQLCONNJ-437
-        // clientParam |= (capabilityFlags & NativeServerSession.CLIENT_SESSION_TRACK);
+        if (this.propertySet.getBooleanProperty(PropertyKey.trackSessionState).getValue()) {
+            clientParam |= (capabilityFlags & NativeServerSession.CLIENT_SESSION_TRACK);
+        }
+
+        // Result sets without metadata are only handled when there are no intermediate EOF packets either
+        if (this.propertySet.getBooleanProperty(PropertyKey.useOptionalResultSetMetadata).getValue()
+                && (clientParam & NativeServerSession.CLIENT_DEPRECATE_EOF) != 0) {
+            clientParam |= (capabilityFlags & NativeServerSession.CLIENT_OPTIONAL_RESULTSET_METADATA);
+        }
 
         sessState.setClientParam(clientParam);
 
@@ -471,8 +478,12 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
 
             if (last_received.isOKPacket()) {
                 // read OK packet
-                OkPacket ok = OkPacket.parse(last_received, null);
+                NativeServerSession nativeServerSession = (NativeServerSession) serverSession;
+                OkPacket ok = OkPacket.parse(last_received, null, nativeServerSession.isSessionStateTracked());
                 serverSession.setStatusFlags(ok.getStatusFlags(), true);
+                if (ok.getSessionStateChanges() != null) {
+                    nativeServerSession.updateSessionState(ok.getSessionStateChanges());
+                }
 
                 // if OK packet then finish handshake
                 plugin.destroy();
@@ -634,6 +645,10 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
         if (((clientParam & NativeServerSession.CLIENT_CONNECT_ATTRS) != 0)) {
             appendConnectionAttributes(last_sent, this.propertySet.getStringProperty(PropertyKey.connectionAttributes).getValue(), enc);
         }
+
+        if ((clientParam & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0) {
+            last_sent.writeInteger(IntegerDataType.INT1, this.propertySet.getIntegerProperty(PropertyKey.zstdCompressionLevel).getValue());
+        }
         return last_sent;
     }
 
@@ -47,6 +47,10 @@ public class NativeConstants {
     public static final short TYPE_ID_LOCAL_INFILE = 0xFB;
     public static final short TYPE_ID_OK = 0;
 
+    /* Values of the "metadata_follows" flag of result set headers, see CLIENT_OPTIONAL_RESULTSET_METADATA. */
+    public static final int RESULTSET_METADATA_NONE = 0;
+    public static final int RESULTSET_METADATA_FULL = 1;
+
     /* MySQL binary protocol value lengths. */
     public static final int BIN_LEN_INT1 = 1;
     public static final int BIN_LEN_INT2 = 2;
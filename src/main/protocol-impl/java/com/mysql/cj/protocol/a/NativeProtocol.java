@@ -58,6 +58,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
@@ -141,6 +142,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     protected static final int SSL_REQUEST_LENGTH = 32;
     private static final String EXPLAINABLE_STATEMENT = "SELECT";
     private static final String[] EXPLAINABLE_STATEMENT_EXTENSION = new String[] { "INSERT", "UPDATE", "REPLACE", "DELETE" };
+    private static final int RESULTSET_METADATA_OMISSION_MIN_RUN = 16;
+    private static final int RESULTSET_METADATA_OMISSION_MAX_RUN = 4096;
 
     protected MessageSender<NativePacketPayload> packetSender;
     protected MessageReader<NativePacketHeader, NativePacketPayload> packetReader;
@@ -150,6 +153,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     /** Track this to manually shut down. */
     protected CompressedPacketSender compressedPacketSender;
 
+    /** The codec of the compression algorithm chosen during the handshake, if any */
+    private CompressionCodec compressionCodec = null;
+
     //private PacketPayload sendPacket = null;
     protected NativePacketPayload sharedSendPacket = null;
     /** Use this when reading in rows to avoid thousands of new() calls, because the byte arrays just get copied out of the packet anyway */
@@ -209,6 +215,19 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
      */
     private String queryComment = null;
 
+    /** Was the server asked to omit result set metadata (resultset_metadata=NONE)? */
+    private boolean resultsetMetadataOmitted = false;
+
+    /**
+     * Number of consecutive executions of server-side prepared statements with known metadata since the last command that required full result set
+     * metadata. The session is only switched to resultset_metadata=NONE once this reaches {@link #resultsetMetadataOmissionThreshold}, so that
+     * workloads mixing prepared statement executions with other commands don't pay for switching the mode back and forth.
+     */
+    private int resultsetMetadataOmissibleRun = 0;
+
+    /** Run length required before switching to resultset_metadata=NONE. Doubles each time the session has to be switched back to full metadata. */
+    private int resultsetMetadataOmissionThreshold = RESULTSET_METADATA_OMISSION_MIN_RUN;
+
     /**
      * We store the platform 'encoding' here, only used to avoid munging filenames for LOAD DATA LOCAL INFILE...
      */
@@ -395,13 +414,13 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             //
             // Can't enable compression until after handshake
             //
-            if (((this.serverSession.getCapabilities().getCapabilityFlags() & NativeServerSession.CLIENT_COMPRESS) != 0)
-                    && this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()
+            if (this.compressionCodec != null && (this.serverSession.getClientParam()
+                    & (NativeServerSession.CLIENT_COMPRESS | NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM)) != 0
                     && !(this.socketConnection.getMysqlInput().getUnderlyingStream() instanceof CompressedInputStream)) {
                 this.useCompression = true;
                 this.socketConnection.setMysqlInput(new FullReadInputStream(new CompressedInputStream(this.socketConnection.getMysqlInput(),
-                        this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log)));
-                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput());
+                        this.compressionCodec, this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log)));
+                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput(), this.compressionCodec);
                 this.packetSender = this.compressedPacketSender;
             }
 
@@ -582,6 +601,14 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     @Override
     public final NativePacketPayload sendCommand(Message queryPacket, boolean skipCheck, int timeoutMillis) {
         int command = queryPacket.getByteBuffer()[0];
+
+        if (!isResultsetMetadataOmissible(command)) {
+            this.resultsetMetadataOmissibleRun = 0;
+            if (this.resultsetMetadataOmitted) {
+                setResultsetMetadataOmitted(false);
+            }
+        }
+
         this.commandCount++;
 
         if (this.queryInterceptors != null) {
@@ -674,6 +701,135 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Prepares the session for the execution of a server-side prepared statement. If the result set metadata of the statement is already known, the
+     * session is switched to resultset_metadata=NONE once enough such executions were sent in a row; otherwise it is switched back to full metadata.
+     * Does nothing if CLIENT_OPTIONAL_RESULTSET_METADATA wasn't negotiated.
+     * 
+     * @param metadataKnown
+     *            true if the caller can decode the result without its column definitions
+     * @return true if the server will omit the result set metadata of the execution
+     */
+    public boolean prepareResultsetMetadataMode(boolean metadataKnown) {
+        if (!this.serverSession.isResultsetMetadataOptional()) {
+            return false;
+        }
+        if (!metadataKnown) {
+            this.resultsetMetadataOmissibleRun = 0;
+            setResultsetMetadataOmitted(false);
+            return false;
+        }
+        if (!this.resultsetMetadataOmitted && ++this.resultsetMetadataOmissibleRun >= this.resultsetMetadataOmissionThreshold) {
+            setResultsetMetadataOmitted(true);
+        }
+        return this.resultsetMetadataOmitted;
+    }
+
+    /**
+     * Asks the server to omit (or to send again) the column definitions of result sets. This is only meant for executions of server-side prepared
+     * statements whose result set metadata is already known; the session is switched back to full metadata before any other command is sent.
+     * Does nothing if CLIENT_OPTIONAL_RESULTSET_METADATA wasn't negotiated or if the session is already in the requested mode.
+     * 
+     * @param omit
+     *            true to set resultset_metadata=NONE, false to set resultset_metadata=FULL
+     */
+    public void setResultsetMetadataOmitted(boolean omit) {
+        if (omit == this.resultsetMetadataOmitted || !this.serverSession.isResultsetMetadataOptional()) {
+            return;
+        }
+        if (!omit) {
+            // switching back costs a round trip, wait for longer runs of omissible executions before switching again
+            this.resultsetMetadataOmissionThreshold = Math.min(this.resultsetMetadataOmissionThreshold * 2, RESULTSET_METADATA_OMISSION_MAX_RUN);
+        }
+        // the flag is only raised after the SET statement is sent so that sendCommand() doesn't try to restore full metadata for it
+        this.resultsetMetadataOmitted = false;
+        try {
+            sendCommand(this.commandBuilder.buildComQuery(null, omit ? "SET resultset_metadata = NONE" : "SET resultset_metadata = FULL"), false, 0);
+            this.resultsetMetadataOmitted = omit;
+        } catch (CJException e) {
+            this.resultsetMetadataOmitted = !omit;
+            throw e;
+        }
+    }
+
+    public boolean isResultsetMetadataOmitted() {
+        return this.resultsetMetadataOmitted;
+    }
+
+    /**
+     * Can the given command be sent while the server omits result set metadata? Only commands that either don't return result sets or that act on
+     * server-side prepared statements with known metadata can.
+     * 
+     * @param command
+     *            command signature
+     * @return true if the command doesn't require result set metadata to be switched back on
+     */
+    private static boolean isResultsetMetadataOmissible(int command) {
+        switch (command) {
+            case NativeConstants.COM_STMT_EXECUTE:
+            case NativeConstants.COM_STMT_FETCH:
+            case NativeConstants.COM_STMT_SEND_LONG_DATA:
+            case NativeConstants.COM_STMT_RESET:
+            case NativeConstants.COM_STMT_CLOSE:
+            case NativeConstants.COM_PING:
+            case NativeConstants.COM_QUIT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Chooses the compression algorithm to request from the server: the first one from "compressionAlgorithms" that the server supports and that can be
+     * used by the driver.
+     * 
+     * @param serverCapabilities
+     *            the capability flags sent by the server
+     * @return the capability flag selecting the compression algorithm, or 0 if the connection won't be compressed
+     */
+    public int negotiateCompression(int serverCapabilities) {
+        this.compressionCodec = null;
+
+        if (!this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()) {
+            return 0;
+        }
+
+        for (String algorithm : StringUtils.split(this.propertySet.getStringProperty(PropertyKey.compressionAlgorithms).getValue(), ",", true)) {
+            switch (algorithm.toLowerCase(Locale.ENGLISH)) {
+                case "zlib":
+                    if ((serverCapabilities & NativeServerSession.CLIENT_COMPRESS) != 0) {
+                        this.compressionCodec = new ZlibCompressionCodec();
+                        return NativeServerSession.CLIENT_COMPRESS;
+                    }
+                    break;
+
+                case "zstd":
+                    if ((serverCapabilities & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0) {
+                        String codecClassName = this.propertySet.getStringProperty(PropertyKey.zstdCompressionCodec).getValue();
+                        try {
+                            CompressionCodec codec = (CompressionCodec) Util.getInstance(codecClassName, new Class<?>[0], new Object[0],
+                                    getExceptionInterceptor(), Messages.getString("Protocol.Compression.3", new Object[] { codecClassName }));
+                            codec.init(this.propertySet.getIntegerProperty(PropertyKey.zstdCompressionLevel).getValue());
+                            this.compressionCodec = codec;
+                            return NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+                        } catch (CJException e) {
+                            // fall back to the next algorithm
+                            this.log.logWarn(e.getMessage());
+                        }
+                    }
+                    break;
+
+                case "":
+                    break;
+
+                default:
+                    throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("Protocol.Compression.9", new Object[] { algorithm }),
+                            getExceptionInterceptor());
+            }
+        }
+        return 0;
+    }
+
     public void checkTransactionState() {
         int transState = this.serverSession.getTransactionState();
         if (transState == ServerSession.TRANSACTION_COMPLETED) {
@@ -1282,6 +1438,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.packetSender = this.packetSender.undecorateAll();
         this.packetReader = this.packetReader.undecorateAll();
 
+        this.serverSession.resetSessionState();
+        this.resultsetMetadataOmitted = false; // the server resets resultset_metadata along with other session variables
+        this.resultsetMetadataOmissibleRun = 0;
         this.authProvider.changeUser(this.serverSession, user, password, database);
     }
 
@@ -1686,9 +1845,13 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             checkTransactionState();
         } else {
             // read OK packet
-            OkPacket ok = OkPacket.parse(rowPacket, this.serverSession.getErrorMessageEncoding());
+            OkPacket ok = OkPacket.parse(rowPacket, this.serverSession.getErrorMessageEncoding(), this.serverSession.isSessionStateTracked());
             result = (T) ok;
 
+            if (ok.getSessionStateChanges() != null) {
+                this.serverSession.updateSessionState(ok.getSessionStateChanges());
+            }
+
             this.serverSession.setStatusFlags(ok.getStatusFlags(), saveOldStatus);
             checkTransactionState();
 
@@ -1742,16 +1905,19 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
         filePacket.setPosition(0);
 
-        byte[] fileBuf = new byte[packetLength];
-        BufferedInputStream fileIn = null;
+        InputStream fileIn = null;
         try {
             fileIn = getFileStream(fileName);
 
+            // read straight into the packet buffer, the payload starts at offset 0 and the header is added by the packet sender
+            byte[] fileBuf = filePacket.getByteBuffer();
+            int chunkLength = Math.min(packetLength, fileBuf.length);
+
             int bytesRead = 0;
-            while ((bytesRead = fileIn.read(fileBuf)) != -1) {
-                filePacket.setPosition(0);
-                filePacket.writeBytes(StringLengthDataType.STRING_FIXED, fileBuf, 0, bytesRead);
-                send(filePacket, filePacket.getPosition());
+            while ((bytesRead = fileIn.read(fileBuf, 0, chunkLength)) != -1) {
+                if (bytesRead > 0) {
+                    send(filePacket, bytesRead);
+                }
             }
         } catch (IOException ioEx) {
             boolean isParanoid = this.propertySet.getBooleanProperty(PropertyKey.paranoid).getValue();
@@ -1793,7 +1959,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         return checkErrorMessage();
     }
 
-    private BufferedInputStream getFileStream(String fileName) throws IOException {
+    private InputStream getFileStream(String fileName) throws IOException {
         RuntimeProperty<Boolean> allowLoadLocalInfile = this.propertySet.getBooleanProperty(PropertyKey.allowLoadLocalInfile);
         RuntimeProperty<String> allowLoadLocaInfileInPath = this.propertySet.getStringProperty(PropertyKey.allowLoadLocalInfileInPath);
         RuntimeProperty<Boolean> allowUrlInLocalInfile = this.propertySet.getBooleanProperty(PropertyKey.allowUrlInLocalInfile);
@@ -1806,7 +1972,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             // "LOAD DATA LOCAL INFILE" is enabled without restrictions.
             InputStream hookedStream = getLocalInfileInputStream();
             if (hookedStream != null) {
-                return new BufferedInputStream(hookedStream);
+                // read in packet sized chunks, buffering would only add a copy
+                return hookedStream;
             } else if (allowUrlInLocalInfile.getValue()) {
                 // Look for ':'.
                 if (fileName.indexOf(':') != -1) {
@@ -29,8 +29,11 @@
 
 package com.mysql.cj.protocol.a;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 import com.mysql.cj.CharsetMapping;
@@ -43,6 +46,8 @@ import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.ServerCapabilities;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.result.SessionStateChanges;
+import com.mysql.cj.util.GtidSet;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.TimeUtil;
 
@@ -55,7 +60,9 @@ public class NativeServerSession implements ServerSession {
     public static final int SERVER_QUERY_NO_INDEX_USED = 32;
     public static final int SERVER_STATUS_CURSOR_EXISTS = 64;
     public static final int SERVER_STATUS_LAST_ROW_SENT = 128; // The server status for 'last-row-sent'
+    public static final int SERVER_STATUS_METADATA_CHANGED = 1024; // A re-prepared statement returns a different set of result columns
     public static final int SERVER_QUERY_WAS_SLOW = 2048;
+    public static final int SERVER_SESSION_STATE_CHANGED = 1 << 14; // Session state information follows in OK packets
 
     public static final int CLIENT_LONG_PASSWORD = 0x00000001; /* new more secure passwords */
     public static final int CLIENT_FOUND_ROWS = 0x00000002;
@@ -78,6 +85,10 @@ public class NativeServerSession implements ServerSession {
     public static final int CLIENT_CAN_HANDLE_EXPIRED_PASSWORD = 0x00400000;
     public static final int CLIENT_SESSION_TRACK = 0x00800000;
     public static final int CLIENT_DEPRECATE_EOF = 0x01000000;
+    public static final int CLIENT_OPTIONAL_RESULTSET_METADATA = 0x02000000; // Result set metadata may be omitted, see "resultset_metadata"
+    public static final int CLIENT_ZSTD_COMPRESSION_ALGORITHM = 0x04000000; // Can use zstd compression protocol
+
+    private static final int MAX_REPORTED_GTID_INTERVALS = 1024;
 
     private PropertySet propertySet;
     private NativeCapabilities capabilities;
@@ -89,6 +100,14 @@ public class NativeServerSession implements ServerSession {
     /** The map of server variables that we retrieve at connection init. */
     private Map<String, String> serverVariables = new HashMap<>();
 
+    /** The session variables the server was asked to report changes of, and their current values when known. */
+    private Set<String> trackedSessionVariables = new HashSet<>();
+    private Map<String, String> sessionStateVariables = new HashMap<>();
+    private String sessionStateSchema = null;
+    private String sessionStateGtids = null;
+    /** All GTIDs reported since the last call to {@link #takeReportedGtids()}, bounded to a superset of them if they don't merge into few intervals. */
+    private GtidSet reportedGtids = new GtidSet(MAX_REPORTED_GTID_INTERVALS);
+
     public Map<Integer, String> indexToCustomMysqlCharset = null;
 
     public Map<String, Integer> mysqlCharsetToCustomMblen = null;
@@ -240,6 +259,140 @@ public class NativeServerSession implements ServerSession {
         return (this.clientParam & CLIENT_DEPRECATE_EOF) != 0;
     }
 
+    /**
+     * Does the server report session state changes in OK packets?
+     * 
+     * @return true if CLIENT_SESSION_TRACK was negotiated
+     */
+    public boolean isSessionStateTracked() {
+        return (this.clientParam & CLIENT_SESSION_TRACK) != 0;
+    }
+
+    /**
+     * Did the server re-prepare the last executed statement with a different result set shape?
+     * 
+     * @return true if the SERVER_STATUS_METADATA_CHANGED status flag is set
+     */
+    public boolean isMetadataChanged() {
+        return (this.statusFlags & SERVER_STATUS_METADATA_CHANGED) != 0;
+    }
+
+    /**
+     * Do result set headers carry the "metadata_follows" flag?
+     * 
+     * @return true if CLIENT_OPTIONAL_RESULTSET_METADATA was negotiated
+     */
+    public boolean isResultsetMetadataOptional() {
+        return (this.clientParam & CLIENT_OPTIONAL_RESULTSET_METADATA) != 0;
+    }
+
+    /**
+     * Records the session state changes reported by the server.
+     * 
+     * @param changes
+     *            {@link SessionStateChanges}
+     */
+    public void updateSessionState(SessionStateChanges changes) {
+        this.sessionStateVariables.putAll(changes.getSystemVariables());
+        String autoCommitValue = changes.getSystemVariables().get("autocommit");
+        if (autoCommitValue != null) {
+            this.autoCommit = "ON".equalsIgnoreCase(autoCommitValue) || "1".equals(autoCommitValue);
+        }
+        if (changes.getSchema() != null) {
+            this.sessionStateSchema = changes.getSchema();
+        }
+        if (changes.getGtids() != null) {
+            this.sessionStateGtids = changes.getGtids();
+            this.reportedGtids.add(this.sessionStateGtids);
+        }
+    }
+
+    /**
+     * Registers the session variables the server was configured to report changes of, in session_track_system_variables.
+     * 
+     * @param names
+     *            variable names
+     */
+    public void setTrackedSessionVariables(Collection<String> names) {
+        this.trackedSessionVariables.clear();
+        this.trackedSessionVariables.addAll(names);
+    }
+
+    /**
+     * Is the current value of the given session variable always known, because the server reports its changes?
+     * 
+     * @param name
+     *            variable name
+     * @return true if the variable is tracked
+     */
+    public boolean isSessionVariableTracked(String name) {
+        return isSessionStateTracked() && this.trackedSessionVariables.contains(name);
+    }
+
+    /**
+     * Get the current value of a tracked session variable.
+     * 
+     * @param name
+     *            variable name, as listed in session_track_system_variables
+     * @return the last value reported by the server or set by {@link #setSessionStateVariable(String, String)}, null if unknown
+     */
+    public String getSessionStateVariable(String name) {
+        return this.sessionStateVariables.get(name);
+    }
+
+    /**
+     * Sets the known value of a tracked session variable, e.g. after querying it. As long as session state is tracked the server reports any later change.
+     * 
+     * @param name
+     *            variable name
+     * @param value
+     *            variable value
+     */
+    public void setSessionStateVariable(String name, String value) {
+        this.sessionStateVariables.put(name, value);
+    }
+
+    /**
+     * Get the default schema of the session, as last reported by the server.
+     * 
+     * @return schema name or null if unknown
+     */
+    public String getSessionStateSchema() {
+        return this.sessionStateSchema;
+    }
+
+    /**
+     * Get the GTIDs last reported by the server, if session_track_gtids is enabled.
+     * 
+     * @return GTID set or null
+     */
+    public String getSessionStateGtids() {
+        return this.sessionStateGtids;
+    }
+
+    /**
+     * Get all the GTIDs reported by the server since the last call to this method, and start collecting them anew. Unlike
+     * {@link #getSessionStateGtids()}, no transactions committed in between are missed.
+     * 
+     * @return GTID set, possibly a superset of the GTIDs reported if they were too many to keep
+     */
+    public GtidSet takeReportedGtids() {
+        GtidSet gtids = this.reportedGtids;
+        this.reportedGtids = new GtidSet(MAX_REPORTED_GTID_INTERVALS);
+        return gtids;
+    }
+
+    /**
+     * Forgets all tracked session state, e.g. after the session is reset or the user is changed.
+     */
+    public void resetSessionState() {
+        this.trackedSessionVariables.clear();
+        this.sessionStateVariables.clear();
+        this.sessionStateSchema = null;
+        this.sessionStateGtids = null;
+        // the reported GTIDs are of transactions already committed, they remain valid
+    }
+
     @Override
     public int getServerDefaultCollationIndex() {
         return this.serverDefaultCollationIndex;
@@ -42,6 +42,7 @@ import com.mysql.cj.exceptions.FeatureNotAvailableException;
 import com.mysql.cj.exceptions.SSLParamsException;
 import com.mysql.cj.log.Log;
 import com.mysql.cj.protocol.AbstractSocketConnection;
+import com.mysql.cj.protocol.DirectBufferInputStream;
 import com.mysql.cj.protocol.FullReadInputStream;
 import com.mysql.cj.protocol.PacketSentTimeHolder;
 import com.mysql.cj.protocol.ReadAheadInputStream;
@@ -50,6 +51,9 @@ import com.mysql.cj.protocol.SocketConnection;
 
 public class NativeSocketConnection extends AbstractSocketConnection implements SocketConnection {
 
+    /** Bigger than the 16K buffers of the stream based inputs, so that big results are read with fewer system calls. */
+    private static final int DIRECT_BUFFER_SIZE = 65536;
+
     @Override
     public void connect(String hostName, int portNumber, PropertySet propSet, ExceptionInterceptor excInterceptor, Log log, int loginTimeout) {
 
@@ -74,7 +78,10 @@ public class NativeSocketConnection extends AbstractSocketConnection implements
             this.socketFactory.beforeHandshake();
 
             InputStream rawInputStream;
-            if (propSet.getBooleanProperty(PropertyKey.useReadAheadInput).getValue()) {
+            if (propSet.getBooleanProperty(PropertyKey.useDirectBufferInput).getValue() && this.mysqlSocket.getChannel() != null && socketTimeout == 0) {
+                // with a read timeout always set the direct buffer would never be read into, see DirectBufferInputStream
+                rawInputStream = new DirectBufferInputStream(this.mysqlSocket, DIRECT_BUFFER_SIZE);
+            } else if (propSet.getBooleanProperty(PropertyKey.useReadAheadInput).getValue()) {
                 rawInputStream = new ReadAheadInputStream(this.mysqlSocket.getInputStream(), 16384,
                         propSet.getBooleanProperty(PropertyKey.traceProtocol).getValue(), log);
             } else if (propSet.getBooleanProperty(PropertyKey.useUnbufferedInput).getValue()) {
@@ -64,8 +64,12 @@ public class TextResultsetReader implements ProtocolEntityReader<Resultset, Nati
         if (columnCount > 0) {
             // Build a result set with rows.
 
+            // The server may omit the column definitions if it was asked to (resultset_metadata=NONE)
+            boolean metadataOmitted = this.protocol.getServerSession().isResultsetMetadataOptional()
+                    && resultPacket.readInteger(IntegerDataType.INT1) == NativeConstants.RESULTSET_METADATA_NONE;
+
             // Read in the column information
-            ColumnDefinition cdef = this.protocol.read(ColumnDefinition.class, new ColumnDefinitionFactory(columnCount, metadata));
+            ColumnDefinition cdef = this.protocol.read(ColumnDefinition.class, new ColumnDefinitionFactory(columnCount, metadata, metadataOmitted));
 
             // There is no EOF packet after fields when CLIENT_DEPRECATE_EOF is set
             if (!this.protocol.getServerSession().isEOFDeprecated()) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link CompressionCodec} for the zlib compression algorithm, the one selected by CLIENT_COMPRESS.
+ */
+public class ZlibCompressionCodec implements CompressionCodec {
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private Deflater deflater;
+    private Inflater inflater;
+
+    @Override
+    public void init(int compressionLevel) {
+        this.level = compressionLevel;
+        if (this.deflater != null) {
+            this.deflater.setLevel(compressionLevel);
+        }
+    }
+
+    @Override
+    public int compress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) {
+        if (this.deflater == null) {
+            this.deflater = new Deflater(this.level);
+        } else {
+            this.deflater.reset();
+        }
+        this.deflater.setInput(input, inputOffset, inputLength);
+        this.deflater.finish();
+        int compressedLength = this.deflater.deflate(output, outputOffset, outputLength);
+        return this.deflater.finished() ? compressedLength : -1;
+    }
+
+    @Override
+    public int decompress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) throws IOException {
+        if (this.inflater == null) {
+            this.inflater = new Inflater();
+        } else {
+            this.inflater.reset();
+        }
+        this.inflater.setInput(input, inputOffset, inputLength);
+        try {
+            return this.inflater.inflate(output, outputOffset, outputLength);
+        } catch (DataFormatException e) {
+            throw new IOException("Error while uncompressing packet from server.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.deflater != null) {
+            this.deflater.end();
+            this.deflater = null;
+        }
+        if (this.inflater != null) {
+            this.inflater.end();
+            this.inflater = null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+
+/**
+ * {@link CompressionCodec} for the zstd compression algorithm, the one selected by CLIENT_ZSTD_COMPRESSION_ALGORITHM.
+ * 
+ * There is no zstd implementation in the JDK, so this codec delegates to the zstd-jni library (com.github.luben:zstd-jni), which must be available in the
+ * class path. The library is looked up at runtime, Connector/J doesn't depend on it otherwise.
+ */
+public class ZstdCompressionCodec implements CompressionCodec {
+    private static final String ZSTD_CLASS_NAME = "com.github.luben.zstd.Zstd";
+    private static final int DEFAULT_LEVEL = 3;
+
+    private static final MethodHandle COMPRESS_BYTE_ARRAY;
+    private static final MethodHandle DECOMPRESS_BYTE_ARRAY;
+    private static final MethodHandle IS_ERROR;
+    private static final MethodHandle GET_ERROR_NAME;
+
+    static {
+        MethodHandle compress = null;
+        MethodHandle decompress = null;
+        MethodHandle isError = null;
+        MethodHandle getErrorName = null;
+        try {
+            Class<?> zstd = Class.forName(ZSTD_CLASS_NAME);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            compress = lookup.findStatic(zstd, "compressByteArray",
+                    MethodType.methodType(long.class, byte[].class, int.class, int.class, byte[].class, int.class, int.class, int.class));
+            decompress = lookup.findStatic(zstd, "decompressByteArray",
+                    MethodType.methodType(long.class, byte[].class, int.class, int.class, byte[].class, int.class, int.class));
+            isError = lookup.findStatic(zstd, "isError", MethodType.methodType(boolean.class, long.class));
+            getErrorName = lookup.findStatic(zstd, "getErrorName", MethodType.methodType(String.class, long.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // zstd-jni is either missing or unusable on this platform
+            compress = null;
+        }
+        COMPRESS_BYTE_ARRAY = compress;
+        DECOMPRESS_BYTE_ARRAY = decompress;
+        IS_ERROR = isError;
+        GET_ERROR_NAME = getErrorName;
+    }
+
+    private int level = DEFAULT_LEVEL;
+
+    public ZstdCompressionCodec() {
+        if (COMPRESS_BYTE_ARRAY == null) {
+            throw ExceptionFactory.createException(Messages.getString("Protocol.Compression.10", new Object[] { ZSTD_CLASS_NAME }));
+        }
+    }
+
+    @Override
+    public void init(int compressionLevel) {
+        this.level = compressionLevel == -1 ? DEFAULT_LEVEL : compressionLevel;
+    }
+
+    @Override
+    public int compress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) {
+        try {
+            long result = (long) COMPRESS_BYTE_ARRAY.invokeExact(output, outputOffset, outputLength, input, inputOffset, inputLength, this.level);
+            // the only expected error is the output buffer being too small, i.e. the data is incompressible
+            return (boolean) IS_ERROR.invokeExact(result) ? -1 : (int) result;
+        } catch (Throwable t) {
+            throw ExceptionFactory.createException(Messages.getString("Protocol.Compression.11", new Object[] { t.getMessage() }), t);
+        }
+    }
+
+    @Override
+    public int decompress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) throws IOException {
+        long result;
+        try {
+            result = (long) DECOMPRESS_BYTE_ARRAY.invokeExact(output, outputOffset, outputLength, input, inputOffset, inputLength);
+            if ((boolean) IS_ERROR.invokeExact(result)) {
+                throw new IOException("Error while uncompressing packet from server: " + (String) GET_ERROR_NAME.invokeExact(result));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Error while uncompressing packet from server.", t);
+        }
+        return (int) result;
+    }
+
+    @Override
+    public void close() {
+        // zstd-jni byte array methods don't keep native resources between calls
+    }
+}
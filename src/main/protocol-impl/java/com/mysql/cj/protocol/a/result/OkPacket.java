@@ -33,6 +33,7 @@ import com.mysql.cj.protocol.ProtocolEntity;
 import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeServerSession;
 
 public class OkPacket implements ProtocolEntity {
 
@@ -41,11 +42,27 @@ public class OkPacket implements ProtocolEntity {
     private int statusFlags = 0;
     private int warningCount = 0;
     private String info = null;
+    private SessionStateChanges sessionStateChanges = null;
 
     public OkPacket() {
     }
 
     public static OkPacket parse(NativePacketPayload buf, String errorMessageEncoding) {
+        return parse(buf, errorMessageEncoding, false);
+    }
+
+    /**
+     * Parses an OK packet.
+     * 
+     * @param buf
+     *            the packet
+     * @param errorMessageEncoding
+     *            the Java encoding of the info message and session state information
+     * @param sessionStateTracked
+     *            was the CLIENT_SESSION_TRACK capability negotiated? The packet layout depends on it.
+     * @return {@link OkPacket}
+     */
+    public static OkPacket parse(NativePacketPayload buf, String errorMessageEncoding, boolean sessionStateTracked) {
         OkPacket ok = new OkPacket();
 
         buf.setPosition(1); // skips the 'last packet' flag (packet signature)
@@ -55,7 +72,14 @@ public class OkPacket implements ProtocolEntity {
         ok.setUpdateID(buf.readInteger(IntegerDataType.INT_LENENC)); // last_insert_id
         ok.setStatusFlags((int) buf.readInteger(IntegerDataType.INT2));
         ok.setWarningCount((int) buf.readInteger(IntegerDataType.INT2));
-        ok.setInfo(buf.readString(StringSelfDataType.STRING_TERM, errorMessageEncoding)); // info
+        if (!sessionStateTracked) {
+            ok.setInfo(buf.readString(StringSelfDataType.STRING_TERM, errorMessageEncoding)); // info
+        } else if (buf.getPosition() < buf.getPayloadLength()) {
+            ok.setInfo(buf.readString(StringSelfDataType.STRING_LENENC, errorMessageEncoding)); // info
+            if ((ok.getStatusFlags() & NativeServerSession.SERVER_SESSION_STATE_CHANGED) != 0 && buf.getPosition() < buf.getPayloadLength()) {
+                ok.setSessionStateChanges(SessionStateChanges.parse(buf, errorMessageEncoding)); // session state info
+            }
+        }
         return ok;
     }
 
@@ -91,6 +115,14 @@ public class OkPacket implements ProtocolEntity {
         this.statusFlags = statusFlags;
     }
 
+    public SessionStateChanges getSessionStateChanges() {
+        return this.sessionStateChanges;
+    }
+
+    public void setSessionStateChanges(SessionStateChanges sessionStateChanges) {
+        this.sessionStateChanges = sessionStateChanges;
+    }
+
     public int getWarningCount() {
         return this.warningCount;
     }
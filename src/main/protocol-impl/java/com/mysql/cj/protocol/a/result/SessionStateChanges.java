@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * Session state changes reported in an OK packet when the CLIENT_SESSION_TRACK capability is enabled.
+ * See https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_basic_ok_packet.html
+ */
+public class SessionStateChanges {
+
+    public static final int SESSION_TRACK_SYSTEM_VARIABLES = 0x00;
+    public static final int SESSION_TRACK_SCHEMA = 0x01;
+    public static final int SESSION_TRACK_STATE_CHANGE = 0x02;
+    public static final int SESSION_TRACK_GTIDS = 0x03;
+    public static final int SESSION_TRACK_TRANSACTION_CHARACTERISTICS = 0x04;
+    public static final int SESSION_TRACK_TRANSACTION_STATE = 0x05;
+
+    private Map<String, String> systemVariables = null;
+    private String schema = null;
+    private boolean stateChanged = false;
+    private String gtids = null;
+    private String transactionCharacteristics = null;
+    private String transactionState = null;
+
+    public SessionStateChanges() {
+    }
+
+    /**
+     * Reads the session state information from the given OK packet, starting at its current position.
+     * 
+     * @param buf
+     *            the OK packet
+     * @param encoding
+     *            the Java encoding to decode names and values with
+     * @return {@link SessionStateChanges}
+     */
+    public static SessionStateChanges parse(NativePacketPayload buf, String encoding) {
+        SessionStateChanges changes = new SessionStateChanges();
+
+        long length = buf.readInteger(IntegerDataType.INT_LENENC);
+        int end = buf.getPosition() + (int) length;
+
+        while (buf.getPosition() < end) {
+            int type = (int) buf.readInteger(IntegerDataType.INT1);
+            long dataLength = buf.readInteger(IntegerDataType.INT_LENENC);
+            int dataEnd = buf.getPosition() + (int) dataLength;
+
+            switch (type) {
+                case SESSION_TRACK_SYSTEM_VARIABLES:
+                    String name = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    String value = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    if (changes.systemVariables == null) {
+                        changes.systemVariables = new LinkedHashMap<>();
+                    }
+                    changes.systemVariables.put(name, value);
+                    break;
+
+                case SESSION_TRACK_SCHEMA:
+                    changes.schema = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    break;
+
+                case SESSION_TRACK_STATE_CHANGE:
+                    changes.stateChanged = "1".equals(buf.readString(StringSelfDataType.STRING_LENENC, encoding));
+                    break;
+
+                case SESSION_TRACK_GTIDS:
+                    buf.readInteger(IntegerDataType.INT1); // encoding specification, only 0 is defined
+                    changes.gtids = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    break;
+
+                case SESSION_TRACK_TRANSACTION_CHARACTERISTICS:
+                    changes.transactionCharacteristics = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    break;
+
+                case SESSION_TRACK_TRANSACTION_STATE:
+                    changes.transactionState = buf.readString(StringSelfDataType.STRING_LENENC, encoding);
+                    break;
+
+                default:
+                    // unknown tracker, skipped below
+                    break;
+            }
+
+            buf.setPosition(dataEnd);
+        }
+
+        return changes;
+    }
+
+    /**
+     * Get the new values of the tracked system variables that changed.
+     * 
+     * @return map of variable names to values, empty if none changed
+     */
+    public Map<String, String> getSystemVariables() {
+        return this.systemVariables == null ? Collections.emptyMap() : Collections.unmodifiableMap(this.systemVariables);
+    }
+
+    /**
+     * Get the new default schema.
+     * 
+     * @return schema name or null if it didn't change
+     */
+    public String getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Did some tracked session state change? Only reported when session_track_state_change is enabled on server.
+     * 
+     * @return true if session state changed
+     */
+    public boolean isStateChanged() {
+        return this.stateChanged;
+    }
+
+    /**
+     * Get the GTIDs reported by the server, as tracked by session_track_gtids.
+     * 
+     * @return GTID set or null if none was reported
+     */
+    public String getGtids() {
+        return this.gtids;
+    }
+
+    /**
+     * Get the transaction characteristics reported by the server, as tracked by session_track_transaction_info=CHARACTERISTICS.
+     * 
+     * @return the statements needed to restart the transaction with the same characteristics, or null if not reported
+     */
+    public String getTransactionCharacteristics() {
+        return this.transactionCharacteristics;
+    }
+
+    /**
+     * Get the transaction state reported by the server, as tracked by session_track_transaction_info.
+     * 
+     * @return transaction state flags or null if not reported
+     */
+    public String getTransactionState() {
+        return this.transactionState;
+    }
+}
@@ -61,6 +61,29 @@ public class StatementExecuteOk implements ProtocolEntity, Result {
         this.warnings = warnings; // should NOT be null
     }
 
+    /**
+     * Combine the results of several messages sent for a single statement, e.g. a bulk insert split into several messages.
+     * 
+     * @param oks
+     *            results in the order of the messages
+     * @return {@link StatementExecuteOk} with the affected items counts summed up and generated ids and warnings concatenated
+     */
+    public static StatementExecuteOk combine(List<StatementExecuteOk> oks) {
+        long rowsAffected = 0;
+        Long lastInsertId = null;
+        List<String> generatedIds = new ArrayList<>();
+        List<Warning> warnings = new ArrayList<>();
+        for (StatementExecuteOk ok : oks) {
+            rowsAffected += ok.rowsAffected;
+            if (ok.lastInsertId != null) {
+                lastInsertId = ok.lastInsertId;
+            }
+            generatedIds.addAll(ok.generatedIds);
+            warnings.addAll(ok.warnings);
+        }
+        return new StatementExecuteOk(rowsAffected, lastInsertId, generatedIds, warnings);
+    }
+
     public long getAffectedItemsCount() {
         return this.rowsAffected;
     }
@@ -65,6 +65,11 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
     }
 
     public void send(XMessage message) {
+        send(message, true);
+    }
+
+    @Override
+    public void send(XMessage message, boolean flush) {
         synchronized (this.waitingAsyncOperationMonitor) {
             MessageLite msg = message.getMessage();
             try {
@@ -79,7 +84,9 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
                 this.outputStream.write(sizeHeader);
                 this.outputStream.write(type);
                 msg.writeTo(this.outputStream);
-                this.outputStream.flush();
+                if (flush) {
+                    this.outputStream.flush();
+                }
                 this.previousPacketSentTime = this.lastPacketSentTime;
                 this.lastPacketSentTime = System.currentTimeMillis();
             } catch (IOException ex) {
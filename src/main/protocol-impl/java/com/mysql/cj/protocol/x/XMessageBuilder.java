@@ -31,8 +31,10 @@ package com.mysql.cj.protocol.x;
 
 import java.security.DigestException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -46,6 +48,7 @@ import javax.security.sasl.SaslClient;
 import javax.security.sasl.SaslException;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.mysql.cj.MessageBuilder;
 import com.mysql.cj.Messages;
 import com.mysql.cj.protocol.Security;
@@ -147,6 +150,62 @@ public class XMessageBuilder implements MessageBuilder<XMessage> {
         return new XMessage(builder.build());
     }
 
+    /**
+     * Build a series of {@link XMessage}s for a non-prepared doc insert operation, splitting the documents so that no message exceeds the given size.
+     * Messages are built lazily, as the returned iterator is consumed, so documents are pulled from the source only when needed.
+     * 
+     * @param schemaName
+     *            the schema name
+     * @param collectionName
+     *            the collection name
+     * @param jsonDocs
+     *            the UTF-8 encoded documents to insert
+     * @param upsert
+     *            Whether this is an upsert operation or not
+     * @param maxMessageSize
+     *            the maximum size of a serialized message, or 0 for no limit. A single document bigger than that is sent in a message of its own.
+     * @return
+     *         an iterator of {@link XMessage} instances
+     */
+    public Iterator<XMessage> buildDocInserts(String schemaName, String collectionName, Iterator<ByteString> jsonDocs, boolean upsert, int maxMessageSize) {
+        Collection collection = ExprUtil.buildCollection(schemaName, collectionName);
+        return new Iterator<XMessage>() {
+            private TypedRow nextRow = null;
+
+            @Override
+            public boolean hasNext() {
+                return this.nextRow != null || jsonDocs.hasNext();
+            }
+
+            @Override
+            public XMessage next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Insert.Builder builder = Insert.newBuilder().setCollection(collection);
+                if (upsert != builder.getUpsert()) {
+                    builder.setUpsert(upsert);
+                }
+                int size = builder.build().getSerializedSize();
+                do {
+                    TypedRow row = this.nextRow != null ? this.nextRow
+                            : TypedRow.newBuilder().addField(ExprUtil.buildLiteralExpr(
+                                    Scalar.newBuilder().setType(Scalar.Type.V_STRING).setVString(Scalar.String.newBuilder().setValue(jsonDocs.next())).build()))
+                                    .build();
+                    int rowSize = CodedOutputStream.computeMessageSize(Insert.ROW_FIELD_NUMBER, row);
+                    if (maxMessageSize > 0 && builder.getRowCount() > 0 && size + rowSize > maxMessageSize) {
+                        this.nextRow = row; // doesn't fit, goes to the next message
+                        break;
+                    }
+                    this.nextRow = null;
+                    builder.addRow(row);
+                    size += rowSize;
+                } while (jsonDocs.hasNext());
+                return new XMessage(builder.build());
+            }
+        };
+    }
+
     /**
      * Initialize a {@link Insert.Builder} for table data model with common data for prepared and non-prepared executions.
      * 
@@ -40,6 +40,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +49,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.google.protobuf.GeneratedMessageV3;
 import com.mysql.cj.CharsetMapping;
@@ -96,6 +99,7 @@ import com.mysql.cj.protocol.x.Notice.XSessionStateChanged;
 import com.mysql.cj.result.DefaultColumnDefinition;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.LongValueFactory;
+import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.SequentialIdLease;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.x.protobuf.Mysqlx.Error;
@@ -103,6 +107,8 @@ import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
 import com.mysql.cj.x.protobuf.MysqlxConnection.Capabilities;
 import com.mysql.cj.x.protobuf.MysqlxConnection.Capability;
 import com.mysql.cj.x.protobuf.MysqlxNotice.Frame;
+import com.mysql.cj.x.protobuf.MysqlxPrepare.Prepare;
+import com.mysql.cj.x.protobuf.MysqlxPrepare.Prepare.OneOfMessage;
 import com.mysql.cj.x.protobuf.MysqlxResultset.ColumnMetaData;
 import com.mysql.cj.x.protobuf.MysqlxResultset.FetchDone;
 import com.mysql.cj.x.protobuf.MysqlxResultset.FetchDoneMoreResultsets;
@@ -139,9 +145,25 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     private ReferenceQueue<PreparableStatement<?>> preparableStatementRefQueue = new ReferenceQueue<>();
     private Map<Integer, PreparableStatementFinalizer> preparableStatementFinalizerReferences = new TreeMap<>();
 
+    /*
+     * Session-wide cache of prepared statements, keyed by the statement they prepare and kept in least recently used order. Statements are admitted to the
+     * cache only when seen for the second time, so one-off statements don't evict the ones in use. The prepare of a statement admitted to the cache is held
+     * back until its first execution so that both go to the server together.
+     */
+    private int preparedStatementCacheSize = 0;
+    private int preparedStatementCacheLimit = 0;
+    private LinkedHashMap<OneOfMessage, Integer> preparedStatementCache = new LinkedHashMap<>(16, 0.75f, true);
+    private LRUCache<OneOfMessage, Boolean> preparedStatementCacheCandidates = null;
+    private List<Integer> evictedPreparedStatementIds = new ArrayList<>();
+    private XMessage pendingPrepareMessage = null;
+    private OneOfMessage pendingPrepareKey = null;
+    private int failedCachedPreparedStatementId = 0;
+
     private boolean compressionEnabled = false;
     private CompressionAlgorithm compressionAlgorithm;
 
+    private int maxAllowedPacket = -1;
+
     private Map<Class<? extends GeneratedMessageV3>, ProtocolEntityFactory<? extends ProtocolEntity, XMessage>> messageToProtocolEntityFactory = new HashMap<>();
 
     public XProtocol(String host, int port, String defaultSchema, PropertySet propertySet) {
@@ -194,6 +216,10 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
 
         this.useSessionResetKeepOpen = null;
 
+        this.preparedStatementCacheSize = propSet.getIntegerProperty(PropertyKey.xdevapiPreparedStatementCacheSize).getValue();
+        this.preparedStatementCacheLimit = this.preparedStatementCacheSize;
+        this.preparedStatementCacheCandidates = new LRUCache<>(Math.max(this.preparedStatementCacheSize, 1));
+
         this.messageToProtocolEntityFactory.put(ColumnMetaData.class, new FieldFactory("latin1")); // TODO configure metadata character set from server session
         this.messageToProtocolEntityFactory.put(Frame.class, new NoticeFactory());
         this.messageToProtocolEntityFactory.put(Row.class, new XProtocolRowFactory());
@@ -834,7 +860,8 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
             return true;
         }
 
-        if (e.getErrorCode() == MysqlErrorNumbers.ER_UNKNOWN_COM_ERROR && this.preparableStatementFinalizerReferences.isEmpty()) {
+        if (e.getErrorCode() == MysqlErrorNumbers.ER_UNKNOWN_COM_ERROR && this.preparableStatementFinalizerReferences.isEmpty()
+                && this.preparedStatementCache.isEmpty()) {
             // The server doesn't recognize the protocol message, so it doesn't support prepared statements.
             this.supportsPreparedStatements = false;
             this.retryPrepareStatementCountdown = 0;
@@ -847,11 +874,179 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         return false;
     }
 
+    /**
+     * Returns the size of the session-wide prepared statements cache.
+     * 
+     * @return
+     *         the maximum number of statements kept prepared in the cache, 0 if the cache is disabled
+     */
+    public int getPreparedStatementCacheSize() {
+        return this.supportsPreparedStatements ? this.preparedStatementCacheSize : 0;
+    }
+
+    /**
+     * Returns the id of the cached prepared statement for the given statement prepare message. A statement that isn't cached yet is only remembered the first
+     * time it is seen. When seen again it is added to the cache under a new id but, instead of being prepared right away, its prepare message is held back and
+     * sent together with the next query, which must be the first execution of this prepared statement. The least recently used statements are evicted as
+     * needed to make room for new ones, and deallocated along with the next prepare.
+     * <p>
+     * Statements are matched by their message contents, which don't include the bound values. Callers should reuse the same prepare message for as long as
+     * the statement structure doesn't change, so that looking it up doesn't need to go through the whole message.
+     * 
+     * @param prepareMessage
+     *            the {@link XMessage} that prepares the statement, built with the prepared statement id 0
+     * @return
+     *         the id of the prepared statement, or 0 if the statement is not to be prepared now
+     */
+    public int getCachedPreparedStatementId(XMessage prepareMessage) {
+        if (!this.supportsPreparedStatements || this.preparedStatementCacheSize <= 0) {
+            return 0;
+        }
+
+        Prepare prepare = (Prepare) prepareMessage.getMessage();
+        OneOfMessage key = prepare.getStmt();
+        Integer preparedStatementId = this.preparedStatementCache.get(key);
+        if (preparedStatementId != null) {
+            return preparedStatementId;
+        }
+
+        if (!this.preparedStatementCacheCandidates.containsKey(key)) {
+            this.preparedStatementCacheCandidates.put(key, Boolean.TRUE);
+            return 0;
+        }
+
+        if (!readyForPreparingStatements()) {
+            return 0;
+        }
+
+        this.preparedStatementCacheCandidates.remove(key);
+        discardPendingPrepare();
+        Iterator<Integer> eldest = this.preparedStatementCache.values().iterator();
+        while (this.preparedStatementCache.size() >= this.preparedStatementCacheLimit && eldest.hasNext()) {
+            this.evictedPreparedStatementIds.add(eldest.next());
+            eldest.remove();
+        }
+
+        preparedStatementId = this.preparedStatementIds.allocateSequentialId();
+        this.preparedStatementCache.put(key, preparedStatementId);
+        this.pendingPrepareKey = key;
+        this.pendingPrepareMessage = new XMessage(prepare.toBuilder().setStmtId(preparedStatementId).build());
+        return preparedStatementId;
+    }
+
+    /**
+     * Informs this protocol instance that executing a cached prepared statement failed.
+     * 
+     * @param preparedStatementId
+     *            the id of the cached prepared statement
+     * @param e
+     *            {@link XProtocolError}
+     * @return
+     *         {@code true} if the statement failed to prepare and should be executed without preparing it, {@code false} if the error must be propagated
+     */
+    public boolean failedExecutingCachedPreparedStatement(int preparedStatementId, XProtocolError e) {
+        if (this.failedCachedPreparedStatementId != preparedStatementId) {
+            return false;
+        }
+        this.failedCachedPreparedStatementId = 0;
+
+        if (e.getErrorCode() == MysqlErrorNumbers.ER_MAX_PREPARED_STMT_COUNT_REACHED) {
+            // Other sessions hold their share of max_prepared_stmt_count, so stay within the number of statements this session could prepare.
+            this.preparedStatementCacheLimit = Math.max(this.preparedStatementCache.size(), 1);
+            this.retryPrepareStatementCountdown = RETRY_PREPARE_STATEMENT_COUNTDOWN;
+            return true;
+        }
+
+        if (e.getErrorCode() == MysqlErrorNumbers.ER_UNKNOWN_COM_ERROR && this.preparableStatementFinalizerReferences.isEmpty()
+                && this.preparedStatementCache.isEmpty()) {
+            return failedPreparingStatement(preparedStatementId, e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Drops the prepare held back by {@link #getCachedPreparedStatementId(XMessage)} if it was not followed by the prepared statement execution.
+     */
+    private void discardPendingPrepare() {
+        if (this.pendingPrepareMessage != null) {
+            int preparedStatementId = ((Prepare) this.pendingPrepareMessage.getMessage()).getStmtId();
+            this.preparedStatementCache.remove(this.pendingPrepareKey);
+            this.preparedStatementIds.releaseSequentialId(preparedStatementId);
+            this.pendingPrepareMessage = null;
+            this.pendingPrepareKey = null;
+        }
+    }
+
+    /**
+     * Sends the deallocation of evicted cached prepared statements, the pending prepare and the given execution of the prepared statement in one go and
+     * reads their results.
+     * 
+     * @param message
+     *            the prepared statement execution message
+     * @param resultBuilder
+     *            {@link ResultBuilder} for the execution result
+     * @param <M>
+     *            {@link Message} type
+     * @param <R>
+     *            {@link QueryResult} type
+     * @return the execution result
+     */
+    private <M extends Message, R extends QueryResult> R queryWithPendingPrepare(M message, ResultBuilder<R> resultBuilder) {
+        XMessage prepareMessage = this.pendingPrepareMessage;
+        OneOfMessage key = this.pendingPrepareKey;
+        this.pendingPrepareMessage = null;
+        this.pendingPrepareKey = null;
+        int preparedStatementId = ((Prepare) prepareMessage.getMessage()).getStmtId();
+
+        List<Integer> deallocateIds = new ArrayList<>(this.evictedPreparedStatementIds);
+        this.evictedPreparedStatementIds.clear();
+
+        newCommand();
+        for (int id : deallocateIds) {
+            this.sender.send(((XMessageBuilder) this.messageBuilder).buildPrepareDeallocate(id), false);
+        }
+        this.sender.send(prepareMessage, false);
+        this.sender.send((XMessage) message, true);
+
+        for (int id : deallocateIds) {
+            try {
+                readQueryResult(new OkBuilder());
+            } catch (XProtocolError e) {
+                // Ignore, the statement is not prepared anymore either way.
+            } finally {
+                this.preparedStatementIds.releaseSequentialId(id);
+            }
+        }
+
+        try {
+            readQueryResult(new OkBuilder());
+        } catch (XProtocolError e) {
+            this.preparedStatementCache.remove(key);
+            this.preparedStatementIds.releaseSequentialId(preparedStatementId);
+            try {
+                readQueryResult(resultBuilder);
+            } catch (XProtocolError ee) {
+                // Expected, the statement wasn't prepared.
+            }
+            this.failedCachedPreparedStatementId = preparedStatementId;
+            throw e;
+        }
+
+        R res = readQueryResult(resultBuilder);
+        if (ResultStreamer.class.isAssignableFrom(res.getClass())) {
+            this.currentResultStreamer = (ResultStreamer) res;
+        }
+        return res;
+    }
+
     /**
      * Signal the intent to start processing a new command. A session supports processing a single command at a time. Results are read lazily from the
      * wire. It is necessary to flush any pending result before starting a new command. This method performs the flush if necessary.
      */
     protected void newCommand() {
+        discardPendingPrepare();
+
         if (this.currentResultStreamer != null) {
             try {
                 this.currentResultStreamer.finishStreaming();
@@ -882,6 +1077,9 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     }
 
     public <M extends Message, R extends QueryResult> R query(M message, ResultBuilder<R> resultBuilder) {
+        if (this.pendingPrepareMessage != null) {
+            return queryWithPendingPrepare(message, resultBuilder);
+        }
         send(message, 0);
         R res = readQueryResult(resultBuilder);
         if (ResultStreamer.class.isAssignableFrom(res.getClass())) {
@@ -890,6 +1088,60 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         return res;
     }
 
+    /**
+     * Send a series of messages without waiting for the result of each one before sending the next, then read all the results in order.
+     * 
+     * <p>
+     * At most <code>maxPendingResults</code> results are left unread at any time, so that the server never blocks on writing them while this client is
+     * still writing messages. If a message fails, no further messages are sent; the results of the messages already sent are read and then the first error
+     * is thrown. Messages sent before the failing one are not rolled back.
+     * </p>
+     * 
+     * @param messages
+     *            messages to send; the iterator is consumed as messages are sent
+     * @param resultBuilderSupplier
+     *            supplier of a new {@link ResultBuilder} for each message
+     * @param maxPendingResults
+     *            maximum number of messages sent ahead of their results
+     * @param <M>
+     *            {@link Message} type
+     * @param <R>
+     *            {@link QueryResult} type
+     * @return results, in the same order as the messages
+     */
+    public <M extends Message, R extends QueryResult> List<R> queryPipelined(Iterator<M> messages, Supplier<ResultBuilder<R>> resultBuilderSupplier,
+            int maxPendingResults) {
+        List<R> results = new ArrayList<>();
+        RuntimeException error = null;
+        int pending = 0;
+        try {
+            // Pending deallocations must be done before the pipeline starts, otherwise their OKs would be interleaved with the pipelined results.
+            newCommand();
+            while (messages.hasNext()) {
+                this.sender.send((XMessage) messages.next());
+                if (++pending >= maxPendingResults) {
+                    pending--;
+                    results.add(readQueryResult(resultBuilderSupplier.get()));
+                }
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        for (; pending > 0; pending--) {
+            try {
+                results.add(readQueryResult(resultBuilderSupplier.get()));
+            } catch (RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return results;
+    }
+
     public <M extends Message, R extends QueryResult> CompletableFuture<R> queryAsync(M message, ResultBuilder<R> resultBuilder) {
         newCommand();
         CompletableFuture<R> f = new CompletableFuture<>();
@@ -940,9 +1192,19 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     }
 
     public void setMaxAllowedPacket(int maxAllowedPacket) {
+        this.maxAllowedPacket = maxAllowedPacket;
         this.sender.setMaxAllowedPacket(maxAllowedPacket);
     }
 
+    /**
+     * Get the maximum size of a message accepted by the server, as set by {@link #setMaxAllowedPacket(int)}.
+     * 
+     * @return the maximum message size, or -1 if unknown
+     */
+    public int getMaxAllowedPacket() {
+        return this.maxAllowedPacket;
+    }
+
     @Override
     public void send(Message message, int packetLen) {
         newCommand();
@@ -1009,6 +1271,11 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
             this.preparedStatementIds = new SequentialIdLease();
             this.preparableStatementRefQueue = new ReferenceQueue<>();
             this.preparableStatementFinalizerReferences = new TreeMap<>();
+            this.preparedStatementCache.clear();
+            this.preparedStatementCacheCandidates.clear();
+            this.preparedStatementCacheLimit = this.preparedStatementCacheSize;
+            this.evictedPreparedStatementIds.clear();
+            this.failedCachedPreparedStatementId = 0;
         }
     }
 
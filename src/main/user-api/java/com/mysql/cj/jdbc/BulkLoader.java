@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+/**
+ * Loads rows into a table through "LOAD DATA LOCAL INFILE" without going through a file.
+ * 
+ * Rows are bound either all at once with {@link #addRow(Object...)} or column by column with the setXXX() methods followed by {@link #addRow()}. They are
+ * encoded directly into the data stream sent to the server, escaped and encoded with each column's character set. While one buffer of encoded rows is being
+ * sent, the next one is filled, so encoding overlaps network writes. Rows are sent as buffers fill up; {@link #execute()} sends the remaining rows and
+ * waits for the server to acknowledge the load.
+ * 
+ * Requires "allowLoadLocalInfile=true". The connection must not be used for anything else until {@link #execute()} or {@link #close()} returns.
+ * Rows handed over to the server are loaded even if the loader is closed without calling {@link #execute()}; use a transaction to make the load atomic.
+ * Instances are not thread safe.
+ */
+public interface BulkLoader extends AutoCloseable {
+
+    /**
+     * Returns the number of columns each row consists of.
+     * 
+     * @return number of columns
+     */
+    int getColumnCount();
+
+    /**
+     * Adds a row made of the given values, in column order. Values are converted to their text representation; null values are loaded as SQL NULL.
+     * 
+     * @param values
+     *            one value per column
+     * @return this loader
+     * @throws SQLException
+     *             if the number of values doesn't match the number of columns, if the loader is closed or if the load failed
+     */
+    BulkLoader addRow(Object... values) throws SQLException;
+
+    /**
+     * Adds a row made of the values bound with the setXXX() methods and clears them.
+     * 
+     * @return this loader
+     * @throws SQLException
+     *             if a column has no value bound, if the loader is closed or if the load failed
+     */
+    BulkLoader addRow() throws SQLException;
+
+    /**
+     * Binds SQL NULL to the given column of the current row.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setNull(int columnIndex) throws SQLException;
+
+    /**
+     * Binds an int value to the given column of the current row.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setInt(int columnIndex, int x) throws SQLException;
+
+    /**
+     * Binds a long value to the given column of the current row.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setLong(int columnIndex, long x) throws SQLException;
+
+    /**
+     * Binds a double value to the given column of the current row.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setDouble(int columnIndex, double x) throws SQLException;
+
+    /**
+     * Binds a BigDecimal value to the given column of the current row.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value, may be null
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setBigDecimal(int columnIndex, BigDecimal x) throws SQLException;
+
+    /**
+     * Binds a String value to the given column of the current row. The value is encoded with the column's character set.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value, may be null
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setString(int columnIndex, String x) throws SQLException;
+
+    /**
+     * Binds a byte array to the given column of the current row. The bytes are loaded as they are.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value, may be null
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setBytes(int columnIndex, byte[] x) throws SQLException;
+
+    /**
+     * Binds an object to the given column of the current row. See {@link #addRow(Object...)} for how values are converted.
+     * 
+     * @param columnIndex
+     *            the first column is 1, the second is 2, ...
+     * @param x
+     *            the value, may be null
+     * @return this loader
+     * @throws SQLException
+     *             if the column index is out of range or the loader is closed
+     */
+    BulkLoader setObject(int columnIndex, Object x) throws SQLException;
+
+    /**
+     * Sends the rows not sent yet and waits for the server to complete the load. The loader is closed afterwards.
+     * 
+     * @return the number of rows loaded, as reported by the server
+     * @throws SQLException
+     *             if the load failed or the loader is already closed
+     */
+    long execute() throws SQLException;
+
+    /**
+     * Completes the load, as {@link #execute()} does, unless it was already executed.
+     * 
+     * @throws SQLException
+     *             if the load failed
+     */
+    @Override
+    void close() throws SQLException;
+}
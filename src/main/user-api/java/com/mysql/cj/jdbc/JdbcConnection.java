@@ -37,7 +37,9 @@ import com.mysql.cj.ServerVersion;
 import com.mysql.cj.TransactionEventHandler;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
+import com.mysql.cj.jdbc.result.PendingRowChanges;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.jdbc.result.UpdatableResultSetStatements;
 
 /**
  * This interface contains methods that are considered the "vendor extension" to the JDBC API for MySQL's implementation of java.sql.Connection.
@@ -493,6 +495,42 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     CachedResultSetMetaData getCachedMetaData(String sql);
 
+    /**
+     * Returns the statements an updatable result set generated earlier for the same tables and columns, or null if they are not cached.
+     * 
+     * @param key
+     *            key built by the result set from its column definitions
+     * @return {@link UpdatableResultSetStatements} or null
+     */
+    UpdatableResultSetStatements getCachedUpdatableResultSetStatements(String key);
+
+    /**
+     * Caches the statements generated by an updatable result set, if 'updatableResultSetStatementCacheSize' is greater than zero.
+     * 
+     * @param key
+     *            key built by the result set from its column definitions
+     * @param statements
+     *            {@link UpdatableResultSetStatements}
+     */
+    void cacheUpdatableResultSetStatements(String key, UpdatableResultSetStatements statements);
+
+    /**
+     * Registers row changes queued by an updatable result set. They are sent to the server before the transaction is committed, or before a savepoint is
+     * set, and dropped when it is rolled back.
+     * 
+     * @param changes
+     *            {@link PendingRowChanges}
+     */
+    void registerPendingRowChanges(PendingRowChanges changes);
+
+    /**
+     * Unregisters row changes that were sent or dropped.
+     * 
+     * @param changes
+     *            {@link PendingRowChanges}
+     */
+    void unregisterPendingRowChanges(PendingRowChanges changes);
+
     /**
      * @return Returns the characterSetMetadata.
      */
@@ -613,4 +651,17 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      *             if an error occurs
      */
     String getDatabase() throws SQLException;
+
+    /**
+     * Creates a {@link BulkLoader} loading rows into the given table through "LOAD DATA LOCAL INFILE", without the need for an intermediate file.
+     * 
+     * @param tableName
+     *            the table to load into, optionally qualified with its database name; used as given
+     * @param columnNames
+     *            the columns each row is made of, in order; all columns of the table if none are given
+     * @return a new bulk loader
+     * @throws SQLException
+     *             if "allowLoadLocalInfile" is not enabled or the table columns can't be read
+     */
+    BulkLoader createBulkLoader(String tableName, String... columnNames) throws SQLException;
 }
@@ -175,6 +175,21 @@ public interface ReplicationConnection extends JdbcConnection {
 
     public boolean isHostReplica(String host);
 
+    /**
+     * Get the number of times this connection was set to read-only state and used the replica hosts.
+     * 
+     * @return the number of times
+     */
+    public long getReadOnlyReplicaSwitchCount();
+
+    /**
+     * Get the number of times this connection was set to read-only state but kept using the source hosts, because the replica hosts hadn't applied the
+     * transactions written through this connection yet (see 'replicationReadYourWrites') or weren't available.
+     * 
+     * @return the number of times
+     */
+    public long getReadOnlySourceSwitchCount();
+
     /**
      * Use {@link #isHostReplica(String)} instead.
      * 
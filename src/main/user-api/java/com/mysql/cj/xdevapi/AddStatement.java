@@ -29,6 +29,8 @@
 
 package com.mysql.cj.xdevapi;
 
+import java.util.Iterator;
+
 /**
  * A statement adding documents to a collection.
  */
@@ -51,6 +53,15 @@ public interface AddStatement extends Statement<AddStatement, AddResult> {
      */
     AddStatement add(DbDoc... documents);
 
+    /**
+     * Add the documents provided by an iterator. Documents are pulled from the iterator only when the statement is executed.
+     * 
+     * @param documents
+     *            iterator of {@link DbDoc} documents; it is consumed on statement execution
+     * @return {@link AddStatement}
+     */
+    AddStatement add(Iterator<? extends DbDoc> documents);
+
     /**
      * Check the upsert flag.
      * 
@@ -59,7 +59,9 @@ public class ClientFactory {
      *     enabled: true|false,
      *     maxSize: integer &gt; 0
      *     maxIdleTime: integer &ge; 0,
-     *     queueTimeOut: integer &ge; 0
+     *     queueTimeOut: integer &ge; 0,
+     *     minIdle: integer &ge; 0 and &le; maxSize,
+     *     validationInterval: integer &ge; 0
      * }
      *            </pre>
      * 
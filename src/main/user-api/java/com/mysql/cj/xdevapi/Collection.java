@@ -29,6 +29,7 @@
 
 package com.mysql.cj.xdevapi;
 
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -75,6 +76,17 @@ public interface Collection extends DatabaseObject {
      */
     AddStatement add(DbDoc... documents);
 
+    /**
+     * Add the documents provided by an iterator. Documents are pulled from the iterator only when the statement is executed, and are sent to the server in
+     * as many messages as needed to respect the server's <i>mysqlx_max_allowed_packet</i> limit, without waiting for the result of one message before
+     * sending the next.
+     * 
+     * @param documents
+     *            iterator of {@link DbDoc} documents; it is consumed on statement execution
+     * @return {@link AddStatement}
+     */
+    AddStatement add(Iterator<? extends DbDoc> documents);
+
     /**
      * Create a new find statement retrieving all documents in the collection.
      * 
@@ -29,7 +29,6 @@
 
 package com.mysql.cj.jdbc;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -73,6 +72,19 @@ public class BlobFromLocator implements java.sql.Blob {
 
     private ExceptionInterceptor exceptionInterceptor;
 
+    /** Length of the BLOB as last read from the server, or -1 if it has to be (re)read */
+    private long cachedLength = -1;
+
+    /** Statements reused across calls, created lazily and closed by {@link #free()} */
+    private java.sql.PreparedStatement getBytesStatement = null;
+
+    private java.sql.PreparedStatement lengthStatement = null;
+
+    private java.sql.PreparedStatement positionStatement = null;
+
+    /** Range query of the BLOB, built lazily. Each stream prepares its own statement from it, closed when the stream is closed. */
+    private String getBytesQuery = null;
+
     /**
      * Creates an updatable BLOB that can update in-place
      * 
@@ -167,9 +179,7 @@ public class BlobFromLocator implements java.sql.Blob {
 
     @Override
     public java.io.InputStream getBinaryStream() throws SQLException {
-        // TODO: Make fetch size configurable
-        return new BufferedInputStream(new LocatorInputStream(),
-                this.creatorResultSet.getSession().getPropertySet().getMemorySizeProperty(PropertyKey.locatorFetchBufferSize).getValue());
+        return new LocatorInputStream();
     }
 
     @Override
@@ -205,6 +215,8 @@ public class BlobFromLocator implements java.sql.Blob {
             query.append(" = ?");
         }
 
+        this.cachedLength = -1;
+
         try {
             // FIXME: Have this passed in instead
             pStmt = this.creatorResultSet.getConnection().prepareStatement(query.toString());
@@ -242,59 +254,48 @@ public class BlobFromLocator implements java.sql.Blob {
 
     @Override
     public byte[] getBytes(long pos, int length) throws SQLException {
-        java.sql.PreparedStatement pStmt = null;
-
-        try {
-
-            pStmt = createGetBytesStatement();
-
-            return getBytesInternal(pStmt, pos, length);
-        } finally {
-            if (pStmt != null) {
-                try {
-                    pStmt.close();
-                } catch (SQLException sqlEx) {
-                    // do nothing
-                }
-
-                pStmt = null;
-            }
-        }
+        return getBytesInternal(getGetBytesStatement(), pos, length);
     }
 
     @Override
     public long length() throws SQLException {
-        java.sql.ResultSet blobRs = null;
-        java.sql.PreparedStatement pStmt = null;
+        if (this.cachedLength != -1) {
+            return this.cachedLength;
+        }
 
-        // FIXME: Needs to use identifiers for column/table names
-        StringBuilder query = new StringBuilder("SELECT LENGTH(");
-        query.append(this.blobColumnName);
-        query.append(") FROM ");
-        query.append(this.tableName);
-        query.append(" WHERE ");
+        java.sql.ResultSet blobRs = null;
 
-        query.append(this.primaryKeyColumns.get(0));
-        query.append(" = ?");
+        if (this.lengthStatement == null) {
+            // FIXME: Needs to use identifiers for column/table names
+            StringBuilder query = new StringBuilder("SELECT LENGTH(");
+            query.append(this.blobColumnName);
+            query.append(") FROM ");
+            query.append(this.tableName);
+            query.append(" WHERE ");
 
-        for (int i = 1; i < this.numPrimaryKeys; i++) {
-            query.append(" AND ");
-            query.append(this.primaryKeyColumns.get(i));
+            query.append(this.primaryKeyColumns.get(0));
             query.append(" = ?");
-        }
 
-        try {
+            for (int i = 1; i < this.numPrimaryKeys; i++) {
+                query.append(" AND ");
+                query.append(this.primaryKeyColumns.get(i));
+                query.append(" = ?");
+            }
+
             // FIXME: Have this passed in instead
-            pStmt = this.creatorResultSet.getConnection().prepareStatement(query.toString());
+            this.lengthStatement = this.creatorResultSet.getConnection().prepareStatement(query.toString());
+        }
 
+        try {
             for (int i = 0; i < this.numPrimaryKeys; i++) {
-                pStmt.setString(i + 1, this.primaryKeyValues.get(i));
+                this.lengthStatement.setString(i + 1, this.primaryKeyValues.get(i));
             }
 
-            blobRs = pStmt.executeQuery();
+            blobRs = this.lengthStatement.executeQuery();
 
             if (blobRs.next()) {
-                return blobRs.getLong(1);
+                this.cachedLength = blobRs.getLong(1);
+                return this.cachedLength;
             }
 
             throw SQLError.createSQLException(Messages.getString("Blob.9"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, this.exceptionInterceptor);
@@ -308,16 +309,6 @@ public class BlobFromLocator implements java.sql.Blob {
 
                 blobRs = null;
             }
-
-            if (pStmt != null) {
-                try {
-                    pStmt.close();
-                } catch (SQLException sqlEx) {
-                    // do nothing
-                }
-
-                pStmt = null;
-            }
         }
     }
 
@@ -329,37 +320,38 @@ public class BlobFromLocator implements java.sql.Blob {
     @Override
     public long position(byte[] pattern, long start) throws SQLException {
         java.sql.ResultSet blobRs = null;
-        java.sql.PreparedStatement pStmt = null;
-
-        // FIXME: Needs to use identifiers for column/table names
-        StringBuilder query = new StringBuilder("SELECT LOCATE(");
-        query.append("?, ");
-        query.append(this.blobColumnName);
-        query.append(", ");
-        query.append(start);
-        query.append(") FROM ");
-        query.append(this.tableName);
-        query.append(" WHERE ");
 
-        query.append(this.primaryKeyColumns.get(0));
-        query.append(" = ?");
+        if (this.positionStatement == null) {
+            // FIXME: Needs to use identifiers for column/table names
+            StringBuilder query = new StringBuilder("SELECT LOCATE(");
+            query.append("?, ");
+            query.append(this.blobColumnName);
+            query.append(", ?) FROM ");
+            query.append(this.tableName);
+            query.append(" WHERE ");
 
-        for (int i = 1; i < this.numPrimaryKeys; i++) {
-            query.append(" AND ");
-            query.append(this.primaryKeyColumns.get(i));
+            query.append(this.primaryKeyColumns.get(0));
             query.append(" = ?");
+
+            for (int i = 1; i < this.numPrimaryKeys; i++) {
+                query.append(" AND ");
+                query.append(this.primaryKeyColumns.get(i));
+                query.append(" = ?");
+            }
+
+            // FIXME: Have this passed in instead
+            this.positionStatement = this.creatorResultSet.getConnection().prepareStatement(query.toString());
         }
 
         try {
-            // FIXME: Have this passed in instead
-            pStmt = this.creatorResultSet.getConnection().prepareStatement(query.toString());
-            pStmt.setBytes(1, pattern);
+            this.positionStatement.setBytes(1, pattern);
+            this.positionStatement.setLong(2, start);
 
             for (int i = 0; i < this.numPrimaryKeys; i++) {
-                pStmt.setString(i + 2, this.primaryKeyValues.get(i));
+                this.positionStatement.setString(i + 3, this.primaryKeyValues.get(i));
             }
 
-            blobRs = pStmt.executeQuery();
+            blobRs = this.positionStatement.executeQuery();
 
             if (blobRs.next()) {
                 return blobRs.getLong(1);
@@ -376,16 +368,6 @@ public class BlobFromLocator implements java.sql.Blob {
 
                 blobRs = null;
             }
-
-            if (pStmt != null) {
-                try {
-                    pStmt.close();
-                } catch (SQLException sqlEx) {
-                    // do nothing
-                }
-
-                pStmt = null;
-            }
         }
     }
 
@@ -413,6 +395,8 @@ public class BlobFromLocator implements java.sql.Blob {
             query.append(" = ?");
         }
 
+        this.cachedLength = -1;
+
         try {
             // FIXME: Have this passed in instead
             pStmt = this.creatorResultSet.getConnection().prepareStatement(query.toString());
@@ -439,28 +423,40 @@ public class BlobFromLocator implements java.sql.Blob {
         }
     }
 
-    java.sql.PreparedStatement createGetBytesStatement() throws SQLException {
-        StringBuilder query = new StringBuilder("SELECT SUBSTRING(");
+    private java.sql.PreparedStatement getGetBytesStatement() throws SQLException {
+        if (this.getBytesStatement == null) {
+            this.getBytesStatement = createGetBytesStatement();
+        }
 
-        query.append(this.blobColumnName);
-        query.append(", ");
-        query.append("?");
-        query.append(", ");
-        query.append("?");
-        query.append(") FROM ");
-        query.append(this.tableName);
-        query.append(" WHERE ");
+        return this.getBytesStatement;
+    }
 
-        query.append(this.primaryKeyColumns.get(0));
-        query.append(" = ?");
+    private java.sql.PreparedStatement createGetBytesStatement() throws SQLException {
+        if (this.getBytesQuery == null) {
+            StringBuilder query = new StringBuilder("SELECT SUBSTRING(");
 
-        for (int i = 1; i < this.numPrimaryKeys; i++) {
-            query.append(" AND ");
-            query.append(this.primaryKeyColumns.get(i));
+            query.append(this.blobColumnName);
+            query.append(", ");
+            query.append("?");
+            query.append(", ");
+            query.append("?");
+            query.append(") FROM ");
+            query.append(this.tableName);
+            query.append(" WHERE ");
+
+            query.append(this.primaryKeyColumns.get(0));
             query.append(" = ?");
+
+            for (int i = 1; i < this.numPrimaryKeys; i++) {
+                query.append(" AND ");
+                query.append(this.primaryKeyColumns.get(i));
+                query.append(" = ?");
+            }
+
+            this.getBytesQuery = query.toString();
         }
 
-        return this.creatorResultSet.getConnection().prepareStatement(query.toString());
+        return this.creatorResultSet.getConnection().prepareStatement(this.getBytesQuery);
     }
 
     byte[] getBytesInternal(java.sql.PreparedStatement pStmt, long pos, int length) throws SQLException {
@@ -496,25 +492,38 @@ public class BlobFromLocator implements java.sql.Blob {
         }
     }
 
+    /**
+     * Streams the BLOB in chunks of 'locatorFetchBufferSize' bytes. Each chunk is fetched as a whole with a single range read, so single-byte and small reads
+     * are served from the current chunk instead of costing a round-trip each.
+     */
     class LocatorInputStream extends InputStream {
+        /** 0-based position in the BLOB of the first byte of the next chunk to fetch */
         long currentPositionInBlob = 0;
 
+        /** 0-based position in the BLOB where this stream ends */
         long length = 0;
 
+        int chunkSize;
+
+        /** Range statement of this stream, prepared on the first fetch and closed with the stream */
         java.sql.PreparedStatement pStmt = null;
 
+        byte[] chunk = null;
+
+        int chunkPos = 0;
+
+        boolean closed = false;
+
         LocatorInputStream() throws SQLException {
             this.length = length();
-            this.pStmt = createGetBytesStatement();
+            this.chunkSize = getChunkSize();
         }
 
         @SuppressWarnings("synthetic-access")
         LocatorInputStream(long pos, long len) throws SQLException {
-            this.length = pos + len;
-            this.currentPositionInBlob = pos;
             long blobLength = length();
 
-            if (pos + len > blobLength) {
+            if (pos + len - 1 > blobLength) {
                 throw SQLError.createSQLException(
                         Messages.getString("Blob.invalidStreamLength", new Object[] { Long.valueOf(blobLength), Long.valueOf(pos), Long.valueOf(len) }),
                         MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, BlobFromLocator.this.exceptionInterceptor);
@@ -529,82 +538,137 @@ public class BlobFromLocator implements java.sql.Blob {
                 throw SQLError.createSQLException(Messages.getString("Blob.invalidStreamPos"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                         BlobFromLocator.this.exceptionInterceptor);
             }
+
+            this.currentPositionInBlob = pos - 1;
+            this.length = pos - 1 + len;
+            this.chunkSize = getChunkSize();
         }
 
-        @Override
-        public int read() throws IOException {
-            if (this.currentPositionInBlob + 1 > this.length) {
-                return -1;
+        private int getChunkSize() {
+            return Math.max(1,
+                    BlobFromLocator.this.creatorResultSet.getSession().getPropertySet().getMemorySizeProperty(PropertyKey.locatorFetchBufferSize).getValue());
+        }
+
+        /**
+         * Makes sure there are unread bytes in the current chunk, fetching the next one if needed.
+         * 
+         * @return the number of unread bytes in the current chunk, 0 if the end of the stream was reached
+         * @throws IOException
+         *             if the stream is closed or the chunk can't be fetched
+         */
+        private int fill() throws IOException {
+            if (this.closed) {
+                throw new IOException(Messages.getString("Blob.7"));
+            }
+
+            if (this.chunk != null && this.chunkPos < this.chunk.length) {
+                return this.chunk.length - this.chunkPos;
+            }
+
+            if (this.currentPositionInBlob >= this.length) {
+                return 0;
             }
 
+            int toFetch = (int) Math.min(this.chunkSize, this.length - this.currentPositionInBlob);
+
             try {
-                byte[] asBytes = getBytesInternal(this.pStmt, (this.currentPositionInBlob++) + 1, 1);
+                if (this.pStmt == null) {
+                    this.pStmt = createGetBytesStatement();
+                }
 
-                if (asBytes == null) {
-                    return -1;
+                byte[] asBytes = getBytesInternal(this.pStmt, this.currentPositionInBlob + 1, toFetch);
+
+                if (asBytes == null || asBytes.length == 0) {
+                    // the BLOB was shortened behind our back
+                    this.length = this.currentPositionInBlob;
+                    return 0;
                 }
 
-                return asBytes[0];
+                this.chunk = asBytes;
+                this.chunkPos = 0;
+                this.currentPositionInBlob += asBytes.length;
+
+                return asBytes.length;
             } catch (SQLException sqlEx) {
-                throw new IOException(sqlEx.toString());
+                throw new IOException(sqlEx.toString(), sqlEx);
             }
         }
 
         @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            if (this.currentPositionInBlob + 1 > this.length) {
+        public int read() throws IOException {
+            if (fill() == 0) {
                 return -1;
             }
 
-            try {
-                byte[] asBytes = getBytesInternal(this.pStmt, (this.currentPositionInBlob) + 1, len);
+            return this.chunk[this.chunkPos++] & 0xff;
+        }
 
-                if (asBytes == null) {
-                    return -1;
-                }
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
 
-                System.arraycopy(asBytes, 0, b, off, asBytes.length);
+            if (len == 0) {
+                return 0;
+            }
 
-                this.currentPositionInBlob += asBytes.length;
+            int totalRead = 0;
 
-                return asBytes.length;
-            } catch (SQLException sqlEx) {
-                throw new IOException(sqlEx.toString());
+            while (totalRead < len) {
+                int available = fill();
+
+                if (available == 0) {
+                    break;
+                }
+
+                int n = Math.min(available, len - totalRead);
+                System.arraycopy(this.chunk, this.chunkPos, b, off + totalRead, n);
+                this.chunkPos += n;
+                totalRead += n;
             }
+
+            return totalRead == 0 ? -1 : totalRead;
         }
 
         @Override
         public int read(byte[] b) throws IOException {
-            if (this.currentPositionInBlob + 1 > this.length) {
-                return -1;
+            return read(b, 0, b.length);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0 || this.closed) {
+                return 0;
             }
 
-            try {
-                byte[] asBytes = getBytesInternal(this.pStmt, (this.currentPositionInBlob) + 1, b.length);
+            long buffered = this.chunk == null ? 0 : this.chunk.length - this.chunkPos;
 
-                if (asBytes == null) {
-                    return -1;
-                }
+            if (n <= buffered) {
+                this.chunkPos += (int) n;
+                return n;
+            }
 
-                System.arraycopy(asBytes, 0, b, 0, asBytes.length);
+            // skipping past the current chunk just moves the next range read forward
+            long skipped = buffered + Math.min(n - buffered, this.length - this.currentPositionInBlob);
+            this.currentPositionInBlob += skipped - buffered;
+            this.chunk = null;
+            this.chunkPos = 0;
 
-                this.currentPositionInBlob += asBytes.length;
+            return skipped;
+        }
 
-                return asBytes.length;
-            } catch (SQLException sqlEx) {
-                throw new IOException(sqlEx.toString());
-            }
+        @Override
+        public int available() throws IOException {
+            return this.chunk == null || this.closed ? 0 : this.chunk.length - this.chunkPos;
         }
 
         @Override
         public void close() throws IOException {
-            if (this.pStmt != null) {
-                try {
-                    this.pStmt.close();
-                } catch (SQLException sqlEx) {
-                    throw new IOException(sqlEx.toString());
-                }
-            }
+            closeStatement(this.pStmt);
+            this.pStmt = null;
+            this.closed = true;
+            this.chunk = null;
 
             super.close();
         }
@@ -612,11 +676,30 @@ public class BlobFromLocator implements java.sql.Blob {
 
     @Override
     public void free() throws SQLException {
+        closeStatement(this.getBytesStatement);
+        closeStatement(this.lengthStatement);
+        closeStatement(this.positionStatement);
+
+        this.getBytesStatement = null;
+        this.lengthStatement = null;
+        this.positionStatement = null;
+        this.cachedLength = -1;
+
         this.creatorResultSet = null;
         this.primaryKeyColumns = null;
         this.primaryKeyValues = null;
     }
 
+    private static void closeStatement(java.sql.PreparedStatement pStmt) {
+        if (pStmt != null) {
+            try {
+                pStmt.close();
+            } catch (SQLException sqlEx) {
+                // do nothing
+            }
+        }
+    }
+
     @Override
     public InputStream getBinaryStream(long pos, long length) throws SQLException {
         return new LocatorInputStream(pos, length);
@@ -0,0 +1,603 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.mysql.cj.CharsetMapping;
+import com.mysql.cj.ClientPreparedQueryBindings;
+import com.mysql.cj.Messages;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.CJException;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.jdbc.exceptions.SQLExceptionsMapping;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * {@link BulkLoader} implementation.
+ * 
+ * Rows are encoded by the caller into one of two buffers. A full buffer is handed over to a "LOAD DATA LOCAL INFILE" statement run by a background thread,
+ * which reads it as its local infile stream, while the caller fills the other one. When all rows fit in a single buffer the statement runs on the caller's
+ * thread instead.
+ * 
+ * The load statement holds the connection until all rows are read. Meanwhile, statements of the same connection, and the connection methods that would wait
+ * for it, like commit() or setAutoCommit(), fail instead of waiting, since the rows may have to come from the very thread that would wait. A load that gets
+ * no rows for 'bulkLoadIdleTimeout' milliseconds is deemed abandoned: it fails and, as the server can't be told to cancel it, the connection is closed.
+ * 
+ * Rows are sent as tab separated fields and newline terminated lines, with "\" as escape character and "\N" for NULL. The data is declared as binary so the
+ * server stores the bytes of each field as they are; strings are therefore encoded with the character set of their target column. Dates and times are
+ * converted as client-side prepared statements do, according to the type of their target column, 'connectionTimeZone' and 'preserveInstants'.
+ */
+public class BulkLoaderImpl implements BulkLoader {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "mysql-cj-bulk-loader");
+        t.setDaemon(true);
+        ClassLoader classLoader = BulkLoaderImpl.class.getClassLoader();
+        t.setContextClassLoader(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        return t;
+    });
+
+    /** Size of each buffer rows are encoded into, the same as the packets "LOAD DATA LOCAL INFILE" data is sent in. */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final int BUFFER_COUNT = 2;
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private static final byte FIELD_TERMINATOR = '\t';
+
+    private static final byte LINE_TERMINATOR = '\n';
+
+    private static final byte ESCAPE = '\\';
+
+    private static class Chunk {
+        final byte[] data;
+        final int length;
+
+        Chunk(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    private static final Chunk END_OF_DATA = new Chunk(new byte[0], 0);
+
+    private final JdbcConnection connection;
+    private final NativeSession session;
+    private final ExceptionInterceptor exceptionInterceptor;
+    /** How long the load statement waits for the next buffer before giving up, 0 to wait forever. */
+    private final int idleTimeout;
+    private final String loadSql;
+    /** Java encoding of each column, used for string values. */
+    private final String[] columnEncodings;
+    /** Type of each column, used for date and time values. */
+    private final MysqlType[] columnTypes;
+    /** Converts date and time values to literals, as client-side prepared statements do. */
+    private final ClientPreparedQueryBindings temporalBindings;
+
+    private final Object[] boundValues;
+    private final boolean[] bound;
+
+    /** Buffers filled by the caller, waiting to be read by the load statement. */
+    private final BlockingQueue<Chunk> filledChunks = new LinkedBlockingQueue<>();
+    /** Buffers already read by the load statement, ready to be filled again. */
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+    private int allocatedBuffers = 0;
+
+    private byte[] buffer = null;
+    private int bufferPosition = 0;
+    private final byte[] digits = new byte[20];
+
+    private long rowsAdded = 0;
+    private Future<Long> load = null;
+    private volatile boolean abandoned = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a bulk loader for the given table.
+     * 
+     * @param connection
+     *            the connection to load through
+     * @param tableName
+     *            the table to load into, optionally qualified with its database name; used as given
+     * @param columnNames
+     *            the columns each row is made of, in order; all columns of the table if none
+     * @throws SQLException
+     *             if "LOAD DATA LOCAL INFILE" isn't enabled or the table columns can't be read
+     */
+    public BulkLoaderImpl(JdbcConnection connection, String tableName, String... columnNames) throws SQLException {
+        this.connection = connection;
+        this.session = (NativeSession) connection.getSession();
+        this.exceptionInterceptor = connection.getExceptionInterceptor();
+        this.idleTimeout = connection.getPropertySet().getIntegerProperty(PropertyKey.bulkLoadIdleTimeout).getValue();
+
+        if (!connection.getPropertySet().getBooleanProperty(PropertyKey.allowLoadLocalInfile).getValue()) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.0"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, this.exceptionInterceptor);
+        }
+
+        String quoteChar = connection.getSession().getIdentifierQuoteString();
+        boolean pedantic = connection.getPropertySet().getBooleanProperty(PropertyKey.pedantic).getValue();
+        StringBuilder columnList = new StringBuilder();
+        if (columnNames != null) {
+            for (String columnName : columnNames) {
+                if (columnList.length() > 0) {
+                    columnList.append(", ");
+                }
+                columnList.append(StringUtils.quoteIdentifier(columnName, quoteChar, pedantic));
+            }
+        }
+
+        // the column character sets come from the table definition
+        Field[] fields;
+        try (java.sql.Statement stmt = connection.createStatement();
+                java.sql.ResultSet rs = stmt.executeQuery("SELECT " + (columnList.length() > 0 ? columnList : "*") + " FROM " + tableName + " LIMIT 0")) {
+            fields = ((ResultSetImpl) rs).getMetadata().getFields();
+        }
+
+        String characterEncoding = connection.getPropertySet().getStringProperty(PropertyKey.characterEncoding).getValue();
+        this.columnEncodings = new String[fields.length];
+        this.columnTypes = new MysqlType[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.columnTypes[i] = fields[i].getMysqlType();
+            String encoding = fields[i].getEncoding();
+            this.columnEncodings[i] = encoding == null || fields[i].getCollationIndex() == CharsetMapping.MYSQL_COLLATION_INDEX_binary ? characterEncoding
+                    : encoding;
+        }
+
+        this.boundValues = new Object[fields.length];
+        this.bound = new boolean[fields.length];
+        this.temporalBindings = new ClientPreparedQueryBindings(1, this.session);
+
+        StringBuilder sql = new StringBuilder("LOAD DATA LOCAL INFILE 'bulk-loader' INTO TABLE ");
+        sql.append(tableName);
+        // hexadecimal literals are immune to NO_BACKSLASH_ESCAPES
+        sql.append(" CHARACTER SET binary FIELDS TERMINATED BY X'09' ESCAPED BY X'5C' LINES TERMINATED BY X'0A'");
+        if (columnList.length() > 0) {
+            sql.append(" (").append(columnList).append(")");
+        }
+        this.loadSql = sql.toString();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.boundValues.length;
+    }
+
+    @Override
+    public BulkLoader addRow(Object... values) throws SQLException {
+        checkClosed();
+
+        if (values == null || values.length != this.boundValues.length) {
+            throw SQLError.createSQLException(
+                    Messages.getString("BulkLoader.1", new Object[] { this.boundValues.length, values == null ? 0 : values.length }),
+                    MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, this.exceptionInterceptor);
+        }
+
+        writeRow(values);
+        return this;
+    }
+
+    @Override
+    public BulkLoader addRow() throws SQLException {
+        checkClosed();
+
+        for (int i = 0; i < this.bound.length; i++) {
+            if (!this.bound[i]) {
+                throw SQLError.createSQLException(Messages.getString("BulkLoader.2", new Object[] { i + 1 }), MysqlErrorNumbers.SQL_STATE_WRONG_NO_OF_PARAMETERS,
+                        this.exceptionInterceptor);
+            }
+        }
+
+        writeRow(this.boundValues);
+
+        Arrays.fill(this.boundValues, null);
+        Arrays.fill(this.bound, false);
+        return this;
+    }
+
+    @Override
+    public BulkLoader setNull(int columnIndex) throws SQLException {
+        return bind(columnIndex, null);
+    }
+
+    @Override
+    public BulkLoader setInt(int columnIndex, int x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setLong(int columnIndex, long x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setDouble(int columnIndex, double x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setString(int columnIndex, String x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setBytes(int columnIndex, byte[] x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public BulkLoader setObject(int columnIndex, Object x) throws SQLException {
+        return bind(columnIndex, x);
+    }
+
+    @Override
+    public long execute() throws SQLException {
+        checkClosed();
+        this.closed = true;
+
+        if (this.load == null && this.rowsAdded == 0) {
+            return 0;
+        }
+
+        if (this.buffer != null && this.bufferPosition > 0) {
+            this.filledChunks.add(new Chunk(this.buffer, this.bufferPosition));
+        }
+        this.buffer = null;
+        this.filledChunks.add(END_OF_DATA);
+
+        if (this.load == null) {
+            // everything fit in one buffer, no need to hand it over to another thread
+            return runLoad();
+        }
+        return awaitLoad();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!this.closed) {
+            execute();
+        }
+    }
+
+    private BulkLoader bind(int columnIndex, Object value) throws SQLException {
+        checkClosed();
+
+        if (columnIndex < 1 || columnIndex > this.boundValues.length) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.3", new Object[] { columnIndex, this.boundValues.length }),
+                    MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, this.exceptionInterceptor);
+        }
+
+        this.boundValues[columnIndex - 1] = value;
+        this.bound[columnIndex - 1] = true;
+        return this;
+    }
+
+    private void checkClosed() throws SQLException {
+        if (this.closed) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.4"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, this.exceptionInterceptor);
+        }
+    }
+
+    private void writeRow(Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writeByte(FIELD_TERMINATOR);
+            }
+            writeValue(i, values[i]);
+        }
+        writeByte(LINE_TERMINATOR);
+        this.rowsAdded++;
+    }
+
+    private void writeValue(int columnIndex, Object value) throws SQLException {
+        if (value == null) {
+            writeByte(ESCAPE);
+            writeByte('N');
+        } else if (value instanceof byte[]) {
+            writeEscaped((byte[]) value);
+        } else if (value instanceof String) {
+            writeEscaped(StringUtils.getBytes((String) value, this.columnEncodings[columnIndex]));
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            writeByte(((Boolean) value) ? '1' : '0');
+        } else if (value instanceof BigDecimal) {
+            writeAscii(((BigDecimal) value).toPlainString());
+        } else if (value instanceof java.util.Date || value instanceof Instant || value instanceof LocalDate || value instanceof LocalTime
+                || value instanceof LocalDateTime || value instanceof OffsetTime || value instanceof OffsetDateTime || value instanceof ZonedDateTime) {
+            writeTemporal(columnIndex, value);
+        } else if (value instanceof Number || value instanceof Temporal) {
+            writeAscii(value.toString());
+        } else {
+            writeEscaped(StringUtils.getBytes(value.toString(), this.columnEncodings[columnIndex]));
+        }
+    }
+
+    private void writeTemporal(int columnIndex, Object value) throws SQLException {
+        try {
+            // prepared statements don't take instants, they are loaded as the equivalent timestamp
+            this.temporalBindings.setObject(0, value instanceof Instant ? Timestamp.from((Instant) value) : value, this.columnTypes[columnIndex]);
+        } catch (CJException e) {
+            throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+        }
+        byte[] literal = this.temporalBindings.getBindValues()[0].getByteValue();
+        if (literal.length > 1 && literal[0] == '\'' && literal[literal.length - 1] == '\'') {
+            writeBytes(literal, 1, literal.length - 2);
+        } else {
+            writeBytes(literal, 0, literal.length);
+        }
+    }
+
+    private void writeEscaped(byte[] bytes) throws SQLException {
+        int runStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            byte escaped;
+            switch (bytes[i]) {
+                case '\\':
+                    escaped = '\\';
+                    break;
+                case '\t':
+                    escaped = 't';
+                    break;
+                case '\n':
+                    escaped = 'n';
+                    break;
+                case '\r':
+                    escaped = 'r';
+                    break;
+                case 0:
+                    escaped = '0';
+                    break;
+                default:
+                    continue;
+            }
+            writeBytes(bytes, runStart, i - runStart);
+            writeByte(ESCAPE);
+            writeByte(escaped);
+            runStart = i + 1;
+        }
+        writeBytes(bytes, runStart, bytes.length - runStart);
+    }
+
+    /**
+     * Writes a string known to hold only characters that need neither encoding nor escaping, like numbers and dates.
+     */
+    private void writeAscii(String s) throws SQLException {
+        for (int i = 0; i < s.length(); i++) {
+            writeByte(s.charAt(i));
+        }
+    }
+
+    private void writeLong(long value) throws SQLException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int pos = this.digits.length;
+        do {
+            this.digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        writeBytes(this.digits, pos, this.digits.length - pos);
+    }
+
+    private void writeByte(int b) throws SQLException {
+        if (this.buffer == null || this.bufferPosition == this.buffer.length) {
+            nextBuffer();
+        }
+        this.buffer[this.bufferPosition++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] b, int offset, int length) throws SQLException {
+        while (length > 0) {
+            if (this.buffer == null || this.bufferPosition == this.buffer.length) {
+                nextBuffer();
+            }
+            int n = Math.min(length, this.buffer.length - this.bufferPosition);
+            System.arraycopy(b, offset, this.buffer, this.bufferPosition, n);
+            this.bufferPosition += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Hands the current buffer, if any, over to the load statement and switches to a free one, starting the load statement on first use.
+     */
+    private void nextBuffer() throws SQLException {
+        if (this.buffer != null) {
+            if (this.load == null) {
+                this.load = EXECUTOR.submit(this::runLoad);
+            }
+            this.filledChunks.add(new Chunk(this.buffer, this.bufferPosition));
+            this.buffer = null;
+        }
+
+        if (this.allocatedBuffers < BUFFER_COUNT) {
+            this.allocatedBuffers++;
+            this.buffer = new byte[BUFFER_SIZE];
+        } else {
+            try {
+                while ((this.buffer = this.freeBuffers.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    if (this.load.isDone()) {
+                        // the load statement stopped reading before the end of data, it can only have failed
+                        this.closed = true;
+                        awaitLoad();
+                        throw SQLError.createSQLException(Messages.getString("BulkLoader.5"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR,
+                                this.exceptionInterceptor);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw SQLError.createSQLException(Messages.getString("BulkLoader.6"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e, this.exceptionInterceptor);
+            }
+        }
+        this.bufferPosition = 0;
+    }
+
+    private long runLoad() throws SQLException {
+        this.session.setBulkLoadThread(Thread.currentThread());
+        try (java.sql.Statement stmt = this.connection.createStatement()) {
+            JdbcStatement loadStmt = (JdbcStatement) stmt;
+            loadStmt.setLocalInfileInputStream(new ChunkInputStream());
+            try {
+                return loadStmt.executeLargeUpdate(this.loadSql);
+            } finally {
+                loadStmt.setLocalInfileInputStream(null);
+            }
+        } catch (SQLException | CJException e) {
+            if (this.abandoned) {
+                // the server still waits for the rest of the rows and there is no way to cancel it
+                this.connection.abortInternal();
+                throw SQLError.createSQLException(Messages.getString("BulkLoader.8", new Object[] { this.idleTimeout }),
+                        MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e, this.exceptionInterceptor);
+            }
+            throw e;
+        } finally {
+            this.session.setBulkLoadThread(null);
+        }
+    }
+
+    private long awaitLoad() throws SQLException {
+        try {
+            return this.load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.6"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e, this.exceptionInterceptor);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.5"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e.getCause(),
+                    this.exceptionInterceptor);
+        }
+    }
+
+    /**
+     * The local infile stream of the load statement, reading the buffers filled by the caller in turn and giving them back once read.
+     */
+    private class ChunkInputStream extends InputStream {
+        private Chunk current = null;
+        private int position = 0;
+
+        ChunkInputStream() {
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.current == END_OF_DATA) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+
+            if (this.current == null || this.position == this.current.length) {
+                if (this.current != null) {
+                    BulkLoaderImpl.this.freeBuffers.offer(this.current.data);
+                }
+                this.current = nextChunk();
+                this.position = 0;
+
+                if (this.current == END_OF_DATA) {
+                    return -1;
+                }
+            }
+
+            int n = Math.min(len, this.current.length - this.position);
+            System.arraycopy(this.current.data, this.position, b, off, n);
+            this.position += n;
+            return n;
+        }
+
+        private Chunk nextChunk() throws IOException {
+            long waitStart = System.currentTimeMillis();
+            try {
+                Chunk chunk;
+                while ((chunk = BulkLoaderImpl.this.filledChunks.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    if (BulkLoaderImpl.this.session.isClosed()) {
+                        throw new IOException(Messages.getString("BulkLoader.7"));
+                    }
+                    if (BulkLoaderImpl.this.idleTimeout > 0 && System.currentTimeMillis() - waitStart >= BulkLoaderImpl.this.idleTimeout) {
+                        BulkLoaderImpl.this.abandoned = true;
+                        throw new IOException(Messages.getString("BulkLoader.8", new Object[] { BulkLoaderImpl.this.idleTimeout }));
+                    }
+                }
+                return chunk;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(Messages.getString("BulkLoader.6"));
+            }
+        }
+    }
+}
@@ -50,6 +50,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Wrapper;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -61,11 +62,14 @@ import com.mysql.cj.MysqlType;
 import com.mysql.cj.PreparedQuery;
 import com.mysql.cj.conf.PropertyDefinitions.DatabaseTerm;
 import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.FeatureNotAvailableException;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.ResultSetImpl;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.a.result.ByteArrayRow;
 import com.mysql.cj.protocol.a.result.ResultsetRowsStatic;
 import com.mysql.cj.result.DefaultColumnDefinition;
@@ -118,6 +122,16 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
             this.inOutModifier = inOutModifier;
         }
 
+        /**
+         * Returns a new descriptor for the same parameter, without the type registered through registerOutParameter().
+         *
+         * @return {@link CallableStatementParam}
+         */
+        CallableStatementParam copy() {
+            return new CallableStatementParam(this.paramName, this.index, this.isIn, this.isOut, this.jdbcType, this.typeName, this.precision, this.scale,
+                    this.nullability, this.inOutModifier);
+        }
+
         @Override
         protected Object clone() throws CloneNotSupportedException {
             return super.clone();
@@ -213,6 +227,30 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
             }
         }
 
+        /**
+         * Constructor that takes the parameter descriptors from the driver-wide procedure metadata cache.
+         *
+         * @param parameters
+         *            the parameter descriptors, as built from DatabaseMetaData.getProcedureColumns(); must not be shared with other statements
+         */
+        @SuppressWarnings("synthetic-access")
+        CallableStatementParamInfo(List<CallableStatementParam> parameters) {
+            this.nativeSql = ((PreparedQuery<?>) CallableStatement.this.query).getOriginalSql();
+            this.dbInUse = CallableStatement.this.getCurrentDatabase();
+            this.isFunctionCall = CallableStatement.this.callingStoredFunction;
+            this.numParameters = parameters.size();
+            this.parameterList = parameters;
+            this.parameterMap = new HashMap<>(this.numParameters);
+
+            for (CallableStatementParam param : parameters) {
+                this.parameterMap.put(param.paramName, param);
+            }
+
+            if (this.isFunctionCall) {
+                this.numParameters += 1;
+            }
+        }
+
         private void addParametersFromDBMD(java.sql.ResultSet paramTypesRs) throws SQLException {
             int i = 0;
 
@@ -439,6 +477,9 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
 
     private boolean noAccessToProcedureBodies;
 
+    /** Key of this statement's routine in the driver-wide procedure metadata cache, null if 'cacheProcedureMetadata' is disabled */
+    private List<Object> procedureMetadataCacheKey;
+
     /**
      * Creates a new CallableStatement
      * 
@@ -780,15 +821,31 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
                     //keep values as they are
                 }
 
-                java.sql.DatabaseMetaData dbmd = this.connection.getMetaData();
-
                 boolean useDb = false;
 
                 if (tmpDb.length() <= 0) {
                     useDb = true;
                 }
 
-                paramTypesRs = this.session.getPropertySet().<DatabaseTerm>getEnumProperty(PropertyKey.databaseTerm).getValue() == DatabaseTerm.SCHEMA
+                PropertySet pset = this.session.getPropertySet();
+                long procedureMetadataCacheTtl = 0;
+                if (pset.getBooleanProperty(PropertyKey.cacheProcedureMetadata).getValue()) {
+                    procedureMetadataCacheTtl = pset.getIntegerProperty(PropertyKey.procedureMetadataCacheTtl).getValue() * 1000L;
+                    this.procedureMetadataCacheKey = Arrays.asList(this.connection.getHostPortPair(), this.connection.getUser(),
+                            useDb ? this.getCurrentDatabase() : tmpDb, procName, this.callingStoredFunction,
+                            pset.getBooleanProperty(PropertyKey.useInformationSchema).getValue(), pset.getBooleanProperty(PropertyKey.tinyInt1isBit).getValue(),
+                            pset.getBooleanProperty(PropertyKey.transformedBitIsBoolean).getValue());
+
+                    ProcedureMetadataCache.Entry cached = ProcedureMetadataCache.get(this.procedureMetadataCacheKey, procedureMetadataCacheTtl);
+                    if (cached != null) {
+                        this.paramInfo = new CallableStatementParamInfo(cached.getParameters());
+                        return;
+                    }
+                }
+
+                java.sql.DatabaseMetaData dbmd = this.connection.getMetaData();
+
+                paramTypesRs = pset.<DatabaseTerm>getEnumProperty(PropertyKey.databaseTerm).getValue() == DatabaseTerm.SCHEMA
                         ? dbmd.getProcedureColumns(null, useDb ? this.getCurrentDatabase() : tmpDb/* null */, procName, "%")
                         : dbmd.getProcedureColumns(useDb ? this.getCurrentDatabase() : tmpDb/* null */, null, procName, "%");
 
@@ -803,6 +860,11 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
                 }
                 if (hasResults) {
                     convertGetProcedureColumnsToInternalDescriptors(paramTypesRs);
+
+                    if (this.procedureMetadataCacheKey != null) {
+                        ProcedureMetadataCache.put(this.procedureMetadataCacheKey, this.paramInfo.parameterList,
+                                pset.getIntegerProperty(PropertyKey.procedureMetadataCacheSize).getValue(), procedureMetadataCacheTtl);
+                    }
                 } else {
                     fakeParameterTypes(true);
                 }
@@ -2165,6 +2227,20 @@ public class CallableStatement extends ClientPreparedStatement implements java.s
 
     }
 
+    @Override
+    protected <M extends Message> ResultSetInternalMethods executeInternal(int maxRowsToRetrieve, M sendPacket, boolean createStreamingResultSet,
+            boolean queryIsSelectOnly, ColumnDefinition metadata, boolean isBatch) throws SQLException {
+        try {
+            return super.executeInternal(maxRowsToRetrieve, sendPacket, createStreamingResultSet, queryIsSelectOnly, metadata, isBatch);
+        } catch (SQLException sqlEx) {
+            if (this.procedureMetadataCacheKey != null && sqlEx.getErrorCode() == MysqlErrorNumbers.ER_SP_DOES_NOT_EXIST) {
+                // the routine was dropped, don't hand out its parameters to new statements
+                ProcedureMetadataCache.remove(this.procedureMetadataCacheKey);
+            }
+            throw sqlEx;
+        }
+    }
+
     @Override
     protected int getParameterIndexOffset() {
         if (this.callingStoredFunction) {
@@ -941,6 +941,9 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
                     }
 
                     stopQueryTimer(timeoutTask, false, false);
+
+                    DatabaseMetaDataCache.invalidateOnSchemaChange(locallyScopedConnection, ((PreparedQuery<?>) this.query).getOriginalSql(),
+                            ((PreparedQuery<?>) this.query).getParseInfo().getFirstStmtChar());
                 }
 
                 return rs;
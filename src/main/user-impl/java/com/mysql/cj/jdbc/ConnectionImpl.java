@@ -45,12 +45,15 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Struct;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Random;
+import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
@@ -84,12 +87,15 @@ import com.mysql.cj.jdbc.ha.MultiHostMySQLConnection;
 import com.mysql.cj.jdbc.interceptors.ConnectionLifecycleInterceptor;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaDataImpl;
+import com.mysql.cj.jdbc.result.PendingRowChanges;
 import com.mysql.cj.jdbc.result.ResultSetFactory;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
 import com.mysql.cj.jdbc.result.UpdatableResultSet;
+import com.mysql.cj.jdbc.result.UpdatableResultSetStatements;
 import com.mysql.cj.log.ProfilerEvent;
 import com.mysql.cj.log.StandardLogger;
 import com.mysql.cj.protocol.SocksProxySocketFactory;
+import com.mysql.cj.protocol.a.NativeServerSession;
 import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.Util;
@@ -314,6 +320,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     /** Cache of ResultSet metadata */
     protected LRUCache<String, CachedResultSetMetaData> resultSetMetadataCache;
 
+    /** Cache of statements generated by updatable result sets */
+    private LRUCache<String, UpdatableResultSetStatements> updatableResultSetStatementsCache;
+
+    /** Row changes queued by updatable result sets of this connection, guarded by the connection mutex */
+    private Set<PendingRowChanges> pendingRowChanges = null;
+
     /**
      * The type map for UDTs (not implemented, but used by some third-party
      * vendors, most notably IBM WebSphere)
@@ -437,6 +449,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 this.resultSetMetadataCache = new LRUCache<>(this.propertySet.getIntegerProperty(PropertyKey.metadataCacheSize).getValue());
             }
 
+            int updatableResultSetStatementCacheSize = this.propertySet.getIntegerProperty(PropertyKey.updatableResultSetStatementCacheSize).getValue();
+            if (updatableResultSetStatementCacheSize > 0) {
+                this.updatableResultSetStatementsCache = new LRUCache<>(updatableResultSetStatementCacheSize);
+            }
+
             if (this.propertySet.getStringProperty(PropertyKey.socksProxyHost).getStringValue() != null) {
                 this.propertySet.getProperty(PropertyKey.socketFactory).setValue(SocksProxySocketFactory.class.getName());
             }
@@ -537,6 +554,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void changeUser(String userName, String newPassword) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -564,6 +582,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
             this.session.setSessionVariables();
 
+            this.session.configureSessionStateTracking();
+
             setupServerForTruncationChecks();
         }
     }
@@ -573,6 +593,21 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         this.session.checkClosed();
     }
 
+    /**
+     * A bulk load holds the connection mutex until the rows it waits for are added, possibly by the very thread that would wait for the mutex. So, while it is
+     * in progress, operations that need the mutex fail right away on any other thread.
+     * 
+     * @throws SQLException
+     *             if a bulk load is in progress on another thread
+     */
+    private void checkNoBulkLoadInProgress() throws SQLException {
+        NativeSession s = this.session;
+        Thread bulkLoadThread = s == null ? null : s.getBulkLoadThread();
+        if (bulkLoadThread != null && bulkLoadThread != Thread.currentThread()) {
+            throw SQLError.createSQLException(Messages.getString("BulkLoader.9"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, getExceptionInterceptor());
+        }
+    }
+
     @Override
     public void throwConnectionClosedException() throws SQLException {
         SQLException ex = SQLError.createSQLException(Messages.getString("Connection.2"), MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN,
@@ -764,6 +799,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void commit() throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -790,6 +826,10 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 if (this.session.getServerSession().isAutoCommit()) {
                     throw SQLError.createSQLException(Messages.getString("Connection.3"), getExceptionInterceptor());
                 }
+
+                // queued row changes belong to the transaction being committed
+                flushPendingRowChanges();
+
                 if (this.useLocalTransactionState.getValue()) {
                     if (!this.session.getServerSession().inTransactionOnServer()) {
                         return; // effectively a no-op
@@ -1126,6 +1166,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     @Override
     public String getCatalog() throws SQLException {
         synchronized (getConnectionMutex()) {
+            updateDatabaseFromSessionState();
             return this.propertySet.<DatabaseTerm>getEnumProperty(PropertyKey.databaseTerm).getValue() == DatabaseTerm.SCHEMA ? null : this.database;
         }
     }
@@ -1207,14 +1248,41 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         return this.session.getServerSession().getServerVersion();
     }
 
+    /**
+     * Get the current value of a session variable if the server reports its changes and it is known, without querying it.
+     * 
+     * @param name
+     *            variable name
+     * @return variable value or null
+     */
+    private String getTrackedSessionVariable(String name) {
+        NativeServerSession serverSession = (NativeServerSession) this.session.getServerSession();
+        return serverSession.isSessionVariableTracked(name) ? serverSession.getSessionStateVariable(name) : null;
+    }
+
+    /**
+     * Picks up changes of the default schema made by SQL statements, e.g. "USE", if the server reports them.
+     */
+    private void updateDatabaseFromSessionState() {
+        String schema = ((NativeServerSession) this.session.getServerSession()).getSessionStateSchema();
+        if (schema != null) {
+            this.database = schema;
+        }
+    }
+
+    private static boolean isTrueVariableValue(String value) {
+        // mysql has a habit of tri+ state booleans; tracked variables are reported as ON/OFF
+        return "ON".equalsIgnoreCase(value) || !"OFF".equalsIgnoreCase(value) && Integer.parseInt(value) != 0;
+    }
+
     @Override
     public int getTransactionIsolation() throws SQLException {
 
         synchronized (getConnectionMutex()) {
             if (!this.useLocalSessionState.getValue()) {
-                String s = this.session.queryServerVariable(
-                        versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "@@session.transaction_isolation"
-                                : "@@session.tx_isolation");
+                String s = this.session.querySessionVariable(
+                        versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "transaction_isolation"
+                                : "tx_isolation");
 
                 if (s != null) {
                     Integer intTI = mapTransIsolationNameToValue.get(s);
@@ -1300,6 +1368,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
         this.session.setSessionVariables();
 
+        this.session.configureSessionStateTracking();
+
         this.session.loadServerVariables(this.getConnectionMutex(), this.dbmd.getDriverVersion());
 
         this.autoIncrementIncrement = this.session.getServerSession().getServerVariable("auto_increment_increment", 1);
@@ -1408,11 +1478,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     public boolean isReadOnly(boolean useSessionStatus) throws SQLException {
         if (useSessionStatus && !this.session.isClosed() && versionMeetsMinimum(5, 6, 5) && !this.useLocalSessionState.getValue()
                 && this.readOnlyPropagatesToServer.getValue()) {
-            String s = this.session.queryServerVariable(
-                    versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "@@session.transaction_read_only"
-                            : "@@session.tx_read_only");
+            String s = this.session.querySessionVariable(
+                    versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "transaction_read_only"
+                            : "tx_read_only");
             if (s != null) {
-                return Integer.parseInt(s) != 0; // mysql has a habit of tri+ state booleans
+                return isTrueVariableValue(s);
             }
         }
 
@@ -1531,6 +1601,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public java.sql.CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkNoBulkLoadInProgress();
         CallableStatement cStmt = null;
 
         if (!this.propertySet.getBooleanProperty(PropertyKey.cacheCallableStmts).getValue()) {
@@ -1591,6 +1662,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public java.sql.PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -1812,6 +1884,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void rollback() throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -1863,6 +1936,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void rollback(final Savepoint savepoint) throws SQLException {
+        checkNoBulkLoadInProgress();
 
         synchronized (getConnectionMutex()) {
             checkClosed();
@@ -1887,6 +1961,9 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                     }
                 }
 
+                // changes still queued were made after the savepoint was set
+                discardPendingRowChanges();
+
                 StringBuilder rollbackQuery = new StringBuilder("ROLLBACK TO SAVEPOINT ");
                 rollbackQuery.append('`');
                 rollbackQuery.append(savepoint.getSavepointName());
@@ -1936,6 +2013,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     private void rollbackNoChecks() throws SQLException {
         synchronized (getConnectionMutex()) {
+            discardPendingRowChanges();
+
             if (this.useLocalTransactionState.getValue()) {
                 if (!this.session.getServerSession().inTransactionOnServer()) {
                     return; // effectively a no-op
@@ -2007,6 +2086,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void setAutoCommit(final boolean autoCommitFlag) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -2042,6 +2122,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                     needsSetOnServer = getSession().isSetNeededForAutoCommitMode(autoCommitFlag);
                 }
 
+                if (autoCommitFlag && !this.session.getServerSession().isAutoCommit()) {
+                    // switching autocommit on commits the current transaction, queued row changes belong to it
+                    flushPendingRowChanges();
+                }
+
                 // this internal value must be set first as failover depends on it being set to true to fail over (which is done by most app servers and
                 // connection pools at the end of a transaction), and the driver issues an implicit set based on this value when it (re)-connects to a
                 // server so the value holds across connections
@@ -2069,6 +2154,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     }
 
     public void setDatabase(final String db) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -2095,7 +2181,9 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 }
             }
 
-            if (this.useLocalSessionState.getValue()) {
+            updateDatabaseFromSessionState();
+
+            if (this.useLocalSessionState.getValue() || ((NativeServerSession) this.session.getServerSession()).getSessionStateSchema() != null) {
                 if (this.session.getServerSession().isLowerCaseTableNames()) {
                     if (this.database.equalsIgnoreCase(db)) {
                         return;
@@ -2125,10 +2213,16 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     @Override
     public String getDatabase() throws SQLException {
         synchronized (getConnectionMutex()) {
+            updateDatabaseFromSessionState();
             return this.database;
         }
     }
 
+    @Override
+    public BulkLoader createBulkLoader(String tableName, String... columnNames) throws SQLException {
+        return new BulkLoaderImpl(this, tableName, columnNames);
+    }
+
     @Override
     public void setFailedOver(boolean flag) {
         // handled higher up
@@ -2152,10 +2246,16 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void setReadOnlyInternal(boolean readOnlyFlag) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             // note this this is safe even inside a transaction
             if (this.readOnlyPropagatesToServer.getValue() && versionMeetsMinimum(5, 6, 5)) {
-                if (!this.useLocalSessionState.getValue() || (readOnlyFlag != this.readOnly)) {
+                String trackedReadOnly = getTrackedSessionVariable(
+                        versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "transaction_read_only"
+                                : "tx_read_only");
+                boolean setNeeded = trackedReadOnly != null ? readOnlyFlag != isTrueVariableValue(trackedReadOnly)
+                        : !this.useLocalSessionState.getValue() || (readOnlyFlag != this.readOnly);
+                if (setNeeded) {
                     this.session.execSQL(null, "set session transaction " + (readOnlyFlag ? "read only" : "read write"), -1, null, false,
                             this.nullStatementResultSetFactory, null, false);
                 }
@@ -2175,10 +2275,14 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     }
 
     private void setSavepoint(MysqlSavepoint savepoint) throws SQLException {
+        checkNoBulkLoadInProgress();
 
         synchronized (getConnectionMutex()) {
             checkClosed();
 
+            // changes queued before the savepoint must survive a rollback to it, all changes still queued at that time are discarded
+            flushPendingRowChanges();
+
             StringBuilder savePointQuery = new StringBuilder("SAVEPOINT ");
             savePointQuery.append('`');
             savePointQuery.append(savepoint.getSavepointName());
@@ -2198,6 +2302,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public java.sql.Savepoint setSavepoint(String name) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             MysqlSavepoint savepoint = new MysqlSavepoint(name, getExceptionInterceptor());
 
@@ -2209,6 +2314,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void setTransactionIsolation(int level) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             checkClosed();
 
@@ -2228,6 +2334,15 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 shouldSendSet = this.isolationLevel != level;
             }
 
+            String trackedIsolation = getTrackedSessionVariable(
+                    versionMeetsMinimum(8, 0, 3) || (versionMeetsMinimum(5, 7, 20) && !versionMeetsMinimum(8, 0, 0)) ? "transaction_isolation"
+                            : "tx_isolation");
+            if (trackedIsolation != null && mapTransIsolationNameToValue.containsKey(trackedIsolation)) {
+                // the server reports any change, so its current level is known
+                this.isolationLevel = mapTransIsolationNameToValue.get(trackedIsolation);
+                shouldSendSet = this.isolationLevel != level;
+            }
+
             if (shouldSendSet) {
                 switch (level) {
                     case java.sql.Connection.TRANSACTION_NONE:
@@ -2335,6 +2450,72 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         return null; // no cache exists
     }
 
+    @Override
+    public UpdatableResultSetStatements getCachedUpdatableResultSetStatements(String key) {
+        if (this.updatableResultSetStatementsCache != null) {
+            synchronized (this.updatableResultSetStatementsCache) {
+                return this.updatableResultSetStatementsCache.get(key);
+            }
+        }
+
+        return null; // no cache exists
+    }
+
+    @Override
+    public void cacheUpdatableResultSetStatements(String key, UpdatableResultSetStatements statements) {
+        if (this.updatableResultSetStatementsCache != null) {
+            synchronized (this.updatableResultSetStatementsCache) {
+                this.updatableResultSetStatementsCache.put(key, statements);
+            }
+        }
+    }
+
+    @Override
+    public void registerPendingRowChanges(PendingRowChanges changes) {
+        synchronized (getConnectionMutex()) {
+            if (this.pendingRowChanges == null) {
+                this.pendingRowChanges = new HashSet<>();
+            }
+            this.pendingRowChanges.add(changes);
+        }
+    }
+
+    @Override
+    public void unregisterPendingRowChanges(PendingRowChanges changes) {
+        synchronized (getConnectionMutex()) {
+            if (this.pendingRowChanges != null) {
+                this.pendingRowChanges.remove(changes);
+            }
+        }
+    }
+
+    /**
+     * Sends the row changes queued by updatable result sets of this connection.
+     * 
+     * @throws SQLException
+     *             if the changes can't be applied
+     */
+    private void flushPendingRowChanges() throws SQLException {
+        if (this.pendingRowChanges != null && !this.pendingRowChanges.isEmpty()) {
+            // flushing unregisters the changes
+            for (PendingRowChanges changes : new ArrayList<>(this.pendingRowChanges)) {
+                changes.flushPendingRowChanges();
+            }
+        }
+    }
+
+    /**
+     * Drops the row changes queued by updatable result sets of this connection, the transaction they were made in is being rolled back.
+     */
+    private void discardPendingRowChanges() {
+        if (this.pendingRowChanges != null && !this.pendingRowChanges.isEmpty()) {
+            for (PendingRowChanges changes : new ArrayList<>(this.pendingRowChanges)) {
+                changes.discardPendingRowChanges();
+            }
+            this.pendingRowChanges.clear();
+        }
+    }
+
     @Override
     public void initializeResultsMetadataFromCache(String sql, CachedResultSetMetaData cachedMetaData, ResultSetInternalMethods resultSet) throws SQLException {
 
@@ -2425,6 +2606,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     @Override
     public void setSessionMaxRows(int max) throws SQLException {
+        checkNoBulkLoadInProgress();
         synchronized (getConnectionMutex()) {
             if (this.session.getSessionMaxRows() != max) {
                 this.session.setSessionMaxRows(max);
@@ -2446,6 +2628,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     public String getSchema() throws SQLException {
         synchronized (getConnectionMutex()) {
             checkClosed();
+            updateDatabaseFromSessionState();
             return this.propertySet.<DatabaseTerm>getEnumProperty(PropertyKey.databaseTerm).getValue() == DatabaseTerm.SCHEMA ? this.database : null;
         }
     }
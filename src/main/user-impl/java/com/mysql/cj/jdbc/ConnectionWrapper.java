@@ -58,7 +58,9 @@ import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
+import com.mysql.cj.jdbc.result.PendingRowChanges;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.jdbc.result.UpdatableResultSetStatements;
 
 /**
  * This class serves as a wrapper for the connection object. It is returned to the application server which may wrap it again and then return it to the
@@ -155,6 +157,17 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return null; // we don't reach this code, compiler can't tell
     }
 
+    @Override
+    public BulkLoader createBulkLoader(String tableName, String... columnNames) throws SQLException {
+        try {
+            return this.mc.createBulkLoader(tableName, columnNames);
+        } catch (SQLException sqlException) {
+            checkAndFireConnectionError(sqlException);
+        }
+
+        return null; // we don't reach this code, compiler can't tell
+    }
+
     @Override
     public void setCatalog(String catalog) throws SQLException {
 
@@ -1113,6 +1126,26 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return this.mc.getCachedMetaData(sql);
     }
 
+    @Override
+    public UpdatableResultSetStatements getCachedUpdatableResultSetStatements(String key) {
+        return this.mc.getCachedUpdatableResultSetStatements(key);
+    }
+
+    @Override
+    public void cacheUpdatableResultSetStatements(String key, UpdatableResultSetStatements statements) {
+        this.mc.cacheUpdatableResultSetStatements(key, statements);
+    }
+
+    @Override
+    public void registerPendingRowChanges(PendingRowChanges changes) {
+        this.mc.registerPendingRowChanges(changes);
+    }
+
+    @Override
+    public void unregisterPendingRowChanges(PendingRowChanges changes) {
+        this.mc.unregisterPendingRowChanges(changes);
+    }
+
     @Override
     public String getCharacterSetMetadata() {
         return this.mc.getCharacterSetMetadata();
@@ -740,6 +740,19 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     private String metadataEncoding;
     private int metadataCollationIndex;
 
+    /** Driver-wide results cache for this connection's server, null if cacheDatabaseMetadata is disabled */
+    private DatabaseMetaDataCache metadataCache = null;
+    private RuntimeProperty<Integer> metadataCacheTtl;
+    private RuntimeProperty<Integer> metadataCacheProbeInterval;
+
+    /**
+     * An uncached implementation of a cacheable DatabaseMetaData method.
+     */
+    @FunctionalInterface
+    protected interface MetadataQuery {
+        java.sql.ResultSet execute() throws SQLException;
+    }
+
     protected static DatabaseMetaData getInstance(JdbcConnection connToSet, String databaseToSet, boolean checkForInfoSchema, ResultSetFactory resultSetFactory)
             throws SQLException {
         if (checkForInfoSchema && connToSet.getPropertySet().getBooleanProperty(PropertyKey.useInformationSchema).getValue()) {
@@ -772,6 +785,13 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
         this.transformedBitIsBoolean = this.conn.getPropertySet().getBooleanProperty(PropertyKey.transformedBitIsBoolean).getValue();
         this.useHostsInPrivileges = this.conn.getPropertySet().getBooleanProperty(PropertyKey.useHostsInPrivileges).getValue();
         this.quotedId = this.session.getIdentifierQuoteString();
+
+        if (this.conn.getPropertySet().getBooleanProperty(PropertyKey.cacheDatabaseMetadata).getValue()) {
+            this.metadataCache = DatabaseMetaDataCache.getInstance(this.conn.getHostPortPair(),
+                    this.conn.getPropertySet().getIntegerProperty(PropertyKey.databaseMetadataCacheSize).getValue());
+            this.metadataCacheTtl = this.conn.getPropertySet().getIntegerProperty(PropertyKey.databaseMetadataCacheTtl);
+            this.metadataCacheProbeInterval = this.conn.getPropertySet().getIntegerProperty(PropertyKey.databaseMetadataCacheProbeInterval);
+        }
     }
 
     @Override
@@ -2050,7 +2070,12 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getColumns(final String catalog, final String schemaPattern, final String tableNamePattern, String columnNamePattern)
+    public java.sql.ResultSet getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
+        return getCachedResultSet("getColumns", () -> getColumnsUncached(catalog, schemaPattern, tableNamePattern, columnNamePattern), catalog, schemaPattern,
+                tableNamePattern, columnNamePattern);
+    }
+
+    protected java.sql.ResultSet getColumnsUncached(final String catalog, final String schemaPattern, final String tableNamePattern, String columnNamePattern)
             throws SQLException {
 
         String db = getDatabase(catalog, schemaPattern);
@@ -2292,8 +2317,15 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getCrossReference(final String primaryCatalog, final String primarySchema, final String primaryTable, final String foreignCatalog,
-            final String foreignSchema, final String foreignTable) throws SQLException {
+    public java.sql.ResultSet getCrossReference(String primaryCatalog, String primarySchema, String primaryTable, String foreignCatalog, String foreignSchema,
+            String foreignTable) throws SQLException {
+        return getCachedResultSet("getCrossReference",
+                () -> getCrossReferenceUncached(primaryCatalog, primarySchema, primaryTable, foreignCatalog, foreignSchema, foreignTable), primaryCatalog,
+                primarySchema, primaryTable, foreignCatalog, foreignSchema, foreignTable);
+    }
+
+    protected java.sql.ResultSet getCrossReferenceUncached(final String primaryCatalog, final String primarySchema, final String primaryTable,
+            final String foreignCatalog, final String foreignSchema, final String foreignTable) throws SQLException {
         if (primaryTable == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -2488,7 +2520,11 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getExportedKeys(String catalog, String schema, final String table) throws SQLException {
+    public java.sql.ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
+        return getCachedResultSet("getExportedKeys", () -> getExportedKeysUncached(catalog, schema, table), catalog, schema, table);
+    }
+
+    protected java.sql.ResultSet getExportedKeysUncached(String catalog, String schema, final String table) throws SQLException {
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -2606,7 +2642,11 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getImportedKeys(String catalog, String schema, final String table) throws SQLException {
+    public java.sql.ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
+        return getCachedResultSet("getImportedKeys", () -> getImportedKeysUncached(catalog, schema, table), catalog, schema, table);
+    }
+
+    protected java.sql.ResultSet getImportedKeysUncached(String catalog, String schema, final String table) throws SQLException {
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -2685,7 +2725,13 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getIndexInfo(String catalog, String schema, final String table, final boolean unique, boolean approximate) throws SQLException {
+    public java.sql.ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
+        return getCachedResultSet("getIndexInfo", () -> getIndexInfoUncached(catalog, schema, table, unique, approximate), catalog, schema, table, unique,
+                approximate);
+    }
+
+    protected java.sql.ResultSet getIndexInfoUncached(String catalog, String schema, final String table, final boolean unique, boolean approximate)
+            throws SQLException {
         /*
          * MySQL stores index information in the following fields: Table Non_unique Key_name Seq_in_index Column_name Collation Cardinality Sub_part
          */
@@ -2935,7 +2981,11 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getPrimaryKeys(String catalog, String schema, final String table) throws SQLException {
+    public java.sql.ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+        return getCachedResultSet("getPrimaryKeys", () -> getPrimaryKeysUncached(catalog, schema, table), catalog, schema, table);
+    }
+
+    protected java.sql.ResultSet getPrimaryKeysUncached(String catalog, String schema, final String table) throws SQLException {
 
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
@@ -3659,7 +3709,12 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, final String[] types) throws SQLException {
+    public java.sql.ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
+        return getCachedResultSet("getTables", () -> getTablesUncached(catalog, schemaPattern, tableNamePattern, types), catalog, schemaPattern, tableNamePattern,
+                types);
+    }
+
+    protected java.sql.ResultSet getTablesUncached(String catalog, String schemaPattern, String tableNamePattern, final String[] types) throws SQLException {
 
         final SortedMap<TableMetaDataKey, Row> sortedRows = new TreeMap<>();
         final ArrayList<Row> tuples = new ArrayList<>();
@@ -4908,6 +4963,106 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
         return pStmt;
     }
 
+    /**
+     * Returns the result of a cacheable DatabaseMetaData method, from the driver-wide metadata cache if enabled and holding a fresh result for the same call.
+     * 
+     * @param methodName
+     *            name of the called method
+     * @param query
+     *            the uncached implementation of the method
+     * @param args
+     *            method arguments
+     * @return result set
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    protected java.sql.ResultSet getCachedResultSet(String methodName, MetadataQuery query, Object... args) throws SQLException {
+        if (this.metadataCache == null) {
+            return query.execute();
+        }
+
+        String user = this.conn.getUser();
+        int probeInterval = this.metadataCacheProbeInterval.getValue();
+        if (probeInterval > 0 && this.metadataCache.isProbeDue(user, probeInterval * 1000L)) {
+            this.metadataCache.probed(user, getSchemaFingerprint());
+        }
+
+        // everything about this connection that shapes the result, followed by the call itself
+        List<Object> key = new ArrayList<>(12 + args.length);
+        key.add(getClass().getName());
+        key.add(user);
+        key.add(this.database);
+        key.add(this.metadataEncoding);
+        key.add(this.metadataCollationIndex);
+        key.add(this.databaseTerm.getValue());
+        key.add(this.nullDatabaseMeansCurrent.getValue());
+        key.add(this.pedantic);
+        key.add(this.tinyInt1isBit);
+        key.add(this.transformedBitIsBoolean);
+        key.add(methodName);
+        for (Object arg : args) {
+            key.add(arg instanceof Object[] ? Arrays.asList((Object[]) arg) : arg);
+        }
+
+        DatabaseMetaDataCache.Entry entry = this.metadataCache.get(key, this.metadataCacheTtl.getValue() * 1000L);
+        if (entry == null) {
+            java.sql.ResultSet rs = query.execute();
+            try {
+                Field[] fields = ((com.mysql.cj.protocol.Resultset) rs).getColumnDefinition().getFields();
+                List<byte[][]> rows = new ArrayList<>();
+                while (rs.next()) {
+                    byte[][] row = new byte[fields.length][];
+                    for (int i = 0; i < fields.length; i++) {
+                        row[i] = rs.getBytes(i + 1);
+                    }
+                    rows.add(row);
+                }
+                entry = new DatabaseMetaDataCache.Entry(fields, rows);
+            } finally {
+                rs.close();
+            }
+            this.metadataCache.put(key, entry);
+        }
+
+        // the result set hands out its row arrays and fields, it must not share them with the cache used by other connections
+        ArrayList<Row> rows = new ArrayList<>(entry.rows.size());
+        for (byte[][] row : entry.rows) {
+            byte[][] rowCopy = new byte[row.length][];
+            for (int i = 0; i < row.length; i++) {
+                rowCopy[i] = row[i] == null ? null : row[i].clone();
+            }
+            rows.add(new ByteArrayRow(rowCopy, getExceptionInterceptor()));
+        }
+        Field[] fields = new Field[entry.fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new Field(entry.fields[i]);
+        }
+        return this.resultSetFactory.createFromResultsetRows(ResultSet.CONCUR_READ_ONLY, ResultSet.TYPE_SCROLL_INSENSITIVE,
+                new ResultsetRowsStatic(rows, new DefaultColumnDefinition(fields)));
+    }
+
+    /**
+     * Computes a cheap fingerprint of the tables visible to this connection's user. It changes when tables are created, dropped or renamed, or when an ALTER
+     * TABLE rebuilds a table.
+     * 
+     * @return fingerprint
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    private String getSchemaFingerprint() throws SQLException {
+        java.sql.Statement stmt = this.conn.getMetadataSafeStatement();
+        ResultSet rs = null;
+        try {
+            rs = stmt.executeQuery("SELECT COUNT(*), MAX(CREATE_TIME), SUM(CRC32(CONCAT_WS('.', TABLE_SCHEMA, TABLE_NAME))) FROM INFORMATION_SCHEMA.TABLES");
+            return rs.next() ? rs.getString(1) + "/" + rs.getString(2) + "/" + rs.getString(3) : "";
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+            stmt.close();
+        }
+    }
+
     @Override
     public java.sql.ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
         Field[] fields = { new Field("", "TABLE_CAT", this.metadataCollationIndex, this.metadataEncoding, MysqlType.VARCHAR, 512),
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mysql.cj.result.Field;
+import com.mysql.cj.util.LRUCache;
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * Driver-wide cache of {@link DatabaseMetaData} results, one instance per server (host:port pair).
+ * <p>
+ * Entries are keyed by the calling method and its arguments plus everything about the calling connection that shapes the result (user, database, metadata
+ * encoding, relevant connection properties), so connections with different settings never share results. Entries expire after the TTL of the reading
+ * connection and are dropped for the whole server when a connection executes DDL, or when the optional information_schema change probe sees a different
+ * schema fingerprint.
+ */
+class DatabaseMetaDataCache {
+
+    private static final ConcurrentHashMap<String, DatabaseMetaDataCache> CACHES_BY_SERVER = new ConcurrentHashMap<>();
+
+    /**
+     * Cached result: column definitions and raw row values.
+     */
+    static class Entry {
+        final Field[] fields;
+        final List<byte[][]> rows;
+        final long createdAt;
+
+        Entry(Field[] fields, List<byte[][]> rows) {
+            this.fields = fields;
+            this.rows = rows;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+
+    private static class Probe {
+        long checkedAt;
+        String fingerprint;
+    }
+
+    private final LRUCache<List<Object>, Entry> entries;
+    private final Map<String, Probe> probesByUser = new HashMap<>();
+
+    private DatabaseMetaDataCache(int maxEntries) {
+        this.entries = new LRUCache<>(maxEntries);
+    }
+
+    /**
+     * Returns the cache for the given server, creating it on first use.
+     * 
+     * @param hostPortPair
+     *            server host:port pair
+     * @param maxEntries
+     *            maximum number of entries of a newly created cache
+     * @return {@link DatabaseMetaDataCache}
+     */
+    static DatabaseMetaDataCache getInstance(String hostPortPair, int maxEntries) {
+        return CACHES_BY_SERVER.computeIfAbsent(hostPortPair, k -> new DatabaseMetaDataCache(maxEntries));
+    }
+
+    /**
+     * Drops all cached results for the connection's server, including the cached {@link ProcedureMetadataCache} entries, if the given statement may change
+     * what DatabaseMetaData returns, i.e., if it is a CREATE, ALTER, DROP, RENAME, GRANT or REVOKE statement. Multi-statement texts, which is also how
+     * batches are sent when they are rewritten into multi-queries, are checked statement by statement.
+     * 
+     * @param conn
+     *            connection that executed the statement
+     * @param sql
+     *            statement text
+     * @param firstStatementChar
+     *            the upper case first alphabetic char of the statement
+     */
+    static void invalidateOnSchemaChange(JdbcConnection conn, String sql, char firstStatementChar) {
+        if ((CACHES_BY_SERVER.isEmpty() && ProcedureMetadataCache.isEmpty()) || sql == null) {
+            return;
+        }
+
+        boolean schemaChange = isSchemaChangeChar(firstStatementChar) && isSchemaChange(sql);
+        if (!schemaChange && sql.indexOf(';') != -1) {
+            for (String statement : StringUtils.split(sql, ";", "'\"`", "'\"`", true)) {
+                if (statement.length() > 0 && isSchemaChange(statement)) {
+                    schemaChange = true;
+                    break;
+                }
+            }
+        }
+
+        if (schemaChange) {
+            DatabaseMetaDataCache cache = CACHES_BY_SERVER.get(conn.getHostPortPair());
+            if (cache != null) {
+                cache.clear();
+            }
+            ProcedureMetadataCache.clear(conn.getHostPortPair());
+        }
+    }
+
+    private static boolean isSchemaChangeChar(char firstStatementChar) {
+        return firstStatementChar == 'C' || firstStatementChar == 'A' || firstStatementChar == 'D' || firstStatementChar == 'R' || firstStatementChar == 'G';
+    }
+
+    private static boolean isSchemaChange(String statement) {
+        String noCommentSql = StringUtils.stripComments(statement, "'\"", "'\"", true, false, true, true);
+        return StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "CREATE") || StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "ALTER")
+                || StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "DROP") || StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "RENAME")
+                || StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "GRANT") || StringUtils.startsWithIgnoreCaseAndWs(noCommentSql, "REVOKE");
+    }
+
+    /**
+     * Returns the cached result for the given key if it is younger than the given TTL.
+     * 
+     * @param key
+     *            cache key
+     * @param ttlMillis
+     *            maximum age of the entry
+     * @return {@link Entry} or null
+     */
+    synchronized Entry get(List<Object> key, long ttlMillis) {
+        Entry e = this.entries.get(key);
+        if (e != null && System.currentTimeMillis() - e.createdAt >= ttlMillis) {
+            this.entries.remove(key);
+            return null;
+        }
+        return e;
+    }
+
+    synchronized void put(List<Object> key, Entry entry) {
+        this.entries.put(key, entry);
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    synchronized void clear() {
+        this.entries.clear();
+        this.probesByUser.clear();
+    }
+
+    /**
+     * Checks whether the change probe for the given user is due.
+     * 
+     * @param user
+     *            user name
+     * @param intervalMillis
+     *            minimum time between two probes
+     * @return true if the caller should run the probe and report its result through {@link #probed(String, String)}
+     */
+    synchronized boolean isProbeDue(String user, long intervalMillis) {
+        Probe p = this.probesByUser.get(user);
+        long now = System.currentTimeMillis();
+        if (p == null) {
+            p = new Probe();
+            this.probesByUser.put(user, p);
+        } else if (now - p.checkedAt < intervalMillis) {
+            return false;
+        }
+        p.checkedAt = now;
+        return true;
+    }
+
+    /**
+     * Records a schema fingerprint seen by the change probe. All cached results are dropped if the previously seen fingerprint was different.
+     * 
+     * @param user
+     *            user name
+     * @param fingerprint
+     *            schema fingerprint
+     */
+    synchronized void probed(String user, String fingerprint) {
+        Probe p = this.probesByUser.get(user);
+        if (p == null) {
+            p = new Probe();
+            p.checkedAt = System.currentTimeMillis();
+            this.probesByUser.put(user, p);
+        } else if (p.fingerprint != null && !p.fingerprint.equals(fingerprint)) {
+            this.entries.clear();
+        }
+        p.fingerprint = fingerprint;
+    }
+}
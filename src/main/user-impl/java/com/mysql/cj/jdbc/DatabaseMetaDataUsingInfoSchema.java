@@ -116,7 +116,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public ResultSet getColumns(String catalog, String schemaPattern, String tableName, String columnNamePattern) throws SQLException {
+    protected ResultSet getColumnsUncached(String catalog, String schemaPattern, String tableName, String columnNamePattern) throws SQLException {
         String db = getDatabase(catalog, schemaPattern);
 
         db = this.pedantic ? db : StringUtils.unQuoteIdentifier(db, this.quotedId);
@@ -286,8 +286,8 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getCrossReference(String primaryCatalog, String primarySchema, String primaryTable, String foreignCatalog, String foreignSchema,
-            String foreignTable) throws SQLException {
+    protected java.sql.ResultSet getCrossReferenceUncached(String primaryCatalog, String primarySchema, String primaryTable, String foreignCatalog,
+            String foreignSchema, String foreignTable) throws SQLException {
         if (primaryTable == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -353,7 +353,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
+    protected java.sql.ResultSet getExportedKeysUncached(String catalog, String schema, String table) throws SQLException {
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -431,7 +431,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
+    protected java.sql.ResultSet getImportedKeysUncached(String catalog, String schema, String table) throws SQLException {
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -489,7 +489,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
+    protected ResultSet getIndexInfoUncached(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
         String db = getDatabase(catalog, schema);
 
         db = this.pedantic ? db : StringUtils.unQuoteIdentifier(db, this.quotedId);
@@ -535,7 +535,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public java.sql.ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+    protected java.sql.ResultSet getPrimaryKeysUncached(String catalog, String schema, String table) throws SQLException {
         if (table == null) {
             throw SQLError.createSQLException(Messages.getString("DatabaseMetaData.2"), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT,
                     getExceptionInterceptor());
@@ -795,7 +795,7 @@ public class DatabaseMetaDataUsingInfoSchema extends DatabaseMetaData {
     }
 
     @Override
-    public ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
+    protected ResultSet getTablesUncached(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
         String db = getDatabase(catalog, schemaPattern);
 
         db = this.pedantic ? db : StringUtils.unQuoteIdentifier(db, this.quotedId);
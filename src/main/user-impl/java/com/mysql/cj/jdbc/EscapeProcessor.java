@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
 
@@ -44,6 +45,7 @@ import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.util.EscapeTokenizer;
+import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.TimeUtil;
 
@@ -53,6 +55,41 @@ import com.mysql.cj.util.TimeUtil;
 class EscapeProcessor {
     private static Map<String, String> JDBC_CONVERT_TO_MYSQL_TYPE_MAP;
 
+    /** Maximum number of escape processed statements kept in the cache, the least recently used ones are evicted first */
+    private static final int MAX_CACHED_RESULTS = 2048;
+
+    /** Longer statements are not cached, they are unlikely to be repeated verbatim */
+    private static final int MAX_CACHED_SQL_LENGTH = 4096;
+
+    /**
+     * Escape processing result together with the settings it was produced with. Only one entry is kept per statement, connections with different settings
+     * replace each other's entries.
+     */
+    private static class CachedResult {
+        final Object result;
+        final TimeZone connectionTimeZone;
+        final boolean serverSupportsFractionalSecond;
+        final boolean serverTruncatesFractionalSecond;
+        /** The JVM default time zone, if the result depends on it (i.e., the statement has {ts} escapes), null otherwise */
+        final TimeZone defaultTimeZone;
+
+        CachedResult(Object result, TimeZone connectionTimeZone, boolean serverSupportsFractionalSecond, boolean serverTruncatesFractionalSecond,
+                TimeZone defaultTimeZone) {
+            this.result = result;
+            this.connectionTimeZone = connectionTimeZone;
+            this.serverSupportsFractionalSecond = serverSupportsFractionalSecond;
+            this.serverTruncatesFractionalSecond = serverTruncatesFractionalSecond;
+            this.defaultTimeZone = defaultTimeZone;
+        }
+
+        boolean isFor(TimeZone tz, boolean supportsFractionalSecond, boolean truncatesFractionalSecond) {
+            return this.serverSupportsFractionalSecond == supportsFractionalSecond && this.serverTruncatesFractionalSecond == truncatesFractionalSecond
+                    && Objects.equals(this.connectionTimeZone, tz) && (this.defaultTimeZone == null || this.defaultTimeZone.equals(TimeZone.getDefault()));
+        }
+    }
+
+    private static final Map<String, CachedResult> RESULTS_CACHE = Collections.synchronizedMap(new LRUCache<>(MAX_CACHED_RESULTS));
+
     static {
         Map<String, String> tempMap = new HashMap<>();
 
@@ -93,30 +130,89 @@ class EscapeProcessor {
      * @param exceptionInterceptor
      *            exception interceptor
      * 
-     * @return the SQL after it has been escape processed.
+     * @return the SQL after it has been escape processed. Results for SQL with escape sequences are cached driver-wide, per statement text and settings.
      * 
      * @throws SQLException
      *             if error occurs
      */
     public static final Object escapeSQL(String sql, TimeZone connectionTimeZone, boolean serverSupportsFractionalSecond, boolean serverTruncatesFractionalSecond,
             ExceptionInterceptor exceptionInterceptor) throws java.sql.SQLException {
-        boolean replaceEscapeSequence = false;
-        String escapeSequence = null;
-
         if (sql == null) {
             return null;
         }
 
         /*
-         * Short circuit this code if we don't have a matching pair of "{}". - Suggested by Ryan Gustafason
+         * Short circuit this code if we don't have a matching pair of "{}" that may enclose an escape sequence. - Suggested by Ryan Gustafason
          */
-        int beginBrace = sql.indexOf('{');
-        int nextEndBrace = (beginBrace == -1) ? (-1) : sql.indexOf('}', beginBrace);
-
-        if (nextEndBrace == -1) {
+        if (!mayHaveEscapes(sql)) {
             return sql;
         }
 
+        CachedResult cached = RESULTS_CACHE.get(sql);
+        if (cached != null && cached.isFor(connectionTimeZone, serverSupportsFractionalSecond, serverTruncatesFractionalSecond)) {
+            return cached.result;
+        }
+
+        boolean[] usesDefaultTimeZone = new boolean[1];
+        Object result = escapeSQL(sql, connectionTimeZone, serverSupportsFractionalSecond, serverTruncatesFractionalSecond, exceptionInterceptor,
+                usesDefaultTimeZone);
+
+        if (sql.length() <= MAX_CACHED_SQL_LENGTH) {
+            RESULTS_CACHE.put(sql, new CachedResult(result, connectionTimeZone, serverSupportsFractionalSecond, serverTruncatesFractionalSecond,
+                    usesDefaultTimeZone[0] ? TimeZone.getDefault() : null));
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks whether the given SQL may contain escape sequences, i.e., whether it has a '{' followed by the first letter of an escape keyword ("call",
+     * "d", "escape", "fn", "oj", "t", "ts") or '?', and a '}' after it. Braces that can't start an escape sequence, such as the ones of JSON literals, don't
+     * trigger escape processing.
+     * 
+     * @param sql
+     *            the SQL to check
+     * @return false if the SQL can be used as is
+     */
+    private static boolean mayHaveEscapes(String sql) {
+        int len = sql.length();
+        for (int beginBrace = sql.indexOf('{'); beginBrace != -1; beginBrace = sql.indexOf('{', beginBrace + 1)) {
+            int i = beginBrace + 1;
+            while (i < len && Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            }
+            if (i < len) {
+                switch (sql.charAt(i)) {
+                    case 'c':
+                    case 'C':
+                    case 'd':
+                    case 'D':
+                    case 'e':
+                    case 'E':
+                    case 'f':
+                    case 'F':
+                    case 'o':
+                    case 'O':
+                    case 't':
+                    case 'T':
+                    case '?':
+                        if (sql.indexOf('}', i) != -1) {
+                            return true;
+                        }
+                        return false; // no closing brace after this one, nor after any following one
+                    default:
+                        break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Object escapeSQL(String sql, TimeZone connectionTimeZone, boolean serverSupportsFractionalSecond, boolean serverTruncatesFractionalSecond,
+            ExceptionInterceptor exceptionInterceptor, boolean[] usesDefaultTimeZone) throws java.sql.SQLException {
+        boolean replaceEscapeSequence = false;
+        String escapeSequence = null;
+
         StringBuilder newSql = new StringBuilder();
 
         EscapeTokenizer escapeTokenizer = new EscapeTokenizer(sql);
@@ -140,8 +236,9 @@ class EscapeProcessor {
                         if (nestedBrace != -1) {
                             StringBuilder buf = new StringBuilder(token.substring(0, 1));
 
-                            Object remainingResults = escapeSQL(token.substring(1, token.length() - 1), connectionTimeZone, serverSupportsFractionalSecond,
-                                    serverTruncatesFractionalSecond, exceptionInterceptor);
+                            String nested = token.substring(1, token.length() - 1);
+                            Object remainingResults = mayHaveEscapes(nested) ? escapeSQL(nested, connectionTimeZone, serverSupportsFractionalSecond,
+                                    serverTruncatesFractionalSecond, exceptionInterceptor, usesDefaultTimeZone) : nested;
 
                             String remaining = null;
 
@@ -223,6 +320,8 @@ class EscapeProcessor {
                             }
                         }
                     } else if (StringUtils.startsWithIgnoreCase(collapsedToken, "{ts")) {
+                        // Timestamp.valueOf() parses in the JVM default time zone
+                        usesDefaultTimeZone[0] = true;
                         processTimestampToken(connectionTimeZone, newSql, token, serverSupportsFractionalSecond, serverTruncatesFractionalSecond,
                                 exceptionInterceptor);
                     } else if (StringUtils.startsWithIgnoreCase(collapsedToken, "{t")) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mysql.cj.jdbc.CallableStatement.CallableStatementParam;
+
+/**
+ * Driver-wide cache of stored procedure and function parameter metadata, shared by all connections with 'cacheProcedureMetadata' enabled.
+ * <p>
+ * Entries are keyed by server (host:port pair), user, database, routine name and the connection properties that shape the parameter descriptors. Entries
+ * expire after the TTL of the reading connection and are dropped when a statement fails with ER_SP_DOES_NOT_EXIST, or, for the whole server, when a
+ * connection executes DDL. The cached parameter descriptors are templates, each statement works on its own copies.
+ */
+class ProcedureMetadataCache {
+
+    private static final ConcurrentHashMap<List<Object>, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * Cached parameter descriptors of one routine.
+     */
+    static class Entry {
+        private final List<CallableStatementParam> parameters;
+        final long createdAt;
+
+        Entry(List<CallableStatementParam> parameters) {
+            this.parameters = copyOf(parameters);
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns private copies of the cached parameter descriptors.
+         * 
+         * @return list of {@link CallableStatementParam}
+         */
+        List<CallableStatementParam> getParameters() {
+            return copyOf(this.parameters);
+        }
+
+        private static List<CallableStatementParam> copyOf(List<CallableStatementParam> parameters) {
+            List<CallableStatementParam> copy = new ArrayList<>(parameters.size());
+            for (CallableStatementParam p : parameters) {
+                copy.add(p.copy());
+            }
+            return copy;
+        }
+    }
+
+    private ProcedureMetadataCache() {
+    }
+
+    /**
+     * Returns the cached entry for the given key if it is younger than the given TTL.
+     * 
+     * @param key
+     *            cache key, starting with the server host:port pair
+     * @param ttlMillis
+     *            maximum age of the entry
+     * @return {@link Entry} or null
+     */
+    static Entry get(List<Object> key, long ttlMillis) {
+        Entry e = ENTRIES.get(key);
+        if (e != null && System.currentTimeMillis() - e.createdAt >= ttlMillis) {
+            ENTRIES.remove(key, e);
+            return null;
+        }
+        return e;
+    }
+
+    /**
+     * Caches the given parameter descriptors. If the cache is full, expired entries are dropped first and then, if still needed, an arbitrary entry.
+     * 
+     * @param key
+     *            cache key, starting with the server host:port pair
+     * @param parameters
+     *            parameter descriptors as built from DatabaseMetaData.getProcedureColumns()
+     * @param maxEntries
+     *            maximum number of entries
+     * @param ttlMillis
+     *            maximum age of an entry
+     */
+    static void put(List<Object> key, List<CallableStatementParam> parameters, int maxEntries, long ttlMillis) {
+        if (ENTRIES.size() >= maxEntries && !ENTRIES.containsKey(key)) {
+            long now = System.currentTimeMillis();
+            ENTRIES.values().removeIf(e -> now - e.createdAt >= ttlMillis);
+            Iterator<List<Object>> it = ENTRIES.keySet().iterator();
+            while (ENTRIES.size() >= maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        ENTRIES.put(key, new Entry(parameters));
+    }
+
+    static void remove(List<Object> key) {
+        ENTRIES.remove(key);
+    }
+
+    /**
+     * Drops all cached entries of the given server.
+     * 
+     * @param hostPortPair
+     *            server host:port pair
+     */
+    static void clear(String hostPortPair) {
+        if (!ENTRIES.isEmpty()) {
+            ENTRIES.keySet().removeIf(k -> k.get(0).equals(hostPortPair));
+        }
+    }
+
+    static boolean isEmpty() {
+        return ENTRIES.isEmpty();
+    }
+
+    static int size() {
+        return ENTRIES.size();
+    }
+}
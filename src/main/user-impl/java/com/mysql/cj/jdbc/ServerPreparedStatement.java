@@ -451,6 +451,9 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
                 }
 
                 throw sqlEx;
+            } finally {
+                DatabaseMetaDataCache.invalidateOnSchemaChange(this.connection, ((PreparedQuery<?>) this.query).getOriginalSql(),
+                        ((PreparedQuery<?>) this.query).getParseInfo().getFirstStmtChar());
             }
         }
     }
@@ -338,6 +338,13 @@ public class StatementImpl implements JdbcStatement {
             throw ExceptionFactory.createException(StatementIsClosedException.class, Messages.getString("Statement.AlreadyClosed"), getExceptionInterceptor());
         }
 
+        // the bulk load holds the connection mutex until the rows it waits for are added, possibly by this very thread
+        NativeSession s = this.session;
+        Thread bulkLoadThread = s == null ? null : s.getBulkLoadThread();
+        if (bulkLoadThread != null && bulkLoadThread != Thread.currentThread()) {
+            throw ExceptionFactory.createException(Messages.getString("BulkLoader.9"), getExceptionInterceptor());
+        }
+
         return c;
     }
 
@@ -736,6 +743,8 @@ public class StatementImpl implements JdbcStatement {
                         if (oldDb != null) {
                             locallyScopedConn.setDatabase(oldDb);
                         }
+
+                        DatabaseMetaDataCache.invalidateOnSchemaChange(locallyScopedConn, sql, firstNonWsChar);
                     }
                 }
 
@@ -1316,6 +1325,8 @@ public class StatementImpl implements JdbcStatement {
                     locallyScopedConn.setDatabase(oldDb);
                 }
 
+                DatabaseMetaDataCache.invalidateOnSchemaChange(locallyScopedConn, sql, firstStatementChar);
+
                 if (!isBatch) {
                     this.query.getStatementExecuting().set(false);
                 }
@@ -29,12 +29,14 @@
 
 package com.mysql.cj.jdbc.ha;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import com.mysql.cj.conf.ConnectionUrl;
+import com.mysql.cj.conf.HostInfo;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.CJException;
@@ -53,8 +55,6 @@ import com.mysql.cj.util.Util;
  * 'queriesBeforeRetrySource' is met.
  */
 public class FailoverConnectionProxy extends MultiHostConnectionProxy {
-    private static final String METHOD_SET_READ_ONLY = "setReadOnly";
-    private static final String METHOD_SET_AUTO_COMMIT = "setAutoCommit";
     private static final String METHOD_COMMIT = "commit";
     private static final String METHOD_ROLLBACK = "rollback";
 
@@ -66,51 +66,21 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
     private boolean failoverReadOnly;
     private int retriesAllDown;
 
-    private int currentHostIndex = NO_CONNECTION_INDEX;
-    private int primaryHostIndex = DEFAULT_PRIMARY_HOST_INDEX;
-    private Boolean explicitlyReadOnly = null;
-    private boolean explicitlyAutoCommit = true;
+    private volatile int currentHostIndex = NO_CONNECTION_INDEX;
+    private final int primaryHostIndex = DEFAULT_PRIMARY_HOST_INDEX;
+    private volatile Boolean explicitlyReadOnly = null;
+    private volatile boolean explicitlyAutoCommit = true;
 
     private boolean enableFallBackToPrimaryHost = true;
     private long primaryHostFailTimeMillis = 0;
     private long queriesIssuedSinceFailover = 0;
 
-    /**
-     * Proxy class to intercept and deal with errors that may occur in any object bound to the current connection.
-     * Additionally intercepts query executions and triggers an execution count on the outer class.
-     */
-    class FailoverJdbcInterfaceProxy extends JdbcInterfaceProxy {
-        FailoverJdbcInterfaceProxy(Object toInvokeOn) {
-            super(toInvokeOn);
-        }
-
-        @SuppressWarnings("synthetic-access")
-        @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            String methodName = method.getName();
-
-            boolean isExecute = methodName.startsWith("execute");
-
-            if (FailoverConnectionProxy.this.connectedToSecondaryHost() && isExecute) {
-                FailoverConnectionProxy.this.incrementQueriesIssuedSinceFailover();
-            }
-
-            Object result = super.invoke(proxy, method, args);
-
-            if (FailoverConnectionProxy.this.explicitlyAutoCommit && isExecute && readyToFallBackToPrimaryHost()) {
-                // Fall back to primary host at transaction boundary
-                fallBackToPrimaryIfAvailable();
-            }
-
-            return result;
-        }
-    }
+    private StandbyConnectionKeeper standbyKeeper = null;
 
     public static JdbcConnection createProxyInstance(ConnectionUrl connectionUrl) throws SQLException {
         FailoverConnectionProxy connProxy = new FailoverConnectionProxy(connectionUrl);
 
-        return (JdbcConnection) java.lang.reflect.Proxy.newProxyInstance(JdbcConnection.class.getClassLoader(), new Class<?>[] { JdbcConnection.class },
-                connProxy);
+        return connProxy.thisAsMultiHostConnection;
     }
 
     /**
@@ -137,15 +107,32 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         pickNewConnection();
 
         this.explicitlyAutoCommit = this.currentConnection.getAutoCommit();
+
+        if (connProps.getBooleanProperty(PropertyKey.failOverStandby).getValue() && this.hostsList.size() > 1) {
+            this.standbyKeeper = new StandbyConnectionKeeper(this, connProps.getIntegerProperty(PropertyKey.failOverStandbyPingInterval).getValue(),
+                    connProps.getIntegerProperty(PropertyKey.failOverStandbyMaxPerHost).getValue());
+        }
     }
 
     /**
-     * Gets locally bound instances of FailoverJdbcInterfaceProxy.
-     * 
+     * Counts the query executions while connected to a secondary host.
      */
     @Override
-    JdbcInterfaceProxy getNewJdbcInterfaceProxy(Object toProxy) {
-        return new FailoverJdbcInterfaceProxy(toProxy);
+    void statementExecuting() {
+        if (connectedToSecondaryHost()) {
+            incrementQueriesIssuedSinceFailover();
+        }
+    }
+
+    /**
+     * Falls back to the primary host after a query execution, if due, when in auto-commit mode.
+     */
+    @Override
+    void statementExecuted() {
+        if (this.explicitlyAutoCommit) {
+            // Fall back to primary host at transaction boundary
+            fallBackToPrimaryIfReady();
+        }
     }
 
     /*
@@ -190,7 +177,10 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
             return;
         }
 
-        if (!isConnected() || readyToFallBackToPrimaryHost()) {
+        if (!isConnected() && this.raceHostConnections && this.hostsList.size() > 1) {
+            // race the primary host, tried first, against the other hosts
+            failOver((this.primaryHostIndex + this.hostsList.size() - 1) % this.hostsList.size());
+        } else if (!isConnected() || readyToFallBackToPrimaryHost()) {
             try {
                 connectTo(this.primaryHostIndex);
             } catch (SQLException e) {
@@ -228,19 +218,33 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         try {
             switchCurrentConnectionTo(hostIndex, createConnectionForHostIndex(hostIndex));
         } catch (SQLException e) {
-            if (this.currentConnection != null) {
-                StringBuilder msg = new StringBuilder("Connection to ").append(isPrimaryHostIndex(hostIndex) ? "primary" : "secondary").append(" host '")
-                        .append(this.hostsList.get(hostIndex)).append("' failed");
-                try {
-                    this.currentConnection.getSession().getLog().logWarn(msg.toString(), e);
-                } catch (CJException ex) {
-                    throw SQLExceptionsMapping.translateException(e, this.currentConnection.getExceptionInterceptor());
-                }
-            }
+            logConnectionFailure(hostIndex, e);
             throw e;
         }
     }
 
+    /**
+     * Logs a failed attempt to connect to the host pointed out by the given host index.
+     * 
+     * @param hostIndex
+     *            The host index in the global hosts list.
+     * @param e
+     *            The exception thrown by the connection attempt.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void logConnectionFailure(int hostIndex, SQLException e) throws SQLException {
+        if (this.currentConnection != null) {
+            StringBuilder msg = new StringBuilder("Connection to ").append(isPrimaryHostIndex(hostIndex) ? "primary" : "secondary").append(" host '")
+                    .append(this.hostsList.get(hostIndex)).append("' failed");
+            try {
+                this.currentConnection.getSession().getLog().logWarn(msg.toString(), e);
+            } catch (CJException ex) {
+                throw SQLExceptionsMapping.translateException(e, this.currentConnection.getExceptionInterceptor());
+            }
+        }
+    }
+
     /**
      * Replaces the previous underlying connection by the connection given. State from previous connection, if any, is synchronized with the new one.
      * 
@@ -269,6 +273,52 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         syncSessionState(this.currentConnection, connection, readOnly);
         this.currentConnection = connection;
         this.currentHostIndex = hostIndex;
+
+        if (this.standbyKeeper != null) {
+            this.standbyKeeper.refresh(); // the host to fail over to may have changed
+        }
+    }
+
+    /**
+     * Switches to the standby connection kept by 'failOverStandby', if there is a valid one to the host pointed out by the given host index.
+     * 
+     * @param hostIndex
+     *            The host index in the global hosts list.
+     * @return
+     *         true if switched to the standby connection
+     */
+    private synchronized boolean switchToStandbyConnection(int hostIndex) {
+        ConnectionImpl standby = this.standbyKeeper.take(this.hostsList.get(hostIndex));
+        if (standby == null) {
+            return false;
+        }
+
+        int prevHostIndex = this.currentHostIndex;
+        try {
+            standby.pingInternal(true, 0);
+            switchCurrentConnectionTo(hostIndex, adoptConnection(standby));
+        } catch (SQLException e) {
+            closeQuietly(standby);
+            return false;
+        }
+
+        if ((prevHostIndex == NO_CONNECTION_INDEX || isPrimaryHostIndex(prevHostIndex) || isPrimaryHostIndex(hostIndex)) && connectedToSecondaryHost()) {
+            resetAutoFallBackCounters();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the host where 'failOverStandby' should keep a standby connection to, i.e., the first host a failover would try.
+     * 
+     * @return
+     *         The host info instance or null if no standby connection is needed.
+     */
+    synchronized HostInfo getStandbyHost() {
+        if (this.isClosed || !isConnected()) {
+            return null;
+        }
+        return this.hostsList.get(nextHost(this.currentHostIndex, false));
     }
 
     /**
@@ -291,6 +341,15 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      *             if an error occurs
      */
     private synchronized void failOver(int failedHostIdx) throws SQLException {
+        if (this.standbyKeeper != null && switchToStandbyConnection(nextHost(failedHostIdx, false))) {
+            return;
+        }
+
+        if (this.raceHostConnections && this.hostsList.size() > 1) {
+            raceFailOver(failedHostIdx);
+            return;
+        }
+
         int prevHostIndex = this.currentHostIndex;
         int nextHostIndex = nextHost(failedHostIdx, false);
         int firstHostIndexTried = nextHostIndex;
@@ -338,6 +397,82 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         }
     }
 
+    /**
+     * Initiates a failover procedure that races connection attempts to the hosts, as configured by 'raceHostConnections', instead of trying them one at a
+     * time. Hosts are tried in the same order as in {@link #failOver(int)} and each full turn is one race.
+     * 
+     * @param failedHostIdx
+     *            The host index where to start from. First connection attempt will be the next one.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private synchronized void raceFailOver(int failedHostIdx) throws SQLException {
+        int prevHostIndex = this.currentHostIndex;
+
+        SQLException lastExceptionCaught = null;
+        int attempts = 0;
+        do {
+            List<Integer> candidates = new ArrayList<>();
+            for (int hostIndex = nextHost(failedHostIdx, attempts > 0); !candidates.contains(hostIndex); hostIndex = nextHost(hostIndex, attempts > 0)) {
+                candidates.add(hostIndex);
+            }
+            if (!candidates.contains(this.primaryHostIndex)) {
+                candidates.add(this.primaryHostIndex); // vouched for at the end of a full turn
+            }
+
+            HostConnectionRace race = raceConnectionsForHosts(candidates.stream().map(this.hostsList::get).collect(Collectors.toList()));
+            for (int i = 0; i < candidates.size(); i++) {
+                SQLException e = race.getFailure(i);
+                if (e != null) {
+                    logConnectionFailure(candidates.get(i), e);
+                    lastExceptionCaught = e;
+                    if (!shouldExceptionTriggerConnectionSwitch(e)) {
+                        if (race.getConnection() != null) {
+                            closeQuietly(race.getConnection());
+                        }
+                        throw e;
+                    }
+                }
+            }
+
+            int winner = race.getWinnerIndex();
+            if (winner != -1) {
+                try {
+                    switchCurrentConnectionTo(candidates.get(winner), race.getConnection());
+
+                    // the attempt to the primary host, if any, started no later than the winning one
+                    boolean firstConnOrPassedByPrimaryHost = prevHostIndex == NO_CONNECTION_INDEX || isPrimaryHostIndex(prevHostIndex)
+                            || candidates.indexOf(this.primaryHostIndex) <= winner;
+                    if (firstConnOrPassedByPrimaryHost && connectedToSecondaryHost()) {
+                        resetAutoFallBackCounters();
+                    }
+                    return;
+                } catch (SQLException e) {
+                    closeQuietly(race.getConnection());
+                    if (!shouldExceptionTriggerConnectionSwitch(e)) {
+                        throw e;
+                    }
+                    lastExceptionCaught = e;
+                }
+            }
+
+            attempts++;
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException ie) {
+            }
+        } while (attempts < this.retriesAllDown);
+
+        throw lastExceptionCaught;
+    }
+
+    private static void closeQuietly(JdbcConnection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+        }
+    }
+
     /**
      * Falls back to primary host or keep current connection if primary not available.
      */
@@ -358,6 +493,20 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
         }
     }
 
+    /**
+     * Falls back to primary host, if available, when the conditions to do so are met. Doesn't lock while connected to the primary host, as it is checked at
+     * every transaction boundary.
+     */
+    private void fallBackToPrimaryIfReady() {
+        if (connectedToSecondaryHost()) {
+            synchronized (this) {
+                if (readyToFallBackToPrimaryHost()) {
+                    fallBackToPrimaryIfAvailable();
+                }
+            }
+        }
+    }
+
     /**
      * Gets the next host on the hosts list. Uses a round-robin algorithm to find the next element, but it may skip the index for the primary host.
      * General rules to include the primary host are:
@@ -413,7 +562,7 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      *            The host index in the global hosts list.
      * @return true if so
      */
-    synchronized boolean isPrimaryHostIndex(int hostIndex) {
+    boolean isPrimaryHostIndex(int hostIndex) {
         return hostIndex == this.primaryHostIndex;
     }
 
@@ -431,8 +580,9 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      * 
      * @return true if so
      */
-    synchronized boolean connectedToSecondaryHost() {
-        return this.currentHostIndex >= 0 && !isPrimaryHostIndex(this.currentHostIndex);
+    boolean connectedToSecondaryHost() {
+        int hostIndex = this.currentHostIndex;
+        return hostIndex >= 0 && !isPrimaryHostIndex(hostIndex);
     }
 
     /**
@@ -469,6 +619,7 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      */
     @Override
     synchronized void doClose() throws SQLException {
+        closeStandbyConnection();
         this.currentConnection.close();
     }
 
@@ -480,6 +631,7 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      */
     @Override
     synchronized void doAbortInternal() throws SQLException {
+        closeStandbyConnection();
         this.currentConnection.abortInternal();
     }
 
@@ -491,57 +643,79 @@ public class FailoverConnectionProxy extends MultiHostConnectionProxy {
      */
     @Override
     synchronized void doAbort(Executor executor) throws SQLException {
+        closeStandbyConnection();
         this.currentConnection.abort(executor);
     }
 
-    /*
-     * Local method invocation handling for this proxy.
-     * This is the continuation of MultiHostConnectionProxy#invoke(Object, Method, Object[]).
+    /**
+     * Stops keeping a standby connection, if enabled, and closes it.
      */
-    @Override
-    public synchronized Object invokeMore(Object proxy, Method method, Object[] args) throws Throwable {
-        String methodName = method.getName();
-
-        if (METHOD_SET_READ_ONLY.equals(methodName)) {
-            this.explicitlyReadOnly = (Boolean) args[0];
-            if (this.failoverReadOnly && connectedToSecondaryHost()) {
-                return null;
-            }
+    private synchronized void closeStandbyConnection() {
+        if (this.standbyKeeper != null) {
+            this.standbyKeeper.close();
+            this.standbyKeeper = null;
         }
+    }
 
-        if (this.isClosed && !allowedOnClosedConnection(method)) {
-            if (this.autoReconnect && !this.closedExplicitly) {
-                this.currentHostIndex = NO_CONNECTION_INDEX; // Act as if this is the first connection but let it sync with the previous one.
-                pickNewConnection();
-                this.isClosed = false;
-                this.closedReason = null;
-            } else {
-                String reason = "No operations allowed after connection closed.";
-                if (this.closedReason != null) {
-                    reason += ("  " + this.closedReason);
-                }
-                throw SQLError.createSQLException(reason, MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN, null /* no access to a interceptor here... */);
-            }
-        }
+    @Override
+    boolean readOnlyChanging(boolean readOnly) {
+        this.explicitlyReadOnly = readOnly;
+        return !(this.failoverReadOnly && connectedToSecondaryHost());
+    }
 
-        Object result = null;
+    @Override
+    void autoCommitChanged(boolean autoCommit) {
+        this.explicitlyAutoCommit = autoCommit;
+    }
 
-        try {
-            result = method.invoke(this.thisAsConnection, args);
-            result = proxyIfReturnTypeIsJdbcInterface(method.getReturnType(), result);
-        } catch (InvocationTargetException e) {
-            dealWithInvocationException(e);
+    /*
+     * Local method invocation handling for this proxy.
+     * This is the continuation of MultiHostConnectionProxy#invokeConnection(String, boolean, ConnectionCall).
+     */
+    @Override
+    <T> T invokeMore(String methodName, boolean throwsSQLException, ConnectionCall<T> call) throws SQLException {
+        if (this.isClosed && !allowedOnClosedConnection(methodName)) {
+            reconnectIfClosed();
         }
 
-        if (METHOD_SET_AUTO_COMMIT.equals(methodName)) {
-            this.explicitlyAutoCommit = (Boolean) args[0];
+        T result;
+        try {
+            result = call.call(this.thisAsConnection);
+        } catch (SQLException | RuntimeException e) {
+            dealWithException(e);
+            throw e;
         }
 
-        if ((this.explicitlyAutoCommit || METHOD_COMMIT.equals(methodName) || METHOD_ROLLBACK.equals(methodName)) && readyToFallBackToPrimaryHost()) {
+        if (this.explicitlyAutoCommit || METHOD_COMMIT.equals(methodName) || METHOD_ROLLBACK.equals(methodName)) {
             // Fall back to primary host at transaction boundary
-            fallBackToPrimaryIfAvailable();
+            fallBackToPrimaryIfReady();
         }
 
         return result;
     }
+
+    /**
+     * Reconnects, if allowed, after this connection was closed.
+     * 
+     * @throws SQLException
+     *             if the connection was closed explicitly or can't be reconnected
+     */
+    private synchronized void reconnectIfClosed() throws SQLException {
+        if (!this.isClosed) {
+            return;
+        }
+
+        if (this.autoReconnect && !this.closedExplicitly) {
+            this.currentHostIndex = NO_CONNECTION_INDEX; // Act as if this is the first connection but let it sync with the previous one.
+            pickNewConnection();
+            this.isClosed = false;
+            this.closedReason = null;
+        } else {
+            String reason = "No operations allowed after connection closed.";
+            if (this.closedReason != null) {
+                reason += ("  " + this.closedReason);
+            }
+            throw SQLError.createSQLException(reason, MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN, null /* no access to a interceptor here... */);
+        }
+    }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.ConnectionImpl;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.jdbc.exceptions.SQLExceptionsMapping;
+
+/**
+ * Staggered, concurrent connection attempts to a list of candidate hosts, in the fashion of "happy eyeballs" (RFC 8305).
+ * 
+ * The first candidate is tried right away. Each time the last started attempt fails, or doesn't complete within the given delay, an attempt to the next
+ * candidate is started. The first attempt that completes the handshake wins the race; attempts still running at that time are abandoned and close their
+ * connections as soon as they are established.
+ * 
+ * The physical connections created here don't belong to any multi-host connection yet, it's up to the caller to adopt the winner.
+ */
+class HostConnectionRace {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "mysql-cj-host-connection-race");
+        t.setDaemon(true);
+        ClassLoader classLoader = HostConnectionRace.class.getClassLoader();
+        t.setContextClassLoader(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        return t;
+    });
+
+    /** Outcome set when the caller stops waiting before any attempt succeeded. */
+    private static final Object ABANDONED = new Object();
+
+    private final List<HostInfo> candidates;
+    private final AtomicReferenceArray<SQLException> failures;
+    /** Either null (undecided), the winning {@link Attempt} or {@link #ABANDONED}. */
+    private final AtomicReference<Object> outcome = new AtomicReference<>();
+
+    private static class Attempt {
+        final int index;
+        final ConnectionImpl connection;
+
+        Attempt(int index, ConnectionImpl connection) {
+            this.index = index;
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * Constructs a race between the given hosts.
+     * 
+     * @param candidates
+     *            the hosts to connect to, in order of preference
+     */
+    HostConnectionRace(List<HostInfo> candidates) {
+        this.candidates = candidates;
+        this.failures = new AtomicReferenceArray<>(candidates.size());
+    }
+
+    /**
+     * Runs the race and waits until one of the attempts succeeds or all of them fail.
+     * 
+     * @param delayMillis
+     *            how long to wait for an attempt before starting the next one
+     * @throws SQLException
+     *             if interrupted while waiting for the attempts
+     */
+    void run(int delayMillis) throws SQLException {
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(EXECUTOR);
+        int numCandidates = this.candidates.size();
+        int started = 0;
+        int finished = 0;
+
+        try {
+            completionService.submit(newAttempt(started++));
+            while (this.outcome.get() == null) {
+                if (started == numCandidates) {
+                    if (finished == started) {
+                        break; // all attempts failed
+                    }
+                    completionService.take();
+                    finished++;
+                } else {
+                    if (completionService.poll(delayMillis, TimeUnit.MILLISECONDS) != null) {
+                        finished++;
+                    }
+                    if (this.outcome.get() == null) {
+                        completionService.submit(newAttempt(started++));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Object winner = this.outcome.getAndSet(ABANDONED);
+            if (winner instanceof Attempt) {
+                close(((Attempt) winner).connection);
+            }
+            Thread.currentThread().interrupt();
+            throw SQLError.createSQLException(Messages.getString("MultihostConnection.hostConnectionRaceInterrupted",
+                    new Object[] { this.candidates.stream().map(HostInfo::getHostPortPair).collect(Collectors.toList()) }),
+                    MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR, e, null);
+        }
+    }
+
+    private Callable<Integer> newAttempt(int index) {
+        return () -> {
+            ConnectionImpl conn;
+            try {
+                conn = (ConnectionImpl) ConnectionImpl.getInstance(this.candidates.get(index));
+            } catch (SQLException e) {
+                this.failures.set(index, e);
+                return index;
+            } catch (RuntimeException e) {
+                this.failures.set(index, SQLExceptionsMapping.translateException(e, null));
+                return index;
+            }
+            if (!this.outcome.compareAndSet(null, new Attempt(index, conn))) {
+                close(conn); // lost the race
+            }
+            return index;
+        };
+    }
+
+    private static void close(ConnectionImpl conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Get the connection established by the winning attempt.
+     * 
+     * @return the connection or null if no attempt succeeded
+     */
+    ConnectionImpl getConnection() {
+        Object winner = this.outcome.get();
+        return winner instanceof Attempt ? ((Attempt) winner).connection : null;
+    }
+
+    /**
+     * Get the index, in the candidates list, of the host the winning attempt connected to.
+     * 
+     * @return the index or -1 if no attempt succeeded
+     */
+    int getWinnerIndex() {
+        Object winner = this.outcome.get();
+        return winner instanceof Attempt ? ((Attempt) winner).index : -1;
+    }
+
+    /**
+     * Get the exception thrown by the attempt to connect to the given candidate host. Attempts that were never started or that were still running when the
+     * race ended have no failure recorded.
+     * 
+     * @param index
+     *            the index of the host in the candidates list
+     * @return the exception or null
+     */
+    SQLException getFailure(int index) {
+        return this.failures.get(index);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.lang.reflect.InvocationHandler;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.jdbc.ConnectionImpl;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+
+/**
+ * Base class for balance strategies that choose hosts using the driver-wide statistics kept in {@link HostHealthRegistry}, instead of the response times
+ * seen by a single connection.
+ */
+public abstract class HostHealthBalanceStrategy implements BalanceStrategy {
+
+    /**
+     * Choose the host for the next transaction.
+     * 
+     * @param candidates
+     *            the hosts that are not blocklisted, never empty
+     * @return one of the candidates
+     */
+    protected abstract String chooseHost(List<String> candidates);
+
+    @Override
+    public ConnectionImpl pickConnection(InvocationHandler proxy, List<String> configuredHosts, Map<String, JdbcConnection> liveConnections,
+            long[] responseTimes, int numRetries) throws SQLException {
+        if (configuredHosts.isEmpty()) {
+            throw SQLError.createSQLException(Messages.getString("RandomBalanceStrategy.0"), null);
+        }
+
+        Map<String, Long> blockList = ((LoadBalancedConnectionProxy) proxy).getGlobalBlocklist();
+
+        SQLException ex = null;
+
+        for (int attempts = 0; attempts < numRetries;) {
+            List<String> candidates = new ArrayList<>(configuredHosts.size());
+            for (String host : configuredHosts) {
+                if (!blockList.containsKey(host)) {
+                    candidates.add(host);
+                }
+            }
+            if (candidates.isEmpty()) {
+                candidates.addAll(configuredHosts);
+            }
+
+            String host = chooseHost(candidates);
+
+            ConnectionImpl conn = (ConnectionImpl) liveConnections.get(host);
+
+            if (conn == null) {
+                try {
+                    conn = ((LoadBalancedConnectionProxy) proxy).createConnectionForHost(host);
+                } catch (SQLException sqlEx) {
+                    ex = sqlEx;
+
+                    if (((LoadBalancedConnectionProxy) proxy).shouldExceptionTriggerConnectionSwitch(sqlEx)) {
+                        ((LoadBalancedConnectionProxy) proxy).addToGlobalBlocklist(host);
+                        blockList.put(host, null);
+
+                        if (blockList.keySet().containsAll(configuredHosts)) {
+                            attempts++;
+                            try {
+                                Thread.sleep(250);
+                            } catch (InterruptedException e) {
+                            }
+                            blockList = ((LoadBalancedConnectionProxy) proxy).getGlobalBlocklist(); // try again after a little bit
+                        }
+
+                        continue;
+                    }
+
+                    throw sqlEx;
+                }
+            }
+
+            return conn;
+        }
+
+        if (ex != null) {
+            throw ex;
+        }
+
+        return null; // we won't get here, compiler can't tell
+    }
+}
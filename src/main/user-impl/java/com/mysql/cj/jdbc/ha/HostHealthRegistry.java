@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver-wide health statistics for load-balanced hosts, shared by all {@link LoadBalancedConnectionProxy} instances in the VM.
+ * 
+ * For each "host:port" it tracks the number of transactions in flight, an exponentially weighted moving average (EWMA) of transaction response times and an
+ * EWMA of the rate of connection errors. This information is used by health aware {@link BalanceStrategy} implementations such as
+ * {@link PowerOfTwoChoicesBalanceStrategy} and {@link LeastOutstandingBalanceStrategy}.
+ */
+public class HostHealthRegistry {
+    /** Weight given to each new sample in the moving averages. */
+    static final double EWMA_WEIGHT = 0.2;
+
+    private static final ConcurrentHashMap<String, HostHealth> HOSTS = new ConcurrentHashMap<>();
+
+    /**
+     * Get the health statistics of the given host, creating them if needed.
+     * 
+     * @param hostPortPair
+     *            the "host:port" identifying the host
+     * @return {@link HostHealth}
+     */
+    public static HostHealth getHostHealth(String hostPortPair) {
+        HostHealth health = HOSTS.get(hostPortPair);
+        return health != null ? health : HOSTS.computeIfAbsent(hostPortPair, k -> new HostHealth());
+    }
+
+    /**
+     * Forget the statistics of all hosts.
+     */
+    public static void reset() {
+        HOSTS.clear();
+    }
+
+    /**
+     * Health statistics of a single host. All methods are thread safe and lock free.
+     */
+    public static class HostHealth {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong transactionCount = new AtomicLong();
+        /** Bits of the latency EWMA, in nanoseconds. Holds a negative value until the first sample. */
+        private final AtomicLong latencyEwma = new AtomicLong(Double.doubleToRawLongBits(-1));
+        private final AtomicLong errorRateEwma = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        HostHealth() {
+        }
+
+        /**
+         * Called when a transaction starts on a connection to this host.
+         */
+        public void transactionStarted() {
+            this.inFlight.incrementAndGet();
+        }
+
+        /**
+         * Called when a transaction started with {@link #transactionStarted()} ends successfully.
+         * 
+         * @param elapsedNanos
+         *            the duration of the transaction
+         */
+        public void transactionCompleted(long elapsedNanos) {
+            this.inFlight.decrementAndGet();
+            this.transactionCount.incrementAndGet();
+            update(this.latencyEwma, elapsedNanos);
+            update(this.errorRateEwma, 0);
+        }
+
+        /**
+         * Called when a transaction started with {@link #transactionStarted()} ends without a response time, e.g. because the connection was closed.
+         */
+        public void transactionAbandoned() {
+            this.inFlight.decrementAndGet();
+        }
+
+        /**
+         * Called when a connection to this host fails or can't be established.
+         */
+        public void errorOccurred() {
+            update(this.errorRateEwma, 1);
+        }
+
+        /**
+         * Called when a connection to this host is successfully established.
+         */
+        public void connectionEstablished() {
+            update(this.errorRateEwma, 0);
+        }
+
+        private static void update(AtomicLong ewma, double sample) {
+            long prevBits;
+            double next;
+            do {
+                prevBits = ewma.get();
+                double prev = Double.longBitsToDouble(prevBits);
+                next = prev < 0 ? sample : prev + EWMA_WEIGHT * (sample - prev);
+            } while (!ewma.compareAndSet(prevBits, Double.doubleToRawLongBits(next)));
+        }
+
+        /**
+         * Get the number of transactions currently running on connections to this host, from all load-balanced connections.
+         * 
+         * @return number of transactions in flight
+         */
+        public int getInFlight() {
+            return Math.max(this.inFlight.get(), 0);
+        }
+
+        /**
+         * Get the number of transactions completed on this host.
+         * 
+         * @return transaction count
+         */
+        public long getTransactionCount() {
+            return this.transactionCount.get();
+        }
+
+        /**
+         * Get the moving average of transaction response times.
+         * 
+         * @return the average in nanoseconds, or -1 if no transaction completed yet
+         */
+        public double getLatencyEwma() {
+            return Double.longBitsToDouble(this.latencyEwma.get());
+        }
+
+        /**
+         * Get the moving average of connection errors, between 0 (no recent errors) and 1 (only errors).
+         * 
+         * @return error rate
+         */
+        public double getErrorRate() {
+            return Double.longBitsToDouble(this.errorRateEwma.get());
+        }
+
+        /**
+         * Get the expected cost of routing one more transaction to this host: the queue length it would join times the average response time, inflated by the
+         * error rate.
+         * 
+         * @param defaultLatency
+         *            the latency to assume if this host has no measured response time yet
+         * @return cost, lower is better
+         */
+        public double getCost(double defaultLatency) {
+            double latency = getLatencyEwma();
+            if (latency < 0) {
+                latency = defaultLatency;
+            }
+            return (getInFlight() + 1) * Math.max(latency, 1) / Math.max(1 - getErrorRate(), 0.01);
+        }
+
+        @Override
+        public String toString() {
+            return "HostHealth[inFlight=" + getInFlight() + ", transactions=" + getTransactionCount() + ", latencyEwma=" + getLatencyEwma() + ", errorRate="
+                    + getErrorRate() + "]";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.mysql.cj.jdbc.ha.HostHealthRegistry.HostHealth;
+
+/**
+ * Routes the transaction to the host with the fewest transactions in flight from all load-balanced connections in the VM, as kept in
+ * {@link HostHealthRegistry}. Ties are broken by error rate, then by response time average, then at random.
+ */
+public class LeastOutstandingBalanceStrategy extends HostHealthBalanceStrategy {
+
+    public LeastOutstandingBalanceStrategy() {
+    }
+
+    @Override
+    protected String chooseHost(List<String> candidates) {
+        int numHosts = candidates.size();
+        int start = numHosts > 1 ? ThreadLocalRandom.current().nextInt(numHosts) : 0;
+
+        String bestHost = null;
+        int bestInFlight = Integer.MAX_VALUE;
+        double bestErrorRate = Double.MAX_VALUE;
+        double bestLatency = Double.MAX_VALUE;
+
+        for (int i = 0; i < numHosts; i++) {
+            String host = candidates.get((start + i) % numHosts);
+            HostHealth health = HostHealthRegistry.getHostHealth(host);
+            int inFlight = health.getInFlight();
+            double errorRate = health.getErrorRate();
+            double latency = health.getLatencyEwma();
+            if (latency < 0) {
+                latency = 0; // not used yet
+            }
+
+            if (inFlight < bestInFlight || inFlight == bestInFlight && (errorRate < bestErrorRate || errorRate == bestErrorRate && latency < bestLatency)) {
+                bestHost = host;
+                bestInFlight = inFlight;
+                bestErrorRate = errorRate;
+                bestLatency = latency;
+            }
+        }
+
+        return bestHost;
+    }
+}
@@ -32,10 +32,10 @@ package com.mysql.cj.jdbc.ha;
 import static com.mysql.cj.util.StringUtils.isNullOrEmpty;
 
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -51,19 +51,22 @@ import com.mysql.cj.Messages;
 import com.mysql.cj.PingTarget;
 import com.mysql.cj.conf.ConnectionUrl;
 import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.url.LoadBalanceConnectionUrl;
 import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.CJException;
-import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.ConnectionGroup;
 import com.mysql.cj.jdbc.ConnectionGroupManager;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.mysql.cj.jdbc.exceptions.CommunicationsException;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.exceptions.SQLExceptionsMapping;
+import com.mysql.cj.jdbc.ha.HostHealthRegistry.HostHealth;
 import com.mysql.cj.util.Util;
 
 /**
@@ -81,6 +84,9 @@ import com.mysql.cj.util.Util;
  * scoped to connections in JDBC.
  */
 public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implements PingTarget {
+    private static final String METHOD_COMMIT = "commit";
+    private static final String METHOD_ROLLBACK = "rollback";
+
     private ConnectionGroup connectionGroup = null;
     private long connectionGroupProxyID = 0;
 
@@ -99,9 +105,12 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
     // host:port pairs to be considered as removed (definitely blocklisted) from the original hosts list.
     private Set<String> hostsToRemove = new HashSet<>();
 
-    private boolean inTransaction = false;
+    private volatile boolean inTransaction = false;
     private long transactionStartTime = 0;
     private long transactionCount = 0;
+    /** Statistics of the host the current transaction, or statement in auto-commit mode, is counted in flight for, if any. */
+    private HostHealth transactionHostHealth = null;
+    private long transactionStatsStartTime = 0;
 
     private LoadBalanceExceptionChecker exceptionChecker;
 
@@ -118,7 +127,7 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     public static LoadBalancedConnection createProxyInstance(ConnectionUrl connectionUrl) throws SQLException {
         LoadBalancedConnectionProxy connProxy = new LoadBalancedConnectionProxy(connectionUrl);
-        return (LoadBalancedConnection) java.lang.reflect.Proxy.newProxyInstance(LoadBalancedConnection.class.getClassLoader(), INTERFACES_TO_PROXY, connProxy);
+        return (LoadBalancedConnection) connProxy.thisAsMultiHostConnection;
     }
 
     /**
@@ -195,6 +204,12 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         }
 
         String strategy = props.getProperty(PropertyKey.ha_loadBalanceStrategy.getKeyName(), "random");
+        int replicaMaxLag = 0;
+        int replicaLagCheckInterval = 1000;
+        if ("replicaLag".equals(strategy)) {
+            replicaMaxLag = getIntegerProperty(props, PropertyKey.replicationMaxReplicaLag, replicaMaxLag);
+            replicaLagCheckInterval = getIntegerProperty(props, PropertyKey.replicationReplicaLagCheckInterval, replicaLagCheckInterval);
+        }
         try {
             switch (strategy) {
                 case "random":
@@ -206,6 +221,16 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                 case "serverAffinity":
                     this.balancer = new ServerAffinityStrategy(props.getProperty(PropertyKey.serverAffinityOrder.getKeyName(), null));
                     break;
+                case "powerOfTwoChoices":
+                    this.balancer = new PowerOfTwoChoicesBalanceStrategy();
+                    break;
+                case "leastOutstanding":
+                    this.balancer = new LeastOutstandingBalanceStrategy();
+                    break;
+                case "replicaLag":
+                    this.balancer = new ReplicaLagBalanceStrategy(props.getProperty(PropertyKey.replicationConnectionGroup.getKeyName(), null), replicaMaxLag,
+                            replicaLagCheckInterval, props.getProperty(PropertyKey.replicationReplicaLagQuery.getKeyName(), null));
+                    break;
                 default:
                     this.balancer = (BalanceStrategy) Class.forName(strategy).newInstance();
             }
@@ -247,6 +272,23 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         pickNewConnection();
     }
 
+    /**
+     * Get the value of an integer connection property, parsed and validated as its property definition does.
+     * 
+     * @param props
+     *            The connection properties.
+     * @param key
+     *            The property key.
+     * @param defaultValue
+     *            The value to return if the property isn't set.
+     * @return
+     *         The property value.
+     */
+    private static int getIntegerProperty(Properties props, PropertyKey key, int defaultValue) {
+        String value = props.getProperty(key.getKeyName());
+        return value == null ? defaultValue : (Integer) PropertyDefinitions.getPropertyDefinition(key).parseObject(value, null);
+    }
+
     /**
      * Wraps this object with a new load balanced Connection instance.
      * 
@@ -260,6 +302,11 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         return new LoadBalancedMySQLConnection(this);
     }
 
+    @Override
+    JdbcConnection getNewMultiHostConnection() {
+        return new LoadBalancedMultiHostConnection(this);
+    }
+
     /**
      * Propagates the connection proxy down through all live connections.
      * 
@@ -318,9 +365,13 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             }
         }
 
+        if (conn == this.currentConnection) {
+            abandonTransactionStats();
+        }
+
         // remove from liveConnections
         this.liveConnections.remove(this.connectionsToHostsMap.get(conn));
-        Object mappedHost = this.connectionsToHostsMap.remove(conn);
+        String mappedHost = this.connectionsToHostsMap.remove(conn);
         if (mappedHost != null && this.hostsToListIndexMap.containsKey(mappedHost)) {
             int hostIndex = this.hostsToListIndexMap.get(mappedHost);
             // reset the statistics for the host
@@ -371,12 +422,21 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                     syncSessionState(this.currentConnection, newConn);
                 }
 
+                // a transaction still open, e.g. when swapping connections in auto-commit mode, is now counted for the new host
+                boolean moveTransactionStats = newConn != this.currentConnection && this.transactionHostHealth != null;
+                if (moveTransactionStats) {
+                    abandonTransactionStats();
+                }
                 this.currentConnection = newConn;
+                if (moveTransactionStats) {
+                    startTransactionStats();
+                }
                 return;
 
             } catch (SQLException e) {
                 if (shouldExceptionTriggerConnectionSwitch(e) && newConn != null) {
                     // connection error, close up shop on current connection
+                    recordCommunicationsFailure(newConn, e);
                     invalidateConnection(newConn);
                 }
             }
@@ -399,7 +459,28 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     @Override
     public synchronized ConnectionImpl createConnectionForHost(HostInfo hostInfo) throws SQLException {
-        ConnectionImpl conn = super.createConnectionForHost(hostInfo);
+        ConnectionImpl conn;
+        try {
+            conn = super.createConnectionForHost(hostInfo);
+        } catch (SQLException e) {
+            HostHealthRegistry.getHostHealth(hostInfo.getHostPortPair()).errorOccurred();
+            throw e;
+        }
+        return registerConnection(hostInfo, conn);
+    }
+
+    /**
+     * Updates the internal mappings and statistics for a new physical connection.
+     * 
+     * @param hostInfo
+     *            The host info instance the connection was created for.
+     * @param conn
+     *            The new connection.
+     * @return
+     *         The given connection.
+     */
+    private ConnectionImpl registerConnection(HostInfo hostInfo, ConnectionImpl conn) {
+        HostHealthRegistry.getHostHealth(hostInfo.getHostPortPair()).connectionEstablished();
 
         this.liveConnections.put(hostInfo.getHostPortPair(), conn);
         this.connectionsToHostsMap.put(conn, hostInfo.getHostPortPair());
@@ -434,6 +515,31 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
         }
     }
 
+    /**
+     * Get the host with the given "host:port" from the hosts of this connection.
+     * 
+     * @param hostPortPair
+     *            the "host:port"
+     * @return the {@link HostInfo} or null if it's not one of the hosts of this connection
+     */
+    synchronized HostInfo getHostInfo(String hostPortPair) {
+        for (HostInfo hi : this.hostsList) {
+            if (hi.getHostPortPair().equals(hostPortPair)) {
+                return hi;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the physical connections currently open to the hosts of this connection.
+     * 
+     * @return a copy of the live connections
+     */
+    synchronized List<ConnectionImpl> getLiveConnections() {
+        return new ArrayList<>(this.liveConnections.values());
+    }
+
     /**
      * Creates a new physical connection for the given host:port info. If the this connection's connection URL knows about this host:port then its host info is
      * used, otherwise a new host info based on current connection URL defaults is spawned.
@@ -448,16 +554,61 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
     public synchronized ConnectionImpl createConnectionForHost(String hostPortPair) throws SQLException {
         for (HostInfo hi : this.hostsList) {
             if (hi.getHostPortPair().equals(hostPortPair)) {
-                return createConnectionForHost(hi);
+                return this.raceHostConnections ? raceConnectionsForHost(hi) : createConnectionForHost(hi);
             }
         }
         return null;
     }
 
+    /**
+     * Creates a new physical connection by racing connection attempts, as configured by 'raceHostConnections', to the given host and then to the hosts that
+     * have neither a live connection nor are blocklisted. The returned connection is to the first host that completes the handshake, which isn't necessarily
+     * the one given. Failed hosts other than the given one are added to the global blocklist.
+     * 
+     * @param preferredHost
+     *            The host to connect to first.
+     * @return
+     *         The new Connection instance.
+     * @throws SQLException
+     *             if connecting to all hosts fails, the exception thrown by the attempt to connect to the given host
+     */
+    private synchronized ConnectionImpl raceConnectionsForHost(HostInfo preferredHost) throws SQLException {
+        Map<String, Long> blocklist = getGlobalBlocklist();
+        List<HostInfo> candidates = new ArrayList<>();
+        candidates.add(preferredHost);
+        for (HostInfo hi : this.hostsList) {
+            String hostPortPair = hi.getHostPortPair();
+            if (hi != preferredHost && !this.liveConnections.containsKey(hostPortPair) && !blocklist.containsKey(hostPortPair)
+                    && !this.hostsToRemove.contains(hostPortPair)) {
+                candidates.add(hi);
+            }
+        }
+        if (candidates.size() == 1) {
+            return createConnectionForHost(preferredHost);
+        }
+
+        HostConnectionRace race = raceConnectionsForHosts(candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            SQLException e = race.getFailure(i);
+            if (e != null) {
+                HostHealthRegistry.getHostHealth(candidates.get(i).getHostPortPair()).errorOccurred();
+                if (i > 0 && shouldExceptionTriggerConnectionSwitch(e)) {
+                    addToGlobalBlocklist(candidates.get(i).getHostPortPair());
+                }
+            }
+        }
+        if (race.getConnection() == null) {
+            throw race.getFailure(0);
+        }
+        return registerConnection(candidates.get(race.getWinnerIndex()), race.getConnection());
+    }
+
     /**
      * Closes all live connections.
      */
     private synchronized void closeAllConnections() {
+        abandonTransactionStats();
+
         // close all underlying connections
         for (Connection c : this.liveConnections.values()) {
             try {
@@ -489,6 +640,8 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     @Override
     synchronized void doAbortInternal() {
+        abandonTransactionStats();
+
         // abort all underlying connections
         for (JdbcConnection c : this.liveConnections.values()) {
             try {
@@ -512,6 +665,8 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     @Override
     synchronized void doAbort(Executor executor) {
+        abandonTransactionStats();
+
         // close all underlying connections
         for (Connection c : this.liveConnections.values()) {
             try {
@@ -531,79 +686,184 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
     }
 
     /**
-     * Proxies method invocation on the java.sql.Connection interface, trapping "close", "isClosed" and "commit/rollback" to switch connections for load
-     * balancing.
-     * This is the continuation of MultiHostConnectionProxy#invoke(Object, Method, Object[]).
+     * Calls a method of the connection wrapper, trapping "commit/rollback" to switch connections for load balancing.
+     * This is the continuation of MultiHostConnectionProxy#invokeConnection(String, boolean, ConnectionCall).
      */
     @Override
-    public synchronized Object invokeMore(Object proxy, Method method, Object[] args) throws Throwable {
-        String methodName = method.getName();
-
-        if (this.isClosed && !allowedOnClosedConnection(method) && method.getExceptionTypes().length > 0) { // TODO remove method.getExceptionTypes().length ?
-            if (this.autoReconnect && !this.closedExplicitly) {
-                // try to reconnect first!
-                this.currentConnection = null;
-                pickNewConnection();
-                this.isClosed = false;
-                this.closedReason = null;
-            } else {
-                String reason = "No operations allowed after connection closed.";
-                if (this.closedReason != null) {
-                    reason += " " + this.closedReason;
-                }
+    <T> T invokeMore(String methodName, boolean throwsSQLException, ConnectionCall<T> call) throws SQLException {
+        if (this.isClosed && throwsSQLException && !allowedOnClosedConnection(methodName)) {
+            reconnectIfClosed();
+        }
 
-                for (Class<?> excls : method.getExceptionTypes()) {
-                    if (SQLException.class.isAssignableFrom(excls)) {
-                        throw SQLError.createSQLException(reason, MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN,
-                                null /* no access to an interceptor here... */);
-                    }
-                }
-                throw ExceptionFactory.createException(CJCommunicationsException.class, reason);
+        if (!this.inTransaction) {
+            startTransaction();
+        }
+
+        try {
+            return call.call(this.thisAsConnection);
+        } catch (SQLException | RuntimeException e) {
+            dealWithException(e);
+            throw e;
+        } finally {
+            if (METHOD_COMMIT.equals(methodName) || METHOD_ROLLBACK.equals(methodName)) {
+                completeTransaction();
+            }
+        }
+    }
+
+    /**
+     * Reconnects, if allowed, after this connection was closed.
+     * 
+     * @throws SQLException
+     *             if the connection was closed explicitly or can't be reconnected
+     */
+    private synchronized void reconnectIfClosed() throws SQLException {
+        if (!this.isClosed) {
+            return;
+        }
+
+        if (this.autoReconnect && !this.closedExplicitly) {
+            // try to reconnect first!
+            this.currentConnection = null;
+            pickNewConnection();
+            this.isClosed = false;
+            this.closedReason = null;
+        } else {
+            String reason = "No operations allowed after connection closed.";
+            if (this.closedReason != null) {
+                reason += " " + this.closedReason;
             }
+            throw SQLError.createSQLException(reason, MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN, null /* no access to an interceptor here... */);
         }
+    }
 
+    /**
+     * Starts a transaction at the first call after the previous one completed.
+     */
+    private synchronized void startTransaction() {
         if (!this.inTransaction) {
             this.inTransaction = true;
             this.transactionStartTime = System.nanoTime();
             this.transactionCount++;
         }
+    }
 
-        Object result = null;
-
-        try {
-            result = method.invoke(this.thisAsConnection, args);
+    /**
+     * Completes the current transaction, records its response time and picks the connection for the next one.
+     * 
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private synchronized void completeTransaction() throws SQLException {
+        this.inTransaction = false;
+
+        // Update stats
+        completeTransactionStats();
+        String host = this.connectionsToHostsMap.get(this.currentConnection);
+        // avoid NPE if the connection has already been removed from connectionsToHostsMap in invalidateCurrenctConnection()
+        if (host != null) {
+            synchronized (this.responseTimes) {
+                Integer hostIndex = (this.hostsToListIndexMap.get(host));
 
-            if (result != null) {
-                if (result instanceof com.mysql.cj.jdbc.JdbcStatement) {
-                    ((com.mysql.cj.jdbc.JdbcStatement) result).setPingTarget(this);
+                if (hostIndex != null && hostIndex < this.responseTimes.length) {
+                    this.responseTimes[hostIndex] = System.nanoTime() - this.transactionStartTime;
                 }
-                result = proxyIfReturnTypeIsJdbcInterface(method.getReturnType(), result);
             }
+        }
+        pickNewConnection();
+    }
 
-        } catch (InvocationTargetException e) {
-            dealWithInvocationException(e);
+    @Override
+    Object proxyConnectionResult(Class<?> returnType, Object result) {
+        if (result instanceof JdbcStatement) {
+            ((JdbcStatement) result).setPingTarget(this);
+        }
+        return super.proxyConnectionResult(returnType, result);
+    }
 
-        } finally {
-            if ("commit".equals(methodName) || "rollback".equals(methodName)) {
-                this.inTransaction = false;
-
-                // Update stats
-                String host = this.connectionsToHostsMap.get(this.currentConnection);
-                // avoid NPE if the connection has already been removed from connectionsToHostsMap in invalidateCurrenctConnection()
-                if (host != null) {
-                    synchronized (this.responseTimes) {
-                        Integer hostIndex = (this.hostsToListIndexMap.get(host));
-
-                        if (hostIndex != null && hostIndex < this.responseTimes.length) {
-                            this.responseTimes[hostIndex] = System.nanoTime() - this.transactionStartTime;
-                        }
-                    }
-                }
-                pickNewConnection();
-            }
+    /**
+     * Counts the transaction that is starting as in flight for the host of the current connection, in the driver-wide {@link HostHealthRegistry}.
+     */
+    private void startTransactionStats() {
+        String host = this.connectionsToHostsMap.get(this.currentConnection);
+        if (host != null) {
+            this.transactionHostHealth = HostHealthRegistry.getHostHealth(host);
+            this.transactionHostHealth.transactionStarted();
+            this.transactionStatsStartTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops counting the current transaction as in flight and records its response time.
+     */
+    private void completeTransactionStats() {
+        if (this.transactionHostHealth != null) {
+            this.transactionHostHealth.transactionCompleted(System.nanoTime() - this.transactionStatsStartTime);
+            this.transactionHostHealth = null;
         }
+    }
 
-        return result;
+    /**
+     * Checks if the current connection is in auto-commit mode, without waiting for the statement it may be executing.
+     */
+    private boolean isCurrentConnectionAutoCommit() {
+        return this.currentConnection != null && this.currentConnection.getSession().getServerSession().isAutoCommit();
+    }
+
+    /**
+     * Transactions are counted in flight from their first statement. In auto-commit mode each statement is a transaction of its own. Statements executed
+     * concurrently through the same connection are counted once.
+     */
+    @Override
+    synchronized void statementExecuting() {
+        if (this.transactionHostHealth == null) {
+            startTransactionStats();
+        }
+    }
+
+    @Override
+    synchronized void statementExecuted() {
+        if (isCurrentConnectionAutoCommit()) {
+            completeTransactionStats();
+        }
+    }
+
+    @Override
+    synchronized void dealWithException(Throwable t) throws SQLException {
+        if (isCurrentConnectionAutoCommit()) {
+            abandonTransactionStats();
+        }
+        if (this.lastExceptionDealtWith != t && shouldExceptionTriggerConnectionSwitch(t)) {
+            recordCommunicationsFailure(this.currentConnection, t);
+        }
+        super.dealWithException(t);
+    }
+
+    /**
+     * Records a communications failure of the given connection in the driver-wide {@link HostHealthRegistry}. Other errors, as well as connections closed
+     * on purpose, don't count against the health of their host.
+     * 
+     * @param conn
+     *            the connection that failed
+     * @param t
+     *            the error it failed with
+     */
+    private void recordCommunicationsFailure(JdbcConnection conn, Throwable t) {
+        String host = this.connectionsToHostsMap.get(conn);
+        if (host != null && (t instanceof CommunicationsException || t instanceof CJCommunicationsException
+                || t instanceof SQLException && ((SQLException) t).getSQLState() != null && ((SQLException) t).getSQLState().startsWith("08"))) {
+            HostHealthRegistry.getHostHealth(host).errorOccurred();
+        }
+    }
+
+    /**
+     * Stops counting the current transaction as in flight, without recording its response time.
+     */
+    private void abandonTransactionStats() {
+        if (this.transactionHostHealth != null) {
+            this.transactionHostHealth.transactionAbandoned();
+            this.transactionHostHealth = null;
+        }
     }
 
     /**
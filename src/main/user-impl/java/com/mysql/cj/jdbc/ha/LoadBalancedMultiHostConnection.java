@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.sql.SQLException;
+
+/**
+ * The {@link LoadBalancedConnection} handed to the application by a {@link LoadBalancedConnectionProxy}, see {@link MultiHostConnection}.
+ */
+class LoadBalancedMultiHostConnection extends MultiHostConnection implements LoadBalancedConnection {
+    LoadBalancedMultiHostConnection(LoadBalancedConnectionProxy proxy) {
+        super(proxy);
+    }
+
+    LoadBalancedConnectionProxy getThisAsProxy() {
+        return (LoadBalancedConnectionProxy) this.proxy;
+    }
+
+    @Override
+    public boolean addHost(String host) throws SQLException {
+        return invoke("addHost", conn -> ((LoadBalancedConnection) conn).addHost(host));
+    }
+
+    @Override
+    public void removeHost(String host) throws SQLException {
+        run("removeHost", conn -> ((LoadBalancedConnection) conn).removeHost(host));
+    }
+
+    @Override
+    public void removeHostWhenNotInUse(String host) throws SQLException {
+        run("removeHostWhenNotInUse", conn -> ((LoadBalancedConnection) conn).removeHostWhenNotInUse(host));
+    }
+
+    @Override
+    public void ping(boolean allConnections) throws SQLException {
+        run("ping", conn -> ((LoadBalancedConnection) conn).ping(allConnections));
+    }
+}
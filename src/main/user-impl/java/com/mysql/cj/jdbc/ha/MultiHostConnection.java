@@ -0,0 +1,814 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+import com.mysql.cj.ServerVersion;
+import com.mysql.cj.Session;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.jdbc.BulkLoader;
+import com.mysql.cj.jdbc.ClientInfoProvider;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.ha.MultiHostConnectionProxy.ConnectionCall;
+import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
+import com.mysql.cj.jdbc.result.PendingRowChanges;
+import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.jdbc.result.UpdatableResultSetStatements;
+
+/**
+ * The connection handed to the application by a {@link MultiHostConnectionProxy}. Calls are made on the connection wrapper of the proxy, a
+ * {@link MultiHostMySQLConnection}, without reflection and without holding the proxy monitor, which is only needed to switch connections.
+ * 
+ * Takes the place of a dynamic proxy with the {@link MultiHostConnectionProxy} as invocation handler. The multi-host specific behavior of each call is left to
+ * {@link MultiHostConnectionProxy#invokeConnection(String, boolean, ConnectionCall)}, and JDBC objects returned are wrapped by the proxy as well.
+ */
+class MultiHostConnection implements JdbcConnection {
+    /**
+     * A call on the connection wrapper of the proxy that returns nothing.
+     */
+    @FunctionalInterface
+    interface ConnectionAction {
+        void run(JdbcConnection conn) throws SQLException;
+    }
+
+    final MultiHostConnectionProxy proxy;
+
+    MultiHostConnection(MultiHostConnectionProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    <T> T invoke(String methodName, ConnectionCall<T> call) throws SQLException {
+        return this.proxy.invokeConnection(methodName, true, call);
+    }
+
+    <T> T invokeUnchecked(String methodName, ConnectionCall<T> call) {
+        try {
+            return this.proxy.invokeConnection(methodName, false, call);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    void run(String methodName, ConnectionAction action) throws SQLException {
+        invoke(methodName, conn -> {
+            action.run(conn);
+            return null;
+        });
+    }
+
+    void runUnchecked(String methodName, ConnectionAction action) {
+        invokeUnchecked(methodName, conn -> {
+            action.run(conn);
+            return null;
+        });
+    }
+
+    <T> T wrap(Class<T> returnType, T result) {
+        return returnType.cast(this.proxy.proxyConnectionResult(returnType, result));
+    }
+
+    @Override
+    public JdbcConnection getActiveMySQLConnection() {
+        return wrap(JdbcConnection.class, invokeUnchecked("getActiveMySQLConnection", conn -> conn.getActiveMySQLConnection()));
+    }
+
+    @Override
+    public void abortInternal() throws SQLException {
+        this.proxy.abortInternal();
+    }
+
+    @Override
+    public void changeUser(String userName, String newPassword) throws SQLException {
+        run("changeUser", conn -> conn.changeUser(userName, newPassword));
+    }
+
+    @Override
+    public void checkClosed() {
+        runUnchecked("checkClosed", conn -> conn.checkClosed());
+    }
+
+    @Deprecated
+    @Override
+    public void clearHasTriedMaster() {
+        runUnchecked("clearHasTriedMaster", conn -> conn.clearHasTriedMaster());
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        run("clearWarnings", conn -> conn.clearWarnings());
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return wrap(PreparedStatement.class,
+                invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql, int autoGenKeyIndex) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql, autoGenKeyIndex)));
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql, int[] autoGenKeyIndexes) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql, autoGenKeyIndexes)));
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql, String[] autoGenKeyColNames) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql, autoGenKeyColNames)));
+    }
+
+    @Override
+    public PreparedStatement clientPrepareStatement(String sql) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("clientPrepareStatement", conn -> conn.clientPrepareStatement(sql)));
+    }
+
+    @Override
+    public void close() throws SQLException {
+        this.proxy.close();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        run("commit", conn -> conn.commit());
+    }
+
+    @Override
+    public void createNewIO(boolean isForReconnect) {
+        runUnchecked("createNewIO", conn -> conn.createNewIO(isForReconnect));
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return wrap(Statement.class, invoke("createStatement", conn -> conn.createStatement()));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return wrap(Statement.class, invoke("createStatement", conn -> conn.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return wrap(Statement.class, invoke("createStatement", conn -> conn.createStatement(resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public int getActiveStatementCount() {
+        return invokeUnchecked("getActiveStatementCount", conn -> conn.getActiveStatementCount());
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return invoke("getAutoCommit", conn -> conn.getAutoCommit());
+    }
+
+    @Override
+    public int getAutoIncrementIncrement() {
+        return invokeUnchecked("getAutoIncrementIncrement", conn -> conn.getAutoIncrementIncrement());
+    }
+
+    @Override
+    public CachedResultSetMetaData getCachedMetaData(String sql) {
+        return wrap(CachedResultSetMetaData.class, invokeUnchecked("getCachedMetaData", conn -> conn.getCachedMetaData(sql)));
+    }
+
+    @Override
+    public UpdatableResultSetStatements getCachedUpdatableResultSetStatements(String key) {
+        return wrap(UpdatableResultSetStatements.class,
+                invokeUnchecked("getCachedUpdatableResultSetStatements", conn -> conn.getCachedUpdatableResultSetStatements(key)));
+    }
+
+    @Override
+    public void cacheUpdatableResultSetStatements(String key, UpdatableResultSetStatements statements) {
+        runUnchecked("cacheUpdatableResultSetStatements", conn -> conn.cacheUpdatableResultSetStatements(key, statements));
+    }
+
+    @Override
+    public void registerPendingRowChanges(PendingRowChanges changes) {
+        runUnchecked("registerPendingRowChanges", conn -> conn.registerPendingRowChanges(changes));
+    }
+
+    @Override
+    public void unregisterPendingRowChanges(PendingRowChanges changes) {
+        runUnchecked("unregisterPendingRowChanges", conn -> conn.unregisterPendingRowChanges(changes));
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return invoke("getCatalog", conn -> conn.getCatalog());
+    }
+
+    @Override
+    public String getCharacterSetMetadata() {
+        return invokeUnchecked("getCharacterSetMetadata", conn -> conn.getCharacterSetMetadata());
+    }
+
+    @Override
+    public ExceptionInterceptor getExceptionInterceptor() {
+        return invokeUnchecked("getExceptionInterceptor", conn -> conn.getExceptionInterceptor());
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return invoke("getHoldability", conn -> conn.getHoldability());
+    }
+
+    @Override
+    public String getHost() {
+        return invokeUnchecked("getHost", conn -> conn.getHost());
+    }
+
+    @Override
+    public long getId() {
+        return invokeUnchecked("getId", conn -> conn.getId());
+    }
+
+    @Override
+    public long getIdleFor() {
+        return invokeUnchecked("getIdleFor", conn -> conn.getIdleFor());
+    }
+
+    @Override
+    public JdbcConnection getMultiHostSafeProxy() {
+        return this.proxy.thisAsConnection;
+    }
+
+    @Override
+    public JdbcConnection getMultiHostParentProxy() {
+        return wrap(JdbcConnection.class, invokeUnchecked("getMultiHostParentProxy", conn -> conn.getMultiHostParentProxy()));
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return wrap(DatabaseMetaData.class, invoke("getMetaData", conn -> conn.getMetaData()));
+    }
+
+    @Override
+    public Statement getMetadataSafeStatement() throws SQLException {
+        return wrap(Statement.class, invoke("getMetadataSafeStatement", conn -> conn.getMetadataSafeStatement()));
+    }
+
+    @Override
+    public Properties getProperties() {
+        return invokeUnchecked("getProperties", conn -> conn.getProperties());
+    }
+
+    @Override
+    public ServerVersion getServerVersion() {
+        return invokeUnchecked("getServerVersion", conn -> conn.getServerVersion());
+    }
+
+    @Override
+    public Session getSession() {
+        return invokeUnchecked("getSession", conn -> conn.getSession());
+    }
+
+    @Override
+    public String getStatementComment() {
+        return invokeUnchecked("getStatementComment", conn -> conn.getStatementComment());
+    }
+
+    @Override
+    public List<QueryInterceptor> getQueryInterceptorsInstances() {
+        return invokeUnchecked("getQueryInterceptorsInstances", conn -> conn.getQueryInterceptorsInstances());
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return invoke("getTransactionIsolation", conn -> conn.getTransactionIsolation());
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return invoke("getTypeMap", conn -> conn.getTypeMap());
+    }
+
+    @Override
+    public String getURL() {
+        return invokeUnchecked("getURL", conn -> conn.getURL());
+    }
+
+    @Override
+    public String getUser() {
+        return invokeUnchecked("getUser", conn -> conn.getUser());
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return invoke("getWarnings", conn -> conn.getWarnings());
+    }
+
+    @Override
+    public boolean hasSameProperties(JdbcConnection c) {
+        return invokeUnchecked("hasSameProperties", conn -> conn.hasSameProperties(c));
+    }
+
+    @Deprecated
+    @Override
+    public boolean hasTriedMaster() {
+        return invokeUnchecked("hasTriedMaster", conn -> conn.hasTriedMaster());
+    }
+
+    @Override
+    public void initializeResultsMetadataFromCache(String sql, CachedResultSetMetaData cachedMetaData, ResultSetInternalMethods resultSet) throws SQLException {
+        run("initializeResultsMetadataFromCache", conn -> conn.initializeResultsMetadataFromCache(sql, cachedMetaData, resultSet));
+    }
+
+    @Override
+    public void initializeSafeQueryInterceptors() throws SQLException {
+        run("initializeSafeQueryInterceptors", conn -> conn.initializeSafeQueryInterceptors());
+    }
+
+    @Override
+    public boolean isInGlobalTx() {
+        return invokeUnchecked("isInGlobalTx", conn -> conn.isInGlobalTx());
+    }
+
+    @Override
+    public boolean isSourceConnection() {
+        return invokeUnchecked("isSourceConnection", conn -> conn.isSourceConnection());
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return invoke("isReadOnly", conn -> conn.isReadOnly());
+    }
+
+    @Override
+    public boolean isReadOnly(boolean useSessionStatus) throws SQLException {
+        return invoke("isReadOnly", conn -> conn.isReadOnly(useSessionStatus));
+    }
+
+    @Override
+    public boolean isSameResource(JdbcConnection otherConnection) {
+        return invokeUnchecked("isSameResource", conn -> conn.isSameResource(otherConnection));
+    }
+
+    @Override
+    public boolean lowerCaseTableNames() {
+        return invokeUnchecked("lowerCaseTableNames", conn -> conn.lowerCaseTableNames());
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return invoke("nativeSQL", conn -> conn.nativeSQL(sql));
+    }
+
+    @Override
+    public void ping() throws SQLException {
+        run("ping", conn -> conn.ping());
+    }
+
+    @Override
+    public void pingInternal(boolean checkForClosedConnection, int timeoutMillis) throws SQLException {
+        run("pingInternal", conn -> conn.pingInternal(checkForClosedConnection, timeoutMillis));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return wrap(CallableStatement.class, invoke("prepareCall", conn -> conn.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return wrap(CallableStatement.class, invoke("prepareCall", conn -> conn.prepareCall(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return wrap(CallableStatement.class, invoke("prepareCall", conn -> conn.prepareCall(sql)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return wrap(PreparedStatement.class,
+                invoke("prepareStatement", conn -> conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("prepareStatement", conn -> conn.prepareStatement(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGenKeyIndex) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("prepareStatement", conn -> conn.prepareStatement(sql, autoGenKeyIndex)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] autoGenKeyIndexes) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("prepareStatement", conn -> conn.prepareStatement(sql, autoGenKeyIndexes)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] autoGenKeyColNames) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("prepareStatement", conn -> conn.prepareStatement(sql, autoGenKeyColNames)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("prepareStatement", conn -> conn.prepareStatement(sql)));
+    }
+
+    @Override
+    public void realClose(boolean calledExplicitly, boolean issueRollback, boolean skipLocalTeardown, Throwable reason) throws SQLException {
+        run("realClose", conn -> conn.realClose(calledExplicitly, issueRollback, skipLocalTeardown, reason));
+    }
+
+    @Override
+    public void recachePreparedStatement(JdbcPreparedStatement pstmt) throws SQLException {
+        run("recachePreparedStatement", conn -> conn.recachePreparedStatement(pstmt));
+    }
+
+    @Override
+    public void decachePreparedStatement(JdbcPreparedStatement pstmt) throws SQLException {
+        run("decachePreparedStatement", conn -> conn.decachePreparedStatement(pstmt));
+    }
+
+    @Override
+    public void registerStatement(com.mysql.cj.jdbc.JdbcStatement stmt) {
+        runUnchecked("registerStatement", conn -> conn.registerStatement(stmt));
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint arg0) throws SQLException {
+        run("releaseSavepoint", conn -> conn.releaseSavepoint(arg0));
+    }
+
+    @Override
+    public void resetServerState() throws SQLException {
+        run("resetServerState", conn -> conn.resetServerState());
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        run("rollback", conn -> conn.rollback());
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        run("rollback", conn -> conn.rollback(savepoint));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return wrap(PreparedStatement.class,
+                invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql, int autoGenKeyIndex) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql, autoGenKeyIndex)));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql, int[] autoGenKeyIndexes) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql, autoGenKeyIndexes)));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql, String[] autoGenKeyColNames) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql, autoGenKeyColNames)));
+    }
+
+    @Override
+    public PreparedStatement serverPrepareStatement(String sql) throws SQLException {
+        return wrap(PreparedStatement.class, invoke("serverPrepareStatement", conn -> conn.serverPrepareStatement(sql)));
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommitFlag) throws SQLException {
+        run("setAutoCommit", conn -> {
+            conn.setAutoCommit(autoCommitFlag);
+            this.proxy.autoCommitChanged(autoCommitFlag);
+        });
+    }
+
+    @Override
+    public void setDatabase(String dbName) throws SQLException {
+        run("setDatabase", conn -> conn.setDatabase(dbName));
+    }
+
+    @Override
+    public String getDatabase() throws SQLException {
+        return invoke("getDatabase", conn -> conn.getDatabase());
+    }
+
+    @Override
+    public BulkLoader createBulkLoader(String tableName, String... columnNames) throws SQLException {
+        return wrap(BulkLoader.class, invoke("createBulkLoader", conn -> conn.createBulkLoader(tableName, columnNames)));
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        run("setCatalog", conn -> conn.setCatalog(catalog));
+    }
+
+    @Override
+    public void setFailedOver(boolean flag) {
+        runUnchecked("setFailedOver", conn -> conn.setFailedOver(flag));
+    }
+
+    @Override
+    public void setHoldability(int arg0) throws SQLException {
+        run("setHoldability", conn -> conn.setHoldability(arg0));
+    }
+
+    @Override
+    public void setInGlobalTx(boolean flag) {
+        runUnchecked("setInGlobalTx", conn -> conn.setInGlobalTx(flag));
+    }
+
+    @Override
+    public void setProxy(JdbcConnection proxy) {
+        runUnchecked("setProxy", conn -> conn.setProxy(proxy));
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnlyFlag) throws SQLException {
+        if (this.proxy.readOnlyChanging(readOnlyFlag)) {
+            run("setReadOnly", conn -> conn.setReadOnly(readOnlyFlag));
+        }
+    }
+
+    @Override
+    public void setReadOnlyInternal(boolean readOnlyFlag) throws SQLException {
+        run("setReadOnlyInternal", conn -> conn.setReadOnlyInternal(readOnlyFlag));
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return wrap(Savepoint.class, invoke("setSavepoint", conn -> conn.setSavepoint()));
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return wrap(Savepoint.class, invoke("setSavepoint", conn -> conn.setSavepoint(name)));
+    }
+
+    @Override
+    public void setStatementComment(String comment) {
+        runUnchecked("setStatementComment", conn -> conn.setStatementComment(comment));
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        run("setTransactionIsolation", conn -> conn.setTransactionIsolation(level));
+    }
+
+    @Override
+    public void shutdownServer() throws SQLException {
+        run("shutdownServer", conn -> conn.shutdownServer());
+    }
+
+    @Override
+    public boolean storesLowerCaseTableName() {
+        return invokeUnchecked("storesLowerCaseTableName", conn -> conn.storesLowerCaseTableName());
+    }
+
+    @Override
+    public void throwConnectionClosedException() throws SQLException {
+        run("throwConnectionClosedException", conn -> conn.throwConnectionClosedException());
+    }
+
+    @Override
+    public void transactionBegun() {
+        runUnchecked("transactionBegun", conn -> conn.transactionBegun());
+    }
+
+    @Override
+    public void transactionCompleted() {
+        runUnchecked("transactionCompleted", conn -> conn.transactionCompleted());
+    }
+
+    @Override
+    public void unregisterStatement(com.mysql.cj.jdbc.JdbcStatement stmt) {
+        runUnchecked("unregisterStatement", conn -> conn.unregisterStatement(stmt));
+    }
+
+    @Override
+    public void unSafeQueryInterceptors() throws SQLException {
+        run("unSafeQueryInterceptors", conn -> conn.unSafeQueryInterceptors());
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return this.proxy.isClosed;
+    }
+
+    @Override
+    public boolean isProxySet() {
+        return invokeUnchecked("isProxySet", conn -> conn.isProxySet());
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        run("setTypeMap", conn -> conn.setTypeMap(map));
+    }
+
+    @Override
+    public boolean isServerLocal() throws SQLException {
+        return invoke("isServerLocal", conn -> conn.isServerLocal());
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        run("setSchema", conn -> conn.setSchema(schema));
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return invoke("getSchema", conn -> conn.getSchema());
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        this.proxy.abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        run("setNetworkTimeout", conn -> conn.setNetworkTimeout(executor, milliseconds));
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return invoke("getNetworkTimeout", conn -> conn.getNetworkTimeout());
+    }
+
+    @Override
+    public Object getConnectionMutex() {
+        return invokeUnchecked("getConnectionMutex", conn -> conn.getConnectionMutex());
+    }
+
+    @Override
+    public int getSessionMaxRows() {
+        return invokeUnchecked("getSessionMaxRows", conn -> conn.getSessionMaxRows());
+    }
+
+    @Override
+    public void setSessionMaxRows(int max) throws SQLException {
+        run("setSessionMaxRows", conn -> conn.setSessionMaxRows(max));
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return wrap(SQLXML.class, invoke("createSQLXML", conn -> conn.createSQLXML()));
+    }
+
+    @Override
+    public java.sql.Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return wrap(java.sql.Array.class, invoke("createArrayOf", conn -> conn.createArrayOf(typeName, elements)));
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return wrap(Struct.class, invoke("createStruct", conn -> conn.createStruct(typeName, attributes)));
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return invoke("getClientInfo", conn -> conn.getClientInfo());
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return invoke("getClientInfo", conn -> conn.getClientInfo(name));
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return invoke("isValid", conn -> conn.isValid(timeout));
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        try {
+            run("setClientInfo", conn -> conn.setClientInfo(properties));
+        } catch (SQLClientInfoException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        try {
+            run("setClientInfo", conn -> conn.setClientInfo(name, value));
+        } catch (SQLClientInfoException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return invoke("isWrapperFor", conn -> conn.isWrapperFor(iface));
+    }
+
+    @Override
+    public <T> T unwrap(java.lang.Class<T> iface) throws java.sql.SQLException {
+        return invoke("unwrap", conn -> conn.unwrap(iface));
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return wrap(Blob.class, invoke("createBlob", conn -> conn.createBlob()));
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return wrap(Clob.class, invoke("createClob", conn -> conn.createClob()));
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return wrap(NClob.class, invoke("createNClob", conn -> conn.createNClob()));
+    }
+
+    @Override
+    public ClientInfoProvider getClientInfoProviderImpl() throws SQLException {
+        return wrap(ClientInfoProvider.class, invoke("getClientInfoProviderImpl", conn -> conn.getClientInfoProviderImpl()));
+    }
+
+    @Override
+    public JdbcPropertySet getPropertySet() {
+        return wrap(JdbcPropertySet.class, invokeUnchecked("getPropertySet", conn -> conn.getPropertySet()));
+    }
+
+    @Override
+    public String getHostPortPair() {
+        return invokeUnchecked("getHostPortPair", conn -> conn.getHostPortPair());
+    }
+
+    @Override
+    public void normalClose() {
+        runUnchecked("normalClose", conn -> conn.normalClose());
+    }
+
+    @Override
+    public void cleanup(Throwable whyCleanedUp) {
+        runUnchecked("cleanup", conn -> conn.cleanup(whyCleanedUp));
+    }
+}
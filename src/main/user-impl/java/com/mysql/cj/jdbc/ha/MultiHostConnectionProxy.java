@@ -41,24 +41,30 @@ import java.util.concurrent.Executor;
 
 import com.mysql.cj.conf.ConnectionUrl;
 import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.ClientPreparedStatement;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.mysql.cj.jdbc.ServerPreparedStatement;
+import com.mysql.cj.jdbc.StatementImpl;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
 import com.mysql.cj.util.Util;
 
 /**
  * An abstract class that processes generic multi-host configurations. This class has to be sub-classed by specific multi-host implementations, such as
  * load-balancing and failover.
+ * 
+ * The application is handed a {@link MultiHostConnection}, which calls the connection wrapper of this proxy without reflection through
+ * {@link #invokeConnection(String, boolean, ConnectionCall)}. Statements, prepared statements and result sets bound to the current connection are wrapped in
+ * {@link MultiHostStatement}, {@link MultiHostPreparedStatement} and {@link MultiHostResultSet}, which delegate without reflection as well. All of them only
+ * synchronize on this proxy to switch connections. Other JDBC objects are wrapped in synchronized dynamic proxies.
  */
 public abstract class MultiHostConnectionProxy implements InvocationHandler {
-    private static final String METHOD_GET_MULTI_HOST_SAFE_PROXY = "getMultiHostSafeProxy";
     private static final String METHOD_EQUALS = "equals";
-    private static final String METHOD_HASH_CODE = "hashCode";
-    private static final String METHOD_CLOSE = "close";
-    private static final String METHOD_ABORT_INTERNAL = "abortInternal";
-    private static final String METHOD_ABORT = "abort";
-    private static final String METHOD_IS_CLOSED = "isClosed";
     private static final String METHOD_GET_AUTO_COMMIT = "getAutoCommit";
     private static final String METHOD_GET_CATALOG = "getCatalog";
     private static final String METHOD_GET_SCHEMA = "getSchema";
@@ -71,13 +77,17 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
 
     boolean autoReconnect = false;
 
+    boolean raceHostConnections = false;
+    int raceHostConnectionsDelay = 250;
+
     JdbcConnection thisAsConnection = null;
+    JdbcConnection thisAsMultiHostConnection = null;
     JdbcConnection parentProxyConnection = null;
     JdbcConnection topProxyConnection = null;
 
-    JdbcConnection currentConnection = null;
+    volatile JdbcConnection currentConnection = null;
 
-    boolean isClosed = false;
+    volatile boolean isClosed = false;
     boolean closedExplicitly = false;
     String closedReason = null;
 
@@ -85,8 +95,22 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
     // exception is caught in every proxy instance belonging to the same call stack.
     protected Throwable lastExceptionDealtWith = null;
 
+    /**
+     * A call on the connection wrapper of this proxy, made by {@link MultiHostConnection}.
+     * 
+     * @param <T>
+     *            The type of the value returned.
+     */
+    @FunctionalInterface
+    interface ConnectionCall<T> {
+        T call(JdbcConnection conn) throws SQLException;
+    }
+
     /**
      * Proxy class to intercept and deal with errors that may occur in any object bound to the current connection.
+     * 
+     * Only used for the objects that have no non-reflective wrapper (see {@link #proxyIfReturnTypeIsJdbcInterface(Class, Object)}), calls are synchronized
+     * on the connection proxy.
      */
     class JdbcInterfaceProxy implements InvocationHandler {
         Object invokeOn = null;
@@ -96,12 +120,19 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         }
 
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            if (METHOD_EQUALS.equals(method.getName())) {
+            String methodName = method.getName();
+
+            if (METHOD_EQUALS.equals(methodName)) {
                 // Let args[0] "unwrap" to its InvocationHandler if it is a proxy.
                 return args[0].equals(this);
             }
 
             synchronized (MultiHostConnectionProxy.this) {
+                boolean isExecute = methodName.startsWith("execute");
+                if (isExecute) {
+                    statementExecuting();
+                }
+
                 Object result = null;
 
                 try {
@@ -111,6 +142,10 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
                     dealWithInvocationException(e);
                 }
 
+                if (isExecute) {
+                    statementExecuted();
+                }
+
                 return result;
             }
         }
@@ -124,6 +159,7 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
      */
     MultiHostConnectionProxy() throws SQLException {
         this.thisAsConnection = getNewWrapperForThisAsConnection();
+        this.thisAsMultiHostConnection = getNewMultiHostConnection();
     }
 
     /**
@@ -158,6 +194,13 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         this.autoReconnect = "true".equalsIgnoreCase(props.getProperty(PropertyKey.autoReconnect.getKeyName()))
                 || "true".equalsIgnoreCase(props.getProperty(PropertyKey.autoReconnectForPools.getKeyName()));
 
+        this.raceHostConnections = "true".equalsIgnoreCase(props.getProperty(PropertyKey.raceHostConnections.getKeyName()));
+        String raceHostConnectionsDelayAsString = props.getProperty(PropertyKey.raceHostConnectionsDelay.getKeyName());
+        if (raceHostConnectionsDelayAsString != null) {
+            this.raceHostConnectionsDelay = (Integer) PropertyDefinitions.getPropertyDefinition(PropertyKey.raceHostConnectionsDelay)
+                    .parseObject(raceHostConnectionsDelayAsString, null);
+        }
+
         this.hostsList = new ArrayList<>(hosts);
         int numHosts = this.hostsList.size();
         return numHosts;
@@ -223,6 +266,16 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         return new MultiHostMySQLConnection(this);
     }
 
+    /**
+     * Creates the connection handed to the application, which calls the connection wrapper of this proxy without reflection.
+     * 
+     * @return
+     *         The new {@link MultiHostConnection} instance.
+     */
+    JdbcConnection getNewMultiHostConnection() {
+        return new MultiHostConnection(this);
+    }
+
     /**
      * If the given return type is or implements a JDBC interface, proxies the given object so that we can catch SQL errors and fire a connection switch.
      * 
@@ -237,6 +290,16 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         if (toProxy != null) {
             if (Util.isJdbcInterface(returnType)) {
                 Class<?> toProxyClass = toProxy.getClass();
+
+                // non-reflective wrappers for the most used classes, implementing the same interfaces as the proxies would
+                if (toProxyClass == ResultSetImpl.class) {
+                    return new MultiHostResultSet(this, (ResultSetImpl) toProxy);
+                } else if (toProxyClass == ClientPreparedStatement.class || toProxyClass == ServerPreparedStatement.class) {
+                    return new MultiHostPreparedStatement(this, (JdbcPreparedStatement) toProxy);
+                } else if (toProxyClass == StatementImpl.class) {
+                    return new MultiHostStatement(this, (JdbcStatement) toProxy);
+                }
+
                 return Proxy.newProxyInstance(toProxyClass.getClassLoader(), Util.getImplementedInterfaces(toProxyClass), getNewJdbcInterfaceProxy(toProxy));
             }
         }
@@ -271,16 +334,41 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
         Throwable t = e.getTargetException();
 
         if (t != null) {
-            if (this.lastExceptionDealtWith != t && shouldExceptionTriggerConnectionSwitch(t)) {
-                invalidateCurrentConnection();
-                pickNewConnection();
-                this.lastExceptionDealtWith = t;
-            }
+            dealWithException(t);
             throw t;
         }
         throw e;
     }
 
+    /**
+     * Switches to a new connection if the given exception, thrown by the current connection or an object bound to it, requires it.
+     * 
+     * @param t
+     *            The Throwable instance to check.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    synchronized void dealWithException(Throwable t) throws SQLException {
+        if (this.lastExceptionDealtWith != t && shouldExceptionTriggerConnectionSwitch(t)) {
+            invalidateCurrentConnection();
+            pickNewConnection();
+            this.lastExceptionDealtWith = t;
+        }
+    }
+
+    /**
+     * Called before any execute* method of a statement bound to the current connection. Subclasses can override this to keep track of the statements
+     * executed.
+     */
+    void statementExecuting() {
+    }
+
+    /**
+     * Called after any execute* method of a statement bound to the current connection completes successfully.
+     */
+    void statementExecuted() {
+    }
+
     /**
      * Checks if the given throwable should trigger a connection switch.
      * 
@@ -355,7 +443,38 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
      *             if an error occurs
      */
     synchronized ConnectionImpl createConnectionForHost(HostInfo hostInfo) throws SQLException {
-        ConnectionImpl conn = (ConnectionImpl) ConnectionImpl.getInstance(hostInfo);
+        return adoptConnection((ConnectionImpl) ConnectionImpl.getInstance(hostInfo));
+    }
+
+    /**
+     * Races connection attempts to the given hosts, as configured by the properties 'raceHostConnections' and 'raceHostConnectionsDelay', and adopts the
+     * connection that wins the race, if any.
+     * 
+     * @param candidates
+     *            The hosts to connect to, in order of preference.
+     * @return
+     *         The finished race.
+     * @throws SQLException
+     *             if an error occurs
+     */
+    synchronized HostConnectionRace raceConnectionsForHosts(List<HostInfo> candidates) throws SQLException {
+        HostConnectionRace race = new HostConnectionRace(candidates);
+        race.run(this.raceHostConnectionsDelay);
+        if (race.getConnection() != null) {
+            adoptConnection(race.getConnection());
+        }
+        return race;
+    }
+
+    /**
+     * Sets this multi-host connection as the proxy of a newly created physical connection.
+     * 
+     * @param conn
+     *            The new physical connection.
+     * @return
+     *         The given connection.
+     */
+    ConnectionImpl adoptConnection(ConnectionImpl conn) {
         JdbcConnection topmostProxy = getProxy();
         if (topmostProxy != this.thisAsConnection) {
             conn.setProxy(this.thisAsConnection); // First call sets this connection as underlying connection parent proxy (its creator).
@@ -451,9 +570,47 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
     abstract void doAbort(Executor executor) throws SQLException;
 
     /**
-     * Proxies method invocation on the java.sql.Connection interface, trapping multi-host specific methods and generic methods.
-     * Subclasses have to override this to complete the method invocation process, deal with exceptions and decide when to switch connection.
-     * To avoid unnecessary additional exception handling overriders should consult #canDealWith(Method) before chaining here.
+     * Closes this multi-host connection, on behalf of {@link MultiHostConnection}.
+     * 
+     * @throws SQLException
+     *             if an error occurs
+     */
+    synchronized void close() throws SQLException {
+        doClose();
+        this.isClosed = true;
+        this.closedReason = "Connection explicitly closed.";
+        this.closedExplicitly = true;
+    }
+
+    /**
+     * Aborts this multi-host connection, on behalf of {@link MultiHostConnection}.
+     * 
+     * @throws SQLException
+     *             if an error occurs
+     */
+    synchronized void abortInternal() throws SQLException {
+        doAbortInternal();
+        this.currentConnection.abortInternal();
+        this.isClosed = true;
+        this.closedReason = "Connection explicitly closed.";
+    }
+
+    /**
+     * Aborts this multi-host connection using the given executor, on behalf of {@link MultiHostConnection}.
+     * 
+     * @param executor
+     *            executor
+     * @throws SQLException
+     *             if an error occurs
+     */
+    synchronized void abort(Executor executor) throws SQLException {
+        doAbort(executor);
+        this.isClosed = true;
+        this.closedReason = "Connection explicitly closed.";
+    }
+
+    /**
+     * Invokes the given method on the connection handed to the application, so that this proxy can still be used as an invocation handler.
      * 
      * @param proxy
      *            proxy object
@@ -466,90 +623,100 @@ public abstract class MultiHostConnectionProxy implements InvocationHandler {
      *             if an error occurs
      */
     @Override
-    public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        String methodName = method.getName();
-
-        if (METHOD_GET_MULTI_HOST_SAFE_PROXY.equals(methodName)) {
-            return this.thisAsConnection;
-        }
-
-        if (METHOD_EQUALS.equals(methodName)) {
-            // Let args[0] "unwrap" to its InvocationHandler if it is a proxy.
-            return args[0].equals(this);
-        }
-
-        if (METHOD_HASH_CODE.equals(methodName)) {
-            return this.hashCode();
-        }
-
-        if (METHOD_CLOSE.equals(methodName)) {
-            doClose();
-            this.isClosed = true;
-            this.closedReason = "Connection explicitly closed.";
-            this.closedExplicitly = true;
-            return null;
-        }
-
-        if (METHOD_ABORT_INTERNAL.equals(methodName)) {
-            doAbortInternal();
-            this.currentConnection.abortInternal();
-            this.isClosed = true;
-            this.closedReason = "Connection explicitly closed.";
-            return null;
-        }
-
-        if (METHOD_ABORT.equals(methodName) && args.length == 1) {
-            doAbort((Executor) args[0]);
-            this.isClosed = true;
-            this.closedReason = "Connection explicitly closed.";
-            return null;
-        }
-
-        if (METHOD_IS_CLOSED.equals(methodName)) {
-            return this.isClosed;
-        }
-
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         try {
-            return invokeMore(proxy, method, args);
+            return method.invoke(this.thisAsMultiHostConnection, args);
         } catch (InvocationTargetException e) {
             throw e.getCause() != null ? e.getCause() : e;
-        } catch (Exception e) {
-            // Check if the captured exception must be wrapped by an unchecked exception.
-            Class<?>[] declaredException = method.getExceptionTypes();
-            for (Class<?> declEx : declaredException) {
-                if (declEx.isAssignableFrom(e.getClass())) {
-                    throw e;
-                }
-            }
+        }
+    }
+
+    /**
+     * Calls a method of the connection wrapper of this proxy on behalf of {@link MultiHostConnection}, trapping the errors that aren't declared by the
+     * method.
+     * 
+     * @param <T>
+     *            The type of the value returned.
+     * @param methodName
+     *            The name of the method called.
+     * @param throwsSQLException
+     *            Whether the method called declares SQLException.
+     * @param call
+     *            The call to make on the connection wrapper.
+     * @return method result
+     * @throws SQLException
+     *             if an error occurs
+     */
+    <T> T invokeConnection(String methodName, boolean throwsSQLException, ConnectionCall<T> call) throws SQLException {
+        try {
+            return invokeMore(methodName, throwsSQLException, call);
+        } catch (RuntimeException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
     /**
-     * Continuation of the method invocation process, to be implemented within each subclass.
+     * Continuation of the method invocation process, to be implemented within each subclass. Implementations must only synchronize on this proxy to switch
+     * connections.
      * 
-     * @param proxy
-     *            proxy object
-     * @param method
-     *            method to invoke
-     * @param args
-     *            method parameters
+     * @param <T>
+     *            The type of the value returned.
+     * @param methodName
+     *            The name of the method called.
+     * @param throwsSQLException
+     *            Whether the method called declares SQLException.
+     * @param call
+     *            The call to make on the connection wrapper.
      * @return method result
-     * @throws Throwable
+     * @throws SQLException
      *             if an error occurs
      */
-    abstract Object invokeMore(Object proxy, Method method, Object[] args) throws Throwable;
+    abstract <T> T invokeMore(String methodName, boolean throwsSQLException, ConnectionCall<T> call) throws SQLException;
+
+    /**
+     * Processes the JDBC object returned by a call made through {@link #invokeConnection(String, boolean, ConnectionCall)}. Proxies it by default, so that
+     * errors can be dealt with.
+     * 
+     * @param returnType
+     *            The JDBC interface the object is returned as.
+     * @param result
+     *            The object returned.
+     * @return
+     *         The object to hand to the application.
+     */
+    Object proxyConnectionResult(Class<?> returnType, Object result) {
+        return proxyIfReturnTypeIsJdbcInterface(returnType, result);
+    }
+
+    /**
+     * Called by {@link MultiHostConnection} before the read-only state is set. Subclasses can override this to keep track of it.
+     * 
+     * @param readOnly
+     *            The read-only state requested.
+     * @return
+     *         false if it must not be set on the current connection.
+     */
+    boolean readOnlyChanging(boolean readOnly) {
+        return true;
+    }
+
+    /**
+     * Called by {@link MultiHostConnection} after the auto-commit mode was set on the current connection. Subclasses can override this to keep track of it.
+     * 
+     * @param autoCommit
+     *            The new auto-commit mode.
+     */
+    void autoCommitChanged(boolean autoCommit) {
+    }
 
     /**
      * Checks if the given method is allowed on closed connections.
      * 
-     * @param method
-     *            method
+     * @param methodName
+     *            The name of the method.
      * @return true if the given method is allowed on closed connections
      */
-    protected boolean allowedOnClosedConnection(Method method) {
-        String methodName = method.getName();
-
+    protected boolean allowedOnClosedConnection(String methodName) {
         return methodName.equals(METHOD_GET_AUTO_COMMIT) || methodName.equals(METHOD_GET_CATALOG) || methodName.equals(METHOD_GET_SCHEMA)
                 || methodName.equals(METHOD_GET_DATABASE) || methodName.equals(METHOD_GET_TRANSACTION_ISOLATION)
                 || methodName.equals(METHOD_GET_SESSION_MAX_ROWS);
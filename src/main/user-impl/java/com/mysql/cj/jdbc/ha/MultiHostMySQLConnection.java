@@ -53,18 +53,22 @@ import com.mysql.cj.Session;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.jdbc.BulkLoader;
 import com.mysql.cj.jdbc.ClientInfoProvider;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.JdbcPreparedStatement;
 import com.mysql.cj.jdbc.JdbcPropertySet;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
+import com.mysql.cj.jdbc.result.PendingRowChanges;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.jdbc.result.UpdatableResultSetStatements;
 
 /**
  * Each instance of MultiHostMySQLConnection is coupled with a MultiHostConnectionProxy instance.
  * 
- * While this class implements MySQLConnection directly, MultiHostConnectionProxy does the same but via a dynamic proxy.
+ * While this class implements MySQLConnection directly, MultiHostConnectionProxy does the same through {@link MultiHostConnection}, which is handed to the
+ * application and calls this class.
  * 
  * Most of the methods in this class refer directly to the active connection from its MultiHostConnectionProxy pair, providing a non-proxied access to the
  * current active connection managed by this multi-host structure. The remaining methods either implement some local behavior or refer to the proxy itself
@@ -93,9 +97,7 @@ public class MultiHostMySQLConnection implements JdbcConnection {
 
     @Override
     public JdbcConnection getActiveMySQLConnection() {
-        synchronized (this.thisAsProxy) {
-            return this.thisAsProxy.currentConnection;
-        }
+        return this.thisAsProxy.currentConnection;
     }
 
     @Override
@@ -204,6 +206,26 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().getCachedMetaData(sql);
     }
 
+    @Override
+    public UpdatableResultSetStatements getCachedUpdatableResultSetStatements(String key) {
+        return getActiveMySQLConnection().getCachedUpdatableResultSetStatements(key);
+    }
+
+    @Override
+    public void cacheUpdatableResultSetStatements(String key, UpdatableResultSetStatements statements) {
+        getActiveMySQLConnection().cacheUpdatableResultSetStatements(key, statements);
+    }
+
+    @Override
+    public void registerPendingRowChanges(PendingRowChanges changes) {
+        getActiveMySQLConnection().registerPendingRowChanges(changes);
+    }
+
+    @Override
+    public void unregisterPendingRowChanges(PendingRowChanges changes) {
+        getActiveMySQLConnection().unregisterPendingRowChanges(changes);
+    }
+
     @Override
     public String getCatalog() throws SQLException {
         return getActiveMySQLConnection().getCatalog();
@@ -505,6 +527,11 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().getDatabase();
     }
 
+    @Override
+    public BulkLoader createBulkLoader(String tableName, String... columnNames) throws SQLException {
+        return getActiveMySQLConnection().createBulkLoader(tableName, columnNames);
+    }
+
     @Override
     public void setCatalog(String catalog) throws SQLException {
         getActiveMySQLConnection().setCatalog(catalog);
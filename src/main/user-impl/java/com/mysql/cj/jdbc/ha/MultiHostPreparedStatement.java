@@ -0,0 +1,781 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.ParseInfo;
+import com.mysql.cj.QueryBindings;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.ParameterBindings;
+
+/**
+ * A prepared statement bound to one of the connections of a {@link MultiHostConnectionProxy}, see {@link MultiHostStatement}.
+ * 
+ * Takes the place of {@link MultiHostConnectionProxy.JdbcInterfaceProxy} for {@link com.mysql.cj.jdbc.ClientPreparedStatement} and
+ * {@link com.mysql.cj.jdbc.ServerPreparedStatement} instances.
+ */
+class MultiHostPreparedStatement extends MultiHostStatement implements JdbcPreparedStatement {
+    private final JdbcPreparedStatement delegate;
+
+    MultiHostPreparedStatement(MultiHostConnectionProxy proxy, JdbcPreparedStatement delegate) {
+        super(proxy, delegate);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void realClose(boolean calledExplicitly, boolean closeOpenResults) throws SQLException {
+        try {
+            this.delegate.realClose(calledExplicitly, closeOpenResults);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public QueryBindings<?> getQueryBindings() {
+        return this.delegate.getQueryBindings();
+    }
+
+    @Override
+    public byte[] getBytesRepresentation(int parameterIndex) throws SQLException {
+        try {
+            return this.delegate.getBytesRepresentation(parameterIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] getOrigBytes(int parameterIndex) throws SQLException {
+        try {
+            return this.delegate.getOrigBytes(parameterIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ParseInfo getParseInfo() {
+        return this.delegate.getParseInfo();
+    }
+
+    @Override
+    public boolean isNull(int paramIndex) throws SQLException {
+        try {
+            return this.delegate.isNull(paramIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getPreparedSql() {
+        return this.delegate.getPreparedSql();
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x, boolean checkForIntroducer, boolean escapeForMBChars) throws SQLException {
+        try {
+            this.delegate.setBytes(parameterIndex, x, checkForIntroducer, escapeForMBChars);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBytesNoEscape(int parameterIndex, byte[] parameterAsBytes) throws SQLException {
+        try {
+            this.delegate.setBytesNoEscape(parameterIndex, parameterAsBytes);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBytesNoEscapeNoQuotes(int parameterIndex, byte[] parameterAsBytes) throws SQLException {
+        try {
+            this.delegate.setBytesNoEscapeNoQuotes(parameterIndex, parameterAsBytes);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBigInteger(int parameterIndex, BigInteger x) throws SQLException {
+        try {
+            this.delegate.setBigInteger(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, MysqlType mysqlType) throws SQLException {
+        try {
+            this.delegate.setNull(parameterIndex, mysqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ParameterBindings getParameterBindings() throws SQLException {
+        try {
+            return (ParameterBindings) this.proxy.proxyIfReturnTypeIsJdbcInterface(ParameterBindings.class, this.delegate.getParameterBindings());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            ResultSet result = (ResultSet) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSet.class, this.delegate.executeQuery());
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int result = this.delegate.executeUpdate();
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        try {
+            this.delegate.setNull(parameterIndex, sqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        try {
+            this.delegate.setBoolean(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        try {
+            this.delegate.setByte(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        try {
+            this.delegate.setShort(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        try {
+            this.delegate.setInt(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        try {
+            this.delegate.setLong(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        try {
+            this.delegate.setFloat(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        try {
+            this.delegate.setDouble(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        try {
+            this.delegate.setBigDecimal(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        try {
+            this.delegate.setString(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        try {
+            this.delegate.setBytes(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        try {
+            this.delegate.setDate(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        try {
+            this.delegate.setTime(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        try {
+            this.delegate.setTimestamp(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.setAsciiStream(parameterIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Deprecated
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.setUnicodeStream(parameterIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.setBinaryStream(parameterIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        try {
+            this.delegate.clearParameters();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        try {
+            this.delegate.setObject(parameterIndex, x, targetSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        try {
+            this.delegate.setObject(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            boolean result = this.delegate.execute();
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        try {
+            this.delegate.addBatch();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        try {
+            this.delegate.setCharacterStream(parameterIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        try {
+            this.delegate.setRef(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        try {
+            this.delegate.setBlob(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        try {
+            this.delegate.setClob(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        try {
+            this.delegate.setArray(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        try {
+            return (ResultSetMetaData) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSetMetaData.class, this.delegate.getMetaData());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        try {
+            this.delegate.setDate(parameterIndex, x, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        try {
+            this.delegate.setTime(parameterIndex, x, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        try {
+            this.delegate.setTimestamp(parameterIndex, x, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        try {
+            this.delegate.setNull(parameterIndex, sqlType, typeName);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        try {
+            this.delegate.setURL(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        try {
+            return (ParameterMetaData) this.proxy.proxyIfReturnTypeIsJdbcInterface(ParameterMetaData.class, this.delegate.getParameterMetaData());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        try {
+            this.delegate.setRowId(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        try {
+            this.delegate.setNString(parameterIndex, value);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        try {
+            this.delegate.setNCharacterStream(parameterIndex, value, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        try {
+            this.delegate.setNClob(parameterIndex, value);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.setClob(parameterIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        try {
+            this.delegate.setBlob(parameterIndex, inputStream, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.setNClob(parameterIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        try {
+            this.delegate.setSQLXML(parameterIndex, xmlObject);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.setAsciiStream(parameterIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.setBinaryStream(parameterIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.setCharacterStream(parameterIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        try {
+            this.delegate.setAsciiStream(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        try {
+            this.delegate.setBinaryStream(parameterIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            this.delegate.setCharacterStream(parameterIndex, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        try {
+            this.delegate.setNCharacterStream(parameterIndex, value);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            this.delegate.setClob(parameterIndex, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        try {
+            this.delegate.setBlob(parameterIndex, inputStream);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        try {
+            this.delegate.setNClob(parameterIndex, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        try {
+            this.delegate.setObject(parameterIndex, x, targetSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long result = this.delegate.executeLargeUpdate();
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,2267 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.Session;
+import com.mysql.cj.WarningListener;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ResultsetRows;
+
+/**
+ * A result set bound to one of the connections of a {@link MultiHostConnectionProxy}. Calls are delegated to the underlying result set without reflection and
+ * without holding the proxy monitor, which is only needed to switch connections after an error.
+ * 
+ * Takes the place of {@link MultiHostConnectionProxy.JdbcInterfaceProxy} for {@link ResultSetImpl} instances. JDBC objects returned are wrapped by the proxy
+ * as well.
+ */
+class MultiHostResultSet implements ResultSetInternalMethods, WarningListener {
+    private final MultiHostConnectionProxy proxy;
+    private final ResultSetImpl delegate;
+
+    MultiHostResultSet(MultiHostConnectionProxy proxy, ResultSetImpl delegate) {
+        this.proxy = proxy;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.delegate.toString();
+    }
+
+    @Override
+    public Object getObjectStoredProc(int columnIndex, int desiredSqlType) throws SQLException {
+        try {
+            return this.delegate.getObjectStoredProc(columnIndex, desiredSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObjectStoredProc(int i, Map<Object, Object> map, int desiredSqlType) throws SQLException {
+        try {
+            return this.delegate.getObjectStoredProc(i, map, desiredSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObjectStoredProc(String columnName, int desiredSqlType) throws SQLException {
+        try {
+            return this.delegate.getObjectStoredProc(columnName, desiredSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObjectStoredProc(String colName, Map<Object, Object> map, int desiredSqlType) throws SQLException {
+        try {
+            return this.delegate.getObjectStoredProc(colName, map, desiredSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void realClose(boolean calledExplicitly) throws SQLException {
+        try {
+            this.delegate.realClose(calledExplicitly);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFirstCharOfQuery(char firstCharUpperCase) {
+        this.delegate.setFirstCharOfQuery(firstCharUpperCase);
+    }
+
+    @Override
+    public void setOwningStatement(JdbcStatement owningStatement) {
+        this.delegate.setOwningStatement(owningStatement);
+    }
+
+    @Override
+    public char getFirstCharOfQuery() {
+        return this.delegate.getFirstCharOfQuery();
+    }
+
+    @Override
+    public void setStatementUsedForFetchingRows(JdbcPreparedStatement stmt) {
+        this.delegate.setStatementUsedForFetchingRows(stmt);
+    }
+
+    @Override
+    public void setWrapperStatement(Statement wrapperStatement) {
+        this.delegate.setWrapperStatement(wrapperStatement);
+    }
+
+    @Override
+    public void initializeWithMetadata() throws SQLException {
+        try {
+            this.delegate.initializeWithMetadata();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void populateCachedMetaData(CachedResultSetMetaData cachedMetaData) throws SQLException {
+        try {
+            this.delegate.populateCachedMetaData(cachedMetaData);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BigInteger getBigInteger(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getBigInteger(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void warningEncountered(String warning) {
+        this.delegate.warningEncountered(warning);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        try {
+            return this.delegate.next();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.delegate.close();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        try {
+            return this.delegate.wasNull();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getString(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getBoolean(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getByte(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getShort(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getInt(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getLong(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getFloat(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getDouble(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        try {
+            return this.delegate.getBigDecimal(columnIndex, scale);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getBytes(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getDate(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getTime(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getTimestamp(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getAsciiStream(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getUnicodeStream(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getBinaryStream(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getString(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getBoolean(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getByte(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getShort(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getInt(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getLong(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getFloat(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getDouble(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        try {
+            return this.delegate.getBigDecimal(columnLabel, scale);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getBytes(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getDate(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getTime(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getTimestamp(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getAsciiStream(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getUnicodeStream(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getBinaryStream(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        try {
+            return this.delegate.getWarnings();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        try {
+            this.delegate.clearWarnings();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        try {
+            return this.delegate.getCursorName();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        try {
+            return (ResultSetMetaData) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSetMetaData.class, this.delegate.getMetaData());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getObject(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getObject(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.findColumn(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getCharacterStream(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getCharacterStream(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getBigDecimal(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getBigDecimal(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        try {
+            return this.delegate.isBeforeFirst();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        try {
+            return this.delegate.isAfterLast();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        try {
+            return this.delegate.isFirst();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        try {
+            return this.delegate.isLast();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        try {
+            this.delegate.beforeFirst();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        try {
+            this.delegate.afterLast();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        try {
+            return this.delegate.first();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        try {
+            return this.delegate.last();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        try {
+            return this.delegate.getRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        try {
+            return this.delegate.absolute(row);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        try {
+            return this.delegate.relative(rows);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        try {
+            return this.delegate.previous();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        try {
+            this.delegate.setFetchDirection(direction);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        try {
+            return this.delegate.getFetchDirection();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        try {
+            this.delegate.setFetchSize(rows);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        try {
+            return this.delegate.getFetchSize();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        try {
+            return this.delegate.getType();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        try {
+            return this.delegate.getConcurrency();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        try {
+            return this.delegate.rowUpdated();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        try {
+            return this.delegate.rowInserted();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        try {
+            return this.delegate.rowDeleted();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        try {
+            this.delegate.updateNull(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        try {
+            this.delegate.updateBoolean(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        try {
+            this.delegate.updateByte(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        try {
+            this.delegate.updateShort(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        try {
+            this.delegate.updateInt(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        try {
+            this.delegate.updateLong(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        try {
+            this.delegate.updateFloat(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        try {
+            this.delegate.updateDouble(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        try {
+            this.delegate.updateBigDecimal(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        try {
+            this.delegate.updateString(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        try {
+            this.delegate.updateBytes(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        try {
+            this.delegate.updateDate(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        try {
+            this.delegate.updateTime(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        try {
+            this.delegate.updateTimestamp(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.updateObject(columnIndex, x, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        try {
+            this.delegate.updateObject(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        try {
+            this.delegate.updateNull(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        try {
+            this.delegate.updateBoolean(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        try {
+            this.delegate.updateByte(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        try {
+            this.delegate.updateShort(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        try {
+            this.delegate.updateInt(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        try {
+            this.delegate.updateLong(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        try {
+            this.delegate.updateFloat(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        try {
+            this.delegate.updateDouble(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        try {
+            this.delegate.updateBigDecimal(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        try {
+            this.delegate.updateString(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        try {
+            this.delegate.updateBytes(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        try {
+            this.delegate.updateDate(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        try {
+            this.delegate.updateTime(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        try {
+            this.delegate.updateTimestamp(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnLabel, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnLabel, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnLabel, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.updateObject(columnLabel, x, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        try {
+            this.delegate.updateObject(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        try {
+            this.delegate.insertRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        try {
+            this.delegate.updateRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        try {
+            this.delegate.deleteRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        try {
+            this.delegate.refreshRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        try {
+            this.delegate.cancelRowUpdates();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        try {
+            this.delegate.moveToInsertRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        try {
+            this.delegate.moveToCurrentRow();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        try {
+            return (Statement) this.proxy.proxyIfReturnTypeIsJdbcInterface(Statement.class, this.delegate.getStatement());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        try {
+            return this.delegate.getObject(columnIndex, map);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        try {
+            return (Ref) this.proxy.proxyIfReturnTypeIsJdbcInterface(Ref.class, this.delegate.getRef(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        try {
+            return (Blob) this.proxy.proxyIfReturnTypeIsJdbcInterface(Blob.class, this.delegate.getBlob(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        try {
+            return (Clob) this.proxy.proxyIfReturnTypeIsJdbcInterface(Clob.class, this.delegate.getClob(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        try {
+            return (Array) this.proxy.proxyIfReturnTypeIsJdbcInterface(Array.class, this.delegate.getArray(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        try {
+            return this.delegate.getObject(columnLabel, map);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        try {
+            return (Ref) this.proxy.proxyIfReturnTypeIsJdbcInterface(Ref.class, this.delegate.getRef(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        try {
+            return (Blob) this.proxy.proxyIfReturnTypeIsJdbcInterface(Blob.class, this.delegate.getBlob(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        try {
+            return (Clob) this.proxy.proxyIfReturnTypeIsJdbcInterface(Clob.class, this.delegate.getClob(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        try {
+            return (Array) this.proxy.proxyIfReturnTypeIsJdbcInterface(Array.class, this.delegate.getArray(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getDate(columnIndex, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getDate(columnLabel, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getTime(columnIndex, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getTime(columnLabel, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getTimestamp(columnIndex, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        try {
+            return this.delegate.getTimestamp(columnLabel, cal);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getURL(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getURL(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        try {
+            this.delegate.updateRef(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        try {
+            this.delegate.updateRef(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        try {
+            this.delegate.updateClob(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        try {
+            this.delegate.updateClob(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        try {
+            this.delegate.updateArray(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        try {
+            this.delegate.updateArray(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        try {
+            return (RowId) this.proxy.proxyIfReturnTypeIsJdbcInterface(RowId.class, this.delegate.getRowId(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        try {
+            return (RowId) this.proxy.proxyIfReturnTypeIsJdbcInterface(RowId.class, this.delegate.getRowId(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        try {
+            this.delegate.updateRowId(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        try {
+            this.delegate.updateRowId(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        try {
+            return this.delegate.getHoldability();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        try {
+            return this.delegate.isClosed();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+        try {
+            this.delegate.updateNString(columnIndex, nString);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+        try {
+            this.delegate.updateNString(columnLabel, nString);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnIndex, nClob);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnLabel, nClob);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        try {
+            return (NClob) this.proxy.proxyIfReturnTypeIsJdbcInterface(NClob.class, this.delegate.getNClob(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        try {
+            return (NClob) this.proxy.proxyIfReturnTypeIsJdbcInterface(NClob.class, this.delegate.getNClob(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        try {
+            return (SQLXML) this.proxy.proxyIfReturnTypeIsJdbcInterface(SQLXML.class, this.delegate.getSQLXML(columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        try {
+            return (SQLXML) this.proxy.proxyIfReturnTypeIsJdbcInterface(SQLXML.class, this.delegate.getSQLXML(columnLabel));
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+        try {
+            this.delegate.updateSQLXML(columnIndex, xmlObject);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+        try {
+            this.delegate.updateSQLXML(columnLabel, xmlObject);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getNString(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getNString(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        try {
+            return this.delegate.getNCharacterStream(columnIndex);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        try {
+            return this.delegate.getNCharacterStream(columnLabel);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        try {
+            this.delegate.updateNCharacterStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateNCharacterStream(columnLabel, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnIndex, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnLabel, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnLabel, x, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnLabel, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnIndex, inputStream, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnLabel, inputStream, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateClob(columnIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateClob(columnLabel, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnIndex, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnLabel, reader, length);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        try {
+            this.delegate.updateNCharacterStream(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateNCharacterStream(columnLabel, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnIndex, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        try {
+            this.delegate.updateAsciiStream(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        try {
+            this.delegate.updateBinaryStream(columnLabel, x);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateCharacterStream(columnLabel, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnIndex, inputStream);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        try {
+            this.delegate.updateBlob(columnLabel, inputStream);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateClob(columnIndex, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateClob(columnLabel, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnIndex, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        try {
+            this.delegate.updateNClob(columnLabel, reader);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        try {
+            return this.delegate.getObject(columnIndex, type);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        try {
+            return this.delegate.getObject(columnLabel, type);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        try {
+            this.delegate.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+        try {
+            this.delegate.updateObject(columnIndex, x, targetSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
+        try {
+            this.delegate.updateObject(columnLabel, x, targetSqlType);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void closeOwner(boolean calledExplicitly) {
+        this.delegate.closeOwner(calledExplicitly);
+    }
+
+    @Override
+    public MysqlConnection getConnection() {
+        return this.delegate.getConnection();
+    }
+
+    @Override
+    public Session getSession() {
+        return this.delegate.getSession();
+    }
+
+    @Override
+    public Object getSyncMutex() {
+        return this.delegate.getSyncMutex();
+    }
+
+    @Override
+    public String getPointOfOrigin() {
+        return this.delegate.getPointOfOrigin();
+    }
+
+    @Override
+    public int getOwnerFetchSize() {
+        return this.delegate.getOwnerFetchSize();
+    }
+
+    @Override
+    public Query getOwningQuery() {
+        return this.delegate.getOwningQuery();
+    }
+
+    @Override
+    public int getOwningStatementMaxRows() {
+        return this.delegate.getOwningStatementMaxRows();
+    }
+
+    @Override
+    public int getOwningStatementFetchSize() {
+        return this.delegate.getOwningStatementFetchSize();
+    }
+
+    @Override
+    public long getOwningStatementServerId() {
+        return this.delegate.getOwningStatementServerId();
+    }
+
+    @Override
+    public void setColumnDefinition(ColumnDefinition metadata) {
+        this.delegate.setColumnDefinition(metadata);
+    }
+
+    @Override
+    public ColumnDefinition getColumnDefinition() {
+        return this.delegate.getColumnDefinition();
+    }
+
+    @Override
+    public boolean hasRows() {
+        return this.delegate.hasRows();
+    }
+
+    @Override
+    public ResultsetRows getRows() {
+        return this.delegate.getRows();
+    }
+
+    @Override
+    public void initRowsWithMetadata() {
+        this.delegate.initRowsWithMetadata();
+    }
+
+    @Override
+    public int getResultId() {
+        return this.delegate.getResultId();
+    }
+
+    @Override
+    public void setNextResultset(Resultset nextResultset) {
+        this.delegate.setNextResultset(nextResultset);
+    }
+
+    @Override
+    public Resultset getNextResultset() {
+        return this.delegate.getNextResultset();
+    }
+
+    @Override
+    public void clearNextResultset() {
+        this.delegate.clearNextResultset();
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return this.delegate.getUpdateCount();
+    }
+
+    @Override
+    public long getUpdateID() {
+        return this.delegate.getUpdateID();
+    }
+
+    @Override
+    public String getServerInfo() {
+        return this.delegate.getServerInfo();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        try {
+            return this.delegate.unwrap(iface);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        try {
+            return this.delegate.isWrapperFor(iface);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+}
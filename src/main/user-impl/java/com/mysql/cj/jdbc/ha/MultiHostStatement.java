@@ -0,0 +1,836 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.mysql.cj.CancelQueryTask;
+import com.mysql.cj.PingTarget;
+import com.mysql.cj.Query;
+import com.mysql.cj.Session;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.protocol.Message;
+import com.mysql.cj.protocol.ProtocolEntityFactory;
+import com.mysql.cj.protocol.Resultset;
+
+/**
+ * A statement bound to one of the connections of a {@link MultiHostConnectionProxy}. Calls are delegated to the underlying statement without reflection and
+ * without holding the proxy monitor, which is only needed to switch connections after an error.
+ * 
+ * Takes the place of {@link MultiHostConnectionProxy.JdbcInterfaceProxy} for {@link com.mysql.cj.jdbc.StatementImpl} instances. JDBC objects returned are
+ * wrapped by the proxy as well.
+ */
+class MultiHostStatement implements JdbcStatement {
+    final MultiHostConnectionProxy proxy;
+    private final JdbcStatement delegate;
+
+    MultiHostStatement(MultiHostConnectionProxy proxy, JdbcStatement delegate) {
+        this.proxy = proxy;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.delegate.toString();
+    }
+
+    @Override
+    public void enableStreamingResults() throws SQLException {
+        try {
+            this.delegate.enableStreamingResults();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void disableStreamingResults() throws SQLException {
+        try {
+            this.delegate.disableStreamingResults();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setLocalInfileInputStream(InputStream stream) {
+        this.delegate.setLocalInfileInputStream(stream);
+    }
+
+    @Override
+    public InputStream getLocalInfileInputStream() {
+        return this.delegate.getLocalInfileInputStream();
+    }
+
+    @Override
+    public void setPingTarget(PingTarget pingTarget) {
+        this.delegate.setPingTarget(pingTarget);
+    }
+
+    @Override
+    public ExceptionInterceptor getExceptionInterceptor() {
+        return this.delegate.getExceptionInterceptor();
+    }
+
+    @Override
+    public void removeOpenResultSet(ResultSetInternalMethods rs) {
+        this.delegate.removeOpenResultSet(rs);
+    }
+
+    @Override
+    public int getOpenResultSetCount() {
+        return this.delegate.getOpenResultSetCount();
+    }
+
+    @Override
+    public void setHoldResultsOpenOverClose(boolean holdResultsOpenOverClose) {
+        this.delegate.setHoldResultsOpenOverClose(holdResultsOpenOverClose);
+    }
+
+    @Override
+    public Query getQuery() {
+        return this.delegate.getQuery();
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            ResultSet result = (ResultSet) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSet.class, this.delegate.executeQuery(sql));
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int result = this.delegate.executeUpdate(sql);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.delegate.close();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        try {
+            return this.delegate.getMaxFieldSize();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        try {
+            this.delegate.setMaxFieldSize(max);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        try {
+            return this.delegate.getMaxRows();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        try {
+            this.delegate.setMaxRows(max);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        try {
+            this.delegate.setEscapeProcessing(enable);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        try {
+            return this.delegate.getQueryTimeout();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        try {
+            this.delegate.setQueryTimeout(seconds);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        try {
+            this.delegate.cancel();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        try {
+            return this.delegate.getWarnings();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        try {
+            this.delegate.clearWarnings();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        try {
+            this.delegate.setCursorName(name);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            boolean result = this.delegate.execute(sql);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        try {
+            return (ResultSet) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSet.class, this.delegate.getResultSet());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        try {
+            return this.delegate.getUpdateCount();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        try {
+            return this.delegate.getMoreResults();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        try {
+            this.delegate.setFetchDirection(direction);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        try {
+            return this.delegate.getFetchDirection();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        try {
+            this.delegate.setFetchSize(rows);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        try {
+            return this.delegate.getFetchSize();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        try {
+            return this.delegate.getResultSetConcurrency();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        try {
+            return this.delegate.getResultSetType();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        try {
+            this.delegate.addBatch(sql);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        try {
+            this.delegate.clearBatch();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int[] result = this.delegate.executeBatch();
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return (Connection) this.proxy.proxyIfReturnTypeIsJdbcInterface(Connection.class, this.delegate.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        try {
+            return this.delegate.getMoreResults(current);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        try {
+            return (ResultSet) this.proxy.proxyIfReturnTypeIsJdbcInterface(ResultSet.class, this.delegate.getGeneratedKeys());
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int result = this.delegate.executeUpdate(sql, autoGeneratedKeys);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int result = this.delegate.executeUpdate(sql, columnIndexes);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            int result = this.delegate.executeUpdate(sql, columnNames);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            boolean result = this.delegate.execute(sql, autoGeneratedKeys);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            boolean result = this.delegate.execute(sql, columnIndexes);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            boolean result = this.delegate.execute(sql, columnNames);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        try {
+            return this.delegate.getResultSetHoldability();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        try {
+            return this.delegate.isClosed();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        try {
+            this.delegate.setPoolable(poolable);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        try {
+            return this.delegate.isPoolable();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        try {
+            this.delegate.closeOnCompletion();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        try {
+            return this.delegate.isCloseOnCompletion();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        try {
+            return this.delegate.getLargeUpdateCount();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        try {
+            this.delegate.setLargeMaxRows(max);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        try {
+            return this.delegate.getLargeMaxRows();
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long[] result = this.delegate.executeLargeBatch();
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long result = this.delegate.executeLargeUpdate(sql);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long result = this.delegate.executeLargeUpdate(sql, autoGeneratedKeys);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long result = this.delegate.executeLargeUpdate(sql, columnIndexes);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        this.proxy.statementExecuting();
+        try {
+            long result = this.delegate.executeLargeUpdate(sql, columnNames);
+            this.proxy.statementExecuted();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getId() {
+        return this.delegate.getId();
+    }
+
+    @Override
+    public void setCancelStatus(Query.CancelStatus cs) {
+        this.delegate.setCancelStatus(cs);
+    }
+
+    @Override
+    public void checkCancelTimeout() {
+        this.delegate.checkCancelTimeout();
+    }
+
+    @Override
+    public <T extends Resultset, M extends Message> ProtocolEntityFactory<T, M> getResultSetFactory() {
+        return this.delegate.getResultSetFactory();
+    }
+
+    @Override
+    public Session getSession() {
+        return this.delegate.getSession();
+    }
+
+    @Override
+    public Object getCancelTimeoutMutex() {
+        return this.delegate.getCancelTimeoutMutex();
+    }
+
+    @Override
+    public void resetCancelledState() {
+        this.delegate.resetCancelledState();
+    }
+
+    @Override
+    public void closeQuery() {
+        this.delegate.closeQuery();
+    }
+
+    @Override
+    public void addBatch(Object batch) {
+        this.delegate.addBatch(batch);
+    }
+
+    @Override
+    public List<Object> getBatchedArgs() {
+        return this.delegate.getBatchedArgs();
+    }
+
+    @Override
+    public void clearBatchedArgs() {
+        this.delegate.clearBatchedArgs();
+    }
+
+    @Override
+    public int getResultFetchSize() {
+        return this.delegate.getResultFetchSize();
+    }
+
+    @Override
+    public void setResultFetchSize(int fetchSize) {
+        this.delegate.setResultFetchSize(fetchSize);
+    }
+
+    @Override
+    public Resultset.Type getResultType() {
+        return this.delegate.getResultType();
+    }
+
+    @Override
+    public void setResultType(Resultset.Type resultSetType) {
+        this.delegate.setResultType(resultSetType);
+    }
+
+    @Override
+    public int getTimeoutInMillis() {
+        return this.delegate.getTimeoutInMillis();
+    }
+
+    @Override
+    public void setTimeoutInMillis(int timeoutInMillis) {
+        this.delegate.setTimeoutInMillis(timeoutInMillis);
+    }
+
+    @Override
+    public void setExecuteTime(long executeTime) {
+        this.delegate.setExecuteTime(executeTime);
+    }
+
+    @Override
+    public long getExecuteTime() {
+        return this.delegate.getExecuteTime();
+    }
+
+    @Override
+    public CancelQueryTask startQueryTimer(Query stmtToCancel, int timeout) {
+        return this.delegate.startQueryTimer(stmtToCancel, timeout);
+    }
+
+    @Override
+    public AtomicBoolean getStatementExecuting() {
+        return this.delegate.getStatementExecuting();
+    }
+
+    @Override
+    public String getCurrentDatabase() {
+        return this.delegate.getCurrentDatabase();
+    }
+
+    @Override
+    public void setCurrentDatabase(String currentDb) {
+        this.delegate.setCurrentDatabase(currentDb);
+    }
+
+    @Override
+    public boolean isClearWarningsCalled() {
+        return this.delegate.isClearWarningsCalled();
+    }
+
+    @Override
+    public void setClearWarningsCalled(boolean clearWarningsCalled) {
+        this.delegate.setClearWarningsCalled(clearWarningsCalled);
+    }
+
+    @Override
+    public void statementBegins() {
+        this.delegate.statementBegins();
+    }
+
+    @Override
+    public void stopQueryTimer(CancelQueryTask timeoutTask, boolean rethrowCancelReason, boolean checkCancelTimeout) {
+        this.delegate.stopQueryTimer(timeoutTask, rethrowCancelReason, checkCancelTimeout);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        try {
+            return this.delegate.unwrap(iface);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        try {
+            return this.delegate.isWrapperFor(iface);
+        } catch (SQLException | RuntimeException e) {
+            this.proxy.dealWithException(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.mysql.cj.jdbc.ha.HostHealthRegistry.HostHealth;
+
+/**
+ * Picks two distinct hosts at random and routes the transaction to the one with the lowest expected cost, as given by the in-flight transactions, response
+ * time average and error rate kept in {@link HostHealthRegistry}.
+ * 
+ * Comparing only two random hosts keeps the load spread like the "random" strategy does, while steering away from hosts that are busy or slow for all
+ * connections in the VM.
+ */
+public class PowerOfTwoChoicesBalanceStrategy extends HostHealthBalanceStrategy {
+
+    public PowerOfTwoChoicesBalanceStrategy() {
+    }
+
+    @Override
+    protected String chooseHost(List<String> candidates) {
+        int numHosts = candidates.size();
+        if (numHosts == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(numHosts);
+        int second = random.nextInt(numHosts - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        HostHealth firstHealth = HostHealthRegistry.getHostHealth(candidates.get(first));
+        HostHealth secondHealth = HostHealthRegistry.getHostHealth(candidates.get(second));
+
+        // a host without measured response time is assumed to be as fast as the other one
+        double firstLatency = firstHealth.getLatencyEwma();
+        double secondLatency = secondHealth.getLatencyEwma();
+        double firstCost = firstHealth.getCost(secondLatency);
+        double secondCost = secondHealth.getCost(firstLatency);
+
+        return secondCost < firstCost ? candidates.get(second) : candidates.get(first);
+    }
+}
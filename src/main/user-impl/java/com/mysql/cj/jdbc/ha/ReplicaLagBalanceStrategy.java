@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.lang.reflect.InvocationHandler;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.jdbc.ConnectionImpl;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * A balance strategy for the replica hosts of replication-aware connections that routes transactions according to the replication lag of each replica, as
+ * measured by a {@link ReplicaLagMonitor}.
+ * 
+ * Replicas ejected by the monitor, including the ones whose replication is stopped, are not used. The other ones are picked at random, with a weight that
+ * decreases linearly as their lag approaches the maximum lag allowed. Replicas whose lag is unknown get the lowest weight. If all replicas are ejected, the
+ * least lagging one whose lag is known is used.
+ */
+public class ReplicaLagBalanceStrategy extends HostHealthBalanceStrategy {
+    /** Weight of the replicas lagging right at the maximum lag allowed, so that they still get some traffic. */
+    private static final double MIN_WEIGHT = 0.05;
+
+    private final String groupName;
+    private final int maxLag;
+    private final int checkInterval;
+    private final String lagQuery;
+    private String monitorKey = null;
+    /** Replicas ejected for this strategy's maximum lag, when it differs from the one of the shared monitor. */
+    private final Set<String> ejectedHosts = ConcurrentHashMap.newKeySet();
+    ReplicaLagMonitor monitor = null;
+
+    /**
+     * Constructs a replica lag balance strategy.
+     * 
+     * @param groupName
+     *            the replication connection group, whose connections share the lag monitor, or null
+     * @param maxLag
+     *            the maximum replication lag allowed, in milliseconds; 0 disables monitoring and all replicas are picked with the same weight
+     * @param checkInterval
+     *            the time between checks of the replication lag, in milliseconds
+     * @param lagQuery
+     *            the query that returns the replication lag in milliseconds, or null for the default one
+     */
+    public ReplicaLagBalanceStrategy(String groupName, int maxLag, int checkInterval, String lagQuery) {
+        this.groupName = groupName;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public ConnectionImpl pickConnection(InvocationHandler proxy, List<String> configuredHosts, Map<String, JdbcConnection> liveConnections,
+            long[] responseTimes, int numRetries) throws SQLException {
+        if (this.maxLag > 0) {
+            LoadBalancedConnectionProxy lbProxy = (LoadBalancedConnectionProxy) proxy;
+            if (this.monitorKey == null) {
+                this.monitorKey = StringUtils.isNullOrEmpty(this.groupName) ? getMonitorKey(lbProxy, configuredHosts) : this.groupName;
+            }
+            if (this.monitor == null || this.monitor.isStopped()) {
+                this.monitor = ReplicaLagMonitor.getInstance(this.monitorKey, this.maxLag, this.checkInterval, this.lagQuery);
+            }
+            for (String host : configuredHosts) {
+                HostInfo hostInfo = lbProxy.getHostInfo(host);
+                if (hostInfo != null) {
+                    this.monitor.monitor(hostInfo);
+                }
+            }
+        }
+        return super.pickConnection(proxy, configuredHosts, liveConnections, responseTimes, numRetries);
+    }
+
+    /**
+     * Connections without replication connection group share the lag monitor with the connections of the same user to the same replicas.
+     */
+    private static String getMonitorKey(LoadBalancedConnectionProxy proxy, List<String> configuredHosts) {
+        List<String> hosts = new ArrayList<>(configuredHosts);
+        hosts.sort(null);
+        HostInfo hostInfo = hosts.isEmpty() ? null : proxy.getHostInfo(hosts.get(0));
+        return (hostInfo == null ? "" : hostInfo.getUser()) + "@" + hosts;
+    }
+
+    @Override
+    protected String chooseHost(List<String> candidates) {
+        ReplicaLagMonitor lagMonitor = this.monitor;
+        if (lagMonitor == null) {
+            return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        }
+
+        double[] weights = new double[candidates.size()];
+        double totalWeight = 0;
+        String leastLagging = null;
+        long leastLag = Long.MAX_VALUE;
+        for (int i = 0; i < weights.length; i++) {
+            String host = candidates.get(i);
+            long lag = lagMonitor.getLag(host);
+            if (lag >= 0 && lag < leastLag) {
+                leastLag = lag;
+                leastLagging = host;
+            }
+            if (!isEjected(lagMonitor, host, lag)) {
+                // replicas whose lag is unknown, e.g. not measured yet or unreachable, get as little traffic as the most lagging ones
+                weights[i] = lag < 0 ? MIN_WEIGHT : Math.max(1 - (double) lag / this.maxLag, MIN_WEIGHT);
+                totalWeight += weights[i];
+            }
+        }
+
+        if (totalWeight == 0) {
+            return leastLagging != null ? leastLagging : candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        }
+        double random = ThreadLocalRandom.current().nextDouble(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            random -= weights[i];
+            if (weights[i] > 0 && random < 0) {
+                return candidates.get(i);
+            }
+        }
+        return leastLagging != null ? leastLagging : candidates.get(0); // rounding errors only
+    }
+
+    /**
+     * Checks if the given replica is ejected for this strategy's maximum lag. A shared monitor started with another maximum lag only provides the lag
+     * measurements, ejection and readmission are then tracked here, with the same rules.
+     */
+    private boolean isEjected(ReplicaLagMonitor lagMonitor, String host, long lag) {
+        if (lagMonitor.getMaxLag() == this.maxLag) {
+            return lagMonitor.isEjected(host);
+        }
+        if (lag > this.maxLag) {
+            this.ejectedHosts.add(host);
+        } else if (lag >= 0 && lag <= this.maxLag / 2) {
+            this.ejectedHosts.remove(host);
+        }
+        return this.ejectedHosts.contains(host);
+    }
+}
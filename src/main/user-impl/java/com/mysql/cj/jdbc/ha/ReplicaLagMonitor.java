@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.ConnectionImpl;
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * Monitors the replication lag of a set of replica hosts, as configured by 'replicationMaxReplicaLag'. A background task checks each replica periodically
+ * over its own connection, ejecting the ones that lag behind more than the maximum lag allowed and readmitting them once their lag drops to half of it.
+ * 
+ * Monitors are shared driver-wide: there is one for each replication connection group or, for connections without group, for each user and set of replica
+ * hosts. A monitor stops by itself when no connection used it for a while.
+ */
+class ReplicaLagMonitor implements Runnable {
+    /**
+     * The replication lag, in milliseconds, of the most lagging replication channel. 0 if the server isn't a replica, NULL if the receiver or the applier of
+     * any channel is stopped.
+     * 
+     * The applier lags behind when the last transaction queued in the relay log isn't applied yet, since the original commit of the oldest transaction being
+     * applied or, if none is, of the last transaction queued. The receiver lags behind when neither transactions nor heartbeats were received from the source
+     * for longer than twice the heartbeat interval.
+     */
+    static final String DEFAULT_LAG_QUERY = "SELECT IF(SUM(c.SERVICE_STATE <> 'ON' OR a.SERVICE_STATE <> 'ON') > 0, NULL, IFNULL(MAX(GREATEST("
+            + "IF(c.LAST_QUEUED_TRANSACTION = '' OR w.APPLIED >= c.LAST_QUEUED_TRANSACTION_ORIGINAL_COMMIT_TIMESTAMP, 0, "
+            + "TIMESTAMPDIFF(MICROSECOND, IFNULL(w.APPLYING, c.LAST_QUEUED_TRANSACTION_ORIGINAL_COMMIT_TIMESTAMP), NOW(6))), "
+            + "IF(f.HEARTBEAT_INTERVAL > 0 AND GREATEST(c.LAST_HEARTBEAT_TIMESTAMP, c.LAST_QUEUED_TRANSACTION_END_QUEUE_TIMESTAMP) > 0, "
+            + "TIMESTAMPDIFF(MICROSECOND, GREATEST(c.LAST_HEARTBEAT_TIMESTAMP, c.LAST_QUEUED_TRANSACTION_END_QUEUE_TIMESTAMP), NOW(6)) "
+            + "- f.HEARTBEAT_INTERVAL * 2000000, 0))), 0)) / 1000 "
+            + "FROM performance_schema.replication_connection_status c "
+            + "JOIN performance_schema.replication_connection_configuration f USING (CHANNEL_NAME) "
+            + "JOIN performance_schema.replication_applier_status a USING (CHANNEL_NAME) "
+            + "LEFT JOIN (SELECT CHANNEL_NAME, MAX(LAST_APPLIED_TRANSACTION_ORIGINAL_COMMIT_TIMESTAMP) AS APPLIED, "
+            + "MIN(IF(APPLYING_TRANSACTION = '', NULL, APPLYING_TRANSACTION_ORIGINAL_COMMIT_TIMESTAMP)) AS APPLYING "
+            + "FROM performance_schema.replication_applier_status_by_worker GROUP BY CHANNEL_NAME) w USING (CHANNEL_NAME)";
+
+    /** The lag recorded for replicas whose replication is stopped, so that they are ejected until they catch up again. */
+    static final long STOPPED = Long.MAX_VALUE;
+
+    private static final long MIN_IDLE_TIMEOUT_MILLIS = 60000;
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(2, r -> {
+        Thread t = new Thread(r, "mysql-cj-replica-lag-monitor");
+        t.setDaemon(true);
+        ClassLoader classLoader = ReplicaLagMonitor.class.getClassLoader();
+        t.setContextClassLoader(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        return t;
+    });
+
+    static {
+        EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    private static final ConcurrentHashMap<String, ReplicaLagMonitor> MONITORS = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final int maxLag;
+    private final int checkInterval;
+    private final String lagQuery;
+    private final long idleTimeoutMillis;
+    private final ConcurrentHashMap<String, Replica> replicas = new ConcurrentHashMap<>();
+    private final AtomicLong ejections = new AtomicLong();
+    private final AtomicLong readmissions = new AtomicLong();
+    private final ScheduledFuture<?> future;
+    private volatile long lastUsed = System.currentTimeMillis();
+    private volatile boolean stopped = false;
+
+    private ReplicaLagMonitor(String key, int maxLag, int checkInterval, String lagQuery) {
+        this.key = key;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.lagQuery = StringUtils.isNullOrEmpty(lagQuery) ? DEFAULT_LAG_QUERY : lagQuery;
+        this.idleTimeoutMillis = Math.max(MIN_IDLE_TIMEOUT_MILLIS, 10L * checkInterval);
+        this.future = EXECUTOR.scheduleWithFixedDelay(this, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the monitor with the given key, creating and starting it if needed. The settings of an existing monitor are kept, connections using another
+     * maximum lag only take its lag measurements and apply their own maximum lag (see {@link ReplicaLagBalanceStrategy}).
+     * 
+     * @param key
+     *            the replication connection group name, or another key identifying the set of replica hosts
+     * @param maxLag
+     *            the maximum replication lag allowed, in milliseconds
+     * @param checkInterval
+     *            the time between checks, in milliseconds
+     * @param lagQuery
+     *            the query that returns the replication lag in milliseconds, or null for the default one
+     * @return the monitor
+     */
+    static ReplicaLagMonitor getInstance(String key, int maxLag, int checkInterval, String lagQuery) {
+        ReplicaLagMonitor monitor = MONITORS.get(key);
+        return monitor != null ? monitor : MONITORS.computeIfAbsent(key, k -> new ReplicaLagMonitor(k, maxLag, checkInterval, lagQuery));
+    }
+
+    /**
+     * Get the running monitor with the given key.
+     * 
+     * @param key
+     *            the replication connection group name, or another key identifying the set of replica hosts
+     * @return the monitor or null if there is none
+     */
+    static ReplicaLagMonitor getMonitor(String key) {
+        return MONITORS.get(key);
+    }
+
+    /**
+     * Starts monitoring the given replica, if not done yet, and keeps it monitored for a while.
+     * 
+     * @param hostInfo
+     *            the replica host
+     */
+    void monitor(HostInfo hostInfo) {
+        long now = System.currentTimeMillis();
+        this.lastUsed = now;
+        Replica replica = this.replicas.get(hostInfo.getHostPortPair());
+        if (replica == null) {
+            replica = this.replicas.computeIfAbsent(hostInfo.getHostPortPair(), k -> new Replica(hostInfo));
+        }
+        replica.lastUsed = now;
+    }
+
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        if (now - this.lastUsed > this.idleTimeoutMillis) {
+            stop();
+            return;
+        }
+
+        for (Replica replica : this.replicas.values()) {
+            if (now - replica.lastUsed > this.idleTimeoutMillis) {
+                this.replicas.remove(replica.hostInfo.getHostPortPair(), replica);
+                replica.closeConnection();
+            } else {
+                check(replica);
+            }
+        }
+    }
+
+    private void check(Replica replica) {
+        long lag;
+        try {
+            if (replica.connection == null || replica.connection.isClosed()) {
+                replica.connection = (ConnectionImpl) ConnectionImpl.getInstance(getMonitoringHostInfo(replica.hostInfo));
+            }
+            try (Statement stmt = replica.connection.createStatement(); ResultSet rs = stmt.executeQuery(this.lagQuery)) {
+                if (rs.next()) {
+                    double value = rs.getDouble(1);
+                    lag = rs.wasNull() ? STOPPED : Math.max(Math.round(value), 0);
+                } else {
+                    lag = 0;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            replica.lag = -1; // unknown, leave it to the load-balanced connections to deal with unreachable hosts
+            replica.closeConnection();
+            return;
+        }
+        updateLag(replica, lag);
+    }
+
+    /**
+     * Records the replication lag measured on the given replica, ejecting or readmitting it as needed.
+     * 
+     * @param hostPortPair
+     *            the "host:port" of a monitored replica
+     * @param lag
+     *            the lag in milliseconds, or {@link #STOPPED}
+     */
+    void updateLag(String hostPortPair, long lag) {
+        Replica replica = this.replicas.get(hostPortPair);
+        if (replica != null) {
+            updateLag(replica, lag);
+        }
+    }
+
+    private void updateLag(Replica replica, long lag) {
+        replica.lag = lag;
+        if (!replica.ejected && replica.lag > this.maxLag) {
+            replica.ejected = true;
+            this.ejections.incrementAndGet();
+        } else if (replica.ejected && replica.lag <= this.maxLag / 2) {
+            replica.ejected = false;
+            this.readmissions.incrementAndGet();
+        }
+    }
+
+    /**
+     * The monitoring connections must not wait for longer than the check interval.
+     * 
+     * @param hostInfo
+     *            the replica host
+     * @return a copy of the host with short connect and socket timeouts
+     */
+    private HostInfo getMonitoringHostInfo(HostInfo hostInfo) {
+        Map<String, String> props = new HashMap<>(hostInfo.getHostProperties());
+        String timeout = String.valueOf(Math.max(this.checkInterval, 1000));
+        props.put(PropertyKey.connectTimeout.getKeyName(), timeout);
+        props.put(PropertyKey.socketTimeout.getKeyName(), timeout);
+        return new HostInfo(null, hostInfo.getHost(), hostInfo.getPort(), hostInfo.getUser(), hostInfo.getPassword(), hostInfo.isPasswordless(), props);
+    }
+
+    /**
+     * Stops the background task and closes the monitoring connections. The next {@link #getInstance(String, int, int, String)} creates a new monitor.
+     */
+    void stop() {
+        this.stopped = true;
+        this.future.cancel(false);
+        MONITORS.remove(this.key, this);
+        for (Replica replica : this.replicas.values()) {
+            replica.closeConnection();
+        }
+    }
+
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    int getMaxLag() {
+        return this.maxLag;
+    }
+
+    /**
+     * Get the last replication lag measured on the given replica.
+     * 
+     * @param hostPortPair
+     *            the "host:port" of the replica
+     * @return the lag in milliseconds, -1 if unknown, or {@link #STOPPED} if its replication is stopped
+     */
+    long getLag(String hostPortPair) {
+        Replica replica = this.replicas.get(hostPortPair);
+        return replica == null ? -1 : replica.lag;
+    }
+
+    /**
+     * Checks if the given replica is ejected because of its replication lag.
+     * 
+     * @param hostPortPair
+     *            the "host:port" of the replica
+     * @return true if the replica shouldn't be used
+     */
+    boolean isEjected(String hostPortPair) {
+        Replica replica = this.replicas.get(hostPortPair);
+        return replica != null && replica.ejected;
+    }
+
+    /**
+     * Get the last replication lag measured on each monitored replica.
+     * 
+     * @return a map of "host:port" to lag in milliseconds, -1 if unknown, or {@link #STOPPED}
+     */
+    Map<String, Long> getLags() {
+        Map<String, Long> lags = new TreeMap<>();
+        for (Replica replica : this.replicas.values()) {
+            lags.put(replica.hostInfo.getHostPortPair(), replica.lag);
+        }
+        return Collections.unmodifiableMap(lags);
+    }
+
+    /**
+     * Get the replicas currently ejected because of their replication lag.
+     * 
+     * @return a set of "host:port"
+     */
+    Set<String> getEjectedReplicas() {
+        Set<String> ejected = new TreeSet<>();
+        for (Replica replica : this.replicas.values()) {
+            if (replica.ejected) {
+                ejected.add(replica.hostInfo.getHostPortPair());
+            }
+        }
+        return Collections.unmodifiableSet(ejected);
+    }
+
+    long getEjectionCount() {
+        return this.ejections.get();
+    }
+
+    long getReadmissionCount() {
+        return this.readmissions.get();
+    }
+
+    private static class Replica {
+        final HostInfo hostInfo;
+        volatile long lastUsed;
+        volatile long lag = -1;
+        volatile boolean ejected = false;
+        ConnectionImpl connection = null; // only used by the monitor task
+
+        Replica(HostInfo hostInfo) {
+            this.hostInfo = hostInfo;
+        }
+
+        void closeConnection() {
+            ConnectionImpl conn = this.connection;
+            this.connection = null;
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+}
@@ -31,10 +31,13 @@ package com.mysql.cj.jdbc.ha;
 
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Group of connection objects which can be configured as a group. This is used for promotion/demotion of replicas and sources in a replication configuration,
@@ -47,6 +50,8 @@ public class ReplicationConnectionGroup {
     private long replicasRemoved = 0;
     private long replicasPromoted = 0;
     private long activeConnections = 0;
+    private AtomicLong readOnlyReplicaSwitches = new AtomicLong();
+    private AtomicLong readOnlySourceSwitches = new AtomicLong();
     private HashMap<Long, ReplicationConnection> replicationConnections = new HashMap<>();
     private Set<String> replicaHostList = new CopyOnWriteArraySet<>();
     private boolean isInitialized = false;
@@ -411,6 +416,54 @@ public class ReplicationConnectionGroup {
         return this.activeConnections;
     }
 
+    /**
+     * Counts a switch of a connection of this group to read-only state.
+     * 
+     * @param usingReplicas
+     *            whether the connection uses the replica hosts in read-only state or keeps using the source hosts
+     */
+    void readOnlySwitched(boolean usingReplicas) {
+        (usingReplicas ? this.readOnlyReplicaSwitches : this.readOnlySourceSwitches).incrementAndGet();
+    }
+
+    public long getReadOnlyReplicaSwitchCount() {
+        return this.readOnlyReplicaSwitches.get();
+    }
+
+    public long getReadOnlySourceSwitchCount() {
+        return this.readOnlySourceSwitches.get();
+    }
+
+    /**
+     * Get the last replication lag measured on each replica of this group, if 'replicationMaxReplicaLag' is enabled.
+     * 
+     * @return a map of "host:port" to lag in milliseconds, -1 if unknown, {@link Long#MAX_VALUE} if the replication of the replica is stopped
+     */
+    public Map<String, Long> getReplicaLags() {
+        ReplicaLagMonitor monitor = ReplicaLagMonitor.getMonitor(this.groupName);
+        return monitor == null ? Collections.emptyMap() : monitor.getLags();
+    }
+
+    /**
+     * Get the replicas of this group that are currently not used because of their replication lag.
+     * 
+     * @return a set of "host:port"
+     */
+    public Set<String> getLagEjectedReplicas() {
+        ReplicaLagMonitor monitor = ReplicaLagMonitor.getMonitor(this.groupName);
+        return monitor == null ? Collections.emptySet() : monitor.getEjectedReplicas();
+    }
+
+    public long getReplicaLagEjectionCount() {
+        ReplicaLagMonitor monitor = ReplicaLagMonitor.getMonitor(this.groupName);
+        return monitor == null ? 0 : monitor.getEjectionCount();
+    }
+
+    public long getReplicaLagReadmissionCount() {
+        ReplicaLagMonitor monitor = ReplicaLagMonitor.getMonitor(this.groupName);
+        return monitor == null ? 0 : monitor.getReadmissionCount();
+    }
+
     @Override
     public String toString() {
         return "ReplicationConnectionGroup[groupName=" + this.groupName + ",sourceHostList=" + this.sourceHostList + ",replicaHostList=" + this.replicaHostList
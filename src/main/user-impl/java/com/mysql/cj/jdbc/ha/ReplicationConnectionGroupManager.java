@@ -34,7 +34,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 public class ReplicationConnectionGroupManager {
     private static HashMap<String, ReplicationConnectionGroup> GROUP_MAP = new HashMap<>();
@@ -380,4 +383,58 @@ public class ReplicationConnectionGroupManager {
         }
         return connections;
     }
+
+    public static long getReadOnlyReplicaSwitchCount(String group) {
+        long switches = 0;
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            switches += cg.getReadOnlyReplicaSwitchCount();
+        }
+        return switches;
+    }
+
+    public static long getReadOnlySourceSwitchCount(String group) {
+        long switches = 0;
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            switches += cg.getReadOnlySourceSwitchCount();
+        }
+        return switches;
+    }
+
+    public static Map<String, Long> getReplicaLags(String group) {
+        Map<String, Long> lags = new TreeMap<>();
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            lags.putAll(cg.getReplicaLags());
+        }
+        return lags;
+    }
+
+    public static Collection<String> getLagEjectedReplicas(String group) {
+        Set<String> hosts = new TreeSet<>();
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            hosts.addAll(cg.getLagEjectedReplicas());
+        }
+        return hosts;
+    }
+
+    public static long getReplicaLagEjectionCount(String group) {
+        long ejections = 0;
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            ejections += cg.getReplicaLagEjectionCount();
+        }
+        return ejections;
+    }
+
+    public static long getReplicaLagReadmissionCount(String group) {
+        long readmissions = 0;
+        Collection<ReplicationConnectionGroup> s = getGroupsMatching(group);
+        for (ReplicationConnectionGroup cg : s) {
+            readmissions += cg.getReplicaLagReadmissionCount();
+        }
+        return readmissions;
+    }
 }
@@ -31,13 +31,20 @@ package com.mysql.cj.jdbc.ha;
 
 import static com.mysql.cj.util.StringUtils.isNullOrEmpty;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.PingTarget;
@@ -48,9 +55,13 @@ import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.url.LoadBalanceConnectionUrl;
 import com.mysql.cj.conf.url.ReplicationConnectionUrl;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.JdbcStatement;
 import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.NativeServerSession;
+import com.mysql.cj.util.GtidSet;
 
 /**
  * Connection that opens two connections, one two a replication source, and another to one or more replicas, and decides to use source when the connection is
@@ -58,6 +69,12 @@ import com.mysql.cj.jdbc.exceptions.SQLError;
  * read-only, and use replica(s) when the connection is read-only.
  */
 public class ReplicationConnectionProxy extends MultiHostConnectionProxy implements PingTarget {
+    private static final int MAX_WRITTEN_GTID_INTERVALS = 1024;
+    private static final Set<String> STATEMENT_CREATION_METHODS = new HashSet<>(
+            Arrays.asList("createStatement", "prepareStatement", "prepareCall", "clientPrepareStatement", "serverPrepareStatement"));
+    private static final Set<String> REPLICATION_CONNECTION_METHODS = Arrays.stream(ReplicationConnection.class.getDeclaredMethods()).map(Method::getName)
+            .collect(Collectors.toSet());
+
     private ReplicationConnection thisAsReplicationConnection;
 
     protected boolean enableJMX = false;
@@ -65,7 +82,19 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
     protected boolean allowReplicaDownConnections = false;
     protected boolean readFromSourceWhenNoReplicas = false;
     protected boolean readFromSourceWhenNoReplicasOriginal = false;
-    protected boolean readOnly = false;
+    protected volatile boolean readOnly = false;
+    protected boolean readYourWrites = false;
+    private int readYourWritesTimeout = 0;
+
+    /** GTIDs of the transactions committed through the sources connection, as reported in session_track_gtids, and not yet applied by all replicas. */
+    private GtidSet writtenGtids = new GtidSet(MAX_WRITTEN_GTID_INTERVALS);
+    /** Incremented whenever new GTIDs are added to writtenGtids. */
+    private long writtenGtidsVersion = 0;
+    /** The version of writtenGtids each replica host was last found to have applied. */
+    private Map<String, Long> replicaAppliedGtidsVersions = new HashMap<>();
+
+    private long readOnlyReplicaSwitches = 0;
+    private long readOnlySourceSwitches = 0;
 
     ReplicationConnectionGroup connectionGroup;
     private long connectionGroupID = -1;
@@ -87,8 +116,7 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
      */
     public static ReplicationConnection createProxyInstance(ConnectionUrl connectionUrl) throws SQLException {
         ReplicationConnectionProxy connProxy = new ReplicationConnectionProxy(connectionUrl);
-        return (ReplicationConnection) java.lang.reflect.Proxy.newProxyInstance(ReplicationConnection.class.getClassLoader(),
-                new Class<?>[] { ReplicationConnection.class, JdbcConnection.class }, connProxy);
+        return (ReplicationConnection) connProxy.thisAsMultiHostConnection;
     }
 
     /**
@@ -143,6 +171,15 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
                     new Object[] { readFromSourceWhenNoReplicasAsString }), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, null);
         }
 
+        this.readYourWrites = Boolean.parseBoolean(props.getProperty(PropertyKey.replicationReadYourWrites.getKeyName(), "false"));
+        String readYourWritesTimeoutAsString = props.getProperty(PropertyKey.replicationReadYourWritesTimeout.getKeyName(), "0");
+        try {
+            this.readYourWritesTimeout = Integer.parseInt(readYourWritesTimeoutAsString);
+        } catch (NumberFormatException e) {
+            throw SQLError.createSQLException(Messages.getString("ReplicationConnectionProxy.badValueForReplicationReadYourWritesTimeout",
+                    new Object[] { readYourWritesTimeoutAsString }), MysqlErrorNumbers.SQL_STATE_ILLEGAL_ARGUMENT, null);
+        }
+
         String group = props.getProperty(PropertyKey.replicationConnectionGroup.getKeyName(), null);
         if (!isNullOrEmpty(group) && ReplicationConnectionUrl.class.isAssignableFrom(connectionUrl.getClass())) {
             this.connectionGroup = ReplicationConnectionGroupManager.getConnectionGroupInstance(group);
@@ -210,6 +247,11 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
         return new ReplicationMySQLConnection(this);
     }
 
+    @Override
+    JdbcConnection getNewMultiHostConnection() {
+        return new ReplicationMultiHostConnection(this);
+    }
+
     /**
      * Propagates the connection proxy down through all live connections.
      * 
@@ -317,27 +359,29 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
     }
 
     /**
-     * Proxies method invocation on the java.sql.Connection interface.
-     * This is the continuation of MultiHostConnectionProxy#invoke(Object, Method, Object[]).
+     * Calls a method of the connection wrapper.
+     * This is the continuation of MultiHostConnectionProxy#invokeConnection(String, boolean, ConnectionCall).
      */
     @Override
-    Object invokeMore(Object proxy, Method method, Object[] args) throws Throwable {
-        checkConnectionCapabilityForMethod(method);
+    <T> T invokeMore(String methodName, boolean throwsSQLException, ConnectionCall<T> call) throws SQLException {
+        checkConnectionCapabilityForMethod(methodName);
+
+        if (this.readYourWrites && this.readOnly && STATEMENT_CREATION_METHODS.contains(methodName)) {
+            // the replicas connection may have moved to another replica since it was checked
+            synchronized (this) {
+                switchToSourcesIfReplicaIsBehind();
+            }
+        }
 
         boolean invokeAgain = false;
         while (true) {
             try {
-                Object result = method.invoke(this.thisAsConnection, args);
-                if (result != null && result instanceof JdbcStatement) {
-                    ((JdbcStatement) result).setPingTarget(this);
-                }
-                return result;
-            } catch (InvocationTargetException e) {
+                return call.call(this.thisAsConnection);
+            } catch (SQLException e) {
                 if (invokeAgain) {
                     invokeAgain = false;
-                } else if (e.getCause() != null && e.getCause() instanceof SQLException
-                        && ((SQLException) e.getCause()).getSQLState() == MysqlErrorNumbers.SQL_STATE_INVALID_TRANSACTION_STATE
-                        && ((SQLException) e.getCause()).getErrorCode() == MysqlErrorNumbers.ERROR_CODE_NULL_LOAD_BALANCED_CONNECTION) {
+                } else if (e.getSQLState() == MysqlErrorNumbers.SQL_STATE_INVALID_TRANSACTION_STATE
+                        && e.getErrorCode() == MysqlErrorNumbers.ERROR_CODE_NULL_LOAD_BALANCED_CONNECTION) {
                     try {
                         // Try to re-establish the connection with the last known read-only state.
                         setReadOnly(this.readOnly);
@@ -353,18 +397,26 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
         }
     }
 
+    @Override
+    Object proxyConnectionResult(Class<?> returnType, Object result) {
+        if (result instanceof JdbcStatement) {
+            ((JdbcStatement) result).setPingTarget(this);
+        }
+        return result;
+    }
+
     /**
      * Checks if this connection is in a state capable to invoke the provided method. If the connection is in an inconsistent state, i.e. it has no hosts for
      * both sub-connections, then throw an invalid transaction state exception. Nevertheless, the methods defined in the ReplicationConnection interface will be
      * allowed as they are the only way to leave from an empty hosts lists situation.
      * 
-     * @param method
-     *            method
-     * @throws Throwable
+     * @param methodName
+     *            The name of the method.
+     * @throws SQLException
      *             if an error occurs
      */
-    private void checkConnectionCapabilityForMethod(Method method) throws Throwable {
-        if (this.sourceHosts.isEmpty() && this.replicaHosts.isEmpty() && !ReplicationConnection.class.isAssignableFrom(method.getDeclaringClass())) {
+    private void checkConnectionCapabilityForMethod(String methodName) throws SQLException {
+        if (this.sourceHosts.isEmpty() && this.replicaHosts.isEmpty() && !REPLICATION_CONNECTION_METHODS.contains(methodName)) {
             throw SQLError.createSQLException(Messages.getString("ReplicationConnectionProxy.noHostsInconsistentState"),
                     MysqlErrorNumbers.SQL_STATE_INVALID_TRANSACTION_STATE, MysqlErrorNumbers.ERROR_CODE_REPLICATION_CONNECTION_WITH_NO_HOSTS, true, null);
         }
@@ -433,20 +485,132 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
     }
 
     private JdbcConnection initializeSourceConnection() throws SQLException {
+        if (this.readYourWrites) {
+            collectWrittenGtids(); // from the connections being replaced
+        }
         this.sourceConnection = null;
 
         if (this.sourceHosts.size() == 0) {
             return null;
         }
 
-        LoadBalancedConnection newSourceConn = LoadBalancedConnectionProxy
-                .createProxyInstance(new LoadBalanceConnectionUrl(this.sourceHosts, this.connectionUrl.getOriginalProperties()));
+        List<HostInfo> hosts = this.sourceHosts;
+        Map<String, String> props = this.connectionUrl.getOriginalProperties();
+        if (this.readYourWrites) {
+            // have the sources report the GTIDs of the transactions committed
+            hosts = hosts.stream().map(hi -> new HostInfo(this.connectionUrl, hi.getHost(), hi.getPort(), hi.getUser(), hi.getPassword(), hi.isPasswordless(),
+                    getReadYourWritesProperties(hi.getHostProperties()))).collect(Collectors.toList());
+            props = getReadYourWritesProperties(props);
+        }
+        LoadBalancedConnection newSourceConn = LoadBalancedConnectionProxy.createProxyInstance(new LoadBalanceConnectionUrl(hosts, props));
         newSourceConn.setProxy(getProxy());
 
         this.sourceConnection = newSourceConn;
         return this.sourceConnection;
     }
 
+    /**
+     * Adds to the given connection properties the ones needed to track the GTIDs of the transactions committed, for 'replicationReadYourWrites'.
+     * 
+     * @param props
+     *            The connection properties.
+     * @return
+     *         A copy of the connection properties, with 'trackSessionState' enabled and 'session_track_gtids' added to 'sessionVariables'.
+     */
+    private static Map<String, String> getReadYourWritesProperties(Map<String, String> props) {
+        Map<String, String> newProps = new HashMap<>(props);
+        newProps.put(PropertyKey.trackSessionState.getKeyName(), "true");
+        String sessionVariables = props.get(PropertyKey.sessionVariables.getKeyName());
+        newProps.put(PropertyKey.sessionVariables.getKeyName(),
+                isNullOrEmpty(sessionVariables) ? "session_track_gtids=OWN_GTID" : sessionVariables + ",session_track_gtids=OWN_GTID");
+        return newProps;
+    }
+
+    /**
+     * Adds the GTIDs reported by the physical connections of the sources connection since the last time to the GTIDs written through this connection. All of
+     * them are checked, as the sources connection may have switched hosts since.
+     */
+    private void collectWrittenGtids() {
+        if (!(this.sourceConnection instanceof LoadBalancedMultiHostConnection)) {
+            return;
+        }
+        for (ConnectionImpl conn : ((LoadBalancedMultiHostConnection) this.sourceConnection).getThisAsProxy().getLiveConnections()) {
+            ServerSession serverSession = conn.getSession().getServerSession();
+            if (serverSession instanceof NativeServerSession && this.writtenGtids.addAll(((NativeServerSession) serverSession).takeReportedGtids())) {
+                this.writtenGtidsVersion++;
+            }
+        }
+    }
+
+    /**
+     * Checks if the replicas connection can be used in read-only state without losing read-your-writes consistency, as required by
+     * 'replicationReadYourWrites'. The check is done on the replica the replicas connection is currently using, which the load balancer may change at any
+     * transaction boundary, so it must be repeated whenever that replica may have changed.
+     * 
+     * @return
+     *         false if the replica in use hasn't applied, or couldn't be confirmed to have applied, all the transactions committed through the sources
+     *         connection
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private boolean replicasHaveAppliedWrites() throws SQLException {
+        collectWrittenGtids();
+        if (this.writtenGtids.isEmpty()) {
+            return true;
+        }
+
+        if (this.replicasConnection == null || this.replicasConnection.isClosed()) {
+            try {
+                if (initializeReplicasConnection() == null) {
+                    return true; // nothing to check, no replicas to switch to
+                }
+            } catch (SQLException e) {
+                return true; // let the usual switch deal with it
+            }
+        }
+
+        String replicaHost = this.replicasConnection.getHostPortPair();
+        Long appliedVersion = this.replicaAppliedGtidsVersions.get(replicaHost);
+        if (appliedVersion != null && appliedVersion == this.writtenGtidsVersion) {
+            return true;
+        }
+
+        String gtidSet = this.writtenGtids.toString();
+        String probe = this.readYourWritesTimeout > 0
+                ? "SELECT WAIT_FOR_EXECUTED_GTID_SET('" + gtidSet + "', " + this.readYourWritesTimeout / 1000.0 + ") = 0"
+                : "SELECT GTID_SUBSET('" + gtidSet + "', @@GLOBAL.gtid_executed)";
+        boolean applied = false;
+        try (Statement stmt = this.replicasConnection.createStatement(); ResultSet rs = stmt.executeQuery(probe)) {
+            applied = rs.next() && rs.getBoolean(1);
+        } catch (SQLException e) {
+            // keep reading from the sources
+        }
+        if (applied) {
+            Long version = this.writtenGtidsVersion;
+            this.replicaAppliedGtidsVersions.put(replicaHost, version);
+            if (this.replicaHosts.stream().allMatch(hi -> version.equals(this.replicaAppliedGtidsVersions.get(hi.getHostPortPair())))) {
+                // every replica has applied them, no need to check them anymore
+                this.writtenGtids.clear();
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Switches from the replicas connection to the sources connection, in read-only state, if the replica currently in use hasn't applied the transactions
+     * committed through the sources connection yet. Only an open sources connection is used, otherwise the replica is kept.
+     * 
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void switchToSourcesIfReplicaIsBehind() throws SQLException {
+        if (isReplicasConnection() && !this.currentConnection.isClosed() && this.sourceConnection != null && !this.sourceConnection.isClosed()
+                && !replicasHaveAppliedWrites()) {
+            switchToSourceConnection();
+            this.currentConnection.setReadOnly(true);
+        }
+    }
+
     private JdbcConnection initializeReplicasConnection() throws SQLException {
         this.replicasConnection = null;
 
@@ -454,8 +618,15 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
             return null;
         }
 
-        LoadBalancedConnection newReplicasConn = LoadBalancedConnectionProxy
-                .createProxyInstance(new LoadBalanceConnectionUrl(this.replicaHosts, this.connectionUrl.getOriginalProperties()));
+        Map<String, String> props = this.connectionUrl.getOriginalProperties();
+        String maxReplicaLag = props.get(PropertyKey.replicationMaxReplicaLag.getKeyName());
+        if (!isNullOrEmpty(maxReplicaLag) && !"0".equals(maxReplicaLag.trim()) && !props.containsKey(PropertyKey.ha_loadBalanceStrategy.getKeyName())
+                && !props.containsKey(PropertyKey.ha_loadBalanceStrategy.getCcAlias())) {
+            // route the transactions to the replicas according to their replication lag, unless another balance strategy was chosen
+            props = new HashMap<>(props);
+            props.put(PropertyKey.ha_loadBalanceStrategy.getKeyName(), "replicaLag");
+        }
+        LoadBalancedConnection newReplicasConn = LoadBalancedConnectionProxy.createProxyInstance(new LoadBalanceConnectionUrl(this.replicaHosts, props));
         newReplicasConn.setProxy(getProxy());
         newReplicasConn.setReadOnly(true);
 
@@ -512,8 +683,9 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
         return false;
     }
 
-    public synchronized JdbcConnection getCurrentConnection() {
-        return this.currentConnection == null ? LoadBalancedConnectionProxy.getNullLoadBalancedConnectionInstance() : this.currentConnection;
+    public JdbcConnection getCurrentConnection() {
+        JdbcConnection conn = this.currentConnection;
+        return conn == null ? LoadBalancedConnectionProxy.getNullLoadBalancedConnectionInstance() : conn;
     }
 
     public long getConnectionGroupId() {
@@ -798,8 +970,11 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
     }
 
     public synchronized void setReadOnly(boolean readOnly) throws SQLException {
+        boolean wasReadOnly = this.readOnly;
         if (readOnly) {
-            if (!isReplicasConnection() || this.currentConnection.isClosed()) {
+            if (this.readYourWrites && isSourceConnection() && !this.currentConnection.isClosed() && !replicasHaveAppliedWrites()) {
+                // keep using the sources connection, in read-only state, until the replicas catch up
+            } else if (!isReplicasConnection() || this.currentConnection.isClosed()) {
                 boolean switched = true;
                 SQLException exceptionCaught = null;
                 try {
@@ -814,6 +989,9 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
                 if (exceptionCaught != null) {
                     throw exceptionCaught;
                 }
+            } else if (this.readYourWrites) {
+                // already using the replicas connection, possibly on another replica than the one last checked
+                switchToSourcesIfReplicaIsBehind();
             }
         } else {
             if (!isSourceConnection() || this.currentConnection.isClosed()) {
@@ -836,12 +1014,33 @@ public class ReplicationConnectionProxy extends MultiHostConnectionProxy impleme
         this.readOnly = readOnly;
 
         /*
-         * Reset sources connection read-only state if 'readFromSourceWhenNoReplicas=true'. If there are no replicas then the sources connection will be used
-         * with read-only state in its place. Even if not, it must be reset from a possible previous read-only state.
+         * Reset sources connection read-only state if 'readFromSourceWhenNoReplicas=true' or 'replicationReadYourWrites=true'. If there are no replicas, or
+         * they aren't up to date, then the sources connection will be used with read-only state in their place. Even if not, it must be reset from a possible
+         * previous read-only state.
          */
-        if (this.readFromSourceWhenNoReplicas && isSourceConnection()) {
+        if ((this.readFromSourceWhenNoReplicas || this.readYourWrites) && isSourceConnection()) {
             this.currentConnection.setReadOnly(this.readOnly);
         }
+
+        if (readOnly && !wasReadOnly) {
+            boolean usingReplicas = isReplicasConnection();
+            if (usingReplicas) {
+                this.readOnlyReplicaSwitches++;
+            } else {
+                this.readOnlySourceSwitches++;
+            }
+            if (this.connectionGroup != null) {
+                this.connectionGroup.readOnlySwitched(usingReplicas);
+            }
+        }
+    }
+
+    public synchronized long getReadOnlyReplicaSwitchCount() {
+        return this.readOnlyReplicaSwitches;
+    }
+
+    public synchronized long getReadOnlySourceSwitchCount() {
+        return this.readOnlySourceSwitches;
     }
 
     public boolean isReadOnly() throws SQLException {
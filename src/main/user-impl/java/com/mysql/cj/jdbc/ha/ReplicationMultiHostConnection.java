@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.sql.SQLException;
+
+import com.mysql.cj.jdbc.JdbcConnection;
+
+/**
+ * The {@link ReplicationConnection} handed to the application by a {@link ReplicationConnectionProxy}, see {@link MultiHostConnection}.
+ */
+class ReplicationMultiHostConnection extends MultiHostConnection implements ReplicationConnection {
+    ReplicationMultiHostConnection(ReplicationConnectionProxy proxy) {
+        super(proxy);
+    }
+
+    @Override
+    public long getConnectionGroupId() {
+        return invokeUnchecked("getConnectionGroupId", conn -> ((ReplicationConnection) conn).getConnectionGroupId());
+    }
+
+    @Override
+    public JdbcConnection getCurrentConnection() {
+        return wrap(JdbcConnection.class, invokeUnchecked("getCurrentConnection", conn -> ((ReplicationConnection) conn).getCurrentConnection()));
+    }
+
+    @Override
+    public JdbcConnection getSourceConnection() {
+        return wrap(JdbcConnection.class, invokeUnchecked("getSourceConnection", conn -> ((ReplicationConnection) conn).getSourceConnection()));
+    }
+
+    @Override
+    public void promoteReplicaToSource(String host) throws SQLException {
+        run("promoteReplicaToSource", conn -> ((ReplicationConnection) conn).promoteReplicaToSource(host));
+    }
+
+    @Override
+    public void removeSourceHost(String host) throws SQLException {
+        run("removeSourceHost", conn -> ((ReplicationConnection) conn).removeSourceHost(host));
+    }
+
+    @Override
+    public void removeSourceHost(String host, boolean waitUntilNotInUse) throws SQLException {
+        run("removeSourceHost", conn -> ((ReplicationConnection) conn).removeSourceHost(host, waitUntilNotInUse));
+    }
+
+    @Override
+    public boolean isHostSource(String host) {
+        return invokeUnchecked("isHostSource", conn -> ((ReplicationConnection) conn).isHostSource(host));
+    }
+
+    @Override
+    public JdbcConnection getReplicaConnection() {
+        return wrap(JdbcConnection.class, invokeUnchecked("getReplicaConnection", conn -> ((ReplicationConnection) conn).getReplicaConnection()));
+    }
+
+    @Override
+    public void addReplicaHost(String host) throws SQLException {
+        run("addReplicaHost", conn -> ((ReplicationConnection) conn).addReplicaHost(host));
+    }
+
+    @Override
+    public void removeReplica(String host) throws SQLException {
+        run("removeReplica", conn -> ((ReplicationConnection) conn).removeReplica(host));
+    }
+
+    @Override
+    public void removeReplica(String host, boolean closeGently) throws SQLException {
+        run("removeReplica", conn -> ((ReplicationConnection) conn).removeReplica(host, closeGently));
+    }
+
+    @Override
+    public boolean isHostReplica(String host) {
+        return invokeUnchecked("isHostReplica", conn -> ((ReplicationConnection) conn).isHostReplica(host));
+    }
+
+    @Override
+    public long getReadOnlyReplicaSwitchCount() {
+        return invokeUnchecked("getReadOnlyReplicaSwitchCount", conn -> ((ReplicationConnection) conn).getReadOnlyReplicaSwitchCount());
+    }
+
+    @Override
+    public long getReadOnlySourceSwitchCount() {
+        return invokeUnchecked("getReadOnlySourceSwitchCount", conn -> ((ReplicationConnection) conn).getReadOnlySourceSwitchCount());
+    }
+}
@@ -50,7 +50,7 @@ public class ReplicationMySQLConnection extends MultiHostMySQLConnection impleme
 
     @Override
     public JdbcConnection getActiveMySQLConnection() {
-        return getCurrentConnection();
+        return getThisAsProxy().getCurrentConnection();
     }
 
     @Override
@@ -131,6 +131,16 @@ public class ReplicationMySQLConnection extends MultiHostMySQLConnection impleme
         return getThisAsProxy().isHostReplica(host);
     }
 
+    @Override
+    public long getReadOnlyReplicaSwitchCount() {
+        return getThisAsProxy().getReadOnlyReplicaSwitchCount();
+    }
+
+    @Override
+    public long getReadOnlySourceSwitchCount() {
+        return getThisAsProxy().getReadOnlySourceSwitchCount();
+    }
+
     @Override
     public void setReadOnly(boolean readOnlyFlag) throws SQLException {
         getThisAsProxy().setReadOnly(readOnlyFlag);
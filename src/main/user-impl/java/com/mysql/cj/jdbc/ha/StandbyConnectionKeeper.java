@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.jdbc.ConnectionImpl;
+
+/**
+ * Keeps a "hot" standby connection for a {@link FailoverConnectionProxy}: a background task opens a connection to the host the proxy would fail over to and
+ * pings it periodically, so that failing over only has to take it.
+ * 
+ * The number of standby connections to each host is capped driver-wide. The task only holds a weak reference to the proxy and closes the standby connection
+ * once the proxy is gone.
+ */
+class StandbyConnectionKeeper implements Runnable {
+    private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(4, r -> {
+        Thread t = new Thread(r, "mysql-cj-failover-standby");
+        t.setDaemon(true);
+        ClassLoader classLoader = StandbyConnectionKeeper.class.getClassLoader();
+        t.setContextClassLoader(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        return t;
+    });
+
+    static {
+        EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    /** Number of standby connections to each "host:port". */
+    private static final ConcurrentHashMap<String, AtomicInteger> STANDBYS_PER_HOST = new ConcurrentHashMap<>();
+
+    private final WeakReference<FailoverConnectionProxy> proxyRef;
+    private final int maxPerHost;
+    private final ScheduledFuture<?> future;
+
+    // guarded by this
+    private ConnectionImpl connection = null;
+    private HostInfo host = null;
+    private boolean closed = false;
+
+    /**
+     * Constructs a keeper for the given proxy and schedules its task, the first run being immediate.
+     * 
+     * @param proxy
+     *            the failover connection
+     * @param pingIntervalMillis
+     *            how often the standby connection is checked
+     * @param maxPerHost
+     *            the maximum number of standby connections to any host
+     */
+    StandbyConnectionKeeper(FailoverConnectionProxy proxy, int pingIntervalMillis, int maxPerHost) {
+        this.proxyRef = new WeakReference<>(proxy);
+        this.maxPerHost = maxPerHost;
+        this.future = EXECUTOR.scheduleWithFixedDelay(this, 0, pingIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the number of standby connections currently open to the given host.
+     * 
+     * @param hostPortPair
+     *            the "host:port"
+     * @return the number of connections
+     */
+    static int getStandbyCount(String hostPortPair) {
+        AtomicInteger count = STANDBYS_PER_HOST.get(hostPortPair);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void run() {
+        FailoverConnectionProxy proxy = this.proxyRef.get();
+        if (proxy == null) {
+            close();
+            return;
+        }
+        HostInfo target = proxy.getStandbyHost();
+
+        ConnectionImpl current;
+        HostInfo currentHost;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            current = this.connection;
+            currentHost = this.host;
+        }
+        proxy = null; // don't keep the proxy reachable while connecting
+
+        if (current != null) {
+            if (target == currentHost) {
+                try {
+                    current.pingInternal(true, 0);
+                    return;
+                } catch (Exception e) {
+                    // replace it
+                }
+            }
+            if (take(currentHost) == current) {
+                closeQuietly(current);
+            }
+        }
+
+        if (target == null) {
+            return;
+        }
+        AtomicInteger count = STANDBYS_PER_HOST.computeIfAbsent(target.getHostPortPair(), k -> new AtomicInteger());
+        if (count.incrementAndGet() > this.maxPerHost) {
+            count.decrementAndGet();
+            return;
+        }
+        ConnectionImpl conn;
+        try {
+            conn = (ConnectionImpl) ConnectionImpl.getInstance(target);
+        } catch (SQLException | RuntimeException e) {
+            count.decrementAndGet();
+            return;
+        }
+        synchronized (this) {
+            if (!this.closed && this.connection == null) {
+                this.connection = conn;
+                this.host = target;
+                return;
+            }
+        }
+        count.decrementAndGet();
+        closeQuietly(conn);
+    }
+
+    /**
+     * Checks the standby connection as soon as possible instead of waiting for the next scheduled run, e.g., because the host to fail over to changed.
+     */
+    void refresh() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+        }
+        EXECUTOR.execute(this);
+    }
+
+    /**
+     * Takes the standby connection, if there is one to the given host. The connection no longer counts as a standby connection.
+     * 
+     * @param hostInfo
+     *            the host
+     * @return the standby connection or null
+     */
+    synchronized ConnectionImpl take(HostInfo hostInfo) {
+        if (this.connection == null || this.host != hostInfo) {
+            return null;
+        }
+        ConnectionImpl conn = this.connection;
+        STANDBYS_PER_HOST.get(this.host.getHostPortPair()).decrementAndGet();
+        this.connection = null;
+        this.host = null;
+        return conn;
+    }
+
+    /**
+     * Stops the background task and closes the standby connection, if any.
+     */
+    void close() {
+        this.future.cancel(false);
+        ConnectionImpl conn;
+        synchronized (this) {
+            this.closed = true;
+            conn = take(this.host);
+        }
+        if (conn != null) {
+            closeQuietly(conn);
+        }
+    }
+
+    private static void closeQuietly(ConnectionImpl conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+}
@@ -31,6 +31,7 @@ package com.mysql.cj.jdbc.jmx;
 
 import java.lang.management.ManagementFactory;
 import java.sql.SQLException;
+import java.util.Map;
 
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
@@ -148,4 +149,52 @@ public class ReplicationGroupManager implements ReplicationGroupManagerMBean {
         return ReplicationConnectionGroupManager.getActiveConnectionCount(group);
     }
 
+    @Override
+    public long getReadOnlyReplicaSwitchCount(String group) {
+        return ReplicationConnectionGroupManager.getReadOnlyReplicaSwitchCount(group);
+    }
+
+    @Override
+    public long getReadOnlySourceSwitchCount(String group) {
+        return ReplicationConnectionGroupManager.getReadOnlySourceSwitchCount(group);
+    }
+
+    @Override
+    public String getReplicaLagsList(String group) {
+        StringBuilder sb = new StringBuilder("");
+        boolean found = false;
+        for (Map.Entry<String, Long> lag : ReplicationConnectionGroupManager.getReplicaLags(group).entrySet()) {
+            if (found) {
+                sb.append(",");
+            }
+            found = true;
+            sb.append(lag.getKey()).append("=").append(lag.getValue());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String getLagEjectedReplicasList(String group) {
+        StringBuilder sb = new StringBuilder("");
+        boolean found = false;
+        for (String host : ReplicationConnectionGroupManager.getLagEjectedReplicas(group)) {
+            if (found) {
+                sb.append(",");
+            }
+            found = true;
+            sb.append(host);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public long getReplicaLagEjectionCount(String group) {
+        return ReplicationConnectionGroupManager.getReplicaLagEjectionCount(group);
+    }
+
+    @Override
+    public long getReplicaLagReadmissionCount(String group) {
+        return ReplicationConnectionGroupManager.getReplicaLagReadmissionCount(group);
+    }
+
 }
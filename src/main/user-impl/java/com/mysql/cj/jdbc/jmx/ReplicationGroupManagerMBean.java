@@ -182,4 +182,59 @@ public interface ReplicationGroupManagerMBean {
 
     long getActiveLogicalConnectionCount(String group);
 
+    /**
+     * Get the number of times connections of the group were set to read-only state and used the replica hosts.
+     * 
+     * @param group
+     *            group
+     * @return count
+     */
+    long getReadOnlyReplicaSwitchCount(String group);
+
+    /**
+     * Get the number of times connections of the group were set to read-only state but kept using the source hosts, e.g., because the replicas hadn't
+     * applied their writes yet.
+     * 
+     * @param group
+     *            group
+     * @return count
+     */
+    long getReadOnlySourceSwitchCount(String group);
+
+    /**
+     * Get the last replication lag measured on each replica of the group, if 'replicationMaxReplicaLag' is enabled.
+     * 
+     * @param group
+     *            group
+     * @return comma separated list of "host:port=lag", in milliseconds, -1 if unknown, 9223372036854775807 if replication is stopped
+     */
+    String getReplicaLagsList(String group);
+
+    /**
+     * Get the replicas of the group that are currently not used because of their replication lag.
+     * 
+     * @param group
+     *            group
+     * @return replica hosts
+     */
+    String getLagEjectedReplicasList(String group);
+
+    /**
+     * Get the number of times replicas of the group were ejected because of their replication lag.
+     * 
+     * @param group
+     *            group
+     * @return count
+     */
+    long getReplicaLagEjectionCount(String group);
+
+    /**
+     * Get the number of times replicas of the group were readmitted after their replication lag dropped.
+     * 
+     * @param group
+     *            group
+     * @return count
+     */
+    long getReplicaLagReadmissionCount(String group);
+
 }
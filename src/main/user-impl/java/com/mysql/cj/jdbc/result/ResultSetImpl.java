@@ -63,6 +63,7 @@ import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TimeZone;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.MysqlType;
@@ -197,6 +198,8 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     private ValueFactory<Double> doubleValueFactory;
     private ValueFactory<BigDecimal> bigDecimalValueFactory;
     private ValueFactory<InputStream> binaryStreamValueFactory;
+    private ValueFactory<String> stringValueFactory;
+    private ValueFactory<Date> defaultDateValueFactory;
     private ValueFactory<Time> defaultTimeValueFactory;
     private ValueFactory<Timestamp> defaultTimestampValueFactory;
 
@@ -210,6 +213,13 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     private ValueFactory<OffsetDateTime> defaultOffsetDateTimeValueFactory;
     private ValueFactory<ZonedDateTime> defaultZonedDateTimeValueFactory;
 
+    // value factories for getBigDecimal(int, int) and the Calendar-taking getters, kept for the last scale or Calendar used
+    private int scaledBigDecimalScale;
+    private ValueFactory<BigDecimal> scaledBigDecimalValueFactory;
+    private CalendarValueFactory<Date> calendarDateValueFactory;
+    private CalendarValueFactory<Time> calendarTimeValueFactory;
+    private CalendarValueFactory<Timestamp> calendarTimestampValueFactory;
+
     protected RuntimeProperty<Boolean> emulateLocators;
     protected boolean yearIsDateType = true;
 
@@ -275,7 +285,9 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         this.doubleValueFactory = new DoubleValueFactory(pset);
         this.bigDecimalValueFactory = new BigDecimalValueFactory(pset);
         this.binaryStreamValueFactory = new BinaryStreamValueFactory(pset);
+        this.stringValueFactory = new StringValueFactory(pset);
 
+        this.defaultDateValueFactory = new SqlDateValueFactory(pset, null, this.session.getServerSession().getDefaultTimeZone(), this);
         this.defaultTimeValueFactory = new SqlTimeValueFactory(pset, null, this.session.getServerSession().getDefaultTimeZone(), this);
         this.defaultTimestampValueFactory = new SqlTimestampValueFactory(pset, null, this.session.getServerSession().getDefaultTimeZone(),
                 this.session.getServerSession().getSessionTimeZone());
@@ -639,9 +651,11 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
         checkRowPos();
         checkColumnBounds(columnIndex);
-        ValueFactory<BigDecimal> vf = new BigDecimalValueFactory(this.session.getPropertySet(), scale);
-        vf.setPropertySet(this.connection.getPropertySet());
-        return this.thisRow.getValue(columnIndex - 1, vf);
+        if (this.scaledBigDecimalValueFactory == null || this.scaledBigDecimalScale != scale) {
+            this.scaledBigDecimalValueFactory = new BigDecimalValueFactory(this.connection.getPropertySet(), scale);
+            this.scaledBigDecimalScale = scale;
+        }
+        return this.thisRow.getValue(columnIndex - 1, this.scaledBigDecimalValueFactory);
     }
 
     @Override
@@ -767,16 +781,21 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     public Date getDate(int columnIndex) throws SQLException {
         checkRowPos();
         checkColumnBounds(columnIndex);
-        return this.thisRow.getValue(columnIndex - 1,
-                new SqlDateValueFactory(this.session.getPropertySet(), null, this.session.getServerSession().getDefaultTimeZone(), this));
+        return this.thisRow.getValue(columnIndex - 1, this.defaultDateValueFactory);
     }
 
     @Override
     public Date getDate(int columnIndex, Calendar cal) throws SQLException {
         checkRowPos();
         checkColumnBounds(columnIndex);
-        return this.thisRow.getValue(columnIndex - 1, new SqlDateValueFactory(this.session.getPropertySet(), cal,
-                cal != null ? cal.getTimeZone() : this.session.getServerSession().getDefaultTimeZone(), this));
+        if (cal == null) {
+            return this.thisRow.getValue(columnIndex - 1, this.defaultDateValueFactory);
+        }
+        if (this.calendarDateValueFactory == null || !this.calendarDateValueFactory.isFor(cal)) {
+            this.calendarDateValueFactory = new CalendarValueFactory<>(cal,
+                    new SqlDateValueFactory(this.session.getPropertySet(), cal, cal.getTimeZone(), this));
+        }
+        return this.thisRow.getValue(columnIndex - 1, this.calendarDateValueFactory.valueFactory);
     }
 
     @Override
@@ -865,8 +884,7 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         checkColumnBounds(columnIndex);
 
         Field f = this.columnDefinition.getFields()[columnIndex - 1];
-        ValueFactory<String> vf = new StringValueFactory(this.session.getPropertySet());
-        String stringVal = this.thisRow.getValue(columnIndex - 1, vf);
+        String stringVal = this.thisRow.getValue(columnIndex - 1, this.stringValueFactory);
 
         if (this.padCharsWithSpace && stringVal != null && f.getMysqlTypeId() == MysqlType.FIELD_TYPE_STRING) {
             int maxBytesPerChar = this.session.getServerSession().getMaxBytesPerChar(f.getCollationIndex(), f.getEncoding());
@@ -911,9 +929,13 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     public Time getTime(int columnIndex, Calendar cal) throws SQLException {
         checkRowPos();
         checkColumnBounds(columnIndex);
-        ValueFactory<Time> vf = new SqlTimeValueFactory(this.session.getPropertySet(), cal,
-                cal != null ? cal.getTimeZone() : this.session.getServerSession().getDefaultTimeZone());
-        return this.thisRow.getValue(columnIndex - 1, vf);
+        if (cal == null) {
+            return this.thisRow.getValue(columnIndex - 1, this.defaultTimeValueFactory);
+        }
+        if (this.calendarTimeValueFactory == null || !this.calendarTimeValueFactory.isFor(cal)) {
+            this.calendarTimeValueFactory = new CalendarValueFactory<>(cal, new SqlTimeValueFactory(this.session.getPropertySet(), cal, cal.getTimeZone()));
+        }
+        return this.thisRow.getValue(columnIndex - 1, this.calendarTimeValueFactory.valueFactory);
     }
 
     @Override
@@ -961,9 +983,14 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
     public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
         checkRowPos();
         checkColumnBounds(columnIndex);
-        ValueFactory<Timestamp> vf = new SqlTimestampValueFactory(this.session.getPropertySet(), cal, this.session.getServerSession().getDefaultTimeZone(),
-                this.session.getServerSession().getSessionTimeZone());
-        return this.thisRow.getValue(columnIndex - 1, vf);
+        if (cal == null) {
+            return this.thisRow.getValue(columnIndex - 1, this.defaultTimestampValueFactory);
+        }
+        if (this.calendarTimestampValueFactory == null || !this.calendarTimestampValueFactory.isFor(cal)) {
+            this.calendarTimestampValueFactory = new CalendarValueFactory<>(cal, new SqlTimestampValueFactory(this.session.getPropertySet(), cal,
+                    this.session.getServerSession().getDefaultTimeZone(), this.session.getServerSession().getSessionTimeZone()));
+        }
+        return this.thisRow.getValue(columnIndex - 1, this.calendarTimestampValueFactory.valueFactory);
     }
 
     @Override
@@ -2673,4 +2700,26 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         return this.connection != null ? this.connection.getConnectionMutex() : null;
     }
 
+    /**
+     * A value factory built for a caller-supplied {@link Calendar}. Value factories clone the Calendar they are given, so the cached one is reused only
+     * while the caller keeps passing the same Calendar instance with an unchanged time zone.
+     *
+     * @param <T>
+     *            value type
+     */
+    private static class CalendarValueFactory<T> {
+        private final Calendar calendar;
+        private final TimeZone timeZone;
+        final ValueFactory<T> valueFactory;
+
+        CalendarValueFactory(Calendar calendar, ValueFactory<T> valueFactory) {
+            this.calendar = calendar;
+            this.timeZone = (TimeZone) calendar.getTimeZone().clone();
+            this.valueFactory = valueFactory;
+        }
+
+        boolean isFor(Calendar cal) {
+            return this.calendar == cal && this.timeZone.equals(cal.getTimeZone());
+        }
+    }
 }
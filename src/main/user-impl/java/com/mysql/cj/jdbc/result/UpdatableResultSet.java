@@ -74,10 +74,83 @@ import com.mysql.cj.util.StringUtils;
 /**
  * A result set that is updatable.
  */
-public class UpdatableResultSet extends ResultSetImpl {
+public class UpdatableResultSet extends ResultSetImpl implements PendingRowChanges {
     /** Marker for 'stream' data when doing INSERT rows */
     final static byte[] STREAM_DATA_MARKER = StringUtils.getBytes("** STREAM DATA **");
 
+    private static class GeneratedStatements implements UpdatableResultSetStatements {
+        private final String updateSQL;
+        private final String insertSQL;
+        private final String refreshSQL;
+        private final String deleteSQL;
+        private final String qualifiedAndQuotedTableName;
+        private final List<Integer> primaryKeyIndicies;
+        private final Map<String, Map<String, Map<String, Integer>>> databasesUsedToTablesUsed;
+
+        GeneratedStatements(String updateSQL, String insertSQL, String refreshSQL, String deleteSQL, String qualifiedAndQuotedTableName,
+                List<Integer> primaryKeyIndicies, Map<String, Map<String, Map<String, Integer>>> databasesUsedToTablesUsed) {
+            this.updateSQL = updateSQL;
+            this.insertSQL = insertSQL;
+            this.refreshSQL = refreshSQL;
+            this.deleteSQL = deleteSQL;
+            this.qualifiedAndQuotedTableName = qualifiedAndQuotedTableName;
+            this.primaryKeyIndicies = primaryKeyIndicies;
+            this.databasesUsedToTablesUsed = databasesUsedToTablesUsed;
+        }
+
+        @Override
+        public String getUpdateSQL() {
+            return this.updateSQL;
+        }
+
+        @Override
+        public String getInsertSQL() {
+            return this.insertSQL;
+        }
+
+        @Override
+        public String getRefreshSQL() {
+            return this.refreshSQL;
+        }
+
+        @Override
+        public String getDeleteSQL() {
+            return this.deleteSQL;
+        }
+
+        @Override
+        public String getQualifiedAndQuotedTableName() {
+            return this.qualifiedAndQuotedTableName;
+        }
+
+        @Override
+        public List<Integer> getPrimaryKeyIndicies() {
+            return this.primaryKeyIndicies;
+        }
+
+        @Override
+        public Map<String, Map<String, Map<String, Integer>>> getDatabasesUsedToTablesUsed() {
+            return this.databasesUsedToTablesUsed;
+        }
+    }
+
+    /**
+     * A row changed by a queued UPDATE or INSERT, with the primary key values to re-read it by once the batch was sent.
+     */
+    private static class PendingRefresh {
+        final Row row;
+        /** Primary key values as bound to the refresh statement, null for SQL NULL */
+        final byte[][] keyValues;
+        /** Original bytes of primary key values that were bound as HEX literals */
+        final byte[][] keyOrigBytes;
+
+        PendingRefresh(Row row, int numKeys) {
+            this.row = row;
+            this.keyValues = new byte[numKeys][];
+            this.keyOrigBytes = new byte[numKeys][];
+        }
+    }
+
     private String charEncoding;
 
     /** What is the default value for the column? */
@@ -133,6 +206,22 @@ public class UpdatableResultSet extends ResultSetImpl {
     /** Are we in the middle of doing updates to the current row? */
     protected boolean doingUpdates = false;
 
+    /** Maximum number of queued changes, 0 if updateRow(), insertRow() and deleteRow() are executed right away */
+    private int batchSize = 0;
+
+    /** Kind of the queued changes, 'U'pdate, 'I'nsert or 'D'elete, 0 if nothing is queued */
+    private char pendingBatchKind = 0;
+
+    private int pendingBatchCount = 0;
+
+    /** Updated and inserted rows to re-read once the queued changes were sent */
+    private List<PendingRefresh> pendingRefreshes = null;
+
+    /** SQL re-reading batchRefreshSize rows at once */
+    private String batchRefreshSQL = null;
+
+    private int batchRefreshSize = 0;
+
     /**
      * Creates a new ResultSet object.
      * 
@@ -155,6 +244,11 @@ public class UpdatableResultSet extends ResultSetImpl {
                 .getValue();
         this.pedantic = this.getSession().getPropertySet().getBooleanProperty(PropertyKey.pedantic).getValue();
         this.hasLongColumnInfo = this.getSession().getServerSession().hasLongColumnInfo();
+
+        // rows of server-side prepared statements are binary encoded, they are always re-read one by one with their own statement
+        if (!(creatorStmt instanceof ServerPreparedStatement)) {
+            this.batchSize = this.getSession().getPropertySet().getIntegerProperty(PropertyKey.updatableResultSetBatchSize).getValue();
+        }
     }
 
     @Override
@@ -418,6 +512,11 @@ public class UpdatableResultSet extends ResultSetImpl {
                 this.deleter = (ClientPreparedStatement) this.connection.clientPrepareStatement(this.deleteSQL);
             }
 
+            if (isPendingRefresh(this.thisRow)) {
+                // the row must be deleted by the key it has after its queued change
+                flushBatch();
+            }
+
             this.deleter.clearParameters();
 
             int numKeys = this.primaryKeyIndicies.size();
@@ -426,7 +525,11 @@ public class UpdatableResultSet extends ResultSetImpl {
                 this.setParamValue(this.deleter, i + 1, this.thisRow, index, this.getMetadata().getFields()[index]);
             }
 
-            this.deleter.executeUpdate();
+            if (this.batchSize > 0) {
+                addToBatch('D', this.deleter, null);
+            } else {
+                this.deleter.executeUpdate();
+            }
             this.rowData.remove();
 
             prev(); // position on previous row - Bug#27431
@@ -573,6 +676,21 @@ public class UpdatableResultSet extends ResultSetImpl {
 
         String quotedId = getQuotedIdChar();
 
+        Field[] fields = this.getMetadata().getFields();
+
+        String statementsCacheKey = getStatementsCacheKey(fields, quotedId);
+        UpdatableResultSetStatements cachedStatements = this.connection.getCachedUpdatableResultSetStatements(statementsCacheKey);
+        if (cachedStatements != null) {
+            this.databasesUsedToTablesUsed = cachedStatements.getDatabasesUsedToTablesUsed();
+            this.primaryKeyIndicies = cachedStatements.getPrimaryKeyIndicies();
+            this.qualifiedAndQuotedTableName = cachedStatements.getQualifiedAndQuotedTableName();
+            this.updateSQL = cachedStatements.getUpdateSQL();
+            this.insertSQL = cachedStatements.getInsertSQL();
+            this.refreshSQL = cachedStatements.getRefreshSQL();
+            this.deleteSQL = cachedStatements.getDeleteSQL();
+            return;
+        }
+
         Map<String, String> tableNamesSoFar = null;
 
         if (this.session.getServerSession().isLowerCaseTableNames()) {
@@ -592,8 +710,6 @@ public class UpdatableResultSet extends ResultSetImpl {
         StringBuilder allTablesBuf = new StringBuilder();
         Map<Integer, String> columnIndicesToTable = new HashMap<>();
 
-        Field[] fields = this.getMetadata().getFields();
-
         for (int i = 0; i < fields.length; i++) {
             Map<String, Integer> updColumnNameToIndex = null;
 
@@ -691,6 +807,29 @@ public class UpdatableResultSet extends ResultSetImpl {
         this.insertSQL = "INSERT INTO " + this.qualifiedAndQuotedTableName + " (" + columnNames.toString() + ") VALUES (" + insertPlaceHolders.toString() + ")";
         this.refreshSQL = "SELECT " + columnNames.toString() + " FROM " + this.qualifiedAndQuotedTableName + " WHERE " + keyValues.toString();
         this.deleteSQL = "DELETE FROM " + this.qualifiedAndQuotedTableName + " WHERE " + keyValues.toString();
+
+        this.connection.cacheUpdatableResultSetStatements(statementsCacheKey, new GeneratedStatements(this.updateSQL, this.insertSQL, this.refreshSQL,
+                this.deleteSQL, this.qualifiedAndQuotedTableName, this.primaryKeyIndicies, this.databasesUsedToTablesUsed));
+    }
+
+    /**
+     * Builds the key of the statements generated for the given columns in the connection's cache. It holds everything generateStatements() derives the
+     * statements from.
+     * 
+     * @param fields
+     *            result set columns
+     * @param quotedId
+     *            identifier quote string
+     * @return cache key
+     */
+    private String getStatementsCacheKey(Field[] fields, String quotedId) {
+        StringBuilder key = new StringBuilder(fields.length * 48);
+        key.append(this.db).append('\u0000').append(quotedId).append('\u0000').append(this.pedantic).append('\u0000').append(this.hasLongColumnInfo);
+        for (Field f : fields) {
+            key.append('\u0000').append(f.getDatabaseName()).append('\u0000').append(f.getOriginalTableName()).append('\u0000').append(f.getTableName())
+                    .append('\u0000').append(f.getOriginalName()).append('\u0000').append(f.getName()).append('\u0000').append(f.isPrimaryKey());
+        }
+        return key.toString();
     }
 
     private Map<String, Integer> getColumnsToIndexMapForTableAndDB(String databaseName, String tableName) {
@@ -734,10 +873,27 @@ public class UpdatableResultSet extends ResultSetImpl {
                 throw SQLError.createSQLException(Messages.getString("UpdatableResultSet.7"), getExceptionInterceptor());
             }
 
+            Field[] fields = this.getMetadata().getFields();
+
+            if (this.batchSize > 0 && !hasAutoIncrementColumn(fields)) {
+                byte[][] newRow = new byte[fields.length][];
+                for (int i = 0; i < fields.length; i++) {
+                    newRow[i] = this.inserter.isNull(i + 1) ? null : this.inserter.getBytesRepresentation(i + 1);
+                }
+                Row resultSetRow = new ByteArrayRow(newRow, getExceptionInterceptor());
+
+                addToBatch('I', this.inserter, resultSetRow);
+
+                this.rowData.addRow(resultSetRow);
+                resetInserter();
+                return;
+            }
+
+            flushBatch();
+
             this.inserter.executeUpdate();
 
             long autoIncrementId = this.inserter.getLastInsertID();
-            Field[] fields = this.getMetadata().getFields();
             byte[][] newRow = new byte[fields.length][];
 
             for (int i = 0; i < fields.length; i++) {
@@ -936,6 +1092,22 @@ public class UpdatableResultSet extends ResultSetImpl {
                 }
             }
 
+            // errors of the queued changes take precedence over cleanup errors
+            SQLException pendingChangesEx = null;
+            try {
+                if (this.pendingBatchCount > 0) {
+                    if (this.connection.isClosed()) {
+                        // the changes can't be sent anymore, don't let them vanish silently
+                        discardPendingRowChanges();
+                        throw SQLError.createSQLException(Messages.getString("UpdatableResultSet.45"), MysqlErrorNumbers.SQL_STATE_CONNECTION_NOT_OPEN,
+                                getExceptionInterceptor());
+                    }
+                    flushBatch();
+                }
+            } catch (SQLException ex) {
+                pendingChangesEx = ex;
+            }
+
             try {
                 if (this.deleter != null) {
                     this.deleter.close();
@@ -970,6 +1142,9 @@ public class UpdatableResultSet extends ResultSetImpl {
 
             super.realClose(calledExplicitly);
 
+            if (pendingChangesEx != null) {
+                throw pendingChangesEx;
+            }
             if (sqlEx != null) {
                 throw sqlEx;
             }
@@ -997,6 +1172,8 @@ public class UpdatableResultSet extends ResultSetImpl {
                 throw SQLError.createSQLException(Messages.getString("UpdatableResultSet.11"), getExceptionInterceptor());
             }
 
+            flushBatch();
+
             refreshRow(this.updater, this.thisRow);
         }
     }
@@ -1081,6 +1258,207 @@ public class UpdatableResultSet extends ResultSetImpl {
         }
     }
 
+    private boolean hasAutoIncrementColumn(Field[] fields) {
+        for (Field f : fields) {
+            if (f.isAutoIncrement()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPendingRefresh(Row row) {
+        if (this.pendingRefreshes != null) {
+            for (PendingRefresh p : this.pendingRefreshes) {
+                if (p.row == row) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the change currently bound to the given statement. Queued changes of a different kind are sent first, so that the server applies all changes
+     * in the order they were made.
+     * 
+     * @param kind
+     *            'U'pdate, 'I'nsert or 'D'elete
+     * @param stmt
+     *            the updater, inserter or deleter
+     * @param rowToRefresh
+     *            the updated or inserted row, to re-read once the batch was sent, or null
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void addToBatch(char kind, ClientPreparedStatement stmt, Row rowToRefresh) throws SQLException {
+        if (this.pendingBatchKind != kind) {
+            flushBatch();
+        }
+
+        if (rowToRefresh != null) {
+            if (this.refreshSQL == null) {
+                generateStatements();
+            }
+
+            int numKeys = this.primaryKeyIndicies.size();
+            int numFields = this.getMetadata().getFields().length;
+            PendingRefresh pending = new PendingRefresh(rowToRefresh, numKeys);
+
+            // same key values as refreshRow(ClientPreparedStatement, Row) binds, taken while the statement still holds them
+            for (int i = 0; i < numKeys; i++) {
+                int index = this.primaryKeyIndicies.get(i).intValue();
+                int paramIndex = index + 1;
+
+                if (stmt.isNull(paramIndex) || stmt.getBytesRepresentation(paramIndex).length == 0) {
+                    if (kind != 'U') {
+                        continue; // NULL
+                    }
+                    // unchanged key of an updated row, as bound to the WHERE clause
+                    paramIndex = numFields + i + 1;
+                    if (stmt.isNull(paramIndex)) {
+                        continue;
+                    }
+                }
+
+                pending.keyValues[i] = StringUtils.stripEnclosure(stmt.getBytesRepresentation(paramIndex), "_binary'", "'");
+                pending.keyOrigBytes[i] = stmt.getOrigBytes(paramIndex);
+            }
+
+            if (this.pendingRefreshes == null) {
+                this.pendingRefreshes = new ArrayList<>(this.batchSize);
+            }
+            this.pendingRefreshes.add(pending);
+        }
+
+        stmt.addBatch();
+        this.pendingBatchKind = kind;
+
+        if (this.pendingBatchCount == 0) {
+            this.connection.registerPendingRowChanges(this);
+        }
+
+        if (++this.pendingBatchCount >= this.batchSize) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * Sends the queued changes to the server and re-reads the updated or inserted rows.
+     * 
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void flushBatch() throws SQLException {
+        if (this.pendingBatchCount == 0) {
+            return;
+        }
+
+        ClientPreparedStatement stmt = this.pendingBatchKind == 'U' ? this.updater : this.pendingBatchKind == 'I' ? this.inserter : this.deleter;
+        List<PendingRefresh> refreshes = this.pendingRefreshes;
+
+        this.pendingBatchKind = 0;
+        this.pendingBatchCount = 0;
+        this.pendingRefreshes = null;
+        this.connection.unregisterPendingRowChanges(this);
+
+        stmt.executeBatch();
+
+        if (refreshes != null) {
+            refreshRows(refreshes);
+        }
+    }
+
+    @Override
+    public void flushPendingRowChanges() throws SQLException {
+        synchronized (checkClosed().getConnectionMutex()) {
+            flushBatch();
+        }
+    }
+
+    @Override
+    public void discardPendingRowChanges() {
+        if (this.pendingBatchCount == 0) {
+            return;
+        }
+
+        ClientPreparedStatement stmt = this.pendingBatchKind == 'U' ? this.updater : this.pendingBatchKind == 'I' ? this.inserter : this.deleter;
+
+        this.pendingBatchKind = 0;
+        this.pendingBatchCount = 0;
+        this.pendingRefreshes = null;
+        this.connection.unregisterPendingRowChanges(this);
+
+        try {
+            stmt.clearBatch();
+        } catch (SQLException ex) {
+            // the statement is closed, so is its batch
+        }
+    }
+
+    /**
+     * Re-reads the given rows with a single query, made of one SELECT per row tagged with the row position.
+     * 
+     * @param refreshes
+     *            rows to re-read
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void refreshRows(List<PendingRefresh> refreshes) throws SQLException {
+        int numRows = refreshes.size();
+        if (this.batchRefreshSize != numRows) {
+            String selectList = this.refreshSQL.substring("SELECT ".length());
+            StringBuilder sql = new StringBuilder(numRows * (this.refreshSQL.length() + 20));
+            for (int i = 0; i < numRows; i++) {
+                if (i > 0) {
+                    sql.append(" UNION ALL ");
+                }
+                sql.append("SELECT ").append(i).append(',').append(selectList);
+            }
+            this.batchRefreshSQL = sql.toString();
+            this.batchRefreshSize = numRows;
+        }
+
+        ClientPreparedStatement batchRefresher = (ClientPreparedStatement) this.getConnection().clientPrepareStatement(this.batchRefreshSQL);
+        try {
+            int numKeys = this.primaryKeyIndicies.size();
+            int paramIndex = 1;
+            for (PendingRefresh pending : refreshes) {
+                for (int i = 0; i < numKeys; i++, paramIndex++) {
+                    if (pending.keyValues[i] == null) {
+                        batchRefresher.setNull(paramIndex, MysqlType.NULL);
+                    } else if (pending.keyOrigBytes[i] != null) {
+                        batchRefresher.setBytesNoEscapeNoQuotes(paramIndex, pending.keyValues[i]);
+                    } else {
+                        batchRefresher.setBytesNoEscape(paramIndex, pending.keyValues[i]);
+                    }
+                }
+            }
+
+            int numCols = this.getMetadata().getFields().length;
+            boolean[] refreshed = new boolean[numRows];
+            java.sql.ResultSet rs = batchRefresher.executeQuery();
+            while (rs.next()) {
+                int rowIndex = rs.getInt(1);
+                Row rowToRefresh = refreshes.get(rowIndex).row;
+                for (int i = 0; i < numCols; i++) {
+                    byte[] val = rs.getBytes(i + 2);
+                    rowToRefresh.setBytes(i, (val == null) || rs.wasNull() ? null : val);
+                }
+                refreshed[rowIndex] = true;
+            }
+
+            for (boolean r : refreshed) {
+                if (!r) {
+                    throw SQLError.createSQLException(Messages.getString("UpdatableResultSet.12"), MysqlErrorNumbers.SQL_STATE_GENERAL_ERROR,
+                            getExceptionInterceptor());
+                }
+            }
+        } finally {
+            batchRefresher.close();
+        }
+    }
+
     @Override
     public boolean relative(int rows) throws SQLException {
         boolean ret = super.relative(rows);
@@ -1136,6 +1514,11 @@ public class UpdatableResultSet extends ResultSetImpl {
      *             if an error occurs
      */
     protected void syncUpdate() throws SQLException {
+        if (isPendingRefresh(this.thisRow)) {
+            // queued values must be applied and the row re-read before it's changed again
+            flushBatch();
+        }
+
         if (this.updater == null) {
             if (this.updateSQL == null) {
                 generateStatements();
@@ -1187,6 +1570,12 @@ public class UpdatableResultSet extends ResultSetImpl {
             }
 
             if (this.doingUpdates) {
+                if (this.batchSize > 0) {
+                    addToBatch('U', this.updater, this.thisRow);
+                    this.doingUpdates = false;
+                    // the updater is synchronized with the next row to update
+                    return;
+                }
                 this.updater.executeUpdate();
                 refreshRow(this.updater, this.thisRow);
                 this.doingUpdates = false;
@@ -97,7 +97,7 @@ public abstract class AbstractFilterParams implements FilterParams {
     public void setOrder(String... orderExpression) {
         this.orderExpr = orderExpression;
         // TODO: does this support placeholders? how do we prevent it?
-        this.order = new ExprParser(Arrays.stream(orderExpression).collect(Collectors.joining(", ")), this.isRelational).parseOrderSpec();
+        this.order = ExprParserCache.parseOrderSpec(Arrays.stream(orderExpression).collect(Collectors.joining(", ")), this.isRelational);
     }
 
     public Long getLimit() {
@@ -126,11 +126,11 @@ public abstract class AbstractFilterParams implements FilterParams {
 
     public void setCriteria(String criteriaString) {
         this.criteriaStr = criteriaString;
-        ExprParser parser = new ExprParser(criteriaString, this.isRelational);
-        this.criteria = parser.parse();
-        if (parser.getPositionalPlaceholderCount() > 0) {
-            this.placeholderNameToPosition = parser.getPlaceholderNameToPositionMap();
-            this.args = new Scalar[parser.getPositionalPlaceholderCount()];
+        ExprParserCache.ParsedExpr parsed = ExprParserCache.parseExpr(criteriaString, this.isRelational);
+        this.criteria = parsed.getExpr();
+        if (parsed.getPositionalPlaceholderCount() > 0) {
+            this.placeholderNameToPosition = parsed.getPlaceholderNameToPositionMap();
+            this.args = new Scalar[parsed.getPositionalPlaceholderCount()];
         }
     }
 
@@ -182,7 +182,7 @@ public abstract class AbstractFilterParams implements FilterParams {
 
     public void setGrouping(String... groupBy) {
         this.groupBy = groupBy;
-        this.grouping = new ExprParser(Arrays.stream(groupBy).collect(Collectors.joining(", ")), isRelational()).parseExprList();
+        this.grouping = ExprParserCache.parseExprList(Arrays.stream(groupBy).collect(Collectors.joining(", ")), isRelational());
     }
 
     public Object getGrouping() {
@@ -191,7 +191,7 @@ public abstract class AbstractFilterParams implements FilterParams {
 
     public void setGroupingCriteria(String having) {
         this.having = having;
-        this.groupingCriteria = new ExprParser(having, isRelational()).parse();
+        this.groupingCriteria = ExprParserCache.parseExpr(having, isRelational()).getExpr();
     }
 
     public Object getGroupingCriteria() {
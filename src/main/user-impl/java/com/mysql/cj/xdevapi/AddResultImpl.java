@@ -30,6 +30,7 @@
 package com.mysql.cj.xdevapi;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.mysql.cj.protocol.x.StatementExecuteOk;
 
@@ -47,6 +48,16 @@ public class AddResultImpl extends UpdateResult implements AddResult {
         super(ok);
     }
 
+    /**
+     * Constructor combining the results of several messages sent for a single statement.
+     *
+     * @param results
+     *            the results of the messages, in the order they were sent
+     */
+    public AddResultImpl(List<AddResult> results) {
+        super(StatementExecuteOk.combine(results.stream().map(r -> ((AddResultImpl) r).ok).collect(Collectors.toList())));
+    }
+
     @Override
     public List<String> getGeneratedIds() {
         return this.ok.getGeneratedIds();
@@ -34,10 +34,14 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.mysql.cj.MysqlxSession;
 import com.mysql.cj.exceptions.AssertionFailedException;
 import com.mysql.cj.protocol.x.StatementExecuteOk;
@@ -45,10 +49,16 @@ import com.mysql.cj.protocol.x.XMessage;
 import com.mysql.cj.protocol.x.XMessageBuilder;
 
 public class AddStatementImpl implements AddStatement {
+    /**
+     * Maximum number of Insert messages sent ahead of their results when the documents don't fit in a single message.
+     */
+    private static final int MAX_PENDING_INSERTS = 16;
+
     private MysqlxSession mysqlxSession;
     private String schemaName;
     private String collectionName;
-    private List<DbDoc> newDocs;
+    /** Documents given directly are kept in lists, so they can be sent again on re-execution, while iterators are consumed once. */
+    private List<Iterable<? extends DbDoc>> newDocs;
     private boolean upsert = false;
 
     /* package private */ AddStatementImpl(MysqlxSession mysqlxSession, String schema, String collection, DbDoc newDoc) {
@@ -56,7 +66,7 @@ public class AddStatementImpl implements AddStatement {
         this.schemaName = schema;
         this.collectionName = collection;
         this.newDocs = new ArrayList<>();
-        this.newDocs.add(newDoc);
+        this.newDocs.add(Collections.singletonList(newDoc));
     }
 
     /* package private */ AddStatementImpl(MysqlxSession mysqlxSession, String schema, String collection, DbDoc[] newDocs) {
@@ -64,7 +74,7 @@ public class AddStatementImpl implements AddStatement {
         this.schemaName = schema;
         this.collectionName = collection;
         this.newDocs = new ArrayList<>();
-        this.newDocs.addAll(Arrays.asList(newDocs));
+        add(newDocs);
     }
 
     public AddStatement add(String jsonString) {
@@ -77,30 +87,118 @@ public class AddStatementImpl implements AddStatement {
     }
 
     public AddStatement add(DbDoc... docs) {
-        this.newDocs.addAll(Arrays.asList(docs));
+        if (docs.length > 0) {
+            this.newDocs.add(Arrays.asList(docs));
+        }
+        return this;
+    }
+
+    @Override
+    public AddStatement add(Iterator<? extends DbDoc> docs) {
+        this.newDocs.add(once(docs));
         return this;
     }
 
-    private List<String> serializeDocs() {
-        return this.newDocs.stream().map(DbDoc::toString).collect(Collectors.toList());
+    private static <T extends DbDoc> Iterable<T> once(Iterator<T> docs) {
+        return () -> docs;
+    }
+
+    /**
+     * Serialize a document to UTF-8 JSON. Unmodified documents read from the server are sent as they were received.
+     * 
+     * @param doc
+     *            {@link DbDoc}
+     * @return {@link ByteString}
+     */
+    private static ByteString serializeDoc(DbDoc doc) {
+        if (doc instanceof LazyDbDoc && !((LazyDbDoc) doc).isModified()) {
+            LazyDbDoc lazyDoc = (LazyDbDoc) doc;
+            return UnsafeByteOperations.unsafeWrap(lazyDoc.getRawBytes(), lazyDoc.getRawOffset(), lazyDoc.getRawLength());
+        }
+        return ByteString.copyFromUtf8(doc.toString());
+    }
+
+    /**
+     * Get an iterator over the serialized documents of all sources, in the order they were added.
+     * 
+     * @return iterator of UTF-8 encoded documents
+     */
+    private Iterator<ByteString> serializeDocs() {
+        Iterator<Iterable<? extends DbDoc>> sources = this.newDocs.iterator();
+        return new Iterator<ByteString>() {
+            private Iterator<? extends DbDoc> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.current.hasNext() && sources.hasNext()) {
+                    this.current = sources.next().iterator();
+                }
+                return this.current.hasNext();
+            }
+
+            @Override
+            public ByteString next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return serializeDoc(this.current.next());
+            }
+        };
+    }
+
+    private Iterator<XMessage> buildInserts() {
+        int maxAllowedPacket = this.mysqlxSession.getProtocol().getMaxAllowedPacket();
+        return ((XMessageBuilder) this.mysqlxSession.<XMessage>getMessageBuilder()).buildDocInserts(this.schemaName, this.collectionName, serializeDocs(),
+                this.upsert, maxAllowedPacket > 0 ? maxAllowedPacket - 1 : 0); // one byte for the message type
     }
 
     public AddResult execute() {
-        if (this.newDocs.size() == 0) { // according to X DevAPI specification, this is a no-op. we create an empty Result
+        Iterator<XMessage> inserts = buildInserts();
+        if (!inserts.hasNext()) { // according to X DevAPI specification, this is a no-op. we create an empty Result
             StatementExecuteOk ok = new StatementExecuteOk(0, null, Collections.emptyList(), Collections.emptyList());
             return new AddResultImpl(ok);
         }
-        return this.mysqlxSession.query(((XMessageBuilder) this.mysqlxSession.<XMessage>getMessageBuilder()).buildDocInsert(this.schemaName,
-                this.collectionName, serializeDocs(), this.upsert), new AddResultBuilder());
+        XMessage insert = inserts.next();
+        if (!inserts.hasNext()) {
+            return this.mysqlxSession.query(insert, new AddResultBuilder());
+        }
+        // documents don't fit in one message, send them all without waiting for each result
+        List<AddResult> results = this.mysqlxSession.queryPipelined(new Iterator<XMessage>() {
+            private XMessage first = insert;
+
+            @Override
+            public boolean hasNext() {
+                return this.first != null || inserts.hasNext();
+            }
+
+            @Override
+            public XMessage next() {
+                if (this.first != null) {
+                    XMessage m = this.first;
+                    this.first = null;
+                    return m;
+                }
+                return inserts.next();
+            }
+        }, AddResultBuilder::new, MAX_PENDING_INSERTS);
+        return new AddResultImpl(results);
     }
 
     public CompletableFuture<AddResult> executeAsync() {
-        if (this.newDocs.size() == 0) { // according to X DevAPI specification, this is a no-op. we create an empty Result
+        Iterator<XMessage> inserts = buildInserts();
+        if (!inserts.hasNext()) { // according to X DevAPI specification, this is a no-op. we create an empty Result
             StatementExecuteOk ok = new StatementExecuteOk(0, null, Collections.emptyList(), Collections.emptyList());
             return CompletableFuture.completedFuture(new AddResultImpl(ok));
         }
-        return this.mysqlxSession.queryAsync(((XMessageBuilder) this.mysqlxSession.<XMessage>getMessageBuilder()).buildDocInsert(this.schemaName,
-                this.collectionName, serializeDocs(), this.upsert), new AddResultBuilder());
+        List<CompletableFuture<AddResult>> futures = new ArrayList<>();
+        while (inserts.hasNext()) {
+            futures.add(this.mysqlxSession.queryAsync(inserts.next(), new AddResultBuilder()));
+        }
+        if (futures.size() == 1) {
+            return futures.get(0);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(v -> new AddResultImpl(futures.stream().map(CompletableFuture::join).collect(Collectors.toList())));
     }
 
     public boolean isUpsert() {
@@ -30,9 +30,10 @@
 package com.mysql.cj.xdevapi;
 
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -40,8 +41,14 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -61,7 +68,22 @@ import com.mysql.cj.protocol.x.XProtocolError;
 import com.mysql.cj.util.StringUtils;
 
 public class ClientImpl implements Client {
-    boolean isClosed = false;
+    private static final int DEFAULT_MAINTENANCE_INTERVAL = 10_000;
+    private static final int CHECKOUT_RETRY_INTERVAL = 10;
+
+    private static final ScheduledThreadPoolExecutor MAINTENANCE_EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "mysql-cj-xdevapi-pool-maintenance");
+        t.setDaemon(true);
+        ClassLoader classLoader = ClientImpl.class.getClassLoader();
+        t.setContextClassLoader(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        return t;
+    });
+
+    static {
+        MAINTENANCE_EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    volatile boolean isClosed = false;
 
     private ConnectionUrl connUrl = null;
 
@@ -69,12 +91,25 @@ public class ClientImpl implements Client {
     private int maxSize = 25;
     int maxIdleTime = 0;
     private int queueTimeout = 0;
+    private int minIdle = 0;
+    private int validationInterval = 0;
 
     private int demotedTimeout = 120_000;
     Map<HostInfo, Long> demotedHosts = null;
 
+    /*
+     * Pooled protocols are either idle, i.e., waiting in 'idleProtocols', or active, i.e., referenced from 'activeProtocols' and in use by a Session.
+     * 'availableSessions' holds one permit for each Session that can still be handed out and 'openProtocols' counts the physical connections, including the
+     * ones being opened. Sessions are checked out by acquiring a permit, in arrival order, and then taking an idle protocol or opening a new one if there is
+     * none. Connecting, resetting and validating protocols happen without holding any lock.
+     */
     BlockingQueue<PooledXProtocol> idleProtocols = null;
     Set<WeakReference<PooledXProtocol>> activeProtocols = null;
+    private Semaphore availableSessions = null;
+    private AtomicInteger openProtocols = null;
+    private ReferenceQueue<PooledXProtocol> abandonedProtocols = null;
+    private AtomicBoolean fillingPool = null;
+    private ScheduledFuture<?> maintenanceTask = null;
 
     Set<WeakReference<Session>> nonPooledSessions = null;
 
@@ -154,6 +189,30 @@ public class ClientImpl implements Client {
                             jsonVal.toFormattedString()));
                 }
             }
+            jsonVal = poolingDoc.remove("minIdle");
+            if (jsonVal != null) {
+                if (JsonNumber.class.isAssignableFrom(jsonVal.getClass())) {
+                    props.setProperty(ClientProperty.POOLING_MIN_IDLE.getKeyName(), ((JsonNumber) jsonVal).toString());
+                } else if (JsonString.class.isAssignableFrom(jsonVal.getClass())) {
+                    throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", ClientProperty.POOLING_MIN_IDLE.getKeyName(),
+                            ((JsonString) jsonVal).getString()));
+                } else {
+                    throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", ClientProperty.POOLING_MIN_IDLE.getKeyName(),
+                            jsonVal.toFormattedString()));
+                }
+            }
+            jsonVal = poolingDoc.remove("validationInterval");
+            if (jsonVal != null) {
+                if (JsonNumber.class.isAssignableFrom(jsonVal.getClass())) {
+                    props.setProperty(ClientProperty.POOLING_VALIDATION_INTERVAL.getKeyName(), ((JsonNumber) jsonVal).toString());
+                } else if (JsonString.class.isAssignableFrom(jsonVal.getClass())) {
+                    throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.",
+                            ClientProperty.POOLING_VALIDATION_INTERVAL.getKeyName(), ((JsonString) jsonVal).getString()));
+                } else {
+                    throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.",
+                            ClientProperty.POOLING_VALIDATION_INTERVAL.getKeyName(), jsonVal.toFormattedString()));
+                }
+            }
             if (poolingDoc.size() > 0) {
                 String key = poolingDoc.keySet().stream().findFirst().get();
                 throw new XDevAPIError(String.format("Client option 'pooling.%s' is not recognized as valid.", key));
@@ -220,6 +279,32 @@ public class ClientImpl implements Client {
             }
         }
 
+        propKey = ClientProperty.POOLING_MIN_IDLE.getKeyName();
+        if (clientProps.containsKey(propKey)) {
+            propValue = clientProps.getProperty(propKey);
+            try {
+                this.minIdle = IntegerPropertyDefinition.integerFrom(propKey, propValue, 1, null);
+            } catch (WrongArgumentException e) {
+                throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", propKey, propValue), e);
+            }
+            if (this.minIdle < 0 || this.minIdle > this.maxSize) {
+                throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", propKey, propValue));
+            }
+        }
+
+        propKey = ClientProperty.POOLING_VALIDATION_INTERVAL.getKeyName();
+        if (clientProps.containsKey(propKey)) {
+            propValue = clientProps.getProperty(propKey);
+            try {
+                this.validationInterval = IntegerPropertyDefinition.integerFrom(propKey, propValue, 1, null);
+            } catch (WrongArgumentException e) {
+                throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", propKey, propValue), e);
+            }
+            if (this.validationInterval < 0) {
+                throw new XDevAPIError(String.format("Client option '%s' does not support value '%s'.", propKey, propValue));
+            }
+        }
+
         List<String> clientPropsAsString = Stream.of(ClientProperty.values()).map(ClientProperty::getKeyName).collect(Collectors.toList());
         propKey = (String) clientProps.keySet().stream().filter(k -> !clientPropsAsString.contains(k)).findFirst().orElse(null);
         if (propKey != null) {
@@ -233,9 +318,20 @@ public class ClientImpl implements Client {
         validateAndInitializeClientProps(clientProps);
 
         if (this.poolingEnabled) {
-            this.demotedHosts = new HashMap<>();
-            this.idleProtocols = new LinkedBlockingQueue<>(this.maxSize);
-            this.activeProtocols = new HashSet<>(this.maxSize);
+            this.demotedHosts = new ConcurrentHashMap<>();
+            this.idleProtocols = new LinkedTransferQueue<>();
+            this.activeProtocols = ConcurrentHashMap.newKeySet(this.maxSize);
+            this.availableSessions = new Semaphore(this.maxSize, true);
+            this.openProtocols = new AtomicInteger();
+            this.abandonedProtocols = new ReferenceQueue<>();
+            this.fillingPool = new AtomicBoolean();
+
+            if (this.minIdle > 0 || this.maxIdleTime > 0 || this.validationInterval > 0) {
+                int interval = this.validationInterval > 0 ? this.validationInterval
+                        : this.maxIdleTime > 0 ? Math.min(this.maxIdleTime, DEFAULT_MAINTENANCE_INTERVAL) : DEFAULT_MAINTENANCE_INTERVAL;
+                // The first run pre-warms the pool up to 'minIdle' connections.
+                this.maintenanceTask = MAINTENANCE_EXECUTOR.scheduleWithFixedDelay(this::maintainPool, 0, interval, TimeUnit.MILLISECONDS);
+            }
         } else {
             this.nonPooledSessions = new HashSet<>();
         }
@@ -267,105 +363,207 @@ public class ClientImpl implements Client {
             return sess;
         }
 
+        purgeAbandonedProtocols();
+
+        // Waiting threads are served in arrival order, either until a Session is released or until queueTimeout milliseconds have passed.
+        long deadline = this.queueTimeout > 0 ? System.currentTimeMillis() + this.queueTimeout : 0;
+        try {
+            if (this.queueTimeout > 0) {
+                if (!this.availableSessions.tryAcquire(this.queueTimeout, TimeUnit.MILLISECONDS)) {
+                    throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.");
+                }
+            } else {
+                this.availableSessions.acquire();
+            }
+        } catch (InterruptedException e) {
+            throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.", e);
+        }
+
         PooledXProtocol prot = null;
-        List<HostInfo> hostsList = this.connUrl.getHostsList();
+        try {
+            prot = checkOutProtocol(deadline);
+        } finally {
+            if (prot == null) {
+                // Pass the permit on, either to another Session or, if the client was closed, to the next waiting thread.
+                this.availableSessions.release();
+            }
+        }
 
-        synchronized (this.idleProtocols) {
-            // 0. Close and remove idle protocols connected to a host that is not usable anymore.
-            List<PooledXProtocol> toCloseAndRemove = this.idleProtocols.stream().filter(p -> !p.isHostInfoValid(hostsList)).collect(Collectors.toList());
-            toCloseAndRemove.stream().peek(PooledXProtocol::realClose).peek(this.idleProtocols::remove).map(PooledXProtocol::getHostInfo).sequential()
-                    .forEach(this.demotedHosts::remove);
+        if (this.minIdle > 0 && this.idleProtocols.size() < this.minIdle) {
+            MAINTENANCE_EXECUTOR.execute(this::fillPool);
         }
 
-        long start = System.currentTimeMillis();
-        while (prot == null && (this.queueTimeout == 0 || System.currentTimeMillis() < start + this.queueTimeout)) { // TODO how to avoid endless loop?
-            synchronized (this.idleProtocols) {
+        SessionImpl sess = new SessionImpl(prot);
+        return sess;
+    }
 
-                if (this.idleProtocols.peek() != null) {
-                    // 1. If there are idle Protocols then return one of them. 
-                    PooledXProtocol tryProt = this.idleProtocols.poll();
-                    if (tryProt.isOpen()) { // ignore closed Session, try next idle Session
-                        if (tryProt.isIdleTimeoutReached()) {
-                            tryProt.realClose(); // close expired Session, try next idle Session
-                        } else {
-                            try {
-                                tryProt.reset();
-                                prot = tryProt;
-                            } catch (CJCommunicationsException | XProtocolError e) {
-                                // This session is useless, let's try another one.
-                            }
-                        }
-                    }
+    /**
+     * Takes a usable idle protocol or opens a new one. Must be called while holding a permit from 'availableSessions'.
+     * 
+     * @param deadline
+     *            the time, in milliseconds, after which no more waiting is allowed, or 0 if there is no limit
+     * @return an active {@link PooledXProtocol}
+     */
+    private PooledXProtocol checkOutProtocol(long deadline) {
+        List<HostInfo> hostsList = this.connUrl.getHostsList();
 
-                } else if (this.idleProtocols.size() + this.activeProtocols.size() < this.maxSize) {
-                    // 2. No idle Protocols but the pool has free space. Adding new Protocol to pool.
-                    CJException latestException = null;
-                    List<HostInfo> hostsToRevisit = new ArrayList<>();
-                    for (HostInfo hi : hostsList) {
-                        if (this.demotedHosts.containsKey(hi)) {
-                            if (start - this.demotedHosts.get(hi) > this.demotedTimeout) {
-                                this.demotedHosts.remove(hi);
-                            } else {
-                                hostsToRevisit.add(hi);
-                                continue;
-                            }
-                        }
-                        try {
-                            prot = newPooledXProtocol(hi);
-                            break;
-                        } catch (CJCommunicationsException e) {
-                            if (e.getCause() == null) {
-                                throw e;
-                            }
-                            latestException = e;
-                            this.demotedHosts.put(hi, System.currentTimeMillis());
-                        }
-                    }
-                    if (prot == null) {
-                        // All non-demoted hosts have failed, let's try the ones that were previously demoted before calling it a failure.
-                        for (HostInfo hi : hostsToRevisit) {
-                            try {
-                                prot = newPooledXProtocol(hi);
-                                // This host is fine now so re-promote it.
-                                this.demotedHosts.remove(hi);
-                                break;
-                            } catch (CJCommunicationsException e) {
-                                if (e.getCause() == null) {
-                                    throw e;
-                                }
-                                latestException = e;
-                                this.demotedHosts.put(hi, System.currentTimeMillis());
-                            }
-                        }
-                    }
-                    if (prot == null && latestException != null) {
-                        throw ExceptionFactory.createException(CJCommunicationsException.class, Messages.getString("Session.Create.Failover.0"),
-                                latestException);
-                    }
+        boolean poolFull = false;
+        while (true) {
+            if (this.isClosed) {
+                throw new XDevAPIError("Client is closed.");
+            }
 
-                } else if (this.queueTimeout > 0) {
-                    // 3. No idle Protocols, no free space in the pool. Waiting queueTimeout milliseconds for idle Protocol.
-                    long currentTimeout = this.queueTimeout - (System.currentTimeMillis() - start);
+            PooledXProtocol prot = poolFull ? pollIdleProtocol(deadline) : this.idleProtocols.poll();
+            poolFull = false;
+            if (prot != null) {
+                // 1. If there are idle Protocols then return one of them.
+                if (!prot.isOpen()) {
+                    this.openProtocols.decrementAndGet(); // ignore closed Session, try next idle Session
+                } else if (!prot.isHostInfoValid(hostsList)) {
+                    discardProtocol(prot); // close Session connected to a host that is not usable anymore, try next idle Session
+                    this.demotedHosts.remove(prot.getHostInfo());
+                } else if (prot.isIdleTimeoutReached()) {
+                    discardProtocol(prot); // close expired Session, try next idle Session
+                } else {
                     try {
-                        if (currentTimeout > 0) {
-                            prot = this.idleProtocols.poll(currentTimeout, TimeUnit.MILLISECONDS);
-                        }
-                    } catch (InterruptedException e) {
-                        throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.", e);
+                        prot.reset();
+                        return activateProtocol(prot);
+                    } catch (CJCommunicationsException | XProtocolError e) {
+                        // This session is useless, let's try another one.
+                        discardProtocol(prot);
                     }
+                }
+
+            } else if (reserveProtocol()) {
+                // 2. No idle Protocols but the pool has free space. Adding new Protocol to pool.
+                try {
+                    prot = newPooledXProtocol(hostsList);
+                } catch (RuntimeException e) {
+                    this.openProtocols.decrementAndGet();
+                    throw e;
+                }
+                return activateProtocol(prot);
+            } else {
+                // 3. The pool is full, so some other Protocol is just becoming idle or being closed. Wait for it and try again.
+                poolFull = true;
+            }
+        }
+    }
+
+    /**
+     * Waits a short while for a protocol to become idle, for no longer than the given deadline.
+     * 
+     * @param deadline
+     *            the time, in milliseconds, after which no more waiting is allowed, or 0 if there is no limit
+     * @return an idle {@link PooledXProtocol} or null if none became idle
+     */
+    private PooledXProtocol pollIdleProtocol(long deadline) {
+        long wait = CHECKOUT_RETRY_INTERVAL;
+        if (deadline > 0) {
+            wait = Math.min(wait, deadline - System.currentTimeMillis());
+            if (wait <= 0) {
+                throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.");
+            }
+        }
+        try {
+            return this.idleProtocols.poll(wait, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.", e);
+        }
+    }
+
+    private PooledXProtocol activateProtocol(PooledXProtocol prot) {
+        prot.activeReference = new WeakReference<>(prot, this.abandonedProtocols);
+        this.activeProtocols.add(prot.activeReference);
+        if (this.isClosed && this.activeProtocols.remove(prot.activeReference)) {
+            prot.realClose();
+            throw new XDevAPIError("Client is closed.");
+        }
+        return prot;
+    }
+
+    /**
+     * Reserves room for a new physical connection.
+     * 
+     * @return true if the connection can be opened, false if the pool is full
+     */
+    private boolean reserveProtocol() {
+        int open;
+        do {
+            open = this.openProtocols.get();
+            if (open >= this.maxSize) {
+                return false;
+            }
+        } while (!this.openProtocols.compareAndSet(open, open + 1));
+        return true;
+    }
+
+    private void discardProtocol(PooledXProtocol prot) {
+        // Release the room before the round trip of closing the connection, so that it can be taken right away.
+        this.openProtocols.decrementAndGet();
+        prot.realClose();
+    }
+
+    /**
+     * Releases the room taken by the protocols of Sessions that were garbage collected without being closed.
+     */
+    private void purgeAbandonedProtocols() {
+        Reference<? extends PooledXProtocol> ref;
+        while ((ref = this.abandonedProtocols.poll()) != null) {
+            if (this.activeProtocols.remove(ref)) {
+                this.openProtocols.decrementAndGet();
+                this.availableSessions.release();
+            }
+        }
+    }
 
+    private PooledXProtocol newPooledXProtocol(List<HostInfo> hostsList) {
+        PooledXProtocol prot = null;
+        CJException latestException = null;
+        List<HostInfo> hostsToRevisit = new ArrayList<>();
+        for (HostInfo hi : hostsList) {
+            Long demotedSince = this.demotedHosts.get(hi);
+            if (demotedSince != null) {
+                if (System.currentTimeMillis() - demotedSince > this.demotedTimeout) {
+                    this.demotedHosts.remove(hi);
                 } else {
-                    // 4. No idle Protocols, no free space in the pool. Waiting indefinitely for idle Protocol.
-                    prot = this.idleProtocols.poll(); // TODO endless lock ?
+                    hostsToRevisit.add(hi);
+                    continue;
+                }
+            }
+            try {
+                prot = newPooledXProtocol(hi);
+                break;
+            } catch (CJCommunicationsException e) {
+                if (e.getCause() == null) {
+                    throw e;
                 }
+                latestException = e;
+                this.demotedHosts.put(hi, System.currentTimeMillis());
             }
         }
         if (prot == null) {
-            throw new XDevAPIError("Session can not be obtained within " + this.queueTimeout + " milliseconds.");
+            // All non-demoted hosts have failed, let's try the ones that were previously demoted before calling it a failure.
+            for (HostInfo hi : hostsToRevisit) {
+                try {
+                    prot = newPooledXProtocol(hi);
+                    // This host is fine now so re-promote it.
+                    this.demotedHosts.remove(hi);
+                    break;
+                } catch (CJCommunicationsException e) {
+                    if (e.getCause() == null) {
+                        throw e;
+                    }
+                    latestException = e;
+                    this.demotedHosts.put(hi, System.currentTimeMillis());
+                }
+            }
         }
-        this.activeProtocols.add(new WeakReference<>(prot));
-        SessionImpl sess = new SessionImpl(prot);
-        return sess;
+        if (prot == null) {
+            throw ExceptionFactory.createException(CJCommunicationsException.class, Messages.getString("Session.Create.Failover.0"), latestException);
+        }
+        return prot;
     }
 
     private PooledXProtocol newPooledXProtocol(HostInfo hi) {
@@ -377,16 +575,124 @@ public class ClientImpl implements Client {
         return tryProt;
     }
 
+    /**
+     * Takes a permit from 'availableSessions' only if no thread is waiting for one.
+     * 
+     * @return true if the permit was acquired
+     */
+    private boolean tryAcquireIfNoneWaiting() {
+        try {
+            return this.availableSessions.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Background maintenance of the idle protocols: closes the expired ones, as long as there are more than 'minIdle' of them, checks the ones that weren't
+     * used for 'validationInterval' milliseconds, and opens new ones until there are 'minIdle' idle protocols.
+     */
+    private void maintainPool() {
+        try {
+            purgeAbandonedProtocols();
+
+            List<HostInfo> hostsList = this.connUrl.getHostsList();
+            int idleCount = this.idleProtocols.size();
+            for (PooledXProtocol prot : this.idleProtocols) {
+                if (this.isClosed) {
+                    return;
+                }
+                boolean expired = prot.isIdleTimeoutReached();
+                boolean validationDue = this.validationInterval > 0 && System.currentTimeMillis() - prot.idleSince >= this.validationInterval;
+
+                boolean hostInfoValid = prot.isHostInfoValid(hostsList);
+
+                if (!prot.isOpen() || !hostInfoValid || expired && idleCount > this.minIdle) {
+                    if (this.idleProtocols.remove(prot)) {
+                        discardProtocol(prot);
+                        if (!hostInfoValid) {
+                            this.demotedHosts.remove(prot.getHostInfo());
+                        }
+                        idleCount--;
+                    }
+                } else if ((expired || validationDue) && tryAcquireIfNoneWaiting()) {
+                    // Protocols kept for 'minIdle' are refreshed instead of expiring.
+                    try {
+                        if (this.idleProtocols.remove(prot)) {
+                            try {
+                                prot.reset();
+                                prot.idleSince = System.currentTimeMillis();
+                                this.idleProtocols.offer(prot);
+                            } catch (CJException e) {
+                                discardProtocol(prot);
+                                idleCount--;
+                            }
+                        }
+                    } finally {
+                        this.availableSessions.release();
+                    }
+                }
+            }
+
+            fillPool();
+        } catch (RuntimeException e) {
+            // Keep maintaining the pool on the next run.
+        }
+    }
+
+    /**
+     * Opens new protocols until there are 'minIdle' idle ones or the pool is full. Stops at the first failure, the next maintenance run tries again.
+     */
+    private void fillPool() {
+        if (!this.fillingPool.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<HostInfo> hostsList = this.connUrl.getHostsList();
+            while (!this.isClosed && this.idleProtocols.size() < this.minIdle && tryAcquireIfNoneWaiting()) {
+                try {
+                    if (!reserveProtocol()) {
+                        return;
+                    }
+                    PooledXProtocol prot;
+                    try {
+                        prot = newPooledXProtocol(hostsList);
+                    } catch (CJException e) {
+                        this.openProtocols.decrementAndGet();
+                        return;
+                    }
+                    prot.idleSince = System.currentTimeMillis();
+                    this.idleProtocols.offer(prot);
+                    if (this.isClosed && this.idleProtocols.remove(prot)) {
+                        prot.realClose();
+                    }
+                } finally {
+                    this.availableSessions.release();
+                }
+            }
+        } finally {
+            this.fillingPool.set(false);
+        }
+    }
+
     @Override
     public void close() {
         if (this.poolingEnabled) {
-            synchronized (this.idleProtocols) {
+            synchronized (this) {
                 if (!this.isClosed) {
                     this.isClosed = true;
-                    this.idleProtocols.forEach(s -> s.realClose());
-                    this.idleProtocols.clear();
+                    if (this.maintenanceTask != null) {
+                        this.maintenanceTask.cancel(false);
+                    }
+                    PooledXProtocol prot;
+                    while ((prot = this.idleProtocols.poll()) != null) {
+                        prot.realClose();
+                    }
                     this.activeProtocols.stream().map(WeakReference::get).filter(Objects::nonNull).forEach(s -> s.realClose());
                     this.activeProtocols.clear();
+                    // Wake up the waiting threads, each one passes the permit on to the next one after finding the client closed.
+                    this.availableSessions.release();
                 }
             }
         } else {
@@ -394,32 +700,31 @@ public class ClientImpl implements Client {
         }
     }
 
-    void idleProtocol(PooledXProtocol sess) {
-        synchronized (this.idleProtocols) {
-            if (!this.isClosed) {
-                List<WeakReference<PooledXProtocol>> removeThem = new ArrayList<>();
-                for (WeakReference<PooledXProtocol> wps : this.activeProtocols) {
-                    if (wps != null) {
-                        PooledXProtocol as = wps.get();
-                        if (as == null) {
-                            removeThem.add(wps);
-                        } else if (as == sess) {
-                            removeThem.add(wps);
-                            this.idleProtocols.add(as);
-                        }
-                    }
-                }
-
-                for (WeakReference<PooledXProtocol> wr : removeThem) {
-                    this.activeProtocols.remove(wr);
-                }
+    void idleProtocol(PooledXProtocol prot) {
+        WeakReference<PooledXProtocol> ref = prot.activeReference;
+        if (ref != null && this.activeProtocols.remove(ref)) {
+            prot.activeReference = null;
+            this.idleProtocols.offer(prot);
+            if (this.isClosed && this.idleProtocols.remove(prot)) {
+                prot.realClose();
             }
+            this.availableSessions.release();
+        }
+    }
+
+    void brokenProtocol(PooledXProtocol prot) {
+        WeakReference<PooledXProtocol> ref = prot.activeReference;
+        if (ref != null && this.activeProtocols.remove(ref)) {
+            prot.activeReference = null;
+            discardProtocol(prot);
+            this.availableSessions.release();
         }
     }
 
     public class PooledXProtocol extends XProtocol {
-        long idleSince = -1;
+        volatile long idleSince = -1;
         HostInfo hostInfo = null;
+        WeakReference<PooledXProtocol> activeReference = null;
 
         public PooledXProtocol(HostInfo hostInfo, PropertySet propertySet) {
             super(hostInfo, propertySet);
@@ -428,7 +733,12 @@ public class ClientImpl implements Client {
 
         @Override
         public void close() {
-            reset();
+            try {
+                reset();
+            } catch (CJCommunicationsException | XProtocolError e) {
+                brokenProtocol(this);
+                throw e;
+            }
             this.idleSince = System.currentTimeMillis();
             idleProtocol(this);
         }
@@ -31,6 +31,7 @@ package com.mysql.cj.xdevapi;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Iterator;
 import java.util.Map;
 
 import com.mysql.cj.Messages;
@@ -101,6 +102,11 @@ public class CollectionImpl implements Collection {
         return new AddStatementImpl(this.mysqlxSession, this.schema.getName(), this.name, docs);
     }
 
+    @Override
+    public AddStatement add(Iterator<? extends DbDoc> docs) {
+        return new AddStatementImpl(this.mysqlxSession, this.schema.getName(), this.name, new DbDoc[0]).add(docs);
+    }
+
     public FindStatement find() {
         return find(null);
     }
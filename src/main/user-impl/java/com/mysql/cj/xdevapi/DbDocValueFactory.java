@@ -31,13 +31,13 @@ package com.mysql.cj.xdevapi;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.AssertionFailedException;
 import com.mysql.cj.result.DefaultValueFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.ValueFactory;
-import com.mysql.cj.util.StringUtils;
 
 /**
  * A {@link ValueFactory} implementation to create {@link DbDoc}s.
@@ -56,11 +56,16 @@ public class DbDocValueFactory extends DefaultValueFactory<DbDoc> {
     /**
      * Interpret the given byte array as a string. This value factory needs to know the encoding to interpret the string. The default (null) will interpret the
      * byte array using the platform encoding.
+     * 
+     * UTF-8 encoded documents are not parsed here but wrapped into a {@link LazyDbDoc} which decodes fields on demand.
      */
     @Override
     public DbDoc createFromBytes(byte[] bytes, int offset, int length, Field f) {
+        if (StandardCharsets.UTF_8.name().equalsIgnoreCase(f.getEncoding())) {
+            return new LazyDbDoc(bytes, offset, length);
+        }
         try {
-            return JsonParser.parseDoc(new StringReader(StringUtils.toString(bytes, offset, length, f.getEncoding())));
+            return JsonParser.parseDoc(new StringReader(f.getStringDecoder().decode(bytes, offset, length)));
         } catch (IOException ex) {
             throw AssertionFailedException.shouldNotHappen(ex);
         }
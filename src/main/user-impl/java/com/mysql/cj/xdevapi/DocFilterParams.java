@@ -73,11 +73,11 @@ public class DocFilterParams extends AbstractFilterParams {
      *            projection expression
      */
     public void setFields(Expression docProjection) {
-        this.fields = Collections.singletonList(Projection.newBuilder().setSource(new ExprParser(docProjection.getExpressionString(), false).parse()).build());
+        this.fields = Collections.singletonList(Projection.newBuilder().setSource(ExprParserCache.parseExpr(docProjection.getExpressionString(), false).getExpr()).build());
     }
 
     @Override
     public void setFields(String... projection) {
-        this.fields = new ExprParser(Arrays.stream(projection).collect(Collectors.joining(", ")), false).parseDocumentProjection();
+        this.fields = ExprParserCache.parseDocumentProjection(Arrays.stream(projection).collect(Collectors.joining(", ")));
     }
 }
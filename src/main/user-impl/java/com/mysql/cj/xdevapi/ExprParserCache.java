@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.mysql.cj.x.protobuf.MysqlxCrud.Order;
+import com.mysql.cj.x.protobuf.MysqlxCrud.Projection;
+import com.mysql.cj.x.protobuf.MysqlxExpr.ColumnIdentifier;
+import com.mysql.cj.x.protobuf.MysqlxExpr.Expr;
+
+/**
+ * VM-wide cache of the results of {@link ExprParser}, keyed by the kind of parsing, the expression text and whether relational columns are allowed.
+ * 
+ * <p>
+ * The X Protocol messages produced by the parser are immutable, so parsed expressions, projections and order specifications can be shared by any number of
+ * statements. The cache is bounded; when it is full, arbitrary entries are evicted to make room for new ones.
+ * </p>
+ */
+public class ExprParserCache {
+
+    /**
+     * Maximum number of cached entries.
+     */
+    static final int MAX_ENTRIES = 2048;
+
+    private static final ConcurrentHashMap<Key, Object> cache = new ConcurrentHashMap<>();
+
+    private enum Kind {
+        EXPR, ORDER_SPEC, TABLE_SELECT_PROJECTION, DOCUMENT_PROJECTION, EXPR_LIST, DOCUMENT_FIELD, TABLE_UPDATE_FIELD;
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final String expression;
+        private final boolean allowRelationalColumns;
+        private final int hashCode;
+
+        Key(Kind kind, String expression, boolean allowRelationalColumns) {
+            this.kind = kind;
+            this.expression = expression;
+            this.allowRelationalColumns = allowRelationalColumns;
+            this.hashCode = (31 * kind.hashCode() + expression.hashCode()) * 31 + (allowRelationalColumns ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.kind == other.kind && this.allowRelationalColumns == other.allowRelationalColumns && this.expression.equals(other.expression);
+        }
+    }
+
+    /**
+     * The result of parsing an expression, along with its placeholders.
+     */
+    public static final class ParsedExpr {
+        private final Expr expr;
+        private final int positionalPlaceholderCount;
+        private final Map<String, Integer> placeholderNameToPosition;
+
+        ParsedExpr(ExprParser parser) {
+            this.expr = parser.parse();
+            this.positionalPlaceholderCount = parser.getPositionalPlaceholderCount();
+            this.placeholderNameToPosition = this.positionalPlaceholderCount > 0 ? parser.getPlaceholderNameToPositionMap() : Collections.emptyMap();
+        }
+
+        public Expr getExpr() {
+            return this.expr;
+        }
+
+        public int getPositionalPlaceholderCount() {
+            return this.positionalPlaceholderCount;
+        }
+
+        public Map<String, Integer> getPlaceholderNameToPositionMap() {
+            return this.placeholderNameToPosition;
+        }
+    }
+
+    private ExprParserCache() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Kind kind, String expression, boolean allowRelationalColumns, Function<ExprParser, T> parse) {
+        Key key = new Key(kind, expression, allowRelationalColumns);
+        Object value = cache.get(key);
+        if (value == null) {
+            value = parse.apply(new ExprParser(expression, allowRelationalColumns));
+            if (cache.size() >= MAX_ENTRIES) {
+                evict();
+            }
+            Object previous = cache.putIfAbsent(key, value);
+            if (previous != null) {
+                value = previous;
+            }
+        }
+        return (T) value;
+    }
+
+    private static void evict() {
+        int toEvict = MAX_ENTRIES / 8;
+        for (Iterator<Key> it = cache.keySet().iterator(); it.hasNext() && toEvict-- > 0;) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Parse the entire string as an expression. See {@link ExprParser#parse()}.
+     * 
+     * @param expression
+     *            expression string
+     * @param allowRelationalColumns
+     *            are relational columns identifiers allowed?
+     * @return {@link ParsedExpr}
+     */
+    public static ParsedExpr parseExpr(String expression, boolean allowRelationalColumns) {
+        return get(Kind.EXPR, expression, allowRelationalColumns, ParsedExpr::new);
+    }
+
+    /**
+     * Parse an ORDER BY specification. See {@link ExprParser#parseOrderSpec()}.
+     * 
+     * @param expression
+     *            expression string
+     * @param allowRelationalColumns
+     *            are relational columns identifiers allowed?
+     * @return unmodifiable list of {@link Order} objects
+     */
+    public static List<Order> parseOrderSpec(String expression, boolean allowRelationalColumns) {
+        return get(Kind.ORDER_SPEC, expression, allowRelationalColumns, p -> Collections.unmodifiableList(p.parseOrderSpec()));
+    }
+
+    /**
+     * Parse a SELECT projection. See {@link ExprParser#parseTableSelectProjection()}.
+     * 
+     * @param expression
+     *            expression string
+     * @return unmodifiable list of {@link Projection} objects
+     */
+    public static List<Projection> parseTableSelectProjection(String expression) {
+        return get(Kind.TABLE_SELECT_PROJECTION, expression, true, p -> Collections.unmodifiableList(p.parseTableSelectProjection()));
+    }
+
+    /**
+     * Parse a document projection. See {@link ExprParser#parseDocumentProjection()}.
+     * 
+     * @param expression
+     *            expression string
+     * @return unmodifiable list of {@link Projection} objects
+     */
+    public static List<Projection> parseDocumentProjection(String expression) {
+        return get(Kind.DOCUMENT_PROJECTION, expression, false, p -> Collections.unmodifiableList(p.parseDocumentProjection()));
+    }
+
+    /**
+     * Parse a list of expressions. See {@link ExprParser#parseExprList()}.
+     * 
+     * @param expression
+     *            expression string
+     * @param allowRelationalColumns
+     *            are relational columns identifiers allowed?
+     * @return unmodifiable list of {@link Expr} objects
+     */
+    public static List<Expr> parseExprList(String expression, boolean allowRelationalColumns) {
+        return get(Kind.EXPR_LIST, expression, allowRelationalColumns, p -> Collections.unmodifiableList(p.parseExprList()));
+    }
+
+    /**
+     * Parse a document field. See {@link ExprParser#documentField()}.
+     * 
+     * @param expression
+     *            expression string
+     * @return {@link Expr}
+     */
+    public static Expr parseDocumentField(String expression) {
+        return get(Kind.DOCUMENT_FIELD, expression, false, ExprParser::documentField);
+    }
+
+    /**
+     * Parse an UPDATE field. See {@link ExprParser#parseTableUpdateField()}.
+     * 
+     * @param expression
+     *            expression string
+     * @return {@link ColumnIdentifier}
+     */
+    public static ColumnIdentifier parseTableUpdateField(String expression) {
+        return get(Kind.TABLE_UPDATE_FIELD, expression, true, ExprParser::parseTableUpdateField);
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get the number of cached entries.
+     * 
+     * @return number of entries
+     */
+    static int size() {
+        return cache.size();
+    }
+}
@@ -317,7 +317,7 @@ public class ExprUtil {
             return buildLiteralScalar(((Character) value).toString());
 
         } else if (cls == Expression.class) {
-            return new ExprParser(((Expression) value).getExpressionString(), allowRelationalColumns).parse();
+            return ExprParserCache.parseExpr(((Expression) value).getExpressionString(), allowRelationalColumns).getExpr();
 
         } else if (cls == Date.class) {
             return buildLiteralScalar(javaSqlDateFormat.format((java.util.Date) value));
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+/**
+ * Receiver of the events produced by {@link Utf8JsonParser} while it reads a JSON text. Allows processing of documents without building {@link JsonValue}
+ * trees.
+ * 
+ * <p>
+ * Events come in document order. Each member of a JSON <b>object</b> is reported as a {@link #key(String)} call followed by the events of its value.
+ * </p>
+ */
+public interface JsonHandler {
+
+    /**
+     * A JSON <b>object</b> starts.
+     */
+    void startObject();
+
+    /**
+     * The current JSON <b>object</b> ends.
+     */
+    void endObject();
+
+    /**
+     * A JSON <b>array</b> starts.
+     */
+    void startArray();
+
+    /**
+     * The current JSON <b>array</b> ends.
+     */
+    void endArray();
+
+    /**
+     * A member key of the current JSON <b>object</b> was read.
+     * 
+     * @param key
+     *            unescaped key
+     */
+    void key(String key);
+
+    /**
+     * A JSON <b>string</b> value was read.
+     * 
+     * @param value
+     *            unescaped string value
+     */
+    void stringValue(String value);
+
+    /**
+     * A JSON <b>number</b> value was read.
+     * 
+     * @param value
+     *            the number as it appears in the JSON text
+     */
+    void numberValue(String value);
+
+    /**
+     * One of the 'true', 'false' or 'null' literals was read.
+     * 
+     * @param value
+     *            {@link JsonLiteral}
+     */
+    void literalValue(JsonLiteral value);
+}
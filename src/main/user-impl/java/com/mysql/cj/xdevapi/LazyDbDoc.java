@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+
+/**
+ * A {@link DbDoc} backed by the raw UTF-8 bytes of a JSON <b>object</b>, as received from the server.
+ * 
+ * <p>
+ * The top level of the document is scanned into a field index only when a field is first looked up, and each field value is decoded only when it is accessed.
+ * Values are decoded with {@link Utf8JsonParser}, nested objects are themselves returned as {@link LazyDbDoc}s over the same byte array. Operations that need the whole document (iteration, modification,
+ * {@link #toString()}) materialize it into a {@link DbDocImpl} which is used from then on.
+ * </p>
+ * 
+ * <p>
+ * As long as the document was not modified, {@link #toJsonString()} returns the original JSON text without re-encoding it.
+ * </p>
+ * 
+ * <p>
+ * The byte array given to the constructor is not copied and must not be modified afterwards.
+ * </p>
+ */
+public class LazyDbDoc extends AbstractMap<String, JsonValue> implements DbDoc {
+
+    /**
+     * Documents with up to this many fields are searched linearly, bigger ones get a hash index.
+     */
+    private static final int LINEAR_SEARCH_MAX_FIELDS = 8;
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+
+    private int fieldCount = -1;
+    private String[] keys;
+    private int[] valueStarts;
+    private int[] valueEnds;
+    private int[] hashSlots;
+
+    /** Values decoded so far, indexed as keys. */
+    private JsonValue[] values;
+    /** The original internal state of the decoded scalar values, used to detect in-place modifications. */
+    private String[] snapshots;
+
+    private DbDocImpl materialized;
+
+    /**
+     * Constructor.
+     * 
+     * @param bytes
+     *            the buffer holding the UTF-8 encoded JSON object
+     * @param offset
+     *            the offset of the JSON object in the buffer
+     * @param length
+     *            the length of the JSON object in bytes
+     */
+    public LazyDbDoc(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        if (this.materialized != null) {
+            return this.materialized.get(key);
+        }
+        int i = indexOf(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (this.materialized != null) {
+            return this.materialized.containsKey(key);
+        }
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        if (this.materialized != null) {
+            return this.materialized.size();
+        }
+        buildIndex();
+        return this.fieldCount;
+    }
+
+    @Override
+    public JsonValue put(String key, JsonValue value) {
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public JsonValue remove(Object key) {
+        return materialize().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        materialize().clear();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public DbDoc add(String key, JsonValue val) {
+        put(key, val);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return materialize().toString();
+    }
+
+    @Override
+    public String toFormattedString() {
+        return materialize().toFormattedString();
+    }
+
+    /**
+     * Get the JSON string representation of this document. The original JSON text is returned if the document was not modified since it was created,
+     * otherwise the result is the same as of {@link #toString()}.
+     * 
+     * @return JSON string
+     */
+    public String toJsonString() {
+        return isModified() ? toString() : new String(this.bytes, this.offset, this.length, StandardCharsets.UTF_8);
+    }
+
+    byte[] getRawBytes() {
+        return this.bytes;
+    }
+
+    int getRawOffset() {
+        return this.offset;
+    }
+
+    int getRawLength() {
+        return this.length;
+    }
+
+    /**
+     * Check if this document, or any of the values obtained from it, was modified since the document was created. Values which can't be tracked, such as
+     * {@link JsonArray}s, are considered modified as soon as they were handed out.
+     * 
+     * @return true if the original JSON text no longer represents this document
+     */
+    public boolean isModified() {
+        if (this.fieldCount < 0) {
+            return false; // nothing was touched yet
+        }
+        if (this.materialized != null) {
+            if (this.materialized.size() != this.fieldCount) {
+                return true;
+            }
+            for (int i = 0; i < this.fieldCount; i++) {
+                if (this.materialized.get(this.keys[i]) != this.values[i]) {
+                    return true;
+                }
+            }
+        }
+        for (int i = 0; i < this.fieldCount; i++) {
+            JsonValue val = this.values[i];
+            if (val == null || val instanceof JsonLiteral) {
+                continue;
+            } else if (val instanceof JsonString) {
+                if (((JsonString) val).getString() != this.snapshots[i]) {
+                    return true;
+                }
+            } else if (val instanceof JsonNumber) {
+                if (val.toString() != this.snapshots[i]) {
+                    return true;
+                }
+            } else if (val instanceof LazyDbDoc) {
+                if (((LazyDbDoc) val).isModified()) {
+                    return true;
+                }
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DbDocImpl materialize() {
+        if (this.materialized == null) {
+            buildIndex();
+            DbDocImpl doc = new DbDocImpl();
+            for (int i = 0; i < this.fieldCount; i++) {
+                doc.put(this.keys[i], valueAt(i));
+            }
+            this.materialized = doc;
+        }
+        return this.materialized;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        buildIndex();
+        if (this.hashSlots == null) {
+            for (int i = 0; i < this.fieldCount; i++) {
+                if (this.keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = this.hashSlots.length - 1;
+        for (int slot = spread(key.hashCode()) & mask;; slot = (slot + 1) & mask) {
+            int i = this.hashSlots[slot] - 1;
+            if (i < 0) {
+                return -1;
+            } else if (this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private JsonValue valueAt(int i) {
+        JsonValue val = this.values[i];
+        if (val == null) {
+            val = decodeValue(this.valueStarts[i], this.valueEnds[i]);
+            if (val instanceof JsonString) {
+                this.snapshots[i] = ((JsonString) val).getString();
+            } else if (val instanceof JsonNumber) {
+                this.snapshots[i] = val.toString();
+            }
+            this.values[i] = val;
+        }
+        return val;
+    }
+
+    private JsonValue decodeValue(int start, int end) {
+        switch (this.bytes[start]) {
+            case '"':
+                return new JsonString().setValue(Utf8JsonParser.INSTANCE.decodeString(this.bytes, start, end, false));
+            case '{':
+                return new LazyDbDoc(this.bytes, start, end - start);
+            default:
+                return Utf8JsonParser.INSTANCE.parseValue(this.bytes, start, end - start);
+        }
+    }
+
+    /**
+     * Scan the top level of the document and record the positions of all field values, without decoding them.
+     */
+    private void buildIndex() {
+        if (this.fieldCount >= 0) {
+            return;
+        }
+
+        int end = this.offset + this.length;
+        int capacity = LINEAR_SEARCH_MAX_FIELDS;
+        String[] k = new String[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int count = 0;
+
+        int pos = skipWhitespace(this.offset, end);
+        if (pos == end || this.bytes[pos] != '{') {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.2"));
+        }
+        pos = skipWhitespace(pos + 1, end);
+        if (pos < end && this.bytes[pos] == '}') {
+            pos = end; // empty document
+        }
+
+        while (pos < end) {
+            if (this.bytes[pos] != '"') {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) this.bytes[pos] }));
+            }
+            int keyEnd = skipString(pos, end);
+            String key = Utf8JsonParser.INSTANCE.decodeString(this.bytes, pos, keyEnd, true);
+
+            pos = skipWhitespace(keyEnd, end);
+            if (pos == end || this.bytes[pos] != ':') {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.4", new String[] { key }));
+            }
+            pos = skipWhitespace(pos + 1, end);
+            int valueEnd = skipValue(pos, end);
+
+            if (count == capacity) {
+                capacity *= 2;
+                k = Arrays.copyOf(k, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            k[count] = key;
+            starts[count] = pos;
+            ends[count] = valueEnd;
+            count++;
+
+            pos = skipWhitespace(valueEnd, end);
+            if (pos == end) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { '}' }));
+            } else if (this.bytes[pos] == ',') {
+                pos = skipWhitespace(pos + 1, end);
+            } else if (this.bytes[pos] == '}') {
+                break;
+            } else {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) this.bytes[pos] }));
+            }
+        }
+
+        this.keys = k;
+        this.valueStarts = starts;
+        this.valueEnds = ends;
+        this.values = new JsonValue[count];
+        this.snapshots = new String[count];
+
+        if (count > LINEAR_SEARCH_MAX_FIELDS) {
+            int[] slots = new int[Integer.highestOneBit(count) << 2];
+            int mask = slots.length - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = spread(k[i].hashCode()) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+            this.hashSlots = slots;
+        }
+
+        this.fieldCount = count;
+    }
+
+    private int skipWhitespace(int pos, int end) {
+        while (pos < end) {
+            byte b = this.bytes[pos];
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Skip a JSON string starting at the given position.
+     * 
+     * @return the position right after the closing quotation mark
+     */
+    private int skipString(int pos, int end) {
+        for (int i = pos + 1; i < end; i++) {
+            byte b = this.bytes[i];
+            if (b == '\\') {
+                i++;
+            } else if (b == '"') {
+                return i + 1;
+            }
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { '"' }));
+    }
+
+    /**
+     * Skip any JSON value starting at the given position.
+     * 
+     * @return the position right after the value
+     */
+    private int skipValue(int pos, int end) {
+        if (pos == end) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+        }
+        byte b = this.bytes[pos];
+        if (b == '"') {
+            return skipString(pos, end);
+
+        } else if (b == '{' || b == '[') {
+            int depth = 0;
+            for (int i = pos; i < end; i++) {
+                b = this.bytes[i];
+                if (b == '"') {
+                    i = skipString(i, end) - 1;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("JsonParser.3", new Character[] { this.bytes[pos] == '{' ? '}' : ']' }));
+        }
+
+        // number or literal
+        int i = pos;
+        while (i < end) {
+            b = this.bytes[i];
+            if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        if (i == pos) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+        }
+        return i;
+    }
+}
@@ -104,7 +104,7 @@ public class ModifyStatementImpl extends FilterableStatement<ModifyStatement, Re
     @Override
     public ModifyStatement patch(DbDoc document) {
         resetPrepareState();
-        return patch(document.toString());
+        return patch(document instanceof LazyDbDoc ? ((LazyDbDoc) document).toJsonString() : document.toString());
     }
 
     @Override
@@ -56,6 +56,7 @@ public abstract class PreparableStatement<RES_T> {
 
     protected int preparedStatementId = 0;
     protected PreparedState preparedState = PreparedState.UNPREPARED;
+    private XMessage cachedPrepareStatementXMessage = null; // Looks up this statement in the session-wide prepared statements cache.
 
     protected MysqlxSession mysqlxSession;
 
@@ -73,6 +74,7 @@ public abstract class PreparableStatement<RES_T> {
      * Mark this preparable statement to be deallocated on next execution, if it is currently prepared, or cancel the next prepare.
      */
     protected void resetPrepareState() {
+        this.cachedPrepareStatementXMessage = null;
         if (this.preparedState == PreparedState.PREPARED || this.preparedState == PreparedState.REPREPARE) {
             this.preparedState = PreparedState.DEALLOCATE;
         } else if (this.preparedState == PreparedState.PREPARE) {
@@ -84,6 +86,7 @@ public abstract class PreparableStatement<RES_T> {
      * Mark this preparable statement to be deallocated and re-prepared on next execution, if it is currently prepared.
      */
     protected void setReprepareState() {
+        this.cachedPrepareStatementXMessage = null;
         if (this.preparedState == PreparedState.PREPARED) {
             this.preparedState = PreparedState.REPREPARE;
         }
@@ -92,12 +95,16 @@ public abstract class PreparableStatement<RES_T> {
     /**
      * Executes synchronously this statement either directly or using prepared statements if:
      * 1. Prepared statements are supported by the server.
-     * 2. The statement is executed repeatedly without changing its structure.
+     * 2. The statement is executed repeatedly without changing its structure or, if the session-wide prepared statements cache is enabled, always.
      * 
      * @return
      *         the object returned from the low level statement execution
      */
     public RES_T execute() {
+        if (this.preparedState != PreparedState.UNSUPPORTED && this.mysqlxSession.getPreparedStatementCacheSize() > 0) {
+            return executeCachedPreparedStatement();
+        }
+
         for (;;) {
             switch (this.preparedState) {
                 case UNSUPPORTED:
@@ -192,6 +199,37 @@ public abstract class PreparableStatement<RES_T> {
      */
     protected abstract RES_T executePreparedStatement();
 
+    /**
+     * Executes this statement through the session-wide prepared statements cache. Statements with the same structure share the same server prepared
+     * statement, which is prepared along with its second execution. This statement instance doesn't own the prepared statement, so it is never deallocated
+     * by it. The prepare message used to look it up is kept until the statement structure changes.
+     * 
+     * @return
+     *         the object returned from the lower level statement execution
+     */
+    private RES_T executeCachedPreparedStatement() {
+        this.preparedStatementId = 0;
+        if (this.cachedPrepareStatementXMessage == null) {
+            this.cachedPrepareStatementXMessage = getPrepareStatementXMessage();
+        }
+        int cachedPreparedStatementId = this.mysqlxSession.getCachedPreparedStatementId(this.cachedPrepareStatementXMessage);
+        if (cachedPreparedStatementId == 0) {
+            return executeStatement();
+        }
+
+        this.preparedStatementId = cachedPreparedStatementId;
+        try {
+            return executePreparedStatement();
+        } catch (XProtocolError e) {
+            if (this.mysqlxSession.failedExecutingCachedPreparedStatement(cachedPreparedStatementId, e)) {
+                return executeStatement();
+            }
+            throw e;
+        } finally {
+            this.preparedStatementId = 0;
+        }
+    }
+
     /**
      * Deallocate this prepared statement from current {@link MysqlxSession}.
      */
@@ -36,6 +36,7 @@ import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ProtocolEntity;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.x.XMessage;
+import com.mysql.cj.result.StringValueFactory;
 
 /**
  * Create {@link Row} objects from internal row representation.
@@ -44,6 +45,7 @@ public class RowFactory implements ProtocolEntityFactory<Row, XMessage> {
     private ColumnDefinition metadata;
     private TimeZone defaultTimeZone;
     private PropertySet pset;
+    private StringValueFactory stringValueFactory;
 
     /**
      * Constructor.
@@ -59,10 +61,11 @@ public class RowFactory implements ProtocolEntityFactory<Row, XMessage> {
         this.metadata = metadata;
         this.defaultTimeZone = defaultTimeZone;
         this.pset = pset;
+        this.stringValueFactory = new StringValueFactory(pset);
     }
 
     @Override
     public Row createFromProtocolEntity(ProtocolEntity internalRow) {
-        return new RowImpl((com.mysql.cj.result.Row) internalRow, this.metadata, this.defaultTimeZone, this.pset);
+        return new RowImpl((com.mysql.cj.result.Row) internalRow, this.metadata, this.defaultTimeZone, this.pset, this.stringValueFactory);
     }
 }
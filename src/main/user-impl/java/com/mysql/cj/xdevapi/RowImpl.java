@@ -61,6 +61,7 @@ public class RowImpl implements com.mysql.cj.xdevapi.Row {
      */
     private TimeZone defaultTimeZone;
     private PropertySet pset;
+    private StringValueFactory stringValueFactory;
 
     /**
      * Constructor.
@@ -75,10 +76,29 @@ public class RowImpl implements com.mysql.cj.xdevapi.Row {
      *            {@link PropertySet}
      */
     public RowImpl(Row row, ColumnDefinition metadata, TimeZone defaultTimeZone, PropertySet pset) {
+        this(row, metadata, defaultTimeZone, pset, new StringValueFactory(pset));
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param row
+     *            {@link Row} instance provided by c/J core.
+     * @param metadata
+     *            {@link ColumnDefinition} object to use for new rows.
+     * @param defaultTimeZone
+     *            {@link TimeZone} object representing the default time zone
+     * @param pset
+     *            {@link PropertySet}
+     * @param stringValueFactory
+     *            {@link StringValueFactory} shared by the rows of a result
+     */
+    public RowImpl(Row row, ColumnDefinition metadata, TimeZone defaultTimeZone, PropertySet pset, StringValueFactory stringValueFactory) {
         this.row = row;
         this.metadata = metadata;
         this.defaultTimeZone = defaultTimeZone;
         this.pset = pset;
+        this.stringValueFactory = stringValueFactory;
     }
 
     /**
@@ -173,7 +193,7 @@ public class RowImpl implements com.mysql.cj.xdevapi.Row {
 
     public String getString(int pos) {
         // TODO: charset
-        return this.row.getValue(pos, new StringValueFactory(this.pset));
+        return this.row.getValue(pos, this.stringValueFactory);
     }
 
     public Time getTime(String fieldName) {
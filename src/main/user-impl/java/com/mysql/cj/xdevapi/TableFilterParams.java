@@ -65,6 +65,6 @@ public class TableFilterParams extends AbstractFilterParams {
     @Override
     public void setFields(String... projection) {
         this.projection = projection;
-        this.fields = new ExprParser(Arrays.stream(projection).collect(Collectors.joining(", ")), true).parseTableSelectProjection();
+        this.fields = ExprParserCache.parseTableSelectProjection(Arrays.stream(projection).collect(Collectors.joining(", ")));
     }
 }
@@ -60,7 +60,7 @@ public class UpdateParams {
      *            value expression
      */
     public void addUpdate(String path, Object value) {
-        this.updateOps.put(new ExprParser(path, true).parseTableUpdateField(), ExprUtil.argObjectToExpr(value, true));
+        this.updateOps.put(ExprParserCache.parseTableUpdateField(path), ExprUtil.argObjectToExpr(value, true));
     }
 
     /**
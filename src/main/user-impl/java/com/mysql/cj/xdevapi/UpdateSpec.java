@@ -57,7 +57,7 @@ public class UpdateSpec {
         if (source.length() > 0 && source.charAt(0) == '$') {
             source = source.substring(1);
         }
-        this.source = new ExprParser(source, false).documentField().getIdentifier();
+        this.source = ExprParserCache.parseDocumentField(source).getIdentifier();
     }
 
     /**
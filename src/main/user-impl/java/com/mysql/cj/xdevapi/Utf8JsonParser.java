@@ -0,0 +1,556 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+
+/**
+ * JSON parser working directly on UTF-8 encoded bytes, as received from the X Protocol.
+ * 
+ * <p>
+ * Unlike {@link JsonParser}, which reads a {@link java.io.StringReader} one character at a time, this parser scans the input bytes using lookup tables and
+ * decodes strings straight from the input buffer. Object keys made of ASCII characters are interned in a small shared cache, so documents with the same
+ * structure share key instances instead of allocating them per document.
+ * </p>
+ * 
+ * <p>
+ * The parser either builds {@link DbDocImpl}/{@link JsonValue} trees or reports the JSON text to a {@link JsonHandler}. Instances are thread-safe.
+ * </p>
+ */
+public class Utf8JsonParser {
+
+    /**
+     * Shared instance.
+     */
+    public static final Utf8JsonParser INSTANCE = new Utf8JsonParser();
+
+    private static final byte CC_OTHER = 0;
+    private static final byte CC_WHITESPACE = 1;
+    private static final byte CC_VALUE_END = 2; // ',', '}', ']'
+
+    /** Character classes, by byte value. */
+    private static final byte[] CHAR_CLASS = new byte[256];
+    /** Whether a byte ends a string run which can be copied as is. */
+    private static final boolean[] STRING_STOP = new boolean[256];
+    /** Unescaped values of the single character escape sequences, or 0 if unknown. */
+    private static final char[] UNESCAPE = new char[128];
+
+    static {
+        CHAR_CLASS[' '] = CHAR_CLASS['\t'] = CHAR_CLASS['\n'] = CHAR_CLASS['\r'] = CC_WHITESPACE;
+        CHAR_CLASS[','] = CHAR_CLASS['}'] = CHAR_CLASS[']'] = CC_VALUE_END;
+        for (int i = 0; i < 0x20; i++) {
+            STRING_STOP[i] = true; // control characters must be escaped
+        }
+        STRING_STOP['"'] = STRING_STOP['\\'] = true;
+        for (JsonParser.EscapeChar ec : JsonParser.EscapeChar.values()) {
+            UNESCAPE[ec.ESCAPED.charAt(1)] = ec.CHAR;
+        }
+    }
+
+    private static final int KEY_CACHE_SIZE = 512; // power of 2
+    private static final int KEY_CACHE_MAX_KEY_LENGTH = 64;
+
+    /**
+     * Interned ASCII keys. Racy reads and writes are harmless because cached instances are immutable and are always verified against the input bytes.
+     */
+    private final String[] keyCache = new String[KEY_CACHE_SIZE];
+
+    /**
+     * Create {@link DbDoc} object from UTF-8 encoded JSON text.
+     * 
+     * @param bytes
+     *            buffer holding the JSON text
+     * @param offset
+     *            offset of the JSON text in the buffer
+     * @param length
+     *            length of the JSON text in bytes
+     * @return New {@link DbDoc} object initialized by parsed JSON text.
+     */
+    public DbDoc parseDoc(byte[] bytes, int offset, int length) {
+        JsonValue val = parseValue(bytes, offset, length);
+        if (!(val instanceof DbDoc)) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.2"));
+        }
+        return (DbDoc) val;
+    }
+
+    /**
+     * Create {@link DbDoc} object from UTF-8 encoded JSON text. The buffer position is not changed.
+     * 
+     * @param buf
+     *            buffer holding the JSON text between its position and limit
+     * @return New {@link DbDoc} object initialized by parsed JSON text.
+     */
+    public DbDoc parseDoc(ByteBuffer buf) {
+        byte[] bytes = toArray(buf);
+        return parseDoc(bytes, buf.hasArray() ? buf.arrayOffset() + buf.position() : 0, buf.remaining());
+    }
+
+    /**
+     * Create {@link JsonValue} object of the matching type from UTF-8 encoded JSON text.
+     * 
+     * @param bytes
+     *            buffer holding the JSON text
+     * @param offset
+     *            offset of the JSON text in the buffer
+     * @param length
+     *            length of the JSON text in bytes
+     * @return New {@link JsonValue} object initialized by parsed JSON text.
+     */
+    public JsonValue parseValue(byte[] bytes, int offset, int length) {
+        ValueBuilder builder = new ValueBuilder();
+        parse(bytes, offset, length, builder);
+        return builder.result;
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON text reporting its contents to the given {@link JsonHandler}.
+     * 
+     * @param bytes
+     *            buffer holding the JSON text
+     * @param offset
+     *            offset of the JSON text in the buffer
+     * @param length
+     *            length of the JSON text in bytes
+     * @param handler
+     *            {@link JsonHandler} to receive the parsing events
+     */
+    public void parse(byte[] bytes, int offset, int length, JsonHandler handler) {
+        int end = offset + length;
+        int pos = skipWhitespace(bytes, offset, end);
+        if (pos == end) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+        }
+        pos = skipWhitespace(bytes, parseValue(bytes, pos, end, handler), end);
+        if (pos < end) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) bytes[pos] }));
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON text reporting its contents to the given {@link JsonHandler}. The buffer position is not changed.
+     * 
+     * @param buf
+     *            buffer holding the JSON text between its position and limit
+     * @param handler
+     *            {@link JsonHandler} to receive the parsing events
+     */
+    public void parse(ByteBuffer buf, JsonHandler handler) {
+        byte[] bytes = toArray(buf);
+        parse(bytes, buf.hasArray() ? buf.arrayOffset() + buf.position() : 0, buf.remaining(), handler);
+    }
+
+    private static byte[] toArray(ByteBuffer buf) {
+        if (buf.hasArray()) {
+            return buf.array();
+        }
+        byte[] bytes = new byte[buf.remaining()];
+        buf.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private int parseValue(byte[] bytes, int pos, int end, JsonHandler handler) {
+        switch (bytes[pos]) {
+            case '{':
+                return parseObject(bytes, pos, end, handler);
+            case '[':
+                return parseArray(bytes, pos, end, handler);
+            case '"':
+                return parseString(bytes, pos, end, handler, false);
+            case 't':
+                return parseLiteral(bytes, pos, end, JsonLiteral.TRUE, handler);
+            case 'f':
+                return parseLiteral(bytes, pos, end, JsonLiteral.FALSE, handler);
+            case 'n':
+                return parseLiteral(bytes, pos, end, JsonLiteral.NULL, handler);
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                return parseNumber(bytes, pos, end, handler);
+            default:
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) bytes[pos] }));
+        }
+    }
+
+    private int parseObject(byte[] bytes, int pos, int end, JsonHandler handler) {
+        handler.startObject();
+        pos = skipWhitespace(bytes, pos + 1, end);
+        if (pos < end && bytes[pos] == '}') {
+            handler.endObject();
+            return pos + 1;
+        }
+        while (pos < end) {
+            if (bytes[pos] != '"') {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) bytes[pos] }));
+            }
+            int keyStart = pos;
+            int keyEnd = parseString(bytes, pos, end, handler, true);
+            pos = skipWhitespace(bytes, keyEnd, end);
+            if (pos == end || bytes[pos] != ':') {
+                throw ExceptionFactory.createException(WrongArgumentException.class,
+                        Messages.getString("JsonParser.4", new String[] { new String(bytes, keyStart + 1, keyEnd - keyStart - 2, StandardCharsets.UTF_8) }));
+            }
+            pos = skipWhitespace(bytes, pos + 1, end);
+            if (pos == end) {
+                break;
+            }
+            pos = skipWhitespace(bytes, parseValue(bytes, pos, end, handler), end);
+            if (pos == end) {
+                break;
+            } else if (bytes[pos] == ',') {
+                pos = skipWhitespace(bytes, pos + 1, end);
+            } else if (bytes[pos] == '}') {
+                handler.endObject();
+                return pos + 1;
+            } else {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) bytes[pos] }));
+            }
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { '}' }));
+    }
+
+    private int parseArray(byte[] bytes, int pos, int end, JsonHandler handler) {
+        handler.startArray();
+        pos = skipWhitespace(bytes, pos + 1, end);
+        if (pos < end && bytes[pos] == ']') {
+            handler.endArray();
+            return pos + 1;
+        }
+        while (pos < end) {
+            pos = skipWhitespace(bytes, parseValue(bytes, pos, end, handler), end);
+            if (pos == end) {
+                break;
+            } else if (bytes[pos] == ',') {
+                pos = skipWhitespace(bytes, pos + 1, end);
+            } else if (bytes[pos] == ']') {
+                handler.endArray();
+                return pos + 1;
+            } else {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) bytes[pos] }));
+            }
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { ']' }));
+    }
+
+    private int parseString(byte[] bytes, int pos, int end, JsonHandler handler, boolean isKey) {
+        int i = pos + 1;
+        boolean ascii = true;
+        // fast path: a run of bytes needing no unescaping
+        while (i < end && !STRING_STOP[bytes[i] & 0xFF]) {
+            ascii &= bytes[i] >= 0;
+            i++;
+        }
+        if (i == end) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { '"' }));
+        }
+
+        String value;
+        int next;
+        if (bytes[i] == '"') {
+            value = newString(bytes, pos + 1, i - pos - 1, ascii, isKey);
+            next = i + 1;
+        } else {
+            next = findStringEnd(bytes, i, end);
+            value = unescape(bytes, pos + 1, next - 1, i);
+        }
+
+        if (isKey) {
+            handler.key(value);
+        } else {
+            handler.stringValue(value);
+        }
+        return next;
+    }
+
+    /**
+     * Decode a JSON <b>string</b> whose bounds are already known.
+     * 
+     * @param bytes
+     *            buffer holding the JSON text
+     * @param start
+     *            position of the opening quotation mark
+     * @param end
+     *            position right after the closing quotation mark
+     * @param isKey
+     *            whether the string is an object key and may be interned
+     * @return unescaped string value
+     */
+    String decodeString(byte[] bytes, int start, int end, boolean isKey) {
+        int i = start + 1;
+        boolean ascii = true;
+        while (i < end - 1 && !STRING_STOP[bytes[i] & 0xFF]) {
+            ascii &= bytes[i] >= 0;
+            i++;
+        }
+        return i == end - 1 ? newString(bytes, start + 1, end - start - 2, ascii, isKey) : unescape(bytes, start + 1, end - 1, i);
+    }
+
+    private String newString(byte[] bytes, int offset, int length, boolean ascii, boolean isKey) {
+        if (isKey && ascii && length <= KEY_CACHE_MAX_KEY_LENGTH) {
+            return internKey(bytes, offset, length);
+        }
+        return new String(bytes, offset, length, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Find the end of a JSON <b>string</b>, starting from a position inside of it.
+     * 
+     * @return the position right after the closing quotation mark
+     */
+    private static int findStringEnd(byte[] bytes, int pos, int end) {
+        for (int i = pos; i < end; i++) {
+            if (bytes[i] == '\\') {
+                i++;
+            } else if (bytes[i] == '"') {
+                return i + 1;
+            }
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { '"' }));
+    }
+
+    /**
+     * Decode string contents containing escape sequences.
+     * 
+     * @param bytes
+     *            buffer holding the JSON text
+     * @param from
+     *            start of the string contents
+     * @param to
+     *            end of the string contents
+     * @param firstStop
+     *            position of the first byte which can't be copied as is
+     * @return unescaped string value
+     */
+    private static String unescape(byte[] bytes, int from, int to, int firstStop) {
+        StringBuilder sb = new StringBuilder(to - from);
+        sb.append(new String(bytes, from, firstStop - from, StandardCharsets.UTF_8));
+        int i = firstStop;
+        int runStart = i;
+        while (i < to) {
+            byte b = bytes[i];
+            if (!STRING_STOP[b & 0xFF]) {
+                i++;
+                continue;
+            }
+            if (i > runStart) {
+                sb.append(new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8));
+            }
+            if (b != '\\' || i + 1 == to) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) b }));
+            }
+            byte e = bytes[i + 1];
+            if (e == 'u') {
+                if (i + 6 > to) {
+                    throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.7", new Character[] { 'u' }));
+                }
+                try {
+                    sb.append((char) Integer.parseInt(new String(bytes, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                } catch (NumberFormatException ex) {
+                    throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.7", new Character[] { 'u' }), ex);
+                }
+                i += 6;
+            } else if (e >= 0 && UNESCAPE[e] != 0) {
+                sb.append(UNESCAPE[e]);
+                i += 2;
+            } else {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.7", new Character[] { (char) e }));
+            }
+            runStart = i;
+        }
+        if (i > runStart) {
+            sb.append(new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    private String internKey(byte[] bytes, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + bytes[i]; // same as String.hashCode() for ASCII
+        }
+        int slot = (h ^ (h >>> 16)) & (KEY_CACHE_SIZE - 1);
+        String cached = this.keyCache[slot];
+        if (cached != null && cached.hashCode() == h && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == bytes[offset + i]) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
+        }
+        String key = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        this.keyCache[slot] = key;
+        return key;
+    }
+
+    private int parseNumber(byte[] bytes, int pos, int end, JsonHandler handler) {
+        int i = pos;
+        if (bytes[i] == '-') {
+            i++;
+        }
+        i = expectDigits(bytes, pos, i, end);
+        if (i < end && bytes[i] == '.') {
+            i = expectDigits(bytes, pos, i + 1, end);
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            if (i < end && (bytes[i] == '+' || bytes[i] == '-')) {
+                i++;
+            }
+            i = expectDigits(bytes, pos, i, end);
+        }
+        if (i < end && CHAR_CLASS[bytes[i] & 0xFF] != CC_WHITESPACE && CHAR_CLASS[bytes[i] & 0xFF] != CC_VALUE_END) {
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("JsonParser.8", new Object[] { (char) bytes[i], new String(bytes, pos, i - pos, StandardCharsets.US_ASCII) }));
+        }
+        handler.numberValue(new String(bytes, pos, i - pos, StandardCharsets.US_ASCII));
+        return i;
+    }
+
+    private static int expectDigits(byte[] bytes, int numberStart, int pos, int end) {
+        int i = pos;
+        while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+            i++;
+        }
+        if (i == pos) {
+            if (i == end) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+            }
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("JsonParser.8", new Object[] { (char) bytes[i], new String(bytes, numberStart, i - numberStart, StandardCharsets.US_ASCII) }));
+        }
+        return i;
+    }
+
+    private static int parseLiteral(byte[] bytes, int pos, int end, JsonLiteral literal, JsonHandler handler) {
+        String expected = literal.value;
+        int i = 0;
+        while (i < expected.length() && pos + i < end && bytes[pos + i] == expected.charAt(i)) {
+            i++;
+        }
+        int next = pos + i;
+        if (i < expected.length() || next < end && CHAR_CLASS[bytes[next] & 0xFF] != CC_WHITESPACE && CHAR_CLASS[bytes[next] & 0xFF] != CC_VALUE_END) {
+            while (next < end && CHAR_CLASS[bytes[next] & 0xFF] == CC_OTHER) {
+                next++;
+            }
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("JsonParser.12", new String[] { new String(bytes, pos, Math.max(next - pos, 1), StandardCharsets.UTF_8) }));
+        }
+        handler.literalValue(literal);
+        return next;
+    }
+
+    private static int skipWhitespace(byte[] bytes, int pos, int end) {
+        while (pos < end && CHAR_CLASS[bytes[pos] & 0xFF] == CC_WHITESPACE) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * {@link JsonHandler} building {@link JsonValue} trees.
+     */
+    private static class ValueBuilder implements JsonHandler {
+        private Deque<JsonValue> containers = new ArrayDeque<>();
+        private String key;
+        JsonValue result;
+
+        private void addValue(JsonValue val) {
+            JsonValue container = this.containers.peek();
+            if (container == null) {
+                this.result = val;
+            } else if (container instanceof DbDocImpl) {
+                ((DbDocImpl) container).put(this.key, val);
+            } else {
+                ((JsonArray) container).add(val);
+            }
+        }
+
+        @Override
+        public void startObject() {
+            DbDocImpl doc = new DbDocImpl();
+            addValue(doc);
+            this.containers.push(doc);
+        }
+
+        @Override
+        public void endObject() {
+            this.containers.pop();
+        }
+
+        @Override
+        public void startArray() {
+            JsonArray arr = new JsonArray();
+            addValue(arr);
+            this.containers.push(arr);
+        }
+
+        @Override
+        public void endArray() {
+            this.containers.pop();
+        }
+
+        @Override
+        public void key(String k) {
+            this.key = k;
+        }
+
+        @Override
+        public void stringValue(String value) {
+            addValue(new JsonString().setValue(value));
+        }
+
+        @Override
+        public void numberValue(String value) {
+            addValue(new JsonNumber().setValue(value));
+        }
+
+        @Override
+        public void literalValue(JsonLiteral value) {
+            addValue(value);
+        }
+    }
+}
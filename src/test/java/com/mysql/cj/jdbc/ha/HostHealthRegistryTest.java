@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.jdbc.ha.HostHealthRegistry.HostHealth;
+
+/**
+ * Tests for {@link HostHealthRegistry} and the balance strategies based on it.
+ */
+public class HostHealthRegistryTest {
+    @Test
+    public void testHostHealth() {
+        HostHealthRegistry.reset();
+        HostHealth health = HostHealthRegistry.getHostHealth("hostA:3306");
+        assertSame(health, HostHealthRegistry.getHostHealth("hostA:3306"));
+        assertEquals(0, health.getInFlight());
+        assertEquals(-1, health.getLatencyEwma(), 0);
+        assertEquals(0, health.getErrorRate(), 0);
+
+        health.transactionStarted();
+        health.transactionStarted();
+        assertEquals(2, health.getInFlight());
+        health.transactionCompleted(1000);
+        assertEquals(1, health.getInFlight());
+        assertEquals(1, health.getTransactionCount());
+        assertEquals(1000, health.getLatencyEwma(), 0);
+        health.transactionCompleted(2000);
+        assertEquals(0, health.getInFlight());
+        assertEquals(1000 + HostHealthRegistry.EWMA_WEIGHT * 1000, health.getLatencyEwma(), 0.001);
+
+        health.errorOccurred();
+        assertEquals(HostHealthRegistry.EWMA_WEIGHT, health.getErrorRate(), 0.001);
+        health.connectionEstablished();
+        assertTrue(health.getErrorRate() < HostHealthRegistry.EWMA_WEIGHT);
+
+        health.transactionStarted();
+        health.transactionAbandoned();
+        assertEquals(0, health.getInFlight());
+        assertEquals(2, health.getTransactionCount());
+    }
+
+    @Test
+    public void testChooseHost() {
+        HostHealthRegistry.reset();
+        List<String> hosts = Arrays.asList("hostA:3306", "hostB:3306", "hostC:3306");
+        HostHealth busy = HostHealthRegistry.getHostHealth("hostA:3306");
+        for (int i = 0; i < 10; i++) {
+            busy.transactionStarted();
+        }
+        HostHealth slow = HostHealthRegistry.getHostHealth("hostB:3306");
+        slow.transactionStarted();
+        slow.transactionCompleted(1_000_000_000L);
+        HostHealthRegistry.getHostHealth("hostC:3306").transactionStarted();
+        HostHealthRegistry.getHostHealth("hostC:3306").transactionCompleted(1_000_000L);
+
+        LeastOutstandingBalanceStrategy leastOutstanding = new LeastOutstandingBalanceStrategy();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("hostC:3306", leastOutstanding.chooseHost(hosts));
+        }
+        assertEquals("hostB:3306", leastOutstanding.chooseHost(Arrays.asList("hostA:3306", "hostB:3306")));
+
+        // the best of two random hosts is never the worst one
+        PowerOfTwoChoicesBalanceStrategy powerOfTwo = new PowerOfTwoChoicesBalanceStrategy();
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            counts.merge(powerOfTwo.chooseHost(hosts), 1, Integer::sum);
+        }
+        assertEquals(null, counts.get("hostA:3306"));
+        assertTrue(counts.get("hostC:3306") > counts.get("hostB:3306"));
+        assertEquals("hostA:3306", powerOfTwo.chooseHost(Arrays.asList("hostA:3306")));
+    }
+}
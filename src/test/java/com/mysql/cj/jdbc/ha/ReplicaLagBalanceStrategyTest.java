@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.jdbc.ha;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.HostInfo;
+
+/**
+ * Tests for {@link ReplicaLagMonitor} and {@link ReplicaLagBalanceStrategy}.
+ */
+public class ReplicaLagBalanceStrategyTest {
+    @Test
+    public void testEjectionAndReadmission() {
+        ReplicaLagMonitor monitor = ReplicaLagMonitor.getInstance("testEjectionAndReadmission", 1000, Integer.MAX_VALUE, null);
+        try {
+            assertSame(monitor, ReplicaLagMonitor.getInstance("testEjectionAndReadmission", 1, 1, null));
+            assertSame(monitor, ReplicaLagMonitor.getMonitor("testEjectionAndReadmission"));
+
+            monitor.monitor(new HostInfo(null, "hostA", 3306, "user", "pwd"));
+            assertEquals(-1, monitor.getLag("hostA:3306"));
+            assertEquals(-1, monitor.getLag("hostB:3306"));
+            monitor.updateLag("hostB:3306", 5000); // not monitored
+            assertEquals(-1, monitor.getLag("hostB:3306"));
+
+            monitor.updateLag("hostA:3306", 1000);
+            assertFalse(monitor.isEjected("hostA:3306"));
+            monitor.updateLag("hostA:3306", 1001);
+            assertTrue(monitor.isEjected("hostA:3306"));
+            assertEquals(1, monitor.getEjectionCount());
+            assertTrue(monitor.getEjectedReplicas().contains("hostA:3306"));
+
+            // readmitted only when the lag drops to half of the maximum
+            monitor.updateLag("hostA:3306", 501);
+            assertTrue(monitor.isEjected("hostA:3306"));
+            monitor.updateLag("hostA:3306", 500);
+            assertFalse(monitor.isEjected("hostA:3306"));
+            assertEquals(1, monitor.getReadmissionCount());
+            assertEquals(Long.valueOf(500), monitor.getLags().get("hostA:3306"));
+        } finally {
+            monitor.stop();
+        }
+        assertTrue(monitor.isStopped());
+        assertNull(ReplicaLagMonitor.getMonitor("testEjectionAndReadmission"));
+    }
+
+    @Test
+    public void testChooseHost() {
+        List<String> hosts = Arrays.asList("hostA:3306", "hostB:3306", "hostC:3306");
+
+        // without monitoring all hosts are picked
+        ReplicaLagBalanceStrategy strategy = new ReplicaLagBalanceStrategy(null, 0, 1000, null);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            counts.merge(strategy.chooseHost(hosts), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+
+        strategy = new ReplicaLagBalanceStrategy(null, 1000, Integer.MAX_VALUE, null);
+        strategy.monitor = ReplicaLagMonitor.getInstance("testChooseHost", 1000, Integer.MAX_VALUE, null);
+        try {
+            for (String host : hosts) {
+                strategy.monitor.monitor(new HostInfo(null, host.substring(0, host.indexOf(':')), 3306, "user", "pwd"));
+            }
+            strategy.monitor.updateLag("hostA:3306", 5000);
+            strategy.monitor.updateLag("hostB:3306", 900);
+            strategy.monitor.updateLag("hostC:3306", 0);
+
+            // the ejected host is never picked and the least lagging one is picked the most
+            counts.clear();
+            for (int i = 0; i < 300; i++) {
+                counts.merge(strategy.chooseHost(hosts), 1, Integer::sum);
+            }
+            assertNull(counts.get("hostA:3306"));
+            assertTrue(counts.get("hostC:3306") > counts.get("hostB:3306"));
+
+            // the least lagging host is used when all are ejected
+            strategy.monitor.updateLag("hostB:3306", 3000);
+            strategy.monitor.updateLag("hostC:3306", 2000);
+            for (int i = 0; i < 20; i++) {
+                assertEquals("hostC:3306", strategy.chooseHost(hosts));
+            }
+
+            // replicas with unknown lag get a low weight and are not used as the least lagging one
+            strategy.monitor.updateLag("hostB:3306", 0);
+            strategy.monitor.updateLag("hostC:3306", 0);
+            strategy.monitor.monitor(new HostInfo(null, "hostD", 3306, "user", "pwd"));
+            List<String> hostsWithUnknown = Arrays.asList("hostA:3306", "hostB:3306", "hostC:3306", "hostD:3306");
+            counts.clear();
+            for (int i = 0; i < 1000; i++) {
+                counts.merge(strategy.chooseHost(hostsWithUnknown), 1, Integer::sum);
+            }
+            assertTrue(counts.get("hostB:3306") > 5 * counts.getOrDefault("hostD:3306", 0));
+            assertTrue(counts.get("hostC:3306") > 5 * counts.getOrDefault("hostD:3306", 0));
+            strategy.monitor.updateLag("hostB:3306", 3000);
+            strategy.monitor.updateLag("hostC:3306", 2000);
+            for (int i = 0; i < 20; i++) {
+                assertEquals("hostD:3306", strategy.chooseHost(hostsWithUnknown)); // only one not ejected
+                assertEquals("hostC:3306", strategy.chooseHost(hosts));
+            }
+
+            // replicas whose replication is stopped are ejected and not used as the least lagging one
+            strategy.monitor.updateLag("hostC:3306", ReplicaLagMonitor.STOPPED);
+            assertTrue(strategy.monitor.isEjected("hostC:3306"));
+            for (int i = 0; i < 20; i++) {
+                assertEquals("hostB:3306", strategy.chooseHost(hosts));
+            }
+        } finally {
+            strategy.monitor.stop();
+        }
+    }
+
+    @Test
+    public void testChooseHostWithOtherMaxLag() {
+        List<String> hosts = Arrays.asList("hostA:3306", "hostB:3306");
+
+        ReplicaLagBalanceStrategy strategy = new ReplicaLagBalanceStrategy(null, 4000, Integer.MAX_VALUE, null);
+        // shared monitor started by a connection with a lower maximum lag
+        strategy.monitor = ReplicaLagMonitor.getInstance("testChooseHostWithOtherMaxLag", 1000, Integer.MAX_VALUE, null);
+        try {
+            for (String host : hosts) {
+                strategy.monitor.monitor(new HostInfo(null, host.substring(0, host.indexOf(':')), 3306, "user", "pwd"));
+            }
+            strategy.monitor.updateLag("hostA:3306", 3000);
+            strategy.monitor.updateLag("hostB:3306", 0);
+            assertTrue(strategy.monitor.isEjected("hostA:3306"));
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < 300; i++) {
+                counts.merge(strategy.chooseHost(hosts), 1, Integer::sum);
+            }
+            assertTrue(counts.get("hostA:3306") > 0);
+
+            strategy.monitor.updateLag("hostA:3306", 5000);
+            for (int i = 0; i < 20; i++) {
+                assertEquals("hostB:3306", strategy.chooseHost(hosts));
+            }
+            // readmitted only when the lag drops to half of this strategy's maximum
+            strategy.monitor.updateLag("hostA:3306", 2500);
+            for (int i = 0; i < 20; i++) {
+                assertEquals("hostB:3306", strategy.chooseHost(hosts));
+            }
+            strategy.monitor.updateLag("hostA:3306", 2000);
+            counts.clear();
+            for (int i = 0; i < 300; i++) {
+                counts.merge(strategy.chooseHost(hosts), 1, Integer::sum);
+            }
+            assertTrue(counts.get("hostA:3306") > 0);
+        } finally {
+            strategy.monitor.stop();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DirectBufferInputStream} over a loopback connection.
+ */
+public class DirectBufferInputStreamTest {
+    private ServerSocketChannel server;
+    private Socket client;
+    private Socket peer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        this.client = SocketChannel.open(this.server.getLocalAddress()).socket();
+        this.peer = this.server.accept().socket();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.client.close();
+        this.peer.close();
+        this.server.close();
+    }
+
+    // data spanning many buffer refills comes out in order, whatever the size of the reads
+    @Test
+    public void readInOrder() throws Exception {
+        byte[] data = new byte[200000];
+        new Random(1).nextBytes(data);
+        Thread writer = new Thread(() -> {
+            try {
+                OutputStream out = this.peer.getOutputStream();
+                for (int off = 0; off < data.length; off += 7000) {
+                    out.write(data, off, Math.min(7000, data.length - off));
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+
+        FullReadInputStream in = new FullReadInputStream(new DirectBufferInputStream(this.client, 4096));
+        byte[] read = new byte[data.length];
+        int pos = 0;
+        int[] sizes = { 4, 1, 3, 10000, 4096, 5 };
+        for (int i = 0; pos < read.length; i++) {
+            if (i % 7 == 0) {
+                read[pos++] = (byte) in.read();
+                continue;
+            }
+            int len = Math.min(sizes[i % sizes.length], read.length - pos);
+            pos += in.readFully(read, pos, len);
+        }
+        writer.join();
+        assertArrayEquals(data, read);
+
+        this.peer.shutdownOutput();
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[10], 0, 10));
+    }
+
+    // while a read timeout is set, reads go through the socket input stream and time out
+    @Test
+    public void readTimeout() throws Exception {
+        DirectBufferInputStream in = new DirectBufferInputStream(this.client, 4096);
+        this.client.setSoTimeout(100);
+        assertThrows(SocketTimeoutException.class, () -> in.read());
+
+        this.peer.getOutputStream().write(new byte[] { 1, 2, 3 });
+        assertEquals(1, in.read());
+        assertEquals(2, in.available());
+
+        // what was read while the timeout was set is still served after it is cleared, then reads go back to the channel
+        this.client.setSoTimeout(0);
+        byte[] b = new byte[2];
+        assertEquals(2, new FullReadInputStream(in).readFully(b));
+        assertArrayEquals(new byte[] { 2, 3 }, b);
+
+        this.peer.getOutputStream().write(new byte[] { 4, 5 });
+        assertEquals(2, new FullReadInputStream(in).readFully(b));
+        assertArrayEquals(new byte[] { 4, 5 }, b);
+    }
+
+    // data waiting on the socket is reported as available and can be skipped
+    @Test
+    public void availableAndSkip() throws Exception {
+        DirectBufferInputStream in = new DirectBufferInputStream(this.client, 4096);
+        assertEquals(0, in.available());
+
+        this.peer.getOutputStream().write(new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (in.available() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(10, in.available());
+
+        assertEquals(4, in.skip(4));
+        assertEquals(6, in.available());
+        assertEquals(4, in.read());
+
+        in.close();
+        assertTrue(this.client.isClosed());
+        assertThrows(IOException.class, () -> in.read());
+    }
+}
@@ -34,13 +34,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.zip.Deflater;
 import java.util.zip.InflaterOutputStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.log.NullLogger;
 import com.mysql.cj.protocol.MessageSender;
 
 public class CompressedPacketSenderTest extends PacketSenderTestBase {
@@ -293,4 +298,86 @@ public class CompressedPacketSenderTest extends PacketSenderTestBase {
         assertEquals(packetSequence, sentPacket[CompressedPacketSender.COMP_HEADER_LENGTH + 3]);
         checkSequentiallyFilledPacket(sentPacket, CompressedPacketSender.COMP_HEADER_LENGTH + NativeConstants.HEADER_LENGTH, packetLen);
     }
+
+    /**
+     * Test that packets compressed with a pluggable codec can be read back by a {@link CompressedInputStream} using the same codec.
+     * 
+     * @throws IOException
+     */
+    @Test
+    public void customCodecRoundTrip() throws IOException {
+        final int[] calls = new int[2];
+        CompressionCodec codec = new ZlibCompressionCodec() {
+            @Override
+            public int compress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) {
+                calls[0]++;
+                return super.compress(input, inputOffset, inputLength, output, outputOffset, outputLength);
+            }
+
+            @Override
+            public int decompress(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset, int outputLength) throws IOException {
+                calls[1]++;
+                return super.decompress(input, inputOffset, inputLength, output, outputOffset, outputLength);
+            }
+        };
+        codec.init(Deflater.BEST_COMPRESSION);
+        CompressedPacketSender codecSender = new CompressedPacketSender(new BufferedOutputStream(this.outputStream), codec);
+
+        final int packetLen = 3000;
+        byte[] packet = new byte[packetLen];
+        fillPacketSequentially(packet);
+        codecSender.send(packet, packetLen, (byte) 1);
+        codecSender.send(packet, 10, (byte) 2); // too small to be compressed
+        assertEquals(1, calls[0]);
+
+        CompressedInputStream in = new CompressedInputStream(new ByteArrayInputStream(this.outputStream.toByteArray()), codec,
+                new DefaultPropertySet().getBooleanProperty(PropertyKey.traceProtocol), new NullLogger("test"));
+        byte[] received = new byte[NativeConstants.HEADER_LENGTH + packetLen];
+        assertEquals(received.length, in.read(received));
+        assertEquals(packetLen, NativeUtils.decodeMysqlThreeByteInteger(received));
+        assertEquals(1, received[3]);
+        checkSequentiallyFilledPacket(received, NativeConstants.HEADER_LENGTH, packetLen);
+
+        assertEquals(NativeConstants.HEADER_LENGTH + 10, in.read(received, 0, NativeConstants.HEADER_LENGTH + 10));
+        assertEquals(10, NativeUtils.decodeMysqlThreeByteInteger(received));
+        assertEquals(2, received[3]);
+        checkSequentiallyFilledPacket(received, NativeConstants.HEADER_LENGTH, 10);
+        assertEquals(1, calls[1]);
+        in.close();
+    }
+
+    /**
+     * Test that the packet buffer kept from a previous send() doesn't leak data into smaller packets sent afterwards.
+     * 
+     * @throws IOException
+     */
+    @Test
+    public void reusedBufferTest() throws IOException {
+        byte[] large = new byte[5000];
+        fillPacketSequentially(large);
+        byte[] small = new byte[1000];
+        java.util.Arrays.fill(small, (byte) 7);
+
+        this.sender.send(large, large.length, (byte) 1);
+        this.sender.send(small, small.length, (byte) 2);
+        this.sender.send(large, 3000, (byte) 3);
+
+        CompressedPackets packets = new CompressedPackets(this.outputStream.toByteArray());
+        assertTrue(packets.nextPayload());
+        assertEquals(NativeConstants.HEADER_LENGTH + large.length, packets.payload.length);
+        checkSequentiallyFilledPacket(packets.payload, NativeConstants.HEADER_LENGTH, large.length);
+
+        assertTrue(packets.nextPayload());
+        assertEquals(2, packets.compressedSequenceId);
+        assertEquals(NativeConstants.HEADER_LENGTH + small.length, packets.payload.length);
+        assertEquals(small.length, NativeUtils.decodeMysqlThreeByteInteger(packets.payload));
+        for (int i = NativeConstants.HEADER_LENGTH; i < packets.payload.length; i++) {
+            assertEquals(7, packets.payload[i]);
+        }
+
+        assertTrue(packets.nextPayload());
+        assertEquals(NativeConstants.HEADER_LENGTH + 3000, packets.payload.length);
+        checkSequentiallyFilledPacket(packets.payload, NativeConstants.HEADER_LENGTH, 3000);
+        assertFalse(packets.nextPayload());
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.result.OkPacket;
+import com.mysql.cj.protocol.a.result.SessionStateChanges;
+
+/**
+ * Tests for {@link OkPacket} parsing.
+ */
+public class OkPacketTest {
+    private static NativePacketPayload okPacket(int statusFlags, String info, NativePacketPayload sessionState) {
+        NativePacketPayload buf = new NativePacketPayload(256);
+        buf.writeInteger(IntegerDataType.INT1, 0);
+        buf.writeInteger(IntegerDataType.INT_LENENC, 1); // affected rows
+        buf.writeInteger(IntegerDataType.INT_LENENC, 0); // last insert id
+        buf.writeInteger(IntegerDataType.INT2, statusFlags);
+        buf.writeInteger(IntegerDataType.INT2, 0); // warnings
+        if (info != null) {
+            buf.writeBytes(StringSelfDataType.STRING_LENENC, info.getBytes(StandardCharsets.UTF_8));
+        }
+        if (sessionState != null) {
+            buf.writeBytes(StringSelfDataType.STRING_LENENC, sessionState.getByteBuffer(), 0, sessionState.getPosition());
+        }
+        buf.setPayloadLength(buf.getPosition());
+        return buf;
+    }
+
+    private static void writeEntry(NativePacketPayload buf, int type, NativePacketPayload data) {
+        buf.writeInteger(IntegerDataType.INT1, type);
+        buf.writeBytes(StringSelfDataType.STRING_LENENC, data.getByteBuffer(), 0, data.getPosition());
+    }
+
+    private static NativePacketPayload data(String... values) {
+        NativePacketPayload data = new NativePacketPayload(64);
+        for (String v : values) {
+            data.writeBytes(StringSelfDataType.STRING_LENENC, v.getBytes(StandardCharsets.UTF_8));
+        }
+        return data;
+    }
+
+    @Test
+    public void testParseWithoutSessionTrack() {
+        NativePacketPayload buf = new NativePacketPayload(32);
+        buf.writeInteger(IntegerDataType.INT1, 0);
+        buf.writeInteger(IntegerDataType.INT_LENENC, 3);
+        buf.writeInteger(IntegerDataType.INT_LENENC, 7);
+        buf.writeInteger(IntegerDataType.INT2, NativeServerSession.SERVER_STATUS_AUTOCOMMIT);
+        buf.writeInteger(IntegerDataType.INT2, 1);
+        buf.writeBytes(StringSelfDataType.STRING_EOF, "Rows matched: 3".getBytes(StandardCharsets.UTF_8));
+        buf.setPayloadLength(buf.getPosition());
+
+        OkPacket ok = OkPacket.parse(buf, "UTF-8");
+        assertEquals(3, ok.getUpdateCount());
+        assertEquals(7, ok.getUpdateID());
+        assertEquals(1, ok.getWarningCount());
+        assertEquals("Rows matched: 3", ok.getInfo());
+        assertNull(ok.getSessionStateChanges());
+    }
+
+    @Test
+    public void testParseSessionStateChanges() {
+        // no info, no state
+        OkPacket ok = OkPacket.parse(okPacket(NativeServerSession.SERVER_STATUS_AUTOCOMMIT, null, null), "UTF-8", true);
+        assertEquals(1, ok.getUpdateCount());
+        assertNull(ok.getInfo());
+        assertNull(ok.getSessionStateChanges());
+
+        NativePacketPayload state = new NativePacketPayload(256);
+        writeEntry(state, SessionStateChanges.SESSION_TRACK_SYSTEM_VARIABLES, data("transaction_isolation", "SERIALIZABLE"));
+        writeEntry(state, SessionStateChanges.SESSION_TRACK_SYSTEM_VARIABLES, data("autocommit", "OFF"));
+        writeEntry(state, SessionStateChanges.SESSION_TRACK_SCHEMA, data("test"));
+        writeEntry(state, 0x7F, data("unknown", "tracker")); // skipped
+        NativePacketPayload gtids = new NativePacketPayload(64);
+        gtids.writeInteger(IntegerDataType.INT1, 0);
+        gtids.writeBytes(StringSelfDataType.STRING_LENENC, "3e11fa47-71ca-11e1-9e33-c80aa9429562:23".getBytes(StandardCharsets.UTF_8));
+        writeEntry(state, SessionStateChanges.SESSION_TRACK_GTIDS, gtids);
+        writeEntry(state, SessionStateChanges.SESSION_TRACK_STATE_CHANGE, data("1"));
+
+        ok = OkPacket.parse(okPacket(NativeServerSession.SERVER_SESSION_STATE_CHANGED, "", state), "UTF-8", true);
+        assertEquals("", ok.getInfo());
+        SessionStateChanges changes = ok.getSessionStateChanges();
+        assertEquals(2, changes.getSystemVariables().size());
+        assertEquals("SERIALIZABLE", changes.getSystemVariables().get("transaction_isolation"));
+        assertEquals("OFF", changes.getSystemVariables().get("autocommit"));
+        assertEquals("test", changes.getSchema());
+        assertEquals("3e11fa47-71ca-11e1-9e33-c80aa9429562:23", changes.getGtids());
+        assertTrue(changes.isStateChanged());
+        assertNull(changes.getTransactionState());
+
+        // session state is ignored unless flagged in status
+        ok = OkPacket.parse(okPacket(0, "info", state), "UTF-8", true);
+        assertEquals("info", ok.getInfo());
+        assertNull(ok.getSessionStateChanges());
+
+        NativeServerSession serverSession = new NativeServerSession(new JdbcPropertySetImpl());
+        serverSession.setClientParam(NativeServerSession.CLIENT_SESSION_TRACK);
+        serverSession.setTrackedSessionVariables(Arrays.asList("transaction_isolation", "autocommit"));
+        assertTrue(serverSession.isAutoCommit());
+        serverSession.updateSessionState(changes);
+        assertTrue(serverSession.isSessionVariableTracked("transaction_isolation"));
+        assertFalse(serverSession.isSessionVariableTracked("time_zone"));
+        assertEquals("SERIALIZABLE", serverSession.getSessionStateVariable("transaction_isolation"));
+        assertFalse(serverSession.isAutoCommit());
+        assertEquals("test", serverSession.getSessionStateSchema());
+        serverSession.resetSessionState();
+        assertNull(serverSession.getSessionStateSchema());
+        assertFalse(serverSession.isSessionVariableTracked("transaction_isolation"));
+    }
+}
@@ -30,6 +30,12 @@
 package com.mysql.cj.result;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
 
 import org.junit.jupiter.api.Test;
 
@@ -141,6 +147,43 @@ public class StringValueFactoryTest extends CommonAsserts {
         assertEquals("false", this.vf.createFromBytes("false".getBytes(), 0, 5, f));
     }
 
+    @Test
+    public void testCreateFromBytesDeduplicated() {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.deduplicateStringValues.getKeyName(), "true");
+        props.setProperty(PropertyKey.deduplicateStringValuesCacheSize.getKeyName(), "16");
+        PropertySet dedupPset = new DefaultPropertySet();
+        dedupPset.initializeProperties(props);
+        ValueFactory<String> dedupVf = new StringValueFactory(dedupPset);
+
+        // low-cardinality column: equal values are returned as the same instance
+        Field status = new Field("test", "status", 33, "UTF-8", MysqlType.VARCHAR, 10);
+        byte[] row1 = "xxACTIVEyy".getBytes();
+        byte[] row2 = "ACTIVE".getBytes();
+        String first = dedupVf.createFromBytes(row1, 2, 6, status);
+        assertEquals("ACTIVE", first);
+        assertSame(first, dedupVf.createFromBytes(row2, 0, 6, status));
+        assertEquals("ACTIV", dedupVf.createFromBytes(row2, 0, 5, status));
+        assertEquals("", dedupVf.createFromBytes(row2, 0, 0, status));
+        for (int i = 0; i < 1000; i++) {
+            assertSame(first, dedupVf.createFromBytes(row2, 0, 6, status));
+        }
+        assertTrue(status.getStringValueDictionary(16).isEnabled());
+
+        // high-cardinality column: values are still correct and the dictionary switches itself off
+        Field id = new Field("test", "id", 33, "UTF-8", MysqlType.VARCHAR, 10);
+        for (int i = 0; i < 1000; i++) {
+            byte[] b = ("id-" + i).getBytes();
+            assertEquals("id-" + i, dedupVf.createFromBytes(b, 0, b.length, id));
+        }
+        assertFalse(id.getStringValueDictionary(16).isEnabled());
+
+        // disabled by default
+        byte[] b = "ACTIVE".getBytes();
+        Field other = new Field("test", "status", 33, "UTF-8", MysqlType.VARCHAR, 10);
+        assertNotSame(this.vf.createFromBytes(b, 0, 6, other), this.vf.createFromBytes(b, 0, 6, other));
+    }
+
     @Test
     public void testCreateFromBit() {
         assertEquals("49", this.vf.createFromBit("1".getBytes(), 0, 1));
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link GtidSet}.
+ */
+public class GtidSetTest {
+    private static final String UUID1 = "3e11fa47-71ca-11e1-9e33-c80aa9429562";
+    private static final String UUID2 = "8a94f357-aab4-11df-86ab-c80aa9429562";
+
+    @Test
+    public void testMergeIntervals() throws Exception {
+        GtidSet gtids = new GtidSet();
+        assertTrue(gtids.isEmpty());
+        assertEquals("", gtids.toString());
+
+        assertTrue(gtids.add(UUID1 + ":5"));
+        assertTrue(gtids.add(UUID1.toUpperCase() + ":7"));
+        assertEquals(UUID1 + ":5:7", gtids.toString());
+        assertFalse(gtids.add(UUID1 + ":5"));
+
+        assertTrue(gtids.add(UUID1 + ":6"));
+        assertEquals(UUID1 + ":5-7", gtids.toString());
+        assertTrue(gtids.add(UUID1 + ":1-2:10-12"));
+        assertTrue(gtids.add(UUID1 + ":3-11"));
+        assertEquals(UUID1 + ":1-12", gtids.toString());
+
+        assertTrue(gtids.add(UUID2 + ":3, " + UUID1 + ":20"));
+        assertEquals(UUID1 + ":1-12:20," + UUID2 + ":3", gtids.toString());
+        assertFalse(gtids.isEmpty());
+
+        GtidSet other = new GtidSet();
+        other.add(UUID2 + ":1-2:4");
+        assertTrue(gtids.addAll(other));
+        assertFalse(gtids.addAll(other));
+        assertEquals(UUID1 + ":1-12:20," + UUID2 + ":1-4", gtids.toString());
+
+        gtids.clear();
+        assertTrue(gtids.isEmpty());
+        assertEquals("", gtids.toString());
+    }
+
+    @Test
+    public void testTagsAndBadInput() throws Exception {
+        GtidSet gtids = new GtidSet();
+        assertTrue(gtids.add(UUID1 + ":1:Tag:3-4"));
+        assertEquals(UUID1 + ":1," + UUID1 + ":tag:3-4", gtids.toString());
+
+        assertFalse(gtids.add(""));
+        assertFalse(gtids.add(":1"));
+        assertFalse(gtids.add(UUID2 + ":0"));
+        assertFalse(gtids.add(UUID2 + ":5-3"));
+        assertEquals(UUID1 + ":1," + UUID1 + ":tag:3-4", gtids.toString());
+    }
+
+    @Test
+    public void testBoundedSet() throws Exception {
+        GtidSet gtids = new GtidSet(3);
+        gtids.add(UUID1 + ":1:3:5");
+        assertEquals(UUID1 + ":1:3:5", gtids.toString());
+        gtids.add(UUID2 + ":10");
+        assertEquals(UUID1 + ":1-5," + UUID2 + ":10", gtids.toString());
+        gtids.add(UUID2 + ":20");
+        assertEquals(UUID1 + ":1-5," + UUID2 + ":10:20", gtids.toString());
+        gtids.add(UUID1 + ":8");
+        assertEquals(UUID1 + ":1-8," + UUID2 + ":10-20", gtids.toString());
+    }
+}
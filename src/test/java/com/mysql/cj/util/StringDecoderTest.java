@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.Charset;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.exceptions.WrongArgumentException;
+
+/**
+ * Tests for {@link StringDecoder}.
+ */
+public class StringDecoderTest {
+    private static final String[] SAMPLES = new String[] { "", "plain ascii 0123456789 !\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~", "café crème ßüñ",
+            "€100 ‘quoted’", "日本語テキスト", "emoji 😀 mixed" };
+
+    @Test
+    public void testDecodeMatchesJdk() throws Exception {
+        for (String encoding : new String[] { "UTF-8", "ISO-8859-1", "US-ASCII", "Cp1252", "windows-1251", "GBK", "EUC_JP", "SJIS", "Big5", "UTF-16",
+                "ISO-2022-JP" }) {
+            if (!Charset.isSupported(encoding)) {
+                continue;
+            }
+            StringDecoder decoder = StringDecoder.forEncoding(encoding);
+            assertEquals(encoding, decoder.getEncoding());
+            for (String sample : SAMPLES) {
+                byte[] bytes = ("<" + sample + ">").getBytes(encoding);
+                int offset = sample.isEmpty() ? 0 : 1;
+                int length = bytes.length - 2 * offset;
+                assertEquals(new String(bytes, offset, length, encoding), decoder.decode(bytes, offset, length), encoding + ": " + sample);
+            }
+        }
+    }
+
+    @Test
+    public void testLatin1AllBytes() throws Exception {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertEquals(new String(bytes, "ISO-8859-1"), StringDecoder.forEncoding("ISO-8859-1").decode(bytes, 0, bytes.length));
+        assertEquals(new String(bytes, "Cp1252"), StringDecoder.forEncoding("Cp1252").decode(bytes, 0, bytes.length));
+        assertEquals(new String(bytes, "UTF-8"), StringDecoder.forEncoding("UTF-8").decode(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testSharedAndFallbackDecoders() throws Exception {
+        assertSame(StringDecoder.forEncoding("UTF-8"), StringDecoder.forEncoding("UTF-8"));
+
+        byte[] bytes = "abc".getBytes();
+        assertEquals(new String(bytes), StringDecoder.forEncoding(null).decode(bytes, 0, bytes.length));
+        assertEquals(new String(bytes), StringDecoder.forEncoding("null").decode(bytes, 0, bytes.length));
+        assertThrows(WrongArgumentException.class, () -> StringDecoder.forEncoding("no-such-encoding").decode(bytes, 0, bytes.length));
+    }
+}
@@ -31,6 +31,9 @@ package com.mysql.cj.xdevapi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -600,4 +603,30 @@ public class ExprParserTest {
         assertTrue(proj.get(0).hasAlias());
         assertEquals("overlaps", proj.get(0).getAlias());
     }
+
+    @Test
+    public void testExprParserCache() {
+        ExprParserCache.ParsedExpr parsed = ExprParserCache.parseExpr("a = :x and b = :y and c = :x", true);
+        assertSame(parsed, ExprParserCache.parseExpr("a = :x and b = :y and c = :x", true));
+        assertEquals(ExprUnparser.exprToString(new ExprParser("a = :x and b = :y and c = :x", true).parse()), ExprUnparser.exprToString(parsed.getExpr()));
+        assertEquals(2, parsed.getPositionalPlaceholderCount());
+        assertEquals(Integer.valueOf(0), parsed.getPlaceholderNameToPositionMap().get("x"));
+        assertEquals(Integer.valueOf(1), parsed.getPlaceholderNameToPositionMap().get("y"));
+
+        // keyed by allowRelationalColumns as well
+        assertNotSame(parsed, ExprParserCache.parseExpr("a = :x and b = :y and c = :x", false));
+        assertEquals(Expr.Type.IDENT, ExprParserCache.parseExpr("a", true).getExpr().getType());
+
+        List<Order> order = ExprParserCache.parseOrderSpec("a asc, b desc", true);
+        assertSame(order, ExprParserCache.parseOrderSpec("a asc, b desc", true));
+        assertEquals(2, order.size());
+        assertThrows(UnsupportedOperationException.class, () -> order.clear());
+
+        assertSame(ExprParserCache.parseDocumentProjection("$.a as a"), ExprParserCache.parseDocumentProjection("$.a as a"));
+
+        // parse errors are not cached
+        int size = ExprParserCache.size();
+        assertThrows(WrongArgumentException.class, () -> ExprParserCache.parseExpr("a = ", true));
+        assertEquals(size, ExprParserCache.size());
+    }
 }
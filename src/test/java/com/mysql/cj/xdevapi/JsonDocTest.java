@@ -30,12 +30,14 @@
 package com.mysql.cj.xdevapi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
 
 import org.junit.jupiter.api.Test;
@@ -715,6 +717,42 @@ public class JsonDocTest {
         JsonParser.parseDoc(new StringReader("{\"x\":2}"));
     }
 
+    @Test
+    public void testLazyDbDoc() throws Exception {
+        String json = "{\"_id\": \"1\", \"a\": 12.5e1, \"s\": \"x\\\"y\", \"n\": {\"k\": [1, {\"z\": null}], \"t\": true}, \"arr\": [1,2], \"f\": false}";
+        byte[] bytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+
+        LazyDbDoc doc = new LazyDbDoc(bytes, 2, json.length());
+        assertEquals(6, doc.size());
+        assertEquals("1", ((JsonString) doc.get("_id")).getString());
+        assertEquals("x\"y", ((JsonString) doc.get("s")).getString());
+        assertEquals(new BigDecimal("125"), ((JsonNumber) doc.get("a")).getBigDecimal());
+        assertEquals(JsonLiteral.FALSE, doc.get("f"));
+        assertNull(doc.get("missing"));
+        assertTrue(doc.get("n") instanceof LazyDbDoc);
+        assertEquals(JsonLiteral.TRUE, ((DbDoc) doc.get("n")).get("t"));
+
+        // unchanged document keeps its original form
+        assertFalse(doc.isModified());
+        assertEquals(json, doc.toJsonString());
+        assertEquals(JsonParser.parseDoc(json).toString(), doc.toString());
+
+        // in-place modification of a value is detected
+        doc = new LazyDbDoc(bytes, 2, json.length());
+        ((JsonString) doc.get("s")).setValue("z");
+        assertTrue(doc.isModified());
+        assertEquals(JsonParser.parseDoc(json.replace("x\\\"y", "z")).toString(), doc.toJsonString());
+
+        // modification through the Map API is detected
+        doc = new LazyDbDoc(bytes, 2, json.length());
+        doc.remove("arr");
+        assertTrue(doc.isModified());
+        assertEquals(5, doc.size());
+
+        assertEquals("{}", new LazyDbDoc("{ }".getBytes(), 0, 3).toString());
+        assertThrows(WrongArgumentException.class, "Colon is missed after key 'a'.", () -> new LazyDbDoc("{\"a\" 1}".getBytes(), 0, 7).get("a"));
+    }
+
     protected static <EX extends Throwable> EX assertThrows(Class<EX> throwable, Callable<?> testRoutine) {
         try {
             testRoutine.call();
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.exceptions.WrongArgumentException;
+
+/**
+ * Tests for {@link Utf8JsonParser}.
+ */
+public class Utf8JsonParserTest {
+
+    private static DbDoc parse(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new Utf8JsonParser().parseDoc(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void testParseDoc() throws Exception {
+        String json = "{\"field1\" : \"value 1\", \"field2\" : 1.234544E+26, \"field3\" : true, \"field4\" : false, \"field5\" : null,\n"
+                + "\"field6\" : {\"inner field 1\" : \"inner value 1\", \"inner field 2\" : 2, \"inner field 6\" : [], \"inner field 7\" : {}},\n"
+                + "\"field7\" : [\"arr1\", 3, true, false, null, [], {}], \"field8\" : \"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u0041\", \"field9\" : \"\u017e\u010d\u00e1\", \"\" : -0.5e-3}";
+        DbDoc doc = parse(json);
+        assertEquals(JsonParser.parseDoc(json.replace("\\u0041", "A")).toString(), doc.toString());
+        assertEquals("\"\\/\b\f\n\r\tA", ((JsonString) doc.get("field8")).getString());
+        assertEquals("\u017e\u010d\u00e1", ((JsonString) doc.get("field9")).getString());
+        assertEquals("-0.0005", doc.get("").toString());
+
+        byte[] bytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 2, bytes.length - 4);
+        assertEquals(doc.toString(), Utf8JsonParser.INSTANCE.parseDoc(buf).toString());
+        assertEquals(2, buf.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).position(2).limit(bytes.length - 2);
+        assertEquals(doc.toString(), Utf8JsonParser.INSTANCE.parseDoc(direct).toString());
+    }
+
+    @Test
+    public void testKeyInterning() throws Exception {
+        Utf8JsonParser parser = new Utf8JsonParser();
+        byte[] doc1 = "{\"name\": 1}".getBytes(StandardCharsets.UTF_8);
+        byte[] doc2 = "{\"name\": 2}".getBytes(StandardCharsets.UTF_8);
+        String key1 = parser.parseDoc(doc1, 0, doc1.length).keySet().iterator().next();
+        String key2 = parser.parseDoc(doc2, 0, doc2.length).keySet().iterator().next();
+        assertEquals("name", key1);
+        assertSame(key1, key2);
+    }
+
+    @Test
+    public void testHandler() throws Exception {
+        StringBuilder events = new StringBuilder();
+        byte[] bytes = "{\"a\": [1, \"x\", null], \"b\": {}}".getBytes(StandardCharsets.UTF_8);
+        Utf8JsonParser.INSTANCE.parse(bytes, 0, bytes.length, new JsonHandler() {
+            public void startObject() {
+                events.append("{");
+            }
+
+            public void endObject() {
+                events.append("}");
+            }
+
+            public void startArray() {
+                events.append("[");
+            }
+
+            public void endArray() {
+                events.append("]");
+            }
+
+            public void key(String key) {
+                events.append("k:").append(key).append(" ");
+            }
+
+            public void stringValue(String value) {
+                events.append("s:").append(value).append(" ");
+            }
+
+            public void numberValue(String value) {
+                events.append("n:").append(value).append(" ");
+            }
+
+            public void literalValue(JsonLiteral value) {
+                events.append("l:").append(value).append(" ");
+            }
+        });
+        assertEquals("{k:a [n:1 s:x l:null ]k:b {}}", events.toString());
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        assertEquals("Colon is missed after key 'a'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\" 1}")).getMessage());
+        assertEquals("Missed closing '}'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": 1")).getMessage());
+        assertEquals("Invalid whitespace character '}'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": [1, 2}")).getMessage());
+        assertEquals("Missed closing '\"'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": \"x}")).getMessage());
+        assertEquals("Unknown escape sequence '\\q'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": \"\\q\"}")).getMessage());
+        assertEquals("Wrong '}' position after '1.'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": 1.}")).getMessage());
+        assertEquals("Wrong '-' position after '1'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": 1-2}")).getMessage());
+        assertEquals("Wrong literal 'tru'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": tru}")).getMessage());
+        assertEquals("Wrong literal 'nulls'.", assertThrows(WrongArgumentException.class, () -> parse("{\"a\": nulls}")).getMessage());
+        assertEquals("Invalid whitespace character 'x'.", assertThrows(WrongArgumentException.class, () -> parse("{} x")).getMessage());
+        assertEquals("No valid JSON document was found.", assertThrows(WrongArgumentException.class, () -> parse("[1]")).getMessage());
+    }
+}
@@ -39,12 +39,13 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.channels.SocketChannel;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
@@ -57,7 +58,7 @@ import com.mysql.cj.protocol.StandardSocketFactory;
  * 
  * You can also cause a host to be immediately-downed by calling downHost() with an alias.
  * 
- * ATTENTION! This class is *NOT* thread safe.
+ * ATTENTION! This class is *NOT* thread safe, only the bookkeeping of hosts and connection attempts may be used by concurrent connection attempts.
  */
 public class UnreliableSocketFactory extends StandardSocketFactory {
     public static final String STATUS_UNKNOWN = "?";
@@ -66,12 +67,12 @@ public class UnreliableSocketFactory extends StandardSocketFactory {
 
     public static final long DEFAULT_TIMEOUT_MILLIS = 10 * 60 * 1000; // ugh
 
-    private static final Map<String, String> MAPPED_HOSTS = new HashMap<>();
-    static final Set<String> HUNG_READ_HOSTS = new HashSet<>();
-    static final Set<String> HUNG_WRITE_HOSTS = new HashSet<>();
-    static final Set<String> HUNG_CONNECT_HOSTS = new HashSet<>();
-    static final Set<String> IMMEDIATELY_DOWNED_HOSTS = new HashSet<>();
-    static final List<String> CONNECTION_ATTEMPTS = new LinkedList<>();
+    private static final Map<String, String> MAPPED_HOSTS = new ConcurrentHashMap<>();
+    static final Set<String> HUNG_READ_HOSTS = ConcurrentHashMap.newKeySet();
+    static final Set<String> HUNG_WRITE_HOSTS = ConcurrentHashMap.newKeySet();
+    static final Set<String> HUNG_CONNECT_HOSTS = ConcurrentHashMap.newKeySet();
+    static final Set<String> IMMEDIATELY_DOWNED_HOSTS = ConcurrentHashMap.newKeySet();
+    static final List<String> CONNECTION_ATTEMPTS = Collections.synchronizedList(new LinkedList<>());
 
     private String hostname;
     private int portNumber;
@@ -143,20 +144,24 @@ public class UnreliableSocketFactory extends StandardSocketFactory {
 
     public static String getHostFromPastConnection(int pos) {
         pos = Math.abs(pos);
-        if (pos == 0 || CONNECTION_ATTEMPTS.isEmpty() || CONNECTION_ATTEMPTS.size() < pos) {
-            return null;
+        synchronized (CONNECTION_ATTEMPTS) {
+            if (pos == 0 || CONNECTION_ATTEMPTS.isEmpty() || CONNECTION_ATTEMPTS.size() < pos) {
+                return null;
+            }
+            return CONNECTION_ATTEMPTS.get(CONNECTION_ATTEMPTS.size() - pos);
         }
-        return CONNECTION_ATTEMPTS.get(CONNECTION_ATTEMPTS.size() - pos);
     }
 
     public static List<String> getHostsFromAllConnections() {
-        return getHostsFromLastConnections(CONNECTION_ATTEMPTS.size());
+        return getHostsFromLastConnections(Integer.MAX_VALUE);
     }
 
     public static List<String> getHostsFromLastConnections(int count) {
         count = Math.abs(count);
-        int lBound = Math.max(0, CONNECTION_ATTEMPTS.size() - count);
-        return CONNECTION_ATTEMPTS.subList(lBound, CONNECTION_ATTEMPTS.size());
+        synchronized (CONNECTION_ATTEMPTS) {
+            int lBound = Math.max(0, CONNECTION_ATTEMPTS.size() - count);
+            return new ArrayList<>(CONNECTION_ATTEMPTS.subList(lBound, CONNECTION_ATTEMPTS.size()));
+        }
     }
 
     public static boolean isConnected() {
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite.perf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.exceptions.CJException;
+import com.mysql.cj.protocol.a.CompressionCodec;
+import com.mysql.cj.protocol.a.NativeConstants;
+import com.mysql.cj.protocol.a.ZlibCompressionCodec;
+import com.mysql.cj.protocol.a.ZstdCompressionCodec;
+
+/**
+ * Simplistic comparison of the compression codecs of the classic protocol on result set packets. Doesn't require a server. The zstd codec is only measured
+ * when zstd-jni is in the class path.
+ */
+public class CompressionPerfTest {
+    private static final int NUM_WARMUP = 200;
+
+    private static final int NUM_TESTS = 1000;
+
+    /** Size of the chunks of result set rows compressed together, as the server fills compressed packets. */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Test
+    public void testNarrowRows() throws Exception {
+        compare("Narrow rows (id, status, amount, timestamp)", buildRows(false));
+    }
+
+    @Test
+    public void testWideRows() throws Exception {
+        compare("Wide rows (12 columns, names, e-mails, free text)", buildRows(true));
+    }
+
+    /**
+     * Builds a chunk of text protocol result set rows, each prefixed with its packet header.
+     * 
+     * @param wide
+     *            build rows with many columns, including free text, instead of few numeric ones
+     * @return the rows
+     */
+    private static byte[] buildRows(boolean wide) {
+        Random random = new Random(42);
+        String[] statuses = { "NEW", "PAID", "SHIPPED", "DELIVERED", "CANCELLED" };
+        String[] names = { "Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi", "Ivan", "Judy" };
+        String[] words = { "order", "customer", "delivery", "request", "please", "call", "before", "arrival", "gift", "wrap", "fragile", "door" };
+
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE + 1024);
+        byte sequence = 0;
+        for (int id = 100000; chunk.size() < CHUNK_SIZE; id++) {
+            ByteArrayOutputStream row = new ByteArrayOutputStream();
+            writeLenencString(row, String.valueOf(id));
+            writeLenencString(row, statuses[random.nextInt(statuses.length)]);
+            writeLenencString(row, String.format("%d.%02d", random.nextInt(10000), random.nextInt(100)));
+            writeLenencString(row, String.format("2020-%02d-%02d %02d:%02d:%02d", 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                    random.nextInt(60), random.nextInt(60)));
+            if (wide) {
+                String name = names[random.nextInt(names.length)];
+                writeLenencString(row, name);
+                writeLenencString(row, name.toLowerCase() + "." + random.nextInt(1000) + "@example.com");
+                writeLenencString(row, String.valueOf(random.nextInt(100)));
+                writeLenencString(row, random.nextBoolean() ? "1" : "0");
+                StringBuilder text = new StringBuilder();
+                for (int i = random.nextInt(20); i >= 0; i--) {
+                    text.append(words[random.nextInt(words.length)]).append(' ');
+                }
+                writeLenencString(row, text.toString());
+                writeLenencString(row, String.valueOf(random.nextDouble()));
+                writeLenencString(row, "EUR");
+                row.write(0xFB); // NULL
+            }
+            chunk.write(row.size());
+            chunk.write(row.size() >>> 8);
+            chunk.write(row.size() >>> 16);
+            chunk.write(sequence++);
+            chunk.write(row.toByteArray(), 0, row.size());
+        }
+        return chunk.toByteArray();
+    }
+
+    private static void writeLenencString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length); // all values are shorter than 251 bytes
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void compare(String name, byte[] rows) throws Exception {
+        System.out.println("\n" + name + ", " + rows.length + " bytes per compressed packet\n");
+
+        run("zlib, default level", new ZlibCompressionCodec(), Deflater.DEFAULT_COMPRESSION, rows);
+        run("zlib, level 1", new ZlibCompressionCodec(), 1, rows);
+
+        CompressionCodec zstd;
+        try {
+            zstd = new ZstdCompressionCodec();
+        } catch (CJException e) {
+            System.out.println("zstd:                 skipped, " + e.getMessage());
+            return;
+        }
+        run("zstd, level 3", zstd, 3, rows);
+        run("zstd, level 1", zstd, 1, rows);
+        run("zstd, level 9", zstd, 9, rows);
+    }
+
+    private static void run(String name, CompressionCodec codec, int level, byte[] rows) throws Exception {
+        codec.init(level);
+        byte[] compressed = new byte[NativeConstants.MAX_PACKET_SIZE];
+        byte[] decompressed = new byte[rows.length];
+
+        int compressedLength = codec.compress(rows, 0, rows.length, compressed, 0, compressed.length);
+        assertEquals(rows.length, codec.decompress(compressed, 0, compressedLength, decompressed, 0, decompressed.length));
+        assertArrayEquals(rows, decompressed);
+
+        for (int i = 0; i < NUM_WARMUP; i++) {
+            codec.compress(rows, 0, rows.length, compressed, 0, compressed.length);
+            codec.decompress(compressed, 0, compressedLength, decompressed, 0, decompressed.length);
+        }
+
+        long compressTime = 0;
+        long decompressTime = 0;
+        for (int i = 0; i < NUM_TESTS; i++) {
+            long begin = System.nanoTime();
+            codec.compress(rows, 0, rows.length, compressed, 0, compressed.length);
+            long middle = System.nanoTime();
+            codec.decompress(compressed, 0, compressedLength, decompressed, 0, decompressed.length);
+            long end = System.nanoTime();
+            compressTime += middle - begin;
+            decompressTime += end - middle;
+        }
+
+        System.out.println(String.format("%-22s ratio %5.2f, compress %7d ns (%6.1f MB/s), decompress %7d ns (%6.1f MB/s)", name + ":",
+                (double) rows.length / compressedLength, compressTime / NUM_TESTS, mbPerSecond(rows.length, compressTime), decompressTime / NUM_TESTS,
+                mbPerSecond(rows.length, decompressTime)));
+        codec.close();
+    }
+
+    private static double mbPerSecond(int length, long totalNanos) {
+        return (double) length * NUM_TESTS / totalNanos * 1000000000 / (1024 * 1024);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License, version 2.0, as published by the
+ * Free Software Foundation.
+ *
+ * This program is also distributed with certain software (including but not
+ * limited to OpenSSL) that is licensed under separate terms, as designated in a
+ * particular file or component or in included license documentation. The
+ * authors of MySQL hereby grant you an additional permission to link the
+ * program and your derivative works with the separately licensed software that
+ * they have included with MySQL.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is
+ * part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at
+ * http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0,
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301  USA
+ */
+
+package testsuite.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.xdevapi.DbDoc;
+import com.mysql.cj.xdevapi.JsonParser;
+import com.mysql.cj.xdevapi.LazyDbDoc;
+import com.mysql.cj.xdevapi.Utf8JsonParser;
+
+/**
+ * Simplistic comparison of the JSON parsers on representative documents. Doesn't require a server.
+ */
+public class JsonParserPerfTest {
+    private static final int NUM_WARMUP = 20000;
+
+    private static final int NUM_TESTS = 100000;
+
+    private static final String SMALL_DOC = "{\"_id\": \"00005f8d1ae00000000000000001\", \"name\": \"Joe\", \"age\": 31, \"active\": true}";
+
+    private static final String WIDE_DOC;
+
+    private static final String NESTED_DOC = "{\"_id\": \"00005f8d1ae00000000000000002\", \"customer\": {\"name\": \"Jane Doe\", \"email\": \"jane@example.com\", "
+            + "\"address\": {\"street\": \"1 Main St\", \"city\": \"Springfield\", \"zip\": \"12345\"}}, \"items\": [{\"sku\": \"A-1\", \"qty\": 2, "
+            + "\"price\": 9.99}, {\"sku\": \"B-22\", \"qty\": 1, \"price\": 129.5}], \"notes\": \"Leave at the \\\"back\\\" door\\n\", \"paid\": false}";
+
+    static {
+        StringBuilder sb = new StringBuilder("{\"_id\": \"00005f8d1ae00000000000000003\"");
+        for (int i = 0; i < 100; i++) {
+            sb.append(", \"field").append(i).append("\": ").append(i % 2 == 0 ? "\"value " + i + "\"" : String.valueOf(i * 1.5));
+        }
+        WIDE_DOC = sb.append("}").toString();
+    }
+
+    @Test
+    public void testParseSmall() throws Exception {
+        compare("Small document", SMALL_DOC);
+    }
+
+    @Test
+    public void testParseWide() throws Exception {
+        compare("Wide document (101 fields)", WIDE_DOC);
+    }
+
+    @Test
+    public void testParseNested() throws Exception {
+        compare("Nested document", NESTED_DOC);
+    }
+
+    private void compare(String name, String json) throws Exception {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(JsonParser.parseDoc(new StringReader(json)).toString(), Utf8JsonParser.INSTANCE.parseDoc(bytes, 0, bytes.length).toString());
+
+        System.out.println("\n" + name + ", " + bytes.length + " bytes\n");
+        System.out.println("JsonParser.parseDoc(StringReader):  " + run(() -> JsonParser.parseDoc(new StringReader(new String(bytes, StandardCharsets.UTF_8)))) + " ns/doc");
+        System.out.println("Utf8JsonParser.parseDoc(byte[]):    " + run(() -> Utf8JsonParser.INSTANCE.parseDoc(bytes, 0, bytes.length)) + " ns/doc");
+        System.out.println("LazyDbDoc, one field read:          " + run(() -> {
+            DbDoc doc = new LazyDbDoc(bytes, 0, bytes.length);
+            doc.get("_id");
+            return doc;
+        }) + " ns/doc");
+    }
+
+    private interface DocSupplier {
+        DbDoc get() throws Exception;
+    }
+
+    private static long run(DocSupplier supplier) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < NUM_WARMUP; i++) {
+            sink += supplier.get().size();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < NUM_TESTS; i++) {
+            sink += supplier.get().size();
+        }
+        long end = System.nanoTime();
+        if (sink == 42) {
+            System.out.println(); // keeps the results alive
+        }
+        return (end - begin) / NUM_TESTS;
+    }
+}
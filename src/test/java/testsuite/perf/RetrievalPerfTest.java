@@ -31,10 +31,16 @@ package testsuite.perf;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.conf.PropertyKey;
 
 import testsuite.BaseTestCase;
 
@@ -152,6 +158,60 @@ public class RetrievalPerfTest extends BaseTestCase {
         assertTrue(fullTime < 45);
     }
 
+    /**
+     * Compares retrieval from HEAP tables reading from the server through the default read-ahead input stream and through the direct buffer input.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testRetrievalHeapInputs() throws Exception {
+        for (boolean useDirectBufferInput : new boolean[] { false, true }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.useDirectBufferInput.getKeyName(), String.valueOf(useDirectBufferInput));
+            Connection testConn = getConnectionWithProps(props);
+            Statement testStmt = testConn.createStatement();
+
+            double fullBegin = System.currentTimeMillis();
+            double averageQueryTimeMs = 0;
+            double averageTraversalTimeMs = 0;
+
+            for (int i = 0; i < NUM_TESTS; i++) {
+                long queryBegin = System.currentTimeMillis();
+                ResultSet testRs = testStmt.executeQuery("SELECT * FROM retrievalPerfTestHeap");
+
+                long queryEnd = System.currentTimeMillis();
+                averageQueryTimeMs += ((double) (queryEnd - queryBegin) / NUM_TESTS);
+
+                long traverseBegin = System.currentTimeMillis();
+
+                while (testRs.next()) {
+                    testRs.getInt(1);
+                    testRs.getString(2);
+                }
+                testRs.close();
+
+                long traverseEnd = System.currentTimeMillis();
+                averageTraversalTimeMs += ((double) (traverseEnd - traverseBegin) / NUM_TESTS);
+            }
+
+            double fullEnd = System.currentTimeMillis();
+            double fullTime = (fullEnd - fullBegin) / 1000;
+            double queriesPerSec = NUM_TESTS / fullTime;
+            double rowsPerSec = (NUM_ROWS * NUM_TESTS) / fullTime;
+            System.out.println("\nHEAP Table Retrieval, " + (useDirectBufferInput ? "direct buffer input" : "read-ahead input") + "\n");
+            System.out.println("Full test took: " + fullTime + " seconds.");
+            System.out.println("Queries/second: " + queriesPerSec);
+            System.out.println("Rows/second: " + rowsPerSec);
+            System.out.println("Avg. Query Exec Time: " + averageQueryTimeMs + " ms");
+            System.out.println("Avg. Traversal Time: " + averageTraversalTimeMs + " ms");
+
+            testConn.close();
+
+            // We're doing something wrong if we can't beat 45 seconds :(
+            assertTrue(fullTime < 45);
+        }
+    }
+
     /**
      * Tests retrieval speed from MyISAM type tables
      * 
@@ -37,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -449,4 +450,89 @@ public class BlobRegressionTest extends BaseTestCase {
         byte[] result = b.getBytes(1, 3); // the error was here
         assertEquals("111", StringUtils.toString(result));
     }
+
+    /**
+     * Tests chunked streaming reads and cached length of emulated BLOB locators.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLocatorStreamingReads() throws Exception {
+        createTable("testLocatorStreamingReads", "(ID VARCHAR(10) PRIMARY KEY, DATA LONGBLOB)");
+
+        byte[] testData = new byte[10000];
+        for (int i = 0; i < testData.length; i++) {
+            testData[i] = (byte) i;
+        }
+
+        this.pstmt = this.conn.prepareStatement("INSERT INTO testLocatorStreamingReads (ID, DATA) VALUES ('1', ?)");
+        this.pstmt.setBytes(1, testData);
+        this.pstmt.execute();
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.emulateLocators.getKeyName(), "true");
+        props.setProperty(PropertyKey.locatorFetchBufferSize.getKeyName(), "1000");
+        Connection locatorConn = getConnectionWithProps(props);
+
+        try {
+            this.rs = locatorConn.createStatement().executeQuery("SELECT ID, 'DATA' AS BLOB_DATA FROM testLocatorStreamingReads");
+            assertTrue(this.rs.next());
+            Blob b = this.rs.getBlob("BLOB_DATA");
+
+            assertEquals(testData.length, b.length());
+
+            // single-byte reads are served from the fetched chunk and must not be sign-extended
+            try (InputStream in = b.getBinaryStream()) {
+                for (int i = 0; i < testData.length; i++) {
+                    assertEquals(testData[i] & 0xff, in.read(), "At position " + i);
+                }
+                assertEquals(-1, in.read());
+            }
+
+            // bulk reads crossing chunk boundaries
+            try (InputStream in = b.getBinaryStream()) {
+                byte[] buf = new byte[2500];
+                int total = 0;
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(testData[total + i], buf[i], "At position " + (total + i));
+                    }
+                    total += n;
+                }
+                assertEquals(testData.length, total);
+            }
+
+            // ranged stream starts at the 1-based position and stops after the requested length
+            try (InputStream in = b.getBinaryStream(1500, 2001)) {
+                byte[] buf = new byte[4000];
+                int total = 0;
+                int n;
+                while ((n = in.read(buf, total, buf.length - total)) != -1) {
+                    total += n;
+                }
+                assertEquals(2001, total);
+                for (int i = 0; i < total; i++) {
+                    assertEquals(testData[1499 + i], buf[i], "At position " + i);
+                }
+            }
+            try (InputStream in = b.getBinaryStream(testData.length, 1)) {
+                assertEquals(testData[testData.length - 1] & 0xff, in.read());
+                assertEquals(-1, in.read());
+            }
+
+            assertEquals(233, b.position(new byte[] { testData[1000], testData[1001], testData[1002] }, 1));
+            assertEquals(1257, b.position(new byte[] { testData[1000], testData[1001], testData[1002] }, 1002));
+
+            // writes invalidate the cached length
+            b.truncate(5000);
+            assertEquals(5000, b.length());
+            b.setBytes(5001, new byte[] { 1, 2, 3 });
+            assertEquals(5003, b.length());
+
+            b.free();
+        } finally {
+            locatorConn.close();
+        }
+    }
 }
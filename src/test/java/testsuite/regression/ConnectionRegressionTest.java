@@ -54,7 +54,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
@@ -163,6 +162,7 @@ import com.mysql.cj.jdbc.exceptions.MysqlDataTruncation;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.ha.LoadBalanceExceptionChecker;
 import com.mysql.cj.jdbc.ha.LoadBalancedConnectionProxy;
+import com.mysql.cj.jdbc.ha.LoadBalancedMySQLConnection;
 import com.mysql.cj.jdbc.ha.RandomBalanceStrategy;
 import com.mysql.cj.jdbc.ha.ReplicationConnection;
 import com.mysql.cj.jdbc.ha.ReplicationConnectionGroup;
@@ -5117,7 +5117,7 @@ public class ConnectionRegressionTest extends BaseTestCase {
 
         // WebLogic-style test
         Class<?> mysqlCls = null;
-        Class<?> jcls = failoverconnection[0].getClass(); // the driver-level connection, a Proxy in this case...
+        Class<?> jcls = failoverconnection[0].getClass(); // the driver-level connection, a multi-host connection in this case...
         ClassLoader jcl = jcls.getClassLoader();
         if (jcl != null) {
             mysqlCls = jcl.loadClass(JdbcConnection.class.getName());
@@ -5423,22 +5423,19 @@ public class ConnectionRegressionTest extends BaseTestCase {
         public void run() {
             System.out.println(this.num + ". Start cancelling at " + new Date().getTime());
 
-            if (Proxy.isProxyClass(this.c.getClass())) {
-                try {
-                    if (this.num == 7 || this.num == 10) {
-                        Proxy.getInvocationHandler(this.c).invoke(this.c, Connection.class.getMethod("close", new Class<?>[] {}), null);
-                    } else if (this.num == 8 || this.num == 11) {
-                        Proxy.getInvocationHandler(this.c).invoke(this.c, JdbcConnection.class.getMethod("abortInternal", new Class<?>[] {}), null);
-                    } else if (this.num == 9 || this.num == 12) {
-                        Proxy.getInvocationHandler(this.c).invoke(this.c, JdbcConnection.class.getMethod("abort", new Class<?>[] { Executor.class }),
-                                new Object[] { new ThreadPerTaskExecutor() });
-                    }
-
-                    ConnectionRegressionTest.this.testServerPrepStmtDeadlockCounter++;
-                    System.out.println(this.num + ". Done!");
-                } catch (Throwable e) {
-                    e.printStackTrace();
+            try {
+                if (this.num == 7 || this.num == 10) {
+                    this.c.close();
+                } else if (this.num == 8 || this.num == 11) {
+                    ((JdbcConnection) this.c).abortInternal();
+                } else if (this.num == 9 || this.num == 12) {
+                    this.c.abort(new ThreadPerTaskExecutor());
                 }
+
+                ConnectionRegressionTest.this.testServerPrepStmtDeadlockCounter++;
+                System.out.println(this.num + ". Done!");
+            } catch (Throwable e) {
+                e.printStackTrace();
             }
         }
     }
@@ -11420,7 +11417,7 @@ public class ConnectionRegressionTest extends BaseTestCase {
         conn2.setAutoCommit(false);
         conn2.createStatement().execute("SELECT 1");
 
-        LoadBalancedConnectionProxy h = (LoadBalancedConnectionProxy) Proxy.getInvocationHandler(conn2);
+        LoadBalancedConnectionProxy h = ((LoadBalancedMySQLConnection) ((JdbcConnection) conn2).getMultiHostSafeProxy()).getThisAsProxy();
 
         Map<String, Long> blockList = h.getGlobalBlocklist();
         assertTrue(blockList.size() == 0);
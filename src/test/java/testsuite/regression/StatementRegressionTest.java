@@ -132,6 +132,7 @@ import com.mysql.cj.jdbc.ServerPreparedStatement;
 import com.mysql.cj.jdbc.StatementImpl;
 import com.mysql.cj.jdbc.exceptions.CommunicationsException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
+import com.mysql.cj.jdbc.ha.LoadBalancedConnection;
 import com.mysql.cj.jdbc.ha.ReplicationConnection;
 import com.mysql.cj.jdbc.interceptors.ResultSetScannerInterceptor;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
@@ -9397,7 +9398,7 @@ public class StatementRegressionTest extends BaseTestCase {
                     rewriteBatchedStatements ? "rwBatchedStmts" : "-");
 
             Connection highLevelConn = getLoadBalancedConnection(props);
-            assertTrue(highLevelConn.getClass().getName().startsWith("com.sun.proxy") || highLevelConn.getClass().getName().startsWith("$Proxy"), testCase);
+            assertTrue(highLevelConn instanceof LoadBalancedConnection, testCase);
 
             Connection lowLevelConn = getSourceReplicaReplicationConnection(props);
             // This simulates the behavior from Fabric connections that are causing the problem.
@@ -9455,7 +9456,7 @@ public class StatementRegressionTest extends BaseTestCase {
         createProcedure("testBug78961", "(IN c1 FLOAT, IN c2 FLOAT, OUT h FLOAT, INOUT t FLOAT) BEGIN SET h = SQRT(c1 * c1 + c2 * c2); SET t = t + h; END;");
 
         Connection highLevelConn = getLoadBalancedConnection(null);
-        assertTrue(highLevelConn.getClass().getName().startsWith("com.sun.proxy") || highLevelConn.getClass().getName().startsWith("$Proxy"));
+        assertTrue(highLevelConn instanceof LoadBalancedConnection);
 
         Connection lowLevelConn = getSourceReplicaReplicationConnection(null);
         // This simulates the behavior from Fabric connections that are causing the problem.
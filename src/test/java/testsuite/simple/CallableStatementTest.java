@@ -369,6 +369,62 @@ public class CallableStatementTest extends BaseTestCase {
         assertTrue(this.rs.getInt(1) == 1);
     }
 
+    /**
+     * Tests the driver-wide stored procedure metadata cache enabled by 'cacheProcedureMetadata'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testProcedureMetadataCache() throws Exception {
+        createProcedure("testProcedureMetadataCache", "(IN x INT, OUT y INT)\nBEGIN\nSET y = x + 1;\nEND\n");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.cacheProcedureMetadata.getKeyName(), "true");
+
+        Connection conn1 = getConnectionWithProps(props);
+        Connection conn2 = getConnectionWithProps(props);
+        try {
+            CallableStatement cStmt = conn1.prepareCall("{call testProcedureMetadataCache(?, ?)}");
+            cStmt.setInt(1, 1);
+            cStmt.registerOutParameter(2, Types.BIGINT);
+            cStmt.execute();
+            assertEquals(2, cStmt.getInt(2));
+            cStmt.close();
+
+            // a different connection gets the parameter metadata without querying the server
+            long queries = getSessionQueries(conn2);
+            cStmt = conn2.prepareCall("{call testProcedureMetadataCache(?, ?)}");
+            assertEquals(queries + 1, getSessionQueries(conn2));
+            assertEquals(2, cStmt.getParameterMetaData().getParameterCount());
+            assertEquals(ParameterMetaData.parameterModeOut, cStmt.getParameterMetaData().getParameterMode(2));
+            cStmt.setInt(1, 41);
+            cStmt.registerOutParameter("y", Types.INTEGER);
+            cStmt.execute();
+            assertEquals(42, cStmt.getInt("y"));
+            cStmt.close();
+
+            // DDL executed by any connection of this driver drops the cached metadata
+            createProcedure("testProcedureMetadataCache", "(IN x INT, IN z INT, OUT y INT)\nBEGIN\nSET y = x + z;\nEND\n");
+            cStmt = conn2.prepareCall("{call testProcedureMetadataCache(?, ?, ?)}");
+            assertEquals(3, cStmt.getParameterMetaData().getParameterCount());
+            cStmt.setInt(1, 1);
+            cStmt.setInt(2, 2);
+            cStmt.registerOutParameter(3, Types.INTEGER);
+            cStmt.execute();
+            assertEquals(3, cStmt.getInt(3));
+            cStmt.close();
+        } finally {
+            conn1.close();
+            conn2.close();
+        }
+    }
+
+    private long getSessionQueries(Connection c) throws SQLException {
+        ResultSet queriesRs = c.createStatement().executeQuery("SHOW SESSION STATUS LIKE 'Questions'");
+        queriesRs.next();
+        return queriesRs.getLong(2);
+    }
+
     @Test
     public void testOutParamsNoBodies() throws Exception {
         CallableStatement storedProc = null;
@@ -93,6 +93,7 @@ import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.conf.PropertyDefinitions.DatabaseTerm;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.InvalidConnectionAttributeException;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
@@ -117,6 +118,7 @@ import com.mysql.cj.protocol.a.TimeTrackingPacketReader;
 import com.mysql.cj.protocol.a.TimeTrackingPacketSender;
 import com.mysql.cj.protocol.a.TracingPacketReader;
 import com.mysql.cj.protocol.a.TracingPacketSender;
+import com.mysql.cj.protocol.a.ZstdCompressionCodec;
 import com.mysql.cj.util.TimeUtil;
 import com.mysql.cj.util.Util;
 import com.mysql.jdbc.Driver;
@@ -1233,6 +1235,55 @@ public class ConnectionTest extends BaseTestCase {
         testCompressionWith("true", 1024 * 1024 * 32);     // big payload
     }
 
+    /**
+     * Tests the negotiation of the compression algorithm and zstd compression.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCompressionAlgorithms() throws Exception {
+        if (!versionMeetsMinimum(8, 0, 18)) {
+            return;
+        }
+
+        // unavailable codecs are skipped
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useCompression.getKeyName(), "true");
+        props.setProperty(PropertyKey.compressionAlgorithms.getKeyName(), "zstd,zlib");
+        props.setProperty(PropertyKey.zstdCompressionCodec.getKeyName(), "com.example.NoSuchCodec");
+        try (Connection testConn = getConnectionWithProps(props)) {
+            this.rs = testConn.createStatement().executeQuery("SHOW SESSION STATUS LIKE 'Compression_algorithm'");
+            assertTrue(this.rs.next());
+            assertEquals("zlib", this.rs.getString(2));
+        }
+
+        props.setProperty(PropertyKey.compressionAlgorithms.getKeyName(), "lz4");
+        assertThrows(SQLException.class, ".*Unknown compression algorithm 'lz4'.*", () -> getConnectionWithProps(props));
+
+        try {
+            new ZstdCompressionCodec();
+        } catch (CJException e) {
+            return; // zstd-jni isn't available
+        }
+
+        props.setProperty(PropertyKey.compressionAlgorithms.getKeyName(), "zstd");
+        props.remove(PropertyKey.zstdCompressionCodec.getKeyName());
+        props.setProperty(PropertyKey.zstdCompressionLevel.getKeyName(), "7");
+        try (Connection testConn = getConnectionWithProps(props)) {
+            Statement testStmt = testConn.createStatement();
+            this.rs = testStmt.executeQuery("SHOW SESSION STATUS WHERE Variable_name IN ('Compression_algorithm', 'Compression_level') ORDER BY 1");
+            assertTrue(this.rs.next());
+            assertEquals("zstd", this.rs.getString(2));
+            assertTrue(this.rs.next());
+            assertEquals("7", this.rs.getString(2));
+
+            this.rs = testStmt.executeQuery("SELECT REPEAT('compressible ', 100000), 'tail'");
+            assertTrue(this.rs.next());
+            assertEquals(1300000, this.rs.getString(1).length());
+            assertEquals("tail", this.rs.getString(2));
+        }
+    }
+
     /**
      * @param useCompression
      * @param maxPayloadSize
@@ -2936,6 +2987,55 @@ public class ConnectionTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests that session state changed by SQL statements is picked up when session state tracking is enabled.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTrackSessionState() throws Exception {
+        if (!versionMeetsMinimum(5, 7, 20)) {
+            return;
+        }
+        createDatabase("testTrackSessionState");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.trackSessionState.getKeyName(), "true");
+        try (Connection testConn = getConnectionWithProps(props)) {
+            Statement testStmt = testConn.createStatement();
+            int defaultIsolation = testConn.getTransactionIsolation();
+
+            testConn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            assertEquals(Connection.TRANSACTION_READ_COMMITTED, testConn.getTransactionIsolation());
+            testStmt.execute("SET SESSION TRANSACTION ISOLATION LEVEL SERIALIZABLE");
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, testConn.getTransactionIsolation());
+
+            assertFalse(testConn.isReadOnly());
+            testStmt.execute("SET SESSION TRANSACTION READ ONLY");
+            assertTrue(testConn.isReadOnly());
+            testConn.setReadOnly(false);
+            assertFalse(testConn.isReadOnly());
+
+            testStmt.execute("SET autocommit = 0");
+            assertFalse(testConn.getAutoCommit());
+            testConn.setAutoCommit(true);
+            assertTrue(testConn.getAutoCommit());
+
+            testStmt.execute("USE testTrackSessionState");
+            assertEquals("testTrackSessionState", testConn.getCatalog());
+            testConn.setCatalog(this.dbName);
+            assertEquals(this.dbName, testConn.getCatalog());
+            this.rs = testStmt.executeQuery("SELECT DATABASE()");
+            assertTrue(this.rs.next());
+            assertEquals(this.dbName, this.rs.getString(1));
+
+            // tracked state is reset with the session
+            ((JdbcConnection) testConn).resetServerState();
+            assertEquals(defaultIsolation, testConn.getTransactionIsolation());
+            assertFalse(testConn.isReadOnly());
+        }
+    }
+
     private void testAllowLoadLocalInfileInPathCheckAndDelete() throws Exception {
         this.rs = this.stmt.executeQuery("SELECT * FROM testAllowLoadLocalInfileInPath");
         assertTrue(this.rs.next());
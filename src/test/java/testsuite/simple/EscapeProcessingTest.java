@@ -131,6 +131,35 @@ public class EscapeProcessingTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests that braces which can't start an escape sequence are left alone and that cached escape processing results follow the settings they depend on.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testEscapeProcessingCache() throws Exception {
+        String jsonSql = "SELECT JSON_EXTRACT('{\"a\": {\"b\": [1, 2]}}', '$.a.b')";
+        assertEquals(jsonSql, this.conn.nativeSQL(jsonSql));
+        this.rs = this.stmt.executeQuery(jsonSql);
+        assertTrue(this.rs.next());
+        assertEquals("[1, 2]", this.rs.getString(1));
+
+        String escapeSql = "SELECT {fn ucase('cached')}, {d '2020-01-02'}, {ts '2020-01-02 03:04:05'}";
+        String escapedSql = this.conn.nativeSQL(escapeSql);
+        assertEquals(escapedSql, this.conn.nativeSQL(escapeSql));
+
+        // {ts} literals are parsed in the JVM default time zone, a cached result must not outlive it
+        TimeZone defaultTz = TimeZone.getDefault();
+        try {
+            TimeZone otherTz = TimeZone.getTimeZone(defaultTz.getRawOffset() == 0 ? "GMT+05:00" : "GMT");
+            TimeZone.setDefault(otherTz);
+            assertTrue(!escapedSql.equals(this.conn.nativeSQL(escapeSql)));
+        } finally {
+            TimeZone.setDefault(defaultTz);
+        }
+        assertEquals(escapedSql, this.conn.nativeSQL(escapeSql));
+    }
+
     /**
      * Tests fix for BUG#51313 - Escape processing is confused by multiple backslashes.
      * 
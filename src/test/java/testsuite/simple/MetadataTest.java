@@ -1844,6 +1844,103 @@ public class MetadataTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests the driver-wide DatabaseMetaData cache enabled by 'cacheDatabaseMetadata': cached results match uncached ones, repeated calls don't query the
+     * server and DDL executed through the driver invalidates the cached results.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDatabaseMetadataCache() throws Exception {
+        createTable("testDatabaseMetadataCache", "(id INT PRIMARY KEY, name VARCHAR(20), KEY k_name (name))");
+
+        for (String useIS : new String[] { "false", "true" }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.useInformationSchema.getKeyName(), useIS);
+            Connection uncachedConn = getConnectionWithProps(props);
+            props.setProperty(PropertyKey.cacheDatabaseMetadata.getKeyName(), "true");
+            Connection cachedConn = getConnectionWithProps(props);
+
+            try {
+                DatabaseMetaData uncachedMd = uncachedConn.getMetaData();
+                DatabaseMetaData cachedMd = cachedConn.getMetaData();
+                String db = cachedConn.getCatalog();
+
+                for (int i = 0; i < 2; i++) {
+                    assertEquals(resultSetToString(uncachedMd.getColumns(db, null, "testDatabaseMetadataCache", "%")),
+                            resultSetToString(cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "%")), "useInformationSchema=" + useIS);
+                    assertEquals(resultSetToString(uncachedMd.getPrimaryKeys(db, null, "testDatabaseMetadataCache")),
+                            resultSetToString(cachedMd.getPrimaryKeys(db, null, "testDatabaseMetadataCache")), "useInformationSchema=" + useIS);
+                    assertEquals(resultSetToString(uncachedMd.getIndexInfo(db, null, "testDatabaseMetadataCache", false, false)),
+                            resultSetToString(cachedMd.getIndexInfo(db, null, "testDatabaseMetadataCache", false, false)), "useInformationSchema=" + useIS);
+                    assertEquals(resultSetToString(uncachedMd.getTables(db, null, "testDatabaseMetadataCache", new String[] { "TABLE" })),
+                            resultSetToString(cachedMd.getTables(db, null, "testDatabaseMetadataCache", new String[] { "TABLE" })),
+                            "useInformationSchema=" + useIS);
+                }
+
+                // cached results don't hit the server
+                long queries = getSessionQueries(cachedConn);
+                this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "%");
+                this.rs = cachedMd.getIndexInfo(db, null, "testDatabaseMetadataCache", false, false);
+                assertEquals(queries + 1, getSessionQueries(cachedConn), "useInformationSchema=" + useIS);
+
+                // callers can't alter the cached results
+                this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "id");
+                assertTrue(this.rs.next());
+                byte[] columnName = this.rs.getBytes("COLUMN_NAME");
+                java.util.Arrays.fill(columnName, (byte) 'x');
+                this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "id");
+                assertTrue(this.rs.next());
+                assertEquals("id", this.rs.getString("COLUMN_NAME"), "useInformationSchema=" + useIS);
+
+                // DDL executed by any connection of this driver drops the cached results
+                this.stmt.executeUpdate("ALTER TABLE testDatabaseMetadataCache ADD COLUMN added INT");
+                this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "added");
+                assertTrue(this.rs.next(), "useInformationSchema=" + useIS);
+                assertFalse(this.rs.next());
+                this.stmt.executeUpdate("ALTER TABLE testDatabaseMetadataCache DROP COLUMN added");
+                this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "added");
+                assertFalse(this.rs.next(), "useInformationSchema=" + useIS);
+
+                // DDL that isn't the first statement of a multi-statement text or of a batch sent as multi-statements drops them too
+                try (Connection multiConn = getConnectionWithProps("allowMultiQueries=true")) {
+                    multiConn.createStatement().execute("SELECT 1; ALTER TABLE testDatabaseMetadataCache ADD COLUMN added INT");
+                    this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "added");
+                    assertTrue(this.rs.next(), "useInformationSchema=" + useIS);
+
+                    Statement batchStmt = multiConn.createStatement();
+                    batchStmt.addBatch("DELETE FROM testDatabaseMetadataCache WHERE id = -1");
+                    batchStmt.addBatch("ALTER TABLE testDatabaseMetadataCache DROP COLUMN added");
+                    batchStmt.executeBatch();
+                    this.rs = cachedMd.getColumns(db, null, "testDatabaseMetadataCache", "added");
+                    assertFalse(this.rs.next(), "useInformationSchema=" + useIS);
+                }
+            } finally {
+                uncachedConn.close();
+                cachedConn.close();
+            }
+        }
+    }
+
+    private long getSessionQueries(Connection c) throws SQLException {
+        ResultSet statusRs = c.createStatement().executeQuery("SHOW SESSION STATUS LIKE 'Questions'");
+        assertTrue(statusRs.next());
+        return statusRs.getLong(2);
+    }
+
+    private String resultSetToString(ResultSet resultSet) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        int columnCount = resultSet.getMetaData().getColumnCount();
+        while (resultSet.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                sb.append(resultSet.getMetaData().getColumnLabel(i)).append('=').append(resultSet.getString(i)).append(';');
+            }
+            sb.append('\n');
+        }
+        resultSet.close();
+        return sb.toString();
+    }
+
     @Test
     private void testGetBestRowIdentifier_checkResult(ResultSet rs1) throws Exception {
         assertTrue(rs1.next());
@@ -31,24 +31,43 @@ package testsuite.simple;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import com.mysql.cj.Query;
 import com.mysql.cj.conf.PropertyDefinitions.DatabaseTerm;
 import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.jdbc.JdbcConnection;
-
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.mysql.cj.jdbc.ha.HostHealthRegistry;
+import com.mysql.cj.jdbc.ha.HostHealthRegistry.HostHealth;
+import com.mysql.cj.jdbc.ha.ReplicationConnection;
+import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.a.NativeServerSession;
+
+import testsuite.BaseQueryInterceptor;
 import testsuite.BaseTestCase;
 import testsuite.UnreliableSocketFactory;
 
@@ -1307,6 +1326,296 @@ public class MultiHostConnectionTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests racing connection attempts, enabled by 'raceHostConnections', in failover and load-balanced connections.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testRaceHostConnections() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.connectTimeout.getKeyName(), "3000");
+        props.setProperty(PropertyKey.raceHostConnections.getKeyName(), "true");
+        props.setProperty(PropertyKey.raceHostConnectionsDelay.getKeyName(), "500");
+        props.setProperty(PropertyKey.retriesAllDown.getKeyName(), "1");
+        Set<String> downedHosts = new HashSet<>();
+        downedHosts.add(HOST_1);
+
+        // failover: the primary host is tried first but the connection to the next host doesn't wait for it to time out
+        long start = System.currentTimeMillis();
+        Connection testConn = getUnreliableFailoverConnection(new String[] { HOST_1, HOST_2, HOST_3 }, props, downedHosts);
+        assertTrue(System.currentTimeMillis() - start < 3000);
+        assertEquals(HOST_2, ((JdbcConnection) testConn).getHost());
+        Statement testStmt = testConn.createStatement();
+        assertSingleValueQuery(testStmt, "SELECT 1", 1L);
+        testStmt.close();
+        testConn.close();
+        waitForConnectionAttempt(HOST_1_FAIL);
+
+        // load-balancing: the host picked by the strategy is down so the connection is made to the next one
+        final String port = mainConnectionUrl.getMainHost().getPort() + "";
+        props.setProperty(PropertyKey.ha_loadBalanceStrategy.getKeyName(), "serverAffinity");
+        props.setProperty(PropertyKey.serverAffinityOrder.getKeyName(), HOST_1 + ":" + port + "," + HOST_2 + ":" + port);
+        start = System.currentTimeMillis();
+        testConn = getUnreliableLoadBalancedConnection(new String[] { HOST_1, HOST_2 }, props, downedHosts);
+        assertTrue(System.currentTimeMillis() - start < 3000);
+        assertEquals(HOST_2, ((JdbcConnection) testConn).getHost());
+        testStmt = testConn.createStatement();
+        assertSingleValueQuery(testStmt, "SELECT 1", 1L);
+        testStmt.close();
+        testConn.close();
+        waitForConnectionAttempt(HOST_1_FAIL);
+    }
+
+    /**
+     * Tests failover to the standby connections kept by 'failOverStandby'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testFailoverStandby() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.failOverStandby.getKeyName(), "true");
+        props.setProperty(PropertyKey.failOverStandbyPingInterval.getKeyName(), "500");
+
+        Connection testConn = getUnreliableFailoverConnection(new String[] { HOST_1, HOST_2, HOST_3 }, props);
+        try {
+            assertEquals(HOST_1, ((JdbcConnection) testConn).getHost());
+
+            // a standby connection to HOST_2 is opened in background
+            waitForConnectionAttempt(HOST_2_OK);
+
+            // fails over to the standby connection, no new connection to HOST_2 is needed
+            UnreliableSocketFactory.downHost(HOST_1);
+            Statement testStmt = testConn.createStatement();
+            assertSQLException(testStmt, "SELECT 1", COMM_LINK_ERR_PATTERN);
+            assertEquals(HOST_2, ((JdbcConnection) testConn).getHost());
+            assertEquals(1, Collections.frequency(UnreliableSocketFactory.getHostsFromAllConnections(), HOST_2_OK));
+            assertFalse(UnreliableSocketFactory.getHostsFromAllConnections().contains(HOST_1_FAIL));
+
+            testStmt = testConn.createStatement();
+            assertSingleValueQuery(testStmt, "SELECT 1", 1L);
+
+            // the next standby connection is to HOST_3
+            waitForConnectionAttempt(HOST_3_OK);
+        } finally {
+            testConn.close();
+        }
+    }
+
+    /**
+     * Tests the read-only switches of replication connections with 'replicationReadYourWrites'. Sources and replicas are the same server here, so replicas
+     * are always up to date with the writes made through the sources connection, unless {@link ReadYourWritesQueryInterceptor} makes the replica look behind.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testReplicationReadYourWrites() throws Exception {
+        assumeTrue("ON".equalsIgnoreCase(getMysqlVariable("gtid_mode")), "This test requires a server with gtid_mode=ON.");
+
+        createTable("testReplicationReadYourWrites", "(id INT)");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.replicationReadYourWrites.getKeyName(), "true");
+        props.setProperty(PropertyKey.replicationReadYourWritesTimeout.getKeyName(), "1000");
+        props.setProperty(PropertyKey.queryInterceptors.getKeyName(), ReadYourWritesQueryInterceptor.class.getName());
+        ReadYourWritesQueryInterceptor.replicaBehind = false;
+        ReadYourWritesQueryInterceptor.lastProbe = null;
+
+        ReplicationConnection testConn = (ReplicationConnection) getSourceReplicaReplicationConnection(props);
+        try {
+            Statement testStmt = testConn.createStatement();
+            testStmt.executeUpdate("INSERT INTO testReplicationReadYourWrites VALUES (1)");
+            String insertGtid = getLastReportedGtids(testConn);
+            assertNotNull(insertGtid);
+            assertEquals(0, testConn.getReadOnlyReplicaSwitchCount());
+            assertEquals(0, testConn.getReadOnlySourceSwitchCount());
+
+            // up to date replica
+            testConn.setReadOnly(true);
+            assertEquals(1, testConn.getReadOnlyReplicaSwitchCount());
+            assertEquals(0, testConn.getReadOnlySourceSwitchCount());
+            assertTrue(testConn.getCurrentConnection() == testConn.getReplicaConnection());
+            // exactly the GTID of the transaction committed is checked
+            assertEquals("SELECT WAIT_FOR_EXECUTED_GTID_SET('" + insertGtid + "', 1.0) = 0", ReadYourWritesQueryInterceptor.lastProbe);
+            testStmt = testConn.createStatement();
+            assertSingleValueQuery(testStmt, "SELECT COUNT(*) FROM testReplicationReadYourWrites", 1L);
+
+            testConn.setReadOnly(true); // not a switch
+            assertEquals(1, testConn.getReadOnlyReplicaSwitchCount());
+
+            // stale replica
+            testConn.setReadOnly(false);
+            testStmt = testConn.createStatement();
+            testStmt.executeUpdate("INSERT INTO testReplicationReadYourWrites VALUES (2)");
+            ReadYourWritesQueryInterceptor.replicaBehind = true;
+            ReadYourWritesQueryInterceptor.lastProbe = null;
+            testConn.setReadOnly(true);
+            assertNotNull(ReadYourWritesQueryInterceptor.lastProbe);
+            assertEquals(1, testConn.getReadOnlyReplicaSwitchCount());
+            assertEquals(1, testConn.getReadOnlySourceSwitchCount());
+            assertTrue(testConn.getCurrentConnection() == testConn.getSourceConnection());
+            assertTrue(testConn.isReadOnly());
+            testStmt = testConn.createStatement();
+            assertSingleValueQuery(testStmt, "SELECT COUNT(*) FROM testReplicationReadYourWrites", 2L);
+            final Statement readOnlyStmt = testStmt;
+            assertThrows(SQLException.class, "Connection is read-only\\..*", new Callable<Void>() {
+                public Void call() throws Exception {
+                    readOnlyStmt.executeUpdate("INSERT INTO testReplicationReadYourWrites VALUES (3)");
+                    return null;
+                }
+            });
+
+            // the replica caught up
+            ReadYourWritesQueryInterceptor.replicaBehind = false;
+            testConn.setReadOnly(true);
+            assertTrue(testConn.getCurrentConnection() == testConn.getReplicaConnection());
+            testStmt = testConn.createStatement();
+            assertSingleValueQuery(testStmt, "SELECT COUNT(*) FROM testReplicationReadYourWrites", 2L);
+
+            // no new writes, the replica isn't checked again
+            ReadYourWritesQueryInterceptor.replicaBehind = true;
+            ReadYourWritesQueryInterceptor.lastProbe = null;
+            testStmt = testConn.createStatement();
+            assertNull(ReadYourWritesQueryInterceptor.lastProbe);
+            assertTrue(testConn.getCurrentConnection() == testConn.getReplicaConnection());
+        } finally {
+            ReadYourWritesQueryInterceptor.replicaBehind = false;
+            testConn.close();
+        }
+    }
+
+    private static String getLastReportedGtids(ReplicationConnection conn) {
+        return ((NativeServerSession) conn.getSourceConnection().getSession().getServerSession()).getSessionStateGtids();
+    }
+
+    /**
+     * Query interceptor that records the queries checking whether the replica applied the writes of the connection, and makes them fail while
+     * {@link #replicaBehind} is set.
+     */
+    public static class ReadYourWritesQueryInterceptor extends BaseQueryInterceptor {
+        static volatile boolean replicaBehind = false;
+        static volatile String lastProbe = null;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends Resultset> T preProcess(Supplier<String> str, Query interceptedQuery) {
+            String sql = str.get();
+            if (sql.contains("GTID_SUBSET(") || sql.contains("WAIT_FOR_EXECUTED_GTID_SET(")) {
+                lastProbe = sql;
+                if (replicaBehind) {
+                    try {
+                        return (T) ((Statement) interceptedQuery).executeQuery("SELECT 0");
+                    } catch (SQLException ex) {
+                        throw ExceptionFactory.createException(ex.getMessage(), ex);
+                    }
+                }
+            }
+            return super.preProcess(str, interceptedQuery);
+        }
+    }
+
+    /**
+     * Tests that multi-host connections, and their statements and result sets, are implemented without reflective proxies and still implement the same
+     * interfaces.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testMultiHostStatementWrappers() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+
+        for (Connection testConn : new Connection[] { getFailoverConnection(), getLoadBalancedConnection(), getFailoverConnection(props),
+                getSourceReplicaReplicationConnection() }) {
+            try {
+                assertFalse(Proxy.isProxyClass(testConn.getClass()));
+                assertTrue(testConn instanceof JdbcConnection);
+
+                Statement testStmt = testConn.createStatement();
+                assertFalse(Proxy.isProxyClass(testStmt.getClass()));
+                assertTrue(testStmt instanceof JdbcStatement);
+                ResultSet testRs = testStmt.executeQuery("SELECT 1");
+                assertFalse(Proxy.isProxyClass(testRs.getClass()));
+                assertTrue(testRs instanceof ResultSetInternalMethods);
+                assertTrue(testRs.next());
+                assertEquals(1, testRs.getInt(1));
+                assertTrue(testRs.getStatement() instanceof JdbcStatement);
+                assertTrue(testRs.isWrapperFor(ResultSetInternalMethods.class));
+
+                PreparedStatement testPstmt = testConn.prepareStatement("SELECT ?");
+                assertFalse(Proxy.isProxyClass(testPstmt.getClass()));
+                assertTrue(testPstmt instanceof JdbcPreparedStatement);
+                testPstmt.setInt(1, 2);
+                testRs = testPstmt.executeQuery();
+                assertFalse(Proxy.isProxyClass(testRs.getClass()));
+                assertTrue(testRs.next());
+                assertEquals(2, testRs.getInt(1));
+
+                // other JDBC objects are still proxied
+                DatabaseMetaData testDbmd = testConn.getMetaData();
+                assertTrue(Proxy.isProxyClass(testDbmd.getClass()));
+                assertTrue(testDbmd.getDatabaseProductVersion().length() > 0);
+            } finally {
+                testConn.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that load-balanced connections complete the host statistics of each statement executed in auto-commit mode and of each transaction otherwise.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLoadBalancedHostHealthStats() throws Exception {
+        Connection testConn = getLoadBalancedConnection();
+        try {
+            HostHealth health = HostHealthRegistry.getHostHealth(((JdbcConnection) testConn).getHostPortPair());
+            int inFlight = health.getInFlight();
+            long transactions = health.getTransactionCount();
+
+            Statement testStmt = testConn.createStatement();
+            for (int i = 0; i < 5; i++) {
+                testStmt.executeQuery("SELECT 1").close();
+                assertEquals(inFlight, health.getInFlight());
+            }
+            assertTrue(health.getTransactionCount() >= transactions + 5);
+            assertTrue(health.getLatencyEwma() >= 0);
+
+            // statement errors don't count against the health of the host
+            double errorRate = health.getErrorRate();
+            assertThrows(SQLException.class, () -> testStmt.executeQuery("SELECT * FROM testLoadBalancedHostHealthStatsNoTable"));
+            assertEquals(inFlight, health.getInFlight());
+            assertTrue(health.getErrorRate() <= errorRate);
+
+            testConn.setAutoCommit(false);
+            transactions = health.getTransactionCount();
+            testStmt.executeQuery("SELECT 1").close();
+            testStmt.executeQuery("SELECT 2").close();
+            assertEquals(inFlight + 1, health.getInFlight());
+            testConn.commit();
+            assertEquals(inFlight, health.getInFlight());
+            assertTrue(health.getTransactionCount() >= transactions + 1);
+        } finally {
+            testConn.close();
+        }
+    }
+
+    /**
+     * Waits until the given connection attempt, possibly still running in background, is recorded by {@link UnreliableSocketFactory}.
+     * 
+     * @param attempt
+     *            The connection attempt status.
+     * @throws Exception
+     */
+    private static void waitForConnectionAttempt(String attempt) throws Exception {
+        for (int i = 0; i < 100 && !UnreliableSocketFactory.getHostsFromAllConnections().contains(attempt); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(UnreliableSocketFactory.getHostsFromAllConnections().contains(attempt));
+    }
+
     /**
      * Tests "serverAffinity" load-balancing strategy.
      * 
@@ -56,6 +56,7 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
+import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -326,6 +327,34 @@ public class ResultSetTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests that getters taking a Calendar or a scale honor each call's argument, including a Calendar whose time zone changes between calls.
+     * 
+     * @throws Exception
+     */
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testCalendarAndScaleGetters() throws Exception {
+        createTable("testCalendarAndScaleGetters", "(dt DATETIME, dec1 DECIMAL(10,4))");
+        this.stmt.executeUpdate("INSERT INTO testCalendarAndScaleGetters VALUES ('2006-02-01 12:13:14', 12.3456)");
+        this.rs = this.stmt.executeQuery("SELECT dt, dec1 FROM testCalendarAndScaleGetters");
+        assertTrue(this.rs.next());
+
+        Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        long utcMillis = this.rs.getTimestamp(1, cal).getTime();
+        assertEquals(utcMillis, this.rs.getTimestamp(1, cal).getTime());
+        assertEquals(utcMillis, this.rs.getTimestamp(1, Calendar.getInstance(TimeZone.getTimeZone("UTC"))).getTime());
+
+        cal.setTimeZone(TimeZone.getTimeZone("GMT+02:00"));
+        assertEquals(utcMillis - 2 * 60 * 60 * 1000, this.rs.getTimestamp(1, cal).getTime());
+        assertEquals(this.rs.getTimestamp(1), this.rs.getTimestamp(1, null));
+
+        assertEquals("12.3456", this.rs.getBigDecimal(2, 4).toPlainString());
+        assertEquals("12.3", this.rs.getBigDecimal(2, 1).toPlainString());
+        assertEquals("12.35", this.rs.getBigDecimal(2, 2).toPlainString());
+        assertEquals("12.35", this.rs.getBigDecimal(2, 2).toPlainString());
+    }
+
     /**
      * Test for ResultSet.updateObject(), non-updatable ResultSet behavior.
      * 
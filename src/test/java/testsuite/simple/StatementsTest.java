@@ -32,6 +32,7 @@ package testsuite.simple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -60,6 +61,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -68,6 +70,7 @@ import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
@@ -82,6 +85,7 @@ import com.mysql.cj.MysqlConnection;
 import com.mysql.cj.MysqlType;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.BulkLoader;
 import com.mysql.cj.jdbc.ClientPreparedStatement;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
@@ -90,6 +94,7 @@ import com.mysql.cj.jdbc.ServerPreparedStatement;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
 import com.mysql.cj.jdbc.interceptors.ServerStatusDiffInterceptor;
+import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.util.LRUCache;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.TimeUtil;
@@ -1889,6 +1894,173 @@ public class StatementsTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests {@link BulkLoader}: escaping, NULLs, column character sets and rows spanning more than the two buffers that are handed over to the load.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBulkLoader() throws Exception {
+        createTable("testBulkLoader", "(id INT PRIMARY KEY, txt VARCHAR(100) CHARACTER SET utf8mb4, bin VARBINARY(100), amount DECIMAL(10,2), d DATE)");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "false");
+        Connection testConn = getConnectionWithProps(props);
+        try {
+            assertThrows(SQLException.class, "Bulk loading requires .*", () -> ((JdbcConnection) testConn).createBulkLoader("testBulkLoader"));
+        } finally {
+            testConn.close();
+        }
+
+        props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "true");
+        props.setProperty(PropertyKey.characterEncoding.getKeyName(), "UTF-8");
+        Connection loadConn = getConnectionWithProps(props);
+        try {
+            String special = "tab\there\nnewline\\ backslash \\N \u00e9\u20ac\ud83d\ude00";
+            byte[] binary = new byte[] { 0, 9, 10, 13, 92, (byte) 0xff, 'N' };
+            int rows = 100000;
+
+            BulkLoader loader = ((JdbcConnection) loadConn).createBulkLoader("testBulkLoader", "id", "txt", "bin", "amount", "d");
+            assertEquals(5, loader.getColumnCount());
+            loader.addRow(1, special, binary, new BigDecimal("12.34"), Date.valueOf("2020-02-29"));
+            loader.setInt(1, 2).setNull(2).setNull(3).setNull(4).setNull(5).addRow();
+            assertThrows(SQLException.class, "No value specified for column 2\\.", () -> loader.setInt(1, 3).addRow());
+            assertThrows(SQLException.class, "Column index out of range .*", () -> loader.setInt(6, 3));
+            assertThrows(SQLException.class, "Wrong number of values for a row.*", () -> loader.addRow(3, "x"));
+            StringBuilder filler = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                filler.append((char) ('a' + i % 26));
+            }
+            for (int i = 3; i <= rows; i++) {
+                loader.setLong(1, i).setString(2, filler.toString()).setBytes(3, binary).setDouble(4, i / 100.0).setObject(5, LocalDate.of(2021, 1, 1 + i % 28))
+                        .addRow();
+            }
+            assertEquals(rows, loader.execute());
+            assertThrows(SQLException.class, "Bulk loader is closed\\.", () -> loader.addRow(1, null, null, null, null));
+            loader.close();
+
+            this.rs = this.stmt.executeQuery("SELECT txt, bin, amount, d FROM testBulkLoader WHERE id = 1");
+            assertTrue(this.rs.next());
+            assertEquals(special, this.rs.getString(1));
+            assertTrue(Arrays.equals(binary, this.rs.getBytes(2)));
+            assertEquals(new BigDecimal("12.34"), this.rs.getBigDecimal(3));
+            assertEquals(Date.valueOf("2020-02-29"), this.rs.getDate(4));
+
+            this.rs = this.stmt.executeQuery("SELECT txt, bin, amount, d FROM testBulkLoader WHERE id = 2");
+            assertTrue(this.rs.next());
+            for (int i = 1; i <= 4; i++) {
+                assertNull(this.rs.getObject(i));
+            }
+
+            this.rs = this.stmt.executeQuery("SELECT COUNT(*), SUM(amount), COUNT(DISTINCT txt) FROM testBulkLoader WHERE id > 2");
+            assertTrue(this.rs.next());
+            assertEquals(rows - 2, this.rs.getInt(1));
+            assertEquals(1, this.rs.getInt(3));
+
+            // the connection is usable after a load; the server skips duplicate keys of "LOCAL" loads
+            try (BulkLoader duplicates = ((JdbcConnection) loadConn).createBulkLoader("testBulkLoader", "id")) {
+                duplicates.addRow(1).addRow(rows + 1);
+                assertEquals(1, duplicates.execute());
+            }
+            // a loader closed without rows sends nothing
+            try (BulkLoader empty = ((JdbcConnection) loadConn).createBulkLoader("testBulkLoader")) {
+                assertEquals(5, empty.getColumnCount());
+            }
+        } finally {
+            loadConn.close();
+        }
+
+        // statements and connection methods fail while a load waits for rows, and a load left waiting is abandoned
+        props.setProperty(PropertyKey.bulkLoadIdleTimeout.getKeyName(), "2000");
+        Connection idleConn = getConnectionWithProps(props);
+        try {
+            Statement idleStmt = idleConn.createStatement();
+            BulkLoader loader = ((JdbcConnection) idleConn).createBulkLoader("testBulkLoader", "id", "txt");
+            String filler = new String(new char[90]).replace('\0', 'x');
+            for (int i = 0; i < 20000; i++) { // more than one buffer, so that the load starts
+                loader.addRow(1000000 + i, filler);
+            }
+            Thread.sleep(500);
+            assertThrows(SQLException.class, "No operations allowed on the connection while a bulk load is in progress\\..*",
+                    () -> idleStmt.executeQuery("SELECT 1"));
+            assertThrows(SQLException.class, "No operations allowed on the connection while a bulk load is in progress\\..*", () -> {
+                idleConn.setAutoCommit(false);
+                return null;
+            });
+            assertThrows(SQLException.class, "No operations allowed on the connection while a bulk load is in progress\\..*", () -> {
+                idleConn.commit();
+                return null;
+            });
+            assertThrows(SQLException.class, "No operations allowed on the connection while a bulk load is in progress\\..*",
+                    () -> idleConn.prepareStatement("SELECT 1"));
+            Thread.sleep(3000);
+            assertThrows(SQLException.class, "No rows were added to the bulk load for 2000 ms\\..*", () -> loader.execute());
+            assertTrue(idleConn.isClosed());
+        } finally {
+            idleConn.close();
+        }
+    }
+
+    /**
+     * Tests that {@link BulkLoader} loads dates and times the same as prepared statements do, according to the target column type, 'connectionTimeZone' and
+     * 'preserveInstants'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBulkLoaderTemporalValues() throws Exception {
+        createTable("testBulkLoaderTemporal", "(id INT PRIMARY KEY, dt DATETIME(6), ts TIMESTAMP(6) NULL, d DATE, t TIME(6), txt VARCHAR(50))");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.allowLoadLocalInfile.getKeyName(), "true");
+        props.setProperty(PropertyKey.connectionTimeZone.getKeyName(), "+05:00");
+        props.setProperty(PropertyKey.forceConnectionTimeZoneToSession.getKeyName(), "true");
+        props.setProperty(PropertyKey.preserveInstants.getKeyName(), "true");
+        Connection testConn = getConnectionWithProps(props);
+        try {
+            Timestamp ts = Timestamp.valueOf("2021-03-04 05:06:07.123456");
+            OffsetDateTime odt = OffsetDateTime.of(2021, 3, 4, 5, 6, 7, 123456000, ZoneOffset.ofHours(2));
+            ZonedDateTime zdt = odt.atZoneSameInstant(ZoneOffset.UTC);
+            Object[][] rows = new Object[][] { { ts, ts, new java.util.Date(ts.getTime()), Time.valueOf("10:11:12"), LocalDateTime.of(2021, 3, 4, 5, 6, 7) },
+                    { odt, odt.toInstant(), odt, odt.toOffsetTime(), odt }, { zdt, zdt, zdt.toLocalDate(), LocalTime.of(10, 11, 12, 123456000), zdt } };
+
+            try (BulkLoader loader = ((JdbcConnection) testConn).createBulkLoader("testBulkLoaderTemporal", "id", "dt", "ts", "d", "t", "txt")) {
+                for (int i = 0; i < rows.length; i++) {
+                    loader.setInt(1, i);
+                    for (int j = 0; j < rows[i].length; j++) {
+                        loader.setObject(j + 2, rows[i][j]);
+                    }
+                    loader.addRow();
+                }
+                assertEquals(rows.length, loader.execute());
+            }
+
+            PreparedStatement testPstmt = testConn.prepareStatement("INSERT INTO testBulkLoaderTemporal VALUES (?, ?, ?, ?, ?, ?)");
+            for (int i = 0; i < rows.length; i++) {
+                testPstmt.setInt(1, 100 + i);
+                testPstmt.setObject(2, rows[i][0], MysqlType.DATETIME);
+                testPstmt.setObject(3, rows[i][1] instanceof Instant ? Timestamp.from((Instant) rows[i][1]) : rows[i][1], MysqlType.TIMESTAMP);
+                testPstmt.setObject(4, rows[i][2], MysqlType.DATE);
+                testPstmt.setObject(5, rows[i][3], MysqlType.TIME);
+                testPstmt.setObject(6, rows[i][4], MysqlType.VARCHAR);
+                testPstmt.executeUpdate();
+            }
+
+            Statement testStmt = testConn.createStatement();
+            for (int i = 0; i < rows.length; i++) {
+                this.rs = testStmt.executeQuery("SELECT dt, ts, d, t, txt FROM testBulkLoaderTemporal WHERE id = " + i);
+                assertTrue(this.rs.next());
+                ResultSet expectedRs = testConn.createStatement().executeQuery("SELECT dt, ts, d, t, txt FROM testBulkLoaderTemporal WHERE id = " + (100 + i));
+                assertTrue(expectedRs.next());
+                for (int j = 1; j <= 5; j++) {
+                    assertEquals(expectedRs.getString(j), this.rs.getString(j), "Row " + i + ", column " + j);
+                }
+            }
+        } finally {
+            testConn.close();
+        }
+    }
+
     /**
      * Tests for ResultSet.getNCharacterStream()
      * 
@@ -4105,4 +4277,74 @@ public class StatementsTest extends BaseTestCase {
             }
         } while ((useSPS = !useSPS) || (cachePS = !cachePS));
     }
+
+    /**
+     * Tests that server-side prepared statements reuse the result set metadata of previous executions when useOptionalResultSetMetadata=true.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testOptionalResultSetMetadata() throws Exception {
+        if (!versionMeetsMinimum(8, 0, 3)) {
+            return;
+        }
+        createTable("testOptionalResultSetMetadata", "(id INT PRIMARY KEY, name VARCHAR(20))");
+        this.stmt.executeUpdate("INSERT INTO testOptionalResultSetMetadata VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.useOptionalResultSetMetadata.getKeyName(), "true");
+        try (Connection testConn = getConnectionWithProps(props)) {
+            NativeProtocol protocol = ((ConnectionImpl) testConn).getSession().getProtocol();
+            PreparedStatement testPstmt = testConn.prepareStatement("SELECT * FROM testOptionalResultSetMetadata WHERE id >= ? ORDER BY id");
+
+            boolean omitted = false;
+            for (int i = 0; i < 100; i++) {
+                int start = i % 3 + 1;
+                testPstmt.setInt(1, start);
+                this.rs = testPstmt.executeQuery();
+                // metadata is only omitted once it is known from a previous execution, and after a run of such executions
+                if (i < 2) {
+                    assertFalse(protocol.isResultsetMetadataOmitted());
+                }
+                omitted |= protocol.isResultsetMetadataOmitted();
+                assertEquals("name", this.rs.getMetaData().getColumnName(2));
+                for (int id = start; id <= 3; id++) {
+                    assertTrue(this.rs.next());
+                    assertEquals(id, this.rs.getInt(1));
+                }
+                assertFalse(this.rs.next());
+            }
+            assertTrue(omitted);
+            assertTrue(protocol.isResultsetMetadataOmitted());
+
+            // other statements get full metadata again
+            this.rs = testConn.createStatement().executeQuery("SELECT name FROM testOptionalResultSetMetadata WHERE id = 2");
+            assertFalse(protocol.isResultsetMetadataOmitted());
+            assertEquals("name", this.rs.getMetaData().getColumnName(1));
+            assertTrue(this.rs.next());
+            assertEquals("two", this.rs.getString(1));
+
+            // executions mixed with other statements don't switch the session mode back and forth
+            for (int i = 0; i < 10; i++) {
+                testPstmt.setInt(1, 3);
+                this.rs = testPstmt.executeQuery();
+                assertFalse(protocol.isResultsetMetadataOmitted());
+                testConn.createStatement().executeQuery("SELECT 1");
+            }
+
+            // a change of the number of result columns is detected while the metadata is omitted and the next execution gets fresh metadata
+            while (!protocol.isResultsetMetadataOmitted()) {
+                testPstmt.executeQuery();
+            }
+            this.stmt.executeUpdate("ALTER TABLE testOptionalResultSetMetadata ADD COLUMN extra INT DEFAULT 10");
+            assertThrows(SQLException.class, "The server omitted the result set metadata .*", testPstmt::executeQuery);
+            this.rs = testPstmt.executeQuery();
+            assertFalse(protocol.isResultsetMetadataOmitted());
+            assertEquals("extra", this.rs.getMetaData().getColumnName(3));
+            assertTrue(this.rs.next());
+            assertEquals(10, this.rs.getInt(3));
+            assertFalse(this.rs.next());
+        }
+    }
 }
@@ -29,17 +29,23 @@
 
 package testsuite.simple;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.Properties;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.exceptions.NotUpdatable;
 
 import testsuite.BaseTestCase;
@@ -295,6 +301,145 @@ public class UpdatabilityTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests queued changes of updatable result sets enabled by 'updatableResultSetBatchSize'.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBatchedChanges() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.updatableResultSetBatchSize.getKeyName(), "10");
+        Connection batchConn = getConnectionWithProps(props);
+
+        try {
+            Statement updStmt = batchConn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+            ResultSet updRs = updStmt.executeQuery("SELECT pos1, pos2, char_field FROM UPDATABLE ORDER BY pos1");
+
+            long queries = getSessionQueries(batchConn);
+            for (int i = 0; i < 20; i++) {
+                assertTrue(updRs.next());
+                updRs.updateString(3, "Batched'" + i);
+                if (i == 5) {
+                    updRs.updateInt(2, 1005);
+                }
+                updRs.updateRow();
+            }
+            // two batches of ten UPDATEs, each followed by a single query re-reading the rows
+            assertEquals(queries + 20 + 2 + 1, getSessionQueries(batchConn));
+
+            assertTrue(updRs.absolute(6));
+            assertEquals(1005, updRs.getInt(2));
+            assertEquals("Batched'5", updRs.getString(3));
+
+            // an update followed by a delete of the same row
+            assertTrue(updRs.absolute(21));
+            updRs.updateString(3, "Deleted");
+            updRs.updateRow();
+            updRs.deleteRow();
+
+            updRs.moveToInsertRow();
+            updRs.updateInt(1, 1000);
+            updRs.updateInt(2, 1000);
+            updRs.updateString(3, "Inserted");
+            updRs.insertRow();
+            updRs.moveToCurrentRow();
+
+            updRs.close();
+
+            this.rs = this.stmt.executeQuery("SELECT COUNT(*) FROM UPDATABLE WHERE char_field LIKE 'Batched''%'");
+            assertTrue(this.rs.next());
+            assertEquals(20, this.rs.getInt(1));
+            this.rs = this.stmt.executeQuery("SELECT pos2 FROM UPDATABLE WHERE pos1 = 5");
+            assertTrue(this.rs.next());
+            assertEquals(1005, this.rs.getInt(1));
+            this.rs = this.stmt.executeQuery("SELECT COUNT(*) FROM UPDATABLE WHERE pos1 = 20");
+            assertTrue(this.rs.next());
+            assertEquals(0, this.rs.getInt(1));
+            this.rs = this.stmt.executeQuery("SELECT char_field FROM UPDATABLE WHERE pos1 = 1000");
+            assertTrue(this.rs.next());
+            assertEquals("Inserted", this.rs.getString(1));
+        } finally {
+            batchConn.close();
+        }
+    }
+
+    /**
+     * Tests that changes queued by updatable result sets stay in the transaction they were made in.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBatchedChangesInTransaction() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.updatableResultSetBatchSize.getKeyName(), "10");
+        Connection batchConn = getConnectionWithProps(props);
+
+        try {
+            batchConn.setAutoCommit(false);
+            Statement updStmt = batchConn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+
+            // commit sends the queued changes first
+            ResultSet updRs = updStmt.executeQuery("SELECT pos1, pos2, char_field FROM UPDATABLE ORDER BY pos1");
+            assertTrue(updRs.next());
+            updRs.updateString(3, "Committed");
+            updRs.updateRow();
+            batchConn.commit();
+            this.rs = this.stmt.executeQuery("SELECT char_field FROM UPDATABLE WHERE pos1 = 0");
+            assertTrue(this.rs.next());
+            assertEquals("Committed", this.rs.getString(1));
+
+            // rollback drops them
+            assertTrue(updRs.next());
+            updRs.updateString(3, "RolledBack");
+            updRs.updateRow();
+            batchConn.rollback();
+            updRs.close();
+            this.rs = this.stmt.executeQuery("SELECT char_field FROM UPDATABLE WHERE pos1 = 1");
+            assertTrue(this.rs.next());
+            assertEquals("StringData1", this.rs.getString(1));
+
+            // changes queued before a savepoint survive a rollback to it
+            updRs = updStmt.executeQuery("SELECT pos1, pos2, char_field FROM UPDATABLE ORDER BY pos1");
+            assertTrue(updRs.absolute(3));
+            updRs.updateString(3, "BeforeSavepoint");
+            updRs.updateRow();
+            Savepoint savepoint = batchConn.setSavepoint();
+            assertTrue(updRs.next());
+            updRs.updateString(3, "AfterSavepoint");
+            updRs.updateRow();
+            batchConn.rollback(savepoint);
+            batchConn.commit();
+            updRs.close();
+            this.rs = this.stmt.executeQuery("SELECT pos1, char_field FROM UPDATABLE WHERE pos1 IN (2, 3) ORDER BY pos1");
+            assertTrue(this.rs.next());
+            assertEquals("BeforeSavepoint", this.rs.getString(2));
+            assertTrue(this.rs.next());
+            assertEquals("StringData3", this.rs.getString(2));
+
+            // changes that can't be sent anymore are reported when the result set is closed
+            batchConn.setAutoCommit(true);
+            updRs = updStmt.executeQuery("SELECT pos1, pos2, char_field FROM UPDATABLE ORDER BY pos1");
+            assertTrue(updRs.absolute(5));
+            updRs.updateString(3, "Lost");
+            updRs.updateRow();
+            ((JdbcConnection) batchConn).realClose(false, false, true, null);
+            final ResultSet lostRs = updRs;
+            assertThrows(SQLException.class, "Queued row changes could not be sent to the server because the connection is closed\\.", () -> {
+                lostRs.close();
+                return null;
+            });
+        } finally {
+            batchConn.close();
+        }
+    }
+
+    private long getSessionQueries(Connection c) throws SQLException {
+        ResultSet queriesRs = c.createStatement().executeQuery("SHOW SESSION STATUS LIKE 'Questions'");
+        queriesRs.next();
+        return queriesRs.getLong(2);
+    }
+
     private void createTestTable() throws SQLException {
         //
         // Catch the error, the table might exist
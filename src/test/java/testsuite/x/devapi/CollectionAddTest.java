@@ -35,10 +35,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -47,7 +49,9 @@ import com.mysql.cj.ServerVersion;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.x.XProtocolError;
 import com.mysql.cj.xdevapi.AddResult;
+import com.mysql.cj.xdevapi.Collection;
 import com.mysql.cj.xdevapi.DbDoc;
+import com.mysql.cj.xdevapi.DbDocImpl;
 import com.mysql.cj.xdevapi.DocResult;
 import com.mysql.cj.xdevapi.JsonNumber;
 import com.mysql.cj.xdevapi.JsonString;
@@ -254,6 +258,47 @@ public class CollectionAddTest extends BaseCollectionTestCase {
         assertEquals(0, res.getWarningsCount());
     }
 
+    /**
+     * Tests adding documents from an iterator, in more than one Insert message when they don't fit in max_allowed_packet.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testAddIterator() throws Exception {
+        if (!this.isSetForXTests) {
+            return;
+        }
+        int maxAllowedPacket = this.session.sql("select @@mysqlx_max_allowed_packet").execute().fetchOne().getInt(0);
+        int docCount = 20;
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < maxAllowedPacket / 8; ++i) {
+            b.append('.');
+        }
+        String filler = b.toString();
+
+        Iterator<DbDoc> docs = IntStream.range(0, docCount)
+                .mapToObj(i -> new DbDocImpl().add("_id", new JsonString().setValue(String.valueOf(i))).add("filler", new JsonString().setValue(filler)))
+                .iterator();
+        AddResult res = this.collection.add(docs).add("{\"_id\": \"last\"}").execute();
+        assertEquals(docCount + 1, res.getAffectedItemsCount());
+        assertEquals(docCount + 1, this.collection.count());
+        assertFalse(docs.hasNext());
+
+        // documents read from the server are sent back unchanged
+        this.collection.remove("_id = 'last'").execute();
+        List<DbDoc> fetched = this.collection.find().execute().fetchAll();
+        dropCollection(this.collectionName + "_copy");
+        Collection copy = this.schema.createCollection(this.collectionName + "_copy");
+        try {
+            res = copy.add(fetched.iterator()).executeAsync().get();
+            assertEquals(docCount, res.getAffectedItemsCount());
+            assertEquals(docCount, copy.count());
+            assertEquals(filler, ((JsonString) copy.getOne("19").get("filler")).getString());
+        } finally {
+            dropCollection(this.collectionName + "_copy");
+        }
+    }
+
     @Test
     public void testAddOrReplaceOne() {
         if (!this.isSetForXTests || !mysqlVersionMeetsMinimum(ServerVersion.parseVersion("8.0.3"))) {
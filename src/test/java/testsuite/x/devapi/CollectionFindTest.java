@@ -41,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -53,6 +54,7 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.ServerVersion;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.x.XProtocolError;
@@ -1195,6 +1197,105 @@ public class CollectionFindTest extends BaseCollectionTestCase {
         }
     }
 
+    @Test
+    public void testPreparedStatementsCache() {
+        if (!this.isSetForXTests || !mysqlVersionMeetsMinimum(ServerVersion.parseVersion("8.0.14"))) {
+            return;
+        }
+
+        // Prepare test data.
+        this.collection.add("{\"_id\":\"1\", \"ord\": 1}", "{\"_id\":\"2\", \"ord\": 2}", "{\"_id\":\"3\", \"ord\": 3}", "{\"_id\":\"4\", \"ord\": 4}",
+                "{\"_id\":\"5\", \"ord\": 5}", "{\"_id\":\"6\", \"ord\": 6}", "{\"_id\":\"7\", \"ord\": 7}", "{\"_id\":\"8\", \"ord\": 8}").execute();
+
+        Properties props = (Properties) this.testProperties.clone();
+        props.setProperty(PropertyKey.xdevapiPreparedStatementCacheSize.getKeyName(), "2");
+        Session testSession = new SessionFactory().getSession(props);
+        Collection testCol = testSession.getDefaultSchema().getCollection(this.collectionName);
+
+        assertPreparedStatementsStatusCounts(testSession, 0, 0, 0);
+
+        // 1st execute -> non-prepared execute, the structure is only remembered.
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 2).execute(), 2, 8);
+        assertEquals(0, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 0, 0, 0);
+
+        // 2nd execute -> prepare + execute, even if not reusing the statement object.
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 5).execute(), 5, 8);
+        assertEquals(1, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 1, 1, 0);
+
+        // Statements with the same structure share the prepared statement.
+        FindStatement stmt = testCol.find("$.ord >= :n");
+        assertTestPreparedStatementsResult(stmt.bind("n", 3).execute(), 3, 8);
+        assertTestPreparedStatementsResult(stmt.bind("n", 6).execute(), 6, 8);
+        assertEquals(1, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 1, 3, 0);
+
+        // A different structure gets its own prepared statement, on its 2nd execution too.
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 5).sort("$._id").execute(), 5, 8);
+        assertPreparedStatementsStatusCounts(testSession, 1, 3, 0);
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 4).sort("$._id").execute(), 4, 8);
+        assertEquals(2, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 2, 4, 0);
+
+        // Refresh the 1st statement, then a 3rd structure evicts the least recently used one.
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 7).execute(), 7, 8);
+        assertPreparedStatementsStatusCounts(testSession, 2, 5, 0);
+        assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 3).execute(), 1, 3);
+        assertPreparedStatementsStatusCounts(testSession, 2, 5, 0);
+        assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 3).execute(), 1, 3);
+        assertEquals(2, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 3, 6, 1);
+
+        // An evicted structure must be seen twice again before being prepared again.
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 4).execute(), 4, 8);
+        assertPreparedStatementsStatusCounts(testSession, 3, 7, 1);
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 4).sort("$._id").execute(), 4, 8);
+        assertPreparedStatementsStatusCounts(testSession, 3, 7, 1);
+        assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 4).sort("$._id").execute(), 4, 8);
+        assertEquals(2, getPreparedStatementsCount(testSession));
+        assertPreparedStatementsStatusCounts(testSession, 4, 8, 2);
+
+        // Other CRUD statements use the same cache.
+        assertEquals(1, testCol.modify("_id = :id").set("ord", 10).bind("id", "8").execute().getAffectedItemsCount());
+        assertEquals(1, testCol.modify("_id = :id").set("ord", 8).bind("id", "8").execute().getAffectedItemsCount());
+        assertPreparedStatementsStatusCounts(testSession, 5, 9, 3);
+
+        testSession.close();
+
+        /*
+         * Test falling back onto non-prepared statements.
+         */
+        testSession = new SessionFactory().getSession(props);
+        testCol = testSession.getDefaultSchema().getCollection(this.collectionName);
+        int origMaxPrepStmtCount = this.session.sql("SELECT @@max_prepared_stmt_count").execute().fetchOne().getInt(0);
+
+        try {
+            // Allow preparing only one more statement.
+            this.session.sql("SET GLOBAL max_prepared_stmt_count = ?").bind(getPreparedStatementsCount() + 1).execute();
+
+            assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 2).execute(), 2, 8);
+            assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 2).execute(), 2, 8);
+            assertPreparedStatementsStatusCounts(testSession, 1, 1, 0);
+            // Fails preparing, execute as non-prepared.
+            assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 3).execute(), 1, 3);
+            assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 3).execute(), 1, 3);
+            assertEquals(1, getPreparedStatementsCount(testSession));
+            assertEquals(2, getPrepPrepareCount(testSession)); // Failed prepare also counts.
+            // The statement prepared before is still used.
+            int execCount = getPrepExecuteCount(testSession);
+            assertTestPreparedStatementsResult(testCol.find("$.ord >= :n").bind("n", 6).execute(), 6, 8);
+            assertEquals(execCount + 1, getPrepExecuteCount(testSession));
+            // Preparing is suspended for a while, so new structures run as non-prepared.
+            assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 2).execute(), 1, 2);
+            assertTestPreparedStatementsResult(testCol.find("$.ord <= :n").bind("n", 2).execute(), 1, 2);
+            assertEquals(2, getPrepPrepareCount(testSession));
+        } finally {
+            this.session.sql("SET GLOBAL max_prepared_stmt_count = ?").bind(origMaxPrepStmtCount).execute();
+            testSession.close();
+        }
+    }
+
     private void assertTestPreparedStatementsResult(DocResult res, int expectedMin, int expectedMax) {
         for (DbDoc d : res.fetchAll()) {
             assertEquals(expectedMin++, ((JsonNumber) d.get("ord")).getInteger().intValue());
@@ -1057,6 +1057,114 @@ public class SessionTest extends DevApiBaseTestCase {
         cli0.close();
     }
 
+    /**
+     * Tests the pre-warming, validation and concurrent use of pooled sessions.
+     * 
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPooledSessionsMaintenance() throws Exception {
+        if (!this.isSetForXTests) {
+            return;
+        }
+
+        final ClientFactory cf = new ClientFactory();
+        final String url = this.baseUrl;
+
+        assertThrows(XDevAPIError.class, "Client option 'pooling\\.minIdle' does not support value '-1'\\.", new Callable<Void>() {
+            public Void call() throws Exception {
+                cf.getClient(url, "{\"pooling\": {\"minIdle\": -1}}");
+                return null;
+            }
+        });
+        assertThrows(XDevAPIError.class, "Client option 'pooling\\.minIdle' does not support value '4'\\.", new Callable<Void>() {
+            public Void call() throws Exception {
+                cf.getClient(url, "{\"pooling\": {\"maxSize\": 3, \"minIdle\": 4}}");
+                return null;
+            }
+        });
+        assertThrows(XDevAPIError.class, "Client option 'pooling\\.validationInterval' does not support value 'one'\\.", new Callable<Void>() {
+            public Void call() throws Exception {
+                cf.getClient(url, "{\"pooling\": {\"validationInterval\": \"one\"}}");
+                return null;
+            }
+        });
+
+        Field fIdleSessions = ClientImpl.class.getDeclaredField("idleProtocols");
+        fIdleSessions.setAccessible(true);
+        Field fActiveSessions = ClientImpl.class.getDeclaredField("activeProtocols");
+        fActiveSessions.setAccessible(true);
+        Field fProtocol = CoreSession.class.getDeclaredField("protocol");
+        fProtocol.setAccessible(true);
+
+        // The pool is pre-warmed up to minIdle sessions and refilled after sessions are taken from it.
+        Client cli = cf.getClient(url, "{\"pooling\": {\"maxSize\": 3, \"minIdle\": 2}}");
+        BlockingQueue<PooledXProtocol> idle = (BlockingQueue<PooledXProtocol>) fIdleSessions.get(cli);
+        for (int i = 0; i < 50 && idle.size() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, idle.size());
+        PooledXProtocol prewarmed = idle.peek();
+        Session s0 = cli.getSession();
+        s0.sql("SELECT 1").execute();
+        assertEquals(prewarmed, fProtocol.get(((SessionImpl) s0).getSession()));
+        for (int i = 0; i < 50 && idle.size() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, idle.size());
+        assertEquals(1, ((Set<WeakReference<PooledXProtocol>>) fActiveSessions.get(cli)).size());
+        s0.close();
+        assertEquals(3, idle.size());
+        cli.close();
+        assertEquals(0, idle.size());
+
+        // Idle sessions kept for minIdle are validated instead of expiring.
+        cli = cf.getClient(url, "{\"pooling\": {\"maxSize\": 2, \"minIdle\": 1, \"maxIdleTime\": 1000, \"validationInterval\": 500}}");
+        s0 = cli.getSession();
+        Session s1 = cli.getSession();
+        s0.close();
+        s1.close();
+        idle = (BlockingQueue<PooledXProtocol>) fIdleSessions.get(cli);
+        Thread.sleep(3000);
+        assertEquals(1, idle.size());
+        Session s2 = cli.getSession();
+        s2.sql("SELECT 1").execute();
+        Object prot2 = fProtocol.get(((SessionImpl) s2).getSession());
+        assertTrue(prot2 == fProtocol.get(((SessionImpl) s0).getSession()) || prot2 == fProtocol.get(((SessionImpl) s1).getSession()));
+        s2.close();
+        cli.close();
+
+        // Many threads sharing a small pool.
+        final Client cli1 = cf.getClient(url, "{\"pooling\": {\"maxSize\": 2, \"queueTimeout\": 20000}}");
+        List<Thread> threads = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20; i++) {
+                        Session s = cli1.getSession();
+                        s.sql("SELECT 1").execute();
+                        s.close();
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty(), errors.toString());
+        assertTrue(((BlockingQueue<PooledXProtocol>) fIdleSessions.get(cli1)).size() <= 2);
+        assertEquals(0, ((Set<WeakReference<PooledXProtocol>>) fActiveSessions.get(cli1)).size());
+        cli1.close();
+    }
+
     private void testPooledSessions_checkClientProperties(Client cli, int maxSize, int maxIdleTime, int queueTimeout) throws Exception {
         Field f = ClientImpl.class.getDeclaredField("maxSize");
         f.setAccessible(true);